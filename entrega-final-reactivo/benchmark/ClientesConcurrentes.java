@@ -0,0 +1,167 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantiene N clientes HTTP concurrentes contra la API y muestrea, una vez por
+ * segundo, cuántos hilos y conexiones usa el servidor para atenderlos.
+ *
+ * Cada cliente tiene su propia conexión y envía GET /api/empleados/{id} en
+ * lazo cerrado (una solicitud a la vez) con envíos asíncronos, de modo que
+ * este proceso no necesita un hilo por cliente. Del servidor se leen
+ * jvm.threads.live, r2dbc.pool.acquired y r2dbc.pool.pending en
+ * /actuator/metrics y, en Linux, las conexiones TCP establecidas en su puerto.
+ *
+ * Uso (sin compilar, Java 11+):
+ *   java benchmark/ClientesConcurrentes.java <url-base> <clientes> <segundos> <max-id>
+ */
+public class ClientesConcurrentes {
+
+    private static final Pattern VALOR = Pattern.compile("\"value\":([0-9.E]+)");
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8081";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int maxId = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int puerto = URI.create(base).getPort();
+
+        HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+        HttpClient metricas = HttpClient.newHttpClient();
+
+        LongAdder exitosas = new LongAdder();
+        LongAdder errores = new LongAdder();
+        // Histograma de latencias en milisegundos, hasta 60 s
+        AtomicLongArray histograma = new AtomicLongArray(60_001);
+        long inicio = System.nanoTime();
+        long fin = inicio + Duration.ofSeconds(segundos).toNanos();
+        CountDownLatch terminados = new CountDownLatch(clientes);
+
+        Thread muestreo = new Thread(() -> {
+            double maxHilos = 0;
+            double maxAdquiridas = 0;
+            double maxPendientes = 0;
+            long maxConexiones = 0;
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(1000);
+                    double hilos = metrica(metricas, base, "jvm.threads.live");
+                    double adquiridas = metrica(metricas, base, "r2dbc.pool.acquired");
+                    double pendientes = metrica(metricas, base, "r2dbc.pool.pending");
+                    long conexiones = conexionesEstablecidas(puerto);
+                    maxHilos = Math.max(maxHilos, hilos);
+                    maxAdquiridas = Math.max(maxAdquiridas, adquiridas);
+                    maxPendientes = Math.max(maxPendientes, pendientes);
+                    maxConexiones = Math.max(maxConexiones, conexiones);
+                    System.out.printf("t=%3ds conexiones-http=%5d hilos=%3.0f r2dbc-adquiridas=%2.0f r2dbc-pendientes=%5.0f exitosas=%d%n",
+                        (System.nanoTime() - inicio) / 1_000_000_000L, conexiones, hilos, adquiridas, pendientes,
+                        exitosas.sum());
+                }
+            } catch (InterruptedException e) {
+                System.out.printf("máximos: conexiones-http=%d hilos=%.0f r2dbc-adquiridas=%.0f r2dbc-pendientes=%.0f%n",
+                    maxConexiones, maxHilos, maxAdquiridas, maxPendientes);
+            }
+        });
+        muestreo.start();
+
+        // Los clientes se abren de a poco para no desbordar la cola de aceptación del servidor
+        long pausaNanos = Duration.ofSeconds(Math.min(10, segundos / 3)).toNanos() / clientes;
+        for (int i = 0; i < clientes; i++) {
+            enviar(http, base, maxId, fin, exitosas, errores, histograma, terminados);
+            long hasta = System.nanoTime() + pausaNanos;
+            while (System.nanoTime() < hasta) {
+                Thread.onSpinWait();
+            }
+        }
+        terminados.await();
+        muestreo.interrupt();
+        muestreo.join();
+
+        long total = exitosas.sum();
+        System.out.printf("clientes=%d segundos=%d exitosas=%d rendimiento=%.0f sol/s errores=%d%n",
+            clientes, segundos, total, total / (double) segundos, errores.sum());
+        System.out.printf("p50=%d ms p99=%d ms%n", percentil(histograma, total, 0.50), percentil(histograma, total, 0.99));
+    }
+
+    private static void enviar(HttpClient http, String base, int maxId, long fin, LongAdder exitosas,
+                               LongAdder errores, AtomicLongArray histograma, CountDownLatch terminados) {
+        long inicio = System.nanoTime();
+        if (inicio >= fin) {
+            terminados.countDown();
+            return;
+        }
+        long id = ThreadLocalRandom.current().nextLong(1, maxId + 1);
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(base + "/api/empleados/" + id))
+            .timeout(Duration.ofSeconds(60))
+            .GET()
+            .build();
+        http.sendAsync(solicitud, HttpResponse.BodyHandlers.discarding()).whenComplete((respuesta, error) -> {
+            if (error == null && respuesta.statusCode() == 200) {
+                exitosas.increment();
+                long ms = (System.nanoTime() - inicio) / 1_000_000L;
+                histograma.incrementAndGet((int) Math.min(ms, histograma.length() - 1));
+            } else {
+                errores.increment();
+            }
+            enviar(http, base, maxId, fin, exitosas, errores, histograma, terminados);
+        });
+    }
+
+    private static double metrica(HttpClient http, String base, String nombre) {
+        try {
+            String cuerpo = http.send(HttpRequest.newBuilder(URI.create(base + "/actuator/metrics/" + nombre)).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+            Matcher m = VALOR.matcher(cuerpo);
+            return m.find() ? Double.parseDouble(m.group(1)) : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Cuenta las conexiones TCP establecidas con puerto local igual al del
+     * servidor, leyendo /proc/net/tcp y tcp6. Devuelve -1 fuera de Linux.
+     */
+    private static long conexionesEstablecidas(int puerto) {
+        String sufijo = String.format(":%04X", puerto);
+        long total = 0;
+        for (String archivo : List.of("/proc/net/tcp", "/proc/net/tcp6")) {
+            try {
+                total += Files.readAllLines(Path.of(archivo)).stream()
+                    .map(String::trim)
+                    .map(linea -> linea.split("\\s+"))
+                    .filter(campos -> campos.length > 3 && campos[1].endsWith(sufijo) && campos[3].equals("01"))
+                    .count();
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+        return total;
+    }
+
+    private static long percentil(AtomicLongArray histograma, long total, double p) {
+        long objetivo = (long) Math.ceil(p * total);
+        long acumulado = 0;
+        for (int ms = 0; ms < histograma.length(); ms++) {
+            acumulado += histograma.get(ms);
+            if (acumulado >= objetivo) {
+                return ms;
+            }
+        }
+        return histograma.length() - 1;
+    }
+}
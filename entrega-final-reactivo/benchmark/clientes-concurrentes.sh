@@ -0,0 +1,28 @@
+#!/bin/bash
+# Levanta la API reactiva con H2 y mide hilos y conexiones del servidor con
+# N clientes concurrentes (por defecto 10.000).
+#
+# Uso: benchmark/clientes-concurrentes.sh [clientes] [segundos]
+# Con más de unos miles de clientes puede ser necesario subir el límite de
+# descriptores de archivo (ulimit -n), ya que cliente y servidor abren una
+# conexión por cliente.
+set -e
+cd "$(dirname "$0")/.."
+
+CLIENTES=${1:-10000}
+SEGUNDOS=${2:-30}
+PUERTO=18081
+URL=http://localhost:$PUERTO
+
+${MVN:-./mvnw} -B -q package -DskipTests
+java -Xmx512m -jar target/FacturacionEntregaFinalMoralesReactivo.jar --spring.profiles.active=h2 \
+    --server.port=$PUERTO --logging.level.root=WARN > target/benchmark.log 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null' EXIT
+for _ in $(seq 60); do
+    curl -s -o /dev/null "$URL/actuator/health" && break
+    sleep 1
+done
+
+# data.sql carga 5 empleados
+java benchmark/ClientesConcurrentes.java "$URL" "$CLIENTES" "$SEGUNDOS" 5
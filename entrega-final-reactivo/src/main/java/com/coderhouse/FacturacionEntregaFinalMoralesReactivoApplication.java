@@ -0,0 +1,22 @@
+package com.coderhouse;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Clase principal de la API de lectura reactiva.
+ * Proyecto: FacturacionEntregaFinalMoralesReactivo
+ * 
+ * Expone los GET de empleados y proyectos de entrega-final sobre el mismo
+ * esquema, sin bloquear hilos:
+ * - Controller: Endpoints WebFlux (Netty)
+ * - Service: Validaciones y errores
+ * - Repository: Consultas SQL con R2DBC
+ */
+@SpringBootApplication
+public class FacturacionEntregaFinalMoralesReactivoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(FacturacionEntregaFinalMoralesReactivoApplication.class, args);
+    }
+}
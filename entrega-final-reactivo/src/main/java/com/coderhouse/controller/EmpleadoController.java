@@ -0,0 +1,113 @@
+package com.coderhouse.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.service.EmpleadoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller REST reactivo de lectura de empleados.
+ * Expone los mismos GET que el EmpleadoController de entrega-final.
+ */
+@RestController
+@RequestMapping("/api/empleados")
+@Tag(name = "Empleados", description = "API de lectura reactiva de empleados")
+public class EmpleadoController {
+    
+    @Autowired
+    private EmpleadoService empleadoService;
+    
+    /**
+     * Obtiene todos los empleados.
+     * Con Accept: application/x-ndjson se emite un empleado por línea a medida
+     * que se leen, y la lectura avanza al ritmo en que el cliente consume.
+     * 
+     * @return Flujo de empleados en orden de ID
+     */
+    @Operation(summary = "Obtener todos los empleados", description = "Retorna todos los empleados; con application/x-ndjson se transmiten con contrapresión")
+    @ApiResponse(responseCode = "200", description = "Lista de empleados obtenida exitosamente")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<EmpleadoResponseDTO> obtenerTodos() {
+        return empleadoService.obtenerTodos();
+    }
+    
+    /**
+     * Obtiene varios empleados por sus IDs.
+     * 
+     * @param ids IDs de los empleados
+     * @return Un resultado por ID, en el orden solicitado
+     */
+    @Operation(summary = "Obtener empleados por IDs", description = "Retorna un resultado por cada ID solicitado, indicando si fue encontrado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta ejecutada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado grande")
+    })
+    @GetMapping(params = "ids")
+    public Mono<List<ResultadoPorIdDTO<EmpleadoResponseDTO>>> obtenerPorIds(@RequestParam List<Long> ids) {
+        return empleadoService.obtenerPorIds(ids);
+    }
+    
+    /**
+     * Obtiene un empleado por su ID.
+     * 
+     * @param id ID del empleado
+     * @return Empleado encontrado
+     */
+    @Operation(summary = "Obtener empleado por ID", description = "Retorna un empleado específico por su ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Empleado encontrado"),
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+    })
+    @GetMapping("/{id}")
+    public Mono<EmpleadoResponseDTO> obtenerPorId(@PathVariable Long id) {
+        return empleadoService.obtenerPorId(id);
+    }
+    
+    /**
+     * Obtiene un empleado por su email.
+     * 
+     * @param email Email del empleado
+     * @return Empleado encontrado
+     */
+    @Operation(summary = "Obtener empleado por email", description = "Retorna un empleado específico por su email")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Empleado encontrado"),
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+    })
+    @GetMapping("/email/{email}")
+    public Mono<EmpleadoResponseDTO> obtenerPorEmail(@PathVariable String email) {
+        return empleadoService.obtenerPorEmail(email);
+    }
+    
+    /**
+     * Obtiene un empleado por su legajo.
+     * 
+     * @param legajo Legajo del empleado
+     * @return Empleado encontrado
+     */
+    @Operation(summary = "Obtener empleado por legajo", description = "Retorna un empleado específico por su legajo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Empleado encontrado"),
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+    })
+    @GetMapping("/legajo/{legajo}")
+    public Mono<EmpleadoResponseDTO> obtenerPorLegajo(@PathVariable String legajo) {
+        return empleadoService.obtenerPorLegajo(legajo);
+    }
+}
@@ -0,0 +1,117 @@
+package com.coderhouse.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.PaginaKeysetDTO;
+import com.coderhouse.dto.ProyectoResponseDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.service.ProyectoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller REST reactivo de lectura de proyectos.
+ * Expone los mismos GET que el ProyectoController de entrega-final, salvo las
+ * recomendaciones, que dependen de la instantánea en memoria de esa aplicación.
+ */
+@RestController
+@RequestMapping("/api/proyectos")
+@Tag(name = "Proyectos", description = "API de lectura reactiva de proyectos")
+public class ProyectoController {
+    
+    @Autowired
+    private ProyectoService proyectoService;
+    
+    /**
+     * Obtiene todos los proyectos.
+     * 
+     * @return Flujo de proyectos en orden de ID
+     */
+    @Operation(summary = "Obtener todos los proyectos", description = "Retorna todos los proyectos; con application/x-ndjson se transmiten con contrapresión")
+    @ApiResponse(responseCode = "200", description = "Lista de proyectos obtenida exitosamente")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProyectoResponseDTO> obtenerTodos() {
+        return proyectoService.obtenerTodos();
+    }
+    
+    /**
+     * Obtiene varios proyectos por sus IDs.
+     * 
+     * @param ids IDs de los proyectos
+     * @return Un resultado por ID, en el orden solicitado
+     */
+    @Operation(summary = "Obtener proyectos por IDs", description = "Retorna un resultado por cada ID solicitado, indicando si fue encontrado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta ejecutada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado grande")
+    })
+    @GetMapping(params = "ids")
+    public Mono<List<ResultadoPorIdDTO<ProyectoResponseDTO>>> obtenerPorIds(@RequestParam List<Long> ids) {
+        return proyectoService.obtenerPorIds(ids);
+    }
+    
+    /**
+     * Obtiene un proyecto por su ID.
+     * 
+     * @param id ID del proyecto
+     * @return Proyecto encontrado
+     */
+    @Operation(summary = "Obtener proyecto por ID", description = "Retorna un proyecto específico por su ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Proyecto encontrado"),
+        @ApiResponse(responseCode = "404", description = "Proyecto no encontrado")
+    })
+    @GetMapping("/{id}")
+    public Mono<ProyectoResponseDTO> obtenerPorId(@PathVariable Long id) {
+        return proyectoService.obtenerPorId(id);
+    }
+    
+    /**
+     * Obtiene una página de los miembros de un proyecto.
+     * 
+     * @param id ID del proyecto
+     * @param despuesDe ID del último empleado recibido (cursor)
+     * @param limite Cantidad máxima de empleados a devolver
+     * @return Página de empleados y cursor para la página siguiente
+     */
+    @Operation(summary = "Obtener miembros de un proyecto", description = "Retorna los empleados del proyecto ordenados por ID, paginados por cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de empleados"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido"),
+        @ApiResponse(responseCode = "404", description = "Proyecto no encontrado")
+    })
+    @GetMapping("/{id}/empleados")
+    public Mono<PaginaKeysetDTO<EmpleadoSimpleDTO>> obtenerEmpleados(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int limite) {
+        return proyectoService.obtenerEmpleados(id, despuesDe, limite);
+    }
+    
+    /**
+     * Busca proyectos por nombre.
+     * 
+     * @param nombre Texto a buscar en el nombre
+     * @return Proyectos encontrados
+     */
+    @Operation(summary = "Buscar proyectos por nombre", description = "Busca proyectos cuyo nombre contenga el texto especificado")
+    @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente")
+    @GetMapping("/buscar/{nombre}")
+    public Flux<ProyectoResponseDTO> buscarPorNombre(@PathVariable String nombre) {
+        return proyectoService.buscarPorNombre(nombre);
+    }
+}
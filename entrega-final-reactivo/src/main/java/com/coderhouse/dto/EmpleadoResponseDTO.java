@@ -0,0 +1,114 @@
+package com.coderhouse.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de respuesta para Empleado.
+ * Incluye información de los proyectos asociados.
+ */
+public class EmpleadoResponseDTO {
+    
+    private Long id;
+    private String nombre;
+    private String apellido;
+    private String email;
+    private String legajo;
+    private String departamento;
+    private LocalDateTime fechaIngreso;
+    private long cantidadProyectos;
+    private List<ProyectoSimpleDTO> proyectos;
+    
+    // Constructores
+    
+    public EmpleadoResponseDTO() {
+    }
+    
+    public EmpleadoResponseDTO(Long id, String nombre, String apellido, String email, String legajo,
+                               String departamento, LocalDateTime fechaIngreso, long cantidadProyectos,
+                               List<ProyectoSimpleDTO> proyectos) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.email = email;
+        this.legajo = legajo;
+        this.departamento = departamento;
+        this.fechaIngreso = fechaIngreso;
+        this.cantidadProyectos = cantidadProyectos;
+        this.proyectos = proyectos;
+    }
+    
+    // Getters y Setters
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    public String getApellido() {
+        return apellido;
+    }
+    
+    public void setApellido(String apellido) {
+        this.apellido = apellido;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getLegajo() {
+        return legajo;
+    }
+    
+    public void setLegajo(String legajo) {
+        this.legajo = legajo;
+    }
+    
+    public String getDepartamento() {
+        return departamento;
+    }
+    
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+    
+    public LocalDateTime getFechaIngreso() {
+        return fechaIngreso;
+    }
+    
+    public void setFechaIngreso(LocalDateTime fechaIngreso) {
+        this.fechaIngreso = fechaIngreso;
+    }
+    
+    public long getCantidadProyectos() {
+        return cantidadProyectos;
+    }
+    
+    public void setCantidadProyectos(long cantidadProyectos) {
+        this.cantidadProyectos = cantidadProyectos;
+    }
+    
+    public List<ProyectoSimpleDTO> getProyectos() {
+        return proyectos;
+    }
+    
+    public void setProyectos(List<ProyectoSimpleDTO> proyectos) {
+        this.proyectos = proyectos;
+    }
+}
@@ -0,0 +1,78 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO simplificado de Empleado para evitar referencias circulares.
+ */
+public class EmpleadoSimpleDTO {
+    
+    private Long id;
+    private String nombre;
+    private String apellido;
+    private String email;
+    private String legajo;
+    private String departamento;
+    
+    // Constructores
+    
+    public EmpleadoSimpleDTO() {
+    }
+    
+    public EmpleadoSimpleDTO(Long id, String nombre, String apellido, String email, String legajo, String departamento) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.email = email;
+        this.legajo = legajo;
+        this.departamento = departamento;
+    }
+    
+    // Getters y Setters
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    public String getApellido() {
+        return apellido;
+    }
+    
+    public void setApellido(String apellido) {
+        this.apellido = apellido;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getLegajo() {
+        return legajo;
+    }
+    
+    public void setLegajo(String legajo) {
+        this.legajo = legajo;
+    }
+    
+    public String getDepartamento() {
+        return departamento;
+    }
+    
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+}
@@ -0,0 +1,54 @@
+package com.coderhouse.dto;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para listados paginados por keyset.
+ * El cursor es el ID del último elemento devuelto y se envía como
+ * parámetro "despuesDe" para obtener la página siguiente.
+ * 
+ * @param <T> Tipo de los elementos de la página
+ */
+public class PaginaKeysetDTO<T> {
+    
+    private List<T> elementos;
+    private Long siguienteCursor;
+    private boolean hayMas;
+    
+    // Constructores
+    
+    public PaginaKeysetDTO() {
+    }
+    
+    public PaginaKeysetDTO(List<T> elementos, Long siguienteCursor, boolean hayMas) {
+        this.elementos = elementos;
+        this.siguienteCursor = siguienteCursor;
+        this.hayMas = hayMas;
+    }
+    
+    // Getters y Setters
+    
+    public List<T> getElementos() {
+        return elementos;
+    }
+    
+    public void setElementos(List<T> elementos) {
+        this.elementos = elementos;
+    }
+    
+    public Long getSiguienteCursor() {
+        return siguienteCursor;
+    }
+    
+    public void setSiguienteCursor(Long siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+    
+    public boolean isHayMas() {
+        return hayMas;
+    }
+    
+    public void setHayMas(boolean hayMas) {
+        this.hayMas = hayMas;
+    }
+}
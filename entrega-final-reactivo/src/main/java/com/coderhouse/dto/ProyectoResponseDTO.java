@@ -0,0 +1,61 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO de respuesta para Proyecto.
+ * Incluye la cantidad de empleados asociados, leída de la columna
+ * desnormalizada del proyecto; el detalle de los miembros
+ * se obtiene paginado desde /api/proyectos/{id}/empleados.
+ */
+public class ProyectoResponseDTO {
+    
+    private Long id;
+    private String nombre;
+    private String descripcion;
+    private long cantidadEmpleados;
+    
+    // Constructores
+    
+    public ProyectoResponseDTO() {
+    }
+    
+    public ProyectoResponseDTO(Long id, String nombre, String descripcion, long cantidadEmpleados) {
+        this.id = id;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.cantidadEmpleados = cantidadEmpleados;
+    }
+    
+    // Getters y Setters
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    public String getDescripcion() {
+        return descripcion;
+    }
+    
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+    
+    public long getCantidadEmpleados() {
+        return cantidadEmpleados;
+    }
+    
+    public void setCantidadEmpleados(long cantidadEmpleados) {
+        this.cantidadEmpleados = cantidadEmpleados;
+    }
+}
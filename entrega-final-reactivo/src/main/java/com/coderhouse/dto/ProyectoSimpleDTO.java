@@ -0,0 +1,40 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO simplificado de Proyecto para evitar referencias circulares.
+ * No incluye la descripción para no forzar la carga de esa columna
+ * en los listados anidados.
+ */
+public class ProyectoSimpleDTO {
+    
+    private Long id;
+    private String nombre;
+    
+    // Constructores
+    
+    public ProyectoSimpleDTO() {
+    }
+    
+    public ProyectoSimpleDTO(Long id, String nombre) {
+        this.id = id;
+        this.nombre = nombre;
+    }
+    
+    // Getters y Setters
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+}
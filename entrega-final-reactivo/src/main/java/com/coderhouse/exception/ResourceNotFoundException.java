@@ -0,0 +1,15 @@
+package com.coderhouse.exception;
+
+/**
+ * Excepción personalizada para cuando no se encuentra un recurso.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+    
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+    
+    public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
+        super(String.format("%s no encontrado con %s: '%s'", resourceName, fieldName, fieldValue));
+    }
+}
@@ -0,0 +1,127 @@
+package com.coderhouse.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.dto.ProyectoSimpleDTO;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de lectura de empleados sobre R2DBC.
+ *
+ * Cada empleado se lee junto con sus proyectos en una única consulta con
+ * left join, ordenada por ID de empleado; las filas consecutivas del mismo
+ * empleado se agrupan con bufferUntilChanged, que solo pide al driver las
+ * filas que el suscriptor puede consumir, de modo que la contrapresión del
+ * cliente HTTP llega hasta el cursor de la base.
+ */
+@Repository
+public class EmpleadoLecturaRepository {
+
+    private static final String SELECT_EMPLEADOS =
+        "select e.id, e.nombre, e.apellido, e.email, e.legajo, d.nombre as departamento, e.fecha_ingreso, "
+        + "e.cantidad_proyectos, p.id as proyecto_id, p.nombre as proyecto_nombre "
+        + "from empleados e "
+        + "left join departamentos d on d.id = e.departamento_id "
+        + "left join proyecto_empleado pe on pe.empleado_id = e.id "
+        + "left join proyectos p on p.id = pe.proyecto_id and p.eliminado = false "
+        + "where e.eliminado = false ";
+
+    private static final String ORDEN = " order by e.id, p.id";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Recorre todos los empleados en orden de ID.
+     *
+     * @return Empleados con sus proyectos, emitidos a medida que se leen
+     */
+    public Flux<EmpleadoResponseDTO> listar() {
+        return agrupar(databaseClient.sql(SELECT_EMPLEADOS + ORDEN)
+            .map(EmpleadoLecturaRepository::aFila)
+            .all());
+    }
+
+    /**
+     * Busca los empleados con los IDs dados en una única consulta.
+     *
+     * @param ids IDs de los empleados
+     * @return Empleados encontrados en orden de ID
+     */
+    public Flux<EmpleadoResponseDTO> buscarPorIds(Collection<Long> ids) {
+        return agrupar(databaseClient.sql(SELECT_EMPLEADOS + "and e.id in (:ids)" + ORDEN)
+            .bind("ids", ids)
+            .map(EmpleadoLecturaRepository::aFila)
+            .all());
+    }
+
+    public Mono<EmpleadoResponseDTO> buscarPorId(Long id) {
+        return buscarPor("e.id", id);
+    }
+
+    public Mono<EmpleadoResponseDTO> buscarPorEmail(String email) {
+        return buscarPor("e.email", email);
+    }
+
+    public Mono<EmpleadoResponseDTO> buscarPorLegajo(String legajo) {
+        return buscarPor("e.legajo", legajo);
+    }
+
+    private Mono<EmpleadoResponseDTO> buscarPor(String columna, Object valor) {
+        return agrupar(databaseClient.sql(SELECT_EMPLEADOS + "and " + columna + " = :valor" + ORDEN)
+            .bind("valor", valor)
+            .map(EmpleadoLecturaRepository::aFila)
+            .all())
+            .next();
+    }
+
+    private static Flux<EmpleadoResponseDTO> agrupar(Flux<Fila> filas) {
+        return filas.bufferUntilChanged(Fila::id).map(EmpleadoLecturaRepository::aDTO);
+    }
+
+    private static EmpleadoResponseDTO aDTO(List<Fila> filas) {
+        Fila primera = filas.get(0);
+        List<ProyectoSimpleDTO> proyectos = new ArrayList<>(filas.size());
+        for (Fila fila : filas) {
+            if (fila.proyectoId() != null) {
+                proyectos.add(new ProyectoSimpleDTO(fila.proyectoId(), fila.proyectoNombre()));
+            }
+        }
+        return new EmpleadoResponseDTO(primera.id(), primera.nombre(), primera.apellido(), primera.email(),
+            primera.legajo(), primera.departamento(), primera.fechaIngreso(), primera.cantidadProyectos(), proyectos);
+    }
+
+    private static Fila aFila(Readable fila) {
+        Long cantidad = fila.get("cantidad_proyectos", Long.class);
+        return new Fila(
+            fila.get("id", Long.class),
+            fila.get("nombre", String.class),
+            fila.get("apellido", String.class),
+            fila.get("email", String.class),
+            fila.get("legajo", String.class),
+            fila.get("departamento", String.class),
+            fila.get("fecha_ingreso", LocalDateTime.class),
+            cantidad != null ? cantidad : 0L,
+            fila.get("proyecto_id", Long.class),
+            fila.get("proyecto_nombre", String.class));
+    }
+
+    /**
+     * Fila del join empleado-proyecto; un empleado sin proyectos tiene una
+     * sola fila con proyectoId null.
+     */
+    private record Fila(Long id, String nombre, String apellido, String email, String legajo, String departamento,
+                        LocalDateTime fechaIngreso, long cantidadProyectos, Long proyectoId, String proyectoNombre) {
+    }
+}
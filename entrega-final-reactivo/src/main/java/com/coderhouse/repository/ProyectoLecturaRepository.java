@@ -0,0 +1,102 @@
+package com.coderhouse.repository;
+
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.ProyectoResponseDTO;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de lectura de proyectos sobre R2DBC.
+ * La cantidad de empleados se lee de la columna desnormalizada del proyecto.
+ */
+@Repository
+public class ProyectoLecturaRepository {
+
+    private static final String SELECT_PROYECTOS =
+        "select id, nombre, descripcion, cantidad_empleados from proyectos where eliminado = false ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Recorre todos los proyectos en orden de ID.
+     *
+     * @return Proyectos emitidos a medida que se leen
+     */
+    public Flux<ProyectoResponseDTO> listar() {
+        return databaseClient.sql(SELECT_PROYECTOS + "order by id")
+            .map(ProyectoLecturaRepository::aDTO)
+            .all();
+    }
+
+    public Mono<ProyectoResponseDTO> buscarPorId(Long id) {
+        return databaseClient.sql(SELECT_PROYECTOS + "and id = :id")
+            .bind("id", id)
+            .map(ProyectoLecturaRepository::aDTO)
+            .one();
+    }
+
+    public Flux<ProyectoResponseDTO> buscarPorIds(Collection<Long> ids) {
+        return databaseClient.sql(SELECT_PROYECTOS + "and id in (:ids) order by id")
+            .bind("ids", ids)
+            .map(ProyectoLecturaRepository::aDTO)
+            .all();
+    }
+
+    /**
+     * Busca proyectos cuyo nombre contenga el texto, sin distinguir mayúsculas.
+     */
+    public Flux<ProyectoResponseDTO> buscarPorNombre(String nombre) {
+        return databaseClient.sql(SELECT_PROYECTOS + "and lower(nombre) like :patron order by id")
+            .bind("patron", "%" + nombre.toLowerCase() + "%")
+            .map(ProyectoLecturaRepository::aDTO)
+            .all();
+    }
+
+    /**
+     * Obtiene los miembros de un proyecto con ID mayor al cursor, sobre la
+     * clave primaria (proyecto_id, empleado_id) de proyecto_empleado.
+     *
+     * @param proyectoId ID del proyecto
+     * @param despuesDe ID del último empleado de la página anterior
+     * @param limite Cantidad máxima de filas
+     * @return Empleados ordenados por ID
+     */
+    public Flux<EmpleadoSimpleDTO> buscarEmpleadosDespuesDe(Long proyectoId, Long despuesDe, int limite) {
+        return databaseClient.sql(
+                "select e.id, e.nombre, e.apellido, e.email, e.legajo, d.nombre as departamento "
+                + "from proyecto_empleado pe "
+                + "join empleados e on e.id = pe.empleado_id and e.eliminado = false "
+                + "left join departamentos d on d.id = e.departamento_id "
+                + "where pe.proyecto_id = :proyectoId and pe.empleado_id > :despuesDe "
+                + "order by pe.empleado_id limit :limite")
+            .bind("proyectoId", proyectoId)
+            .bind("despuesDe", despuesDe)
+            .bind("limite", limite)
+            .map(fila -> new EmpleadoSimpleDTO(
+                fila.get("id", Long.class),
+                fila.get("nombre", String.class),
+                fila.get("apellido", String.class),
+                fila.get("email", String.class),
+                fila.get("legajo", String.class),
+                fila.get("departamento", String.class)))
+            .all();
+    }
+
+    private static ProyectoResponseDTO aDTO(Readable fila) {
+        Long cantidad = fila.get("cantidad_empleados", Long.class);
+        return new ProyectoResponseDTO(
+            fila.get("id", Long.class),
+            fila.get("nombre", String.class),
+            fila.get("descripcion", String.class),
+            cantidad != null ? cantidad : 0L);
+    }
+}
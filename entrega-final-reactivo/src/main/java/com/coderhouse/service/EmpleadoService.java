@@ -0,0 +1,92 @@
+package com.coderhouse.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.repository.EmpleadoLecturaRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio de lectura de empleados no bloqueante.
+ * Mantiene los mismos límites y errores que el EmpleadoService de entrega-final.
+ */
+@Service
+public class EmpleadoService {
+    
+    @Autowired
+    private EmpleadoLecturaRepository empleadoRepository;
+    
+    @Value("${app.lote.max-ids:1000}")
+    private int maxIdsPorConsulta;
+    
+    @Value("${app.lote.tamanio:500}")
+    private int tamanioLote;
+    
+    /**
+     * Obtiene todos los empleados como un flujo.
+     * 
+     * @return Empleados en orden de ID, leídos según la demanda del cliente
+     */
+    public Flux<EmpleadoResponseDTO> obtenerTodos() {
+        return empleadoRepository.listar();
+    }
+    
+    /**
+     * Busca varios empleados por sus IDs, con consultas IN por lotes
+     * ejecutadas una después de la otra.
+     * 
+     * @param ids IDs de los empleados
+     * @return Un resultado por ID, en el orden solicitado, indicando si fue encontrado
+     */
+    public Mono<List<ResultadoPorIdDTO<EmpleadoResponseDTO>>> obtenerPorIds(List<Long> ids) {
+        return Mono.fromCallable(() -> Lotes.distintos(ids, maxIdsPorConsulta))
+            .flatMapMany(distintos -> Flux.fromIterable(Lotes.particionar(distintos, tamanioLote)))
+            .concatMap(empleadoRepository::buscarPorIds)
+            .collectMap(EmpleadoResponseDTO::getId)
+            .map(encontrados -> ids.stream()
+                .map(id -> new ResultadoPorIdDTO<>(id, encontrados.get(id)))
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Busca un empleado por su ID.
+     * 
+     * @param id ID del empleado
+     * @return Empleado encontrado, o error ResourceNotFoundException
+     */
+    public Mono<EmpleadoResponseDTO> obtenerPorId(Long id) {
+        return empleadoRepository.buscarPorId(id)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Empleado", "id", id)));
+    }
+    
+    /**
+     * Busca un empleado por su email.
+     * 
+     * @param email Email del empleado
+     * @return Empleado encontrado, o error ResourceNotFoundException
+     */
+    public Mono<EmpleadoResponseDTO> obtenerPorEmail(String email) {
+        return empleadoRepository.buscarPorEmail(email)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Empleado", "email", email)));
+    }
+    
+    /**
+     * Busca un empleado por su legajo.
+     * 
+     * @param legajo Legajo del empleado
+     * @return Empleado encontrado, o error ResourceNotFoundException
+     */
+    public Mono<EmpleadoResponseDTO> obtenerPorLegajo(String legajo) {
+        return empleadoRepository.buscarPorLegajo(legajo)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Empleado", "legajo", legajo)));
+    }
+}
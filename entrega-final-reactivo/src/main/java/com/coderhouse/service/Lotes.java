@@ -0,0 +1,55 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utilidades para procesar listas de IDs en lotes.
+ * Se usan para dividir las cláusulas IN largas en consultas de tamaño acotado.
+ */
+public final class Lotes {
+
+    private Lotes() {
+    }
+
+    /**
+     * Valida una lista de IDs recibida en una solicitud y elimina duplicados
+     * conservando el orden original.
+     * 
+     * @param ids IDs solicitados
+     * @param maximo Cantidad máxima de IDs permitida
+     * @return IDs distintos en el orden en que fueron solicitados
+     * @throws IllegalArgumentException Si la lista está vacía, contiene nulos o supera el máximo
+     */
+    public static List<Long> distintos(List<Long> ids, int maximo) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un ID");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("La lista de IDs contiene valores vacíos");
+        }
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.size() > maximo) {
+            throw new IllegalArgumentException(
+                String.format("Se solicitaron %d IDs; el máximo por consulta es %d", distintos.size(), maximo));
+        }
+        return new ArrayList<>(distintos);
+    }
+
+    /**
+     * Divide una lista en sublistas consecutivas de tamaño máximo dado.
+     * 
+     * @param elementos Lista a dividir
+     * @param tamanio Tamaño máximo de cada lote
+     * @return Lista de lotes (vistas sobre la lista original)
+     */
+    public static <T> List<List<T>> particionar(List<T> elementos, int tamanio) {
+        List<List<T>> lotes = new ArrayList<>();
+        for (int desde = 0; desde < elementos.size(); desde += tamanio) {
+            lotes.add(elementos.subList(desde, Math.min(desde + tamanio, elementos.size())));
+        }
+        return lotes;
+    }
+}
@@ -0,0 +1,109 @@
+package com.coderhouse.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.PaginaKeysetDTO;
+import com.coderhouse.dto.ProyectoResponseDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.repository.ProyectoLecturaRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio de lectura de proyectos no bloqueante.
+ * Mantiene los mismos límites y errores que el ProyectoService de entrega-final.
+ */
+@Service
+public class ProyectoService {
+    
+    @Autowired
+    private ProyectoLecturaRepository proyectoRepository;
+    
+    @Value("${app.lote.max-ids:1000}")
+    private int maxIdsPorConsulta;
+    
+    @Value("${app.lote.tamanio:500}")
+    private int tamanioLote;
+    
+    @Value("${app.paginacion.max-limite:500}")
+    private int maxLimitePagina;
+    
+    /**
+     * Obtiene todos los proyectos como un flujo.
+     * 
+     * @return Proyectos en orden de ID, leídos según la demanda del cliente
+     */
+    public Flux<ProyectoResponseDTO> obtenerTodos() {
+        return proyectoRepository.listar();
+    }
+    
+    /**
+     * Busca varios proyectos por sus IDs, con consultas IN por lotes.
+     * 
+     * @param ids IDs de los proyectos
+     * @return Un resultado por ID, en el orden solicitado, indicando si fue encontrado
+     */
+    public Mono<List<ResultadoPorIdDTO<ProyectoResponseDTO>>> obtenerPorIds(List<Long> ids) {
+        return Mono.fromCallable(() -> Lotes.distintos(ids, maxIdsPorConsulta))
+            .flatMapMany(distintos -> Flux.fromIterable(Lotes.particionar(distintos, tamanioLote)))
+            .concatMap(proyectoRepository::buscarPorIds)
+            .collectMap(ProyectoResponseDTO::getId)
+            .map(encontrados -> ids.stream()
+                .map(id -> new ResultadoPorIdDTO<>(id, encontrados.get(id)))
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Busca un proyecto por su ID.
+     * 
+     * @param id ID del proyecto
+     * @return Proyecto encontrado, o error ResourceNotFoundException
+     */
+    public Mono<ProyectoResponseDTO> obtenerPorId(Long id) {
+        return proyectoRepository.buscarPorId(id)
+            .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Proyecto", "id", id)));
+    }
+    
+    /**
+     * Obtiene una página de los miembros de un proyecto con paginación keyset.
+     * 
+     * @param proyectoId ID del proyecto
+     * @param despuesDe ID del último empleado de la página anterior (null para la primera)
+     * @param limite Cantidad máxima de empleados por página
+     * @return Página de empleados ordenados por ID
+     */
+    public Mono<PaginaKeysetDTO<EmpleadoSimpleDTO>> obtenerEmpleados(Long proyectoId, Long despuesDe, int limite) {
+        if (limite < 1 || limite > maxLimitePagina) {
+            return Mono.error(new IllegalArgumentException(
+                String.format("El límite debe estar entre 1 y %d", maxLimitePagina)));
+        }
+        // Se pide un elemento extra para saber si existe una página siguiente
+        return obtenerPorId(proyectoId)
+            .then(proyectoRepository.buscarEmpleadosDespuesDe(
+                proyectoId, despuesDe != null ? despuesDe : 0L, limite + 1).collectList())
+            .map(empleados -> {
+                boolean hayMas = empleados.size() > limite;
+                List<EmpleadoSimpleDTO> pagina = hayMas ? empleados.subList(0, limite) : empleados;
+                Long siguienteCursor = hayMas ? pagina.get(pagina.size() - 1).getId() : null;
+                return new PaginaKeysetDTO<>(pagina, siguienteCursor, hayMas);
+            });
+    }
+    
+    /**
+     * Busca proyectos cuyo nombre contenga el texto indicado.
+     * 
+     * @param nombre Texto a buscar, sin distinguir mayúsculas
+     * @return Proyectos encontrados
+     */
+    public Flux<ProyectoResponseDTO> buscarPorNombre(String nombre) {
+        return proyectoRepository.buscarPorNombre(nombre);
+    }
+}
@@ -0,0 +1,116 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de carga HTTP de lazo cerrado: cada cliente envía una solicitud,
+ * espera la respuesta y envía la siguiente. Reporta rendimiento y latencias
+ * (p50, p99, máxima) de las respuestas 2xx, y cuenta por separado las
+ * respuestas 503 del límite de concurrencia y los demás errores.
+ *
+ * Uso (sin compilar, Java 11+):
+ *   java benchmark/CargaHttp.java <url-base> <clientes> <segundos> <max-id>
+ *
+ * Cada solicitud pide GET <url-base>/api/empleados/{id} con un ID al azar
+ * entre 1 y max-id. Los primeros 5 segundos son de calentamiento y no se miden.
+ */
+public class CargaHttp {
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int maxId = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+        HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+        long calentamientoHasta = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        long finHasta = calentamientoHasta + Duration.ofSeconds(segundos).toNanos();
+        AtomicLong rechazadas = new AtomicLong();
+        AtomicLong errores = new AtomicLong();
+        List<long[]> latencias = new ArrayList<>();
+        int[] cantidades = new int[clientes];
+        List<Thread> hilos = new ArrayList<>();
+
+        for (int i = 0; i < clientes; i++) {
+            int cliente = i;
+            latencias.add(null);
+            Thread hilo = new Thread(() -> {
+                long[] propias = new long[1024];
+                int n = 0;
+                while (true) {
+                    long inicio = System.nanoTime();
+                    if (inicio >= finHasta) {
+                        break;
+                    }
+                    long id = ThreadLocalRandom.current().nextLong(1, maxId + 1);
+                    HttpRequest solicitud = HttpRequest.newBuilder(URI.create(base + "/api/empleados/" + id))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                    int estado;
+                    try {
+                        estado = http.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        estado = -1;
+                    }
+                    long fin = System.nanoTime();
+                    if (inicio < calentamientoHasta) {
+                        continue;
+                    }
+                    if (estado >= 200 && estado < 300) {
+                        if (n == propias.length) {
+                            propias = Arrays.copyOf(propias, n * 2);
+                        }
+                        propias[n++] = fin - inicio;
+                    } else if (estado == 503) {
+                        rechazadas.incrementAndGet();
+                    } else {
+                        errores.incrementAndGet();
+                    }
+                }
+                synchronized (latencias) {
+                    latencias.set(cliente, propias);
+                    cantidades[cliente] = n;
+                }
+            });
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        long total = Arrays.stream(cantidades).asLongStream().sum();
+        long[] todas = new long[(int) total];
+        int pos = 0;
+        for (int i = 0; i < clientes; i++) {
+            System.arraycopy(latencias.get(i), 0, todas, pos, cantidades[i]);
+            pos += cantidades[i];
+        }
+        Arrays.sort(todas);
+
+        System.out.printf("clientes=%d segundos=%d%n", clientes, segundos);
+        System.out.printf("exitosas=%d rendimiento=%.0f sol/s rechazadas(503)=%d errores=%d%n",
+            total, total / (double) segundos, rechazadas.get(), errores.get());
+        if (todas.length > 0) {
+            System.out.printf("p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                percentil(todas, 0.50), percentil(todas, 0.99), todas[todas.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+}
@@ -0,0 +1,100 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.FacturacionSegundaEntregaMoralesApplication;
+import com.coderhouse.repository.ProyectoRepository;
+import com.coderhouse.service.EmpleadoService;
+
+/**
+ * Compara la carga de un proyecto con la descripción (findConDescripcionById,
+ * el entity graph que antes usaba findById) contra la carga sin ella
+ * (findById), dentro de una transacción de escritura como la de asignar un
+ * empleado, con descripciones del tamaño de una columna TEXT. Para cada
+ * variante reporta la latencia (p50, p99) y los bytes asignados por carga,
+ * y como referencia el par asignar + remover completo de EmpleadoService.
+ *
+ * Uso: benchmark/comparar-descripcion-lazy.sh [proyectos] [tamaño-descripcion] [iteraciones]
+ *
+ * Levanta la aplicación con el perfil h2 y amplía la columna Descripcion,
+ * que H2 crea como VARCHAR(255), al tamaño de un TEXT de MySQL.
+ */
+public class ComparacionDescripcionLazy {
+
+    private static final com.sun.management.ThreadMXBean HILOS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int proyectos = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int tamanio = args.length > 1 ? Integer.parseInt(args[1]) : 32_000;
+        int iteraciones = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(FacturacionSegundaEntregaMoralesApplication.class)
+            .profiles("h2")
+            .run("--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                "--app.contadores.reconciliacion.enabled=false");
+        try {
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            jdbc.execute("alter table proyectos alter column descripcion varchar(65535)");
+            String descripcion = "x".repeat(tamanio);
+            List<Object[]> filas = new ArrayList<>();
+            for (int i = 1; i <= proyectos; i++) {
+                filas.add(new Object[] {"Proyecto " + i, descripcion});
+            }
+            jdbc.batchUpdate("insert into Proyectos (Nombre, Descripcion) values (?, ?)", filas);
+            jdbc.update("insert into Empleados (Nombre, Apellido, Email, Legajo) values ('Bench', 'Bench', 'b@bench.com', 'BENCH1')");
+            long empleadoId = jdbc.queryForObject("select id from Empleados", Long.class);
+            List<Long> ids = jdbc.queryForList("select id from Proyectos order by id", Long.class);
+
+            ProyectoRepository repositorio = contexto.getBean(ProyectoRepository.class);
+            EmpleadoService empleados = contexto.getBean(EmpleadoService.class);
+            TransactionTemplate transaccion = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+            LongConsumer conDescripcion = id -> transaccion.executeWithoutResult(estado ->
+                repositorio.findConDescripcionById(id).orElseThrow().getNombre());
+            LongConsumer sinDescripcion = id -> transaccion.executeWithoutResult(estado ->
+                repositorio.findById(id).orElseThrow().getNombre());
+            LongConsumer asignarYRemover = id -> {
+                empleados.asignarProyecto(empleadoId, id);
+                empleados.removerProyecto(empleadoId, id);
+            };
+
+            System.out.printf("%d proyectos, descripción de %d caracteres, %d iteraciones%n", proyectos, tamanio, iteraciones);
+            System.out.printf("%-36s %10s %10s %16s%n", "variante", "p50 (µs)", "p99 (µs)", "asignado (KB)");
+            medir("findConDescripcionById (antes)", conDescripcion, ids, iteraciones / 4, false);
+            medir("findById lazy (después)", sinDescripcion, ids, iteraciones / 4, false);
+            medir("findConDescripcionById (antes)", conDescripcion, ids, iteraciones, true);
+            medir("findById lazy (después)", sinDescripcion, ids, iteraciones, true);
+            medir("asignar + remover (después)", asignarYRemover, ids, iteraciones / 10, false);
+            medir("asignar + remover (después)", asignarYRemover, ids, iteraciones / 4, true);
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private static void medir(String nombre, LongConsumer operacion, List<Long> ids, int iteraciones, boolean reportar) {
+        long hilo = Thread.currentThread().getId();
+        long[] latencias = new long[iteraciones];
+        long asignadoInicio = HILOS.getThreadAllocatedBytes(hilo);
+        for (int i = 0; i < iteraciones; i++) {
+            long inicio = System.nanoTime();
+            operacion.accept(ids.get(i % ids.size()));
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        long asignado = HILOS.getThreadAllocatedBytes(hilo) - asignadoInicio;
+        if (reportar) {
+            Arrays.sort(latencias);
+            System.out.printf("%-36s %10.1f %10.1f %16.1f%n", nombre,
+                latencias[iteraciones / 2] / 1e3, latencias[(int) (iteraciones * 0.99)] / 1e3,
+                asignado / (double) iteraciones / 1024);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.FacturacionSegundaEntregaMoralesApplication;
+import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.service.EmpleadoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara, dentro del mismo proceso, el listado completo de empleados por la
+ * sesión con estado (obtenerTodos, entidades administradas por el contexto de
+ * persistencia) contra la lectura masiva sin estado (exportarTodos), tanto
+ * juntando el resultado en una lista como escribiéndolo directo a JSON.
+ * Para cada camino reporta la CPU y los bytes asignados por el hilo que lee
+ * (mediana de las repeticiones) y el heap retenido a mitad de la lectura,
+ * por encima del que ya ocupaba la aplicación antes de empezarla. El camino
+ * con estado se mide dentro de su transacción, antes del commit, mientras el
+ * contexto de persistencia todavía retiene las entidades y sus snapshots.
+ *
+ * Uso: benchmark/comparar-lectura-masiva.sh [empleados] [repeticiones]
+ *
+ * Levanta la aplicación con el perfil h2 y carga los datos por JDBC, sin
+ * pasar por la API, para que la carga no deje entidades ni cachés tibias.
+ */
+public class ComparacionLecturaMasiva {
+
+    private static final int PROYECTOS = 200;
+    private static final int PROYECTOS_POR_EMPLEADO = 2;
+
+    private static final com.sun.management.ThreadMXBean HILOS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int empleados = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(FacturacionSegundaEntregaMoralesApplication.class)
+            .profiles("h2")
+            .run("--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                "--app.contadores.reconciliacion.enabled=false");
+        try {
+            cargar(contexto.getBean(JdbcTemplate.class), empleados);
+            EmpleadoService servicio = contexto.getBean(EmpleadoService.class);
+            ObjectMapper mapper = contexto.getBean(ObjectMapper.class);
+            TransactionTemplate transaccion = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+            transaccion.setReadOnly(true);
+
+            List<Camino> caminos = List.of(
+                new Camino("con estado (lista)", retenido -> transaccion.execute(estado -> {
+                    // obtenerTodos se une a esta transacción: el heap se mide antes de cerrar la sesión
+                    List<EmpleadoResponseDTO> lista = servicio.obtenerTodos();
+                    retenido[0] = heapRetenido();
+                    return lista.size();
+                })),
+                new Camino("sin estado (lista)", retenido -> {
+                    List<EmpleadoResponseDTO> lista = new ArrayList<>();
+                    servicio.exportarTodos(lista::add);
+                    retenido[0] = heapRetenido();
+                    return lista.size();
+                }),
+                new Camino("sin estado (JSON en flujo)", retenido -> {
+                    int[] cantidad = new int[1];
+                    try (JsonGenerator json = mapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+                        json.writeStartArray();
+                        servicio.exportarTodos(dto -> {
+                            try {
+                                json.writeObject(dto);
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                            if (++cantidad[0] == empleados / 2) {
+                                retenido[0] = heapRetenido();
+                            }
+                        });
+                        json.writeEndArray();
+                    }
+                    return cantidad[0];
+                }));
+
+            System.out.printf("%d empleados, %d proyectos, %d asignaciones por empleado%n",
+                empleados, PROYECTOS, PROYECTOS_POR_EMPLEADO);
+            System.out.printf("%-28s %10s %14s %14s%n", "camino", "filas", "CPU (ms)", "asignado (MB)");
+            for (Camino camino : caminos) {
+                camino.medir(1);
+            }
+            for (Camino camino : caminos) {
+                camino.medir(repeticiones);
+                camino.reportar();
+            }
+            System.out.printf("%n%-28s %14s%n", "camino", "retenido (MB)");
+            for (Camino camino : caminos) {
+                System.out.printf("%-28s %14.1f%n", camino.nombre, camino.retenido / 1e6);
+            }
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private static void cargar(JdbcTemplate jdbc, int empleados) {
+        LocalDateTime ahora = LocalDateTime.now();
+        jdbc.batchUpdate("insert into Departamentos (Nombre) values (?)",
+            List.of(new Object[] {"Desarrollo"}, new Object[] {"Ventas"}, new Object[] {"Soporte"}));
+        List<Long> departamentos = jdbc.queryForList("select id from Departamentos order by id", Long.class);
+
+        List<Object[]> proyectos = new ArrayList<>();
+        for (int i = 1; i <= PROYECTOS; i++) {
+            proyectos.add(new Object[] {"Proyecto " + i, "Descripción del proyecto " + i});
+        }
+        jdbc.batchUpdate("insert into Proyectos (Nombre, Descripcion) values (?, ?)", proyectos);
+
+        List<Object[]> filas = new ArrayList<>();
+        for (int i = 1; i <= empleados; i++) {
+            filas.add(new Object[] {"Nombre" + i, "Apellido" + i, "e" + i + "@bench.com", "LEG" + i,
+                departamentos.get(i % departamentos.size()), Timestamp.valueOf(ahora), PROYECTOS_POR_EMPLEADO});
+            if (filas.size() == 5_000 || i == empleados) {
+                jdbc.batchUpdate("insert into Empleados (Nombre, Apellido, Email, Legajo, Departamento_Id, "
+                    + "Fecha_Ingreso, Cantidad_Proyectos) values (?, ?, ?, ?, ?, ?, ?)", filas);
+                filas.clear();
+            }
+        }
+
+        List<Long> idsProyectos = jdbc.queryForList("select id from Proyectos order by id", Long.class);
+        List<Long> idsEmpleados = jdbc.queryForList("select id from Empleados order by id", Long.class);
+        for (int i = 0; i < idsEmpleados.size(); i++) {
+            for (int j = 0; j < PROYECTOS_POR_EMPLEADO; j++) {
+                filas.add(new Object[] {idsProyectos.get((i + j * 7) % idsProyectos.size()), idsEmpleados.get(i)});
+            }
+            if (filas.size() >= 5_000 || i == idsEmpleados.size() - 1) {
+                jdbc.batchUpdate("insert into proyecto_empleado (proyecto_id, empleado_id) values (?, ?)", filas);
+                filas.clear();
+            }
+        }
+        jdbc.update("update Proyectos p set Cantidad_Empleados = "
+            + "(select count(*) from proyecto_empleado pe where pe.proyecto_id = p.id)");
+        // Sin estadísticas H2 arranca las cargas por lotes de proyectos desde la
+        // tabla chica y recorre proyecto_empleado entera en cada lote.
+        jdbc.execute("analyze");
+    }
+
+    private static long heapRetenido() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private interface Lectura {
+        int leer(long[] retenido) throws Exception;
+    }
+
+    private static final class Camino {
+
+        private final String nombre;
+        private final Lectura lectura;
+        private long[] cpu = new long[0];
+        private long[] asignado = new long[0];
+        private long retenido;
+        private int filas;
+
+        Camino(String nombre, Lectura lectura) {
+            this.nombre = nombre;
+            this.lectura = lectura;
+        }
+
+        void medir(int repeticiones) throws Exception {
+            cpu = new long[repeticiones];
+            asignado = new long[repeticiones];
+            long[] retenidos = new long[repeticiones];
+            long hilo = Thread.currentThread().getId();
+            for (int i = 0; i < repeticiones; i++) {
+                long[] medido = new long[1];
+                long base = heapRetenido();
+                // El System.gc() de la lectura lo hacen los hilos del recolector:
+                // el hilo medido solo espera, así que no infla su CPU.
+                long cpuInicio = HILOS.getThreadCpuTime(hilo);
+                long asignadoInicio = HILOS.getThreadAllocatedBytes(hilo);
+                filas = lectura.leer(medido);
+                asignado[i] = HILOS.getThreadAllocatedBytes(hilo) - asignadoInicio;
+                cpu[i] = HILOS.getThreadCpuTime(hilo) - cpuInicio;
+                retenidos[i] = Math.max(0, medido[0] - base);
+            }
+            Arrays.sort(retenidos);
+            retenido = retenidos[repeticiones / 2];
+        }
+
+        void reportar() {
+            System.out.printf("%-28s %10d %14.0f %14.1f%n", nombre, filas, mediana(cpu) / 1e6, mediana(asignado) / 1e6);
+        }
+
+        private static long mediana(long[] valores) {
+            long[] copia = valores.clone();
+            Arrays.sort(copia);
+            return copia[copia.length / 2];
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carga de contención sobre asignaciones: cada hilo asigna o remueve al azar
+ * un empleado de uno de pocos proyectos "calientes", de modo que muchas
+ * llamadas concurrentes tocan las mismas filas de proyecto_empleado y los
+ * mismos contadores. Reporta rendimiento y latencias (p50, p99, máxima) de
+ * las respuestas 2xx y la cantidad de respuestas por código de estado
+ * (500 por clave duplicada o interbloqueo, 504 por espera de bloqueo agotada).
+ *
+ * Uso (sin compilar, Java 11+):
+ *   java benchmark/ContencionAsignaciones.java <url-base> <hilos> <segundos> <proyectos> <empleados>
+ *
+ * Usa los proyectos 1..proyectos y los empleados 1..empleados, que deben
+ * existir. Los primeros 5 segundos son de calentamiento y no se miden.
+ */
+public class ContencionAsignaciones {
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int cantidadHilos = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int proyectos = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        int empleados = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+
+        HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+        long calentamientoHasta = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        long finHasta = calentamientoHasta + Duration.ofSeconds(segundos).toNanos();
+        Map<Integer, LongAdder> porEstado = new ConcurrentHashMap<>();
+        List<long[]> latencias = new ArrayList<>();
+        int[] cantidades = new int[cantidadHilos];
+        List<Thread> hilos = new ArrayList<>();
+
+        for (int i = 0; i < cantidadHilos; i++) {
+            int indice = i;
+            latencias.add(null);
+            Thread hilo = new Thread(() -> {
+                long[] propias = new long[1024];
+                int n = 0;
+                ThreadLocalRandom azar = ThreadLocalRandom.current();
+                while (true) {
+                    long inicio = System.nanoTime();
+                    if (inicio >= finHasta) {
+                        break;
+                    }
+                    String ruta = String.format("/api/proyectos/%d/empleados/%d",
+                        azar.nextInt(1, proyectos + 1), azar.nextInt(1, empleados + 1));
+                    HttpRequest.Builder solicitud = HttpRequest.newBuilder(URI.create(base + ruta))
+                        .timeout(Duration.ofSeconds(30));
+                    if (azar.nextBoolean()) {
+                        solicitud.POST(HttpRequest.BodyPublishers.noBody());
+                    } else {
+                        solicitud.DELETE();
+                    }
+                    int estado;
+                    try {
+                        estado = http.send(solicitud.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        estado = -1;
+                    }
+                    long fin = System.nanoTime();
+                    if (inicio < calentamientoHasta) {
+                        continue;
+                    }
+                    porEstado.computeIfAbsent(estado, k -> new LongAdder()).increment();
+                    if (estado >= 200 && estado < 300) {
+                        if (n == propias.length) {
+                            propias = Arrays.copyOf(propias, n * 2);
+                        }
+                        propias[n++] = fin - inicio;
+                    }
+                }
+                synchronized (latencias) {
+                    latencias.set(indice, propias);
+                    cantidades[indice] = n;
+                }
+            });
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        long total = Arrays.stream(cantidades).asLongStream().sum();
+        long[] todas = new long[(int) total];
+        int pos = 0;
+        for (int i = 0; i < cantidadHilos; i++) {
+            System.arraycopy(latencias.get(i), 0, todas, pos, cantidades[i]);
+            pos += cantidades[i];
+        }
+        Arrays.sort(todas);
+
+        Map<Integer, Long> estados = new TreeMap<>();
+        porEstado.forEach((estado, cantidad) -> estados.put(estado, cantidad.sum()));
+        System.out.printf("hilos=%d segundos=%d proyectos=%d empleados=%d%n", cantidadHilos, segundos, proyectos, empleados);
+        System.out.printf("exitosas=%d rendimiento=%.0f sol/s estados=%s%n",
+            total, total / (double) segundos, estados);
+        if (todas.length > 0) {
+            System.out.printf("p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                percentil(todas, 0.50), percentil(todas, 0.99), todas[todas.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+}
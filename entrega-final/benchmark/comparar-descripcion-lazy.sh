@@ -0,0 +1,22 @@
+#!/bin/bash
+# Compara la carga de proyectos con y sin la descripción en las
+# transacciones de escritura, en proceso y sobre H2 en memoria, con
+# ComparacionDescripcionLazy.java.
+#
+# Uso: benchmark/comparar-descripcion-lazy.sh [proyectos] [tamaño-descripcion] [iteraciones]
+set -e
+cd "$(dirname "$0")/.."
+
+PROYECTOS=${1:-100}
+TAMANIO=${2:-32000}
+ITERACIONES=${3:-20000}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAVAC=${JAVA_HOME:+$JAVA_HOME/bin/}javac
+
+${MVN:-./mvnw} -B -q package -DskipTests
+${MVN:-./mvnw} -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark-classpath.txt
+CP=target/classes:$(cat target/benchmark-classpath.txt)
+
+mkdir -p target/benchmark
+"$JAVAC" -encoding UTF-8 -d target/benchmark -cp "$CP" benchmark/ComparacionDescripcionLazy.java
+"$JAVA" -Xmx2g -Dstdout.encoding=UTF-8 -cp "target/benchmark:$CP" ComparacionDescripcionLazy "$PROYECTOS" "$TAMANIO" "$ITERACIONES"
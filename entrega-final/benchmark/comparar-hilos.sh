@@ -0,0 +1,47 @@
+#!/bin/bash
+# Compara hilos de plataforma contra hilos virtuales (con y sin límite de
+# concurrencia) sobre H2 en memoria, con la misma carga de CargaHttp.java.
+#
+# Uso: JAVA_HOME=/ruta/a/jdk-21 benchmark/comparar-hilos.sh [clientes] [segundos] [empleados]
+set -e
+cd "$(dirname "$0")/.."
+
+CLIENTES=${1:-400}
+SEGUNDOS=${2:-30}
+EMPLEADOS=${3:-500}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+PUERTO=18080
+URL=http://localhost:$PUERTO
+
+if ! "$JAVA" -version 2>&1 | grep -qE 'version "(2[1-9]|[3-9][0-9])'; then
+    echo "Se requiere Java 21 o superior (JAVA_HOME=$JAVA_HOME)" >&2
+    exit 1
+fi
+
+${MVN:-./mvnw} -B -q package -DskipTests
+JAR=target/FacturacionEntregaFinalMorales.jar
+
+ejecutar() {
+    local nombre=$1
+    shift
+    "$JAVA" -Xmx1g -jar "$JAR" --spring.profiles.active=h2 --server.port=$PUERTO \
+        --spring.jpa.show-sql=false --logging.level.root=WARN \
+        --app.limite-tasa.enabled=false --app.limite-adaptativo.enabled=false "$@" \
+        > "target/benchmark-$nombre.log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 60); do
+        curl -s -o /dev/null "$URL/actuator/health" && break
+        sleep 1
+    done
+    seq "$EMPLEADOS" | xargs -P 16 -I{} curl -s -o /dev/null -X POST "$URL/api/empleados" \
+        -H 'Content-Type: application/json' \
+        -d '{"nombre":"Emp{}","apellido":"Ape{}","email":"e{}@bench.com","legajo":"BENCH{}","departamento":"Dep{}"}'
+    echo "== $nombre"
+    "$JAVA" benchmark/CargaHttp.java "$URL" "$CLIENTES" "$SEGUNDOS" "$EMPLEADOS"
+    kill $pid
+    wait $pid 2>/dev/null || true
+}
+
+ejecutar plataforma --spring.threads.virtual.enabled=false
+ejecutar virtuales --spring.threads.virtual.enabled=true
+ejecutar virtuales-sin-limite --spring.threads.virtual.enabled=true --app.concurrencia.enabled=false
@@ -0,0 +1,21 @@
+#!/bin/bash
+# Compara el listado completo de empleados con estado contra la lectura
+# masiva sin estado (en lista y en flujo JSON), en proceso y sobre H2 en
+# memoria, con ComparacionLecturaMasiva.java.
+#
+# Uso: benchmark/comparar-lectura-masiva.sh [empleados] [repeticiones]
+set -e
+cd "$(dirname "$0")/.."
+
+EMPLEADOS=${1:-100000}
+REPETICIONES=${2:-5}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAVAC=${JAVA_HOME:+$JAVA_HOME/bin/}javac
+
+${MVN:-./mvnw} -B -q package -DskipTests
+${MVN:-./mvnw} -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark-classpath.txt
+CP=target/classes:$(cat target/benchmark-classpath.txt)
+
+mkdir -p target/benchmark
+"$JAVAC" -encoding UTF-8 -d target/benchmark -cp "$CP" benchmark/ComparacionLecturaMasiva.java
+"$JAVA" -Xmx2g -cp "target/benchmark:$CP" ComparacionLecturaMasiva "$EMPLEADOS" "$REPETICIONES"
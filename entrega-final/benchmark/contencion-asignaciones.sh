@@ -0,0 +1,48 @@
+#!/bin/bash
+# Compara asignaciones concurrentes sobre proyectos calientes con y sin los
+# bloqueos por franja (app.bloqueos.enabled), sobre H2 en memoria y con la
+# carga de ContencionAsignaciones.java. Los límites de tasa y de concurrencia
+# se desactivan para que toda la carga llegue a la capa de servicio.
+#
+# Uso: benchmark/contencion-asignaciones.sh [hilos] [segundos] [proyectos] [empleados]
+set -e
+cd "$(dirname "$0")/.."
+
+HILOS=${1:-64}
+SEGUNDOS=${2:-20}
+PROYECTOS=${3:-4}
+EMPLEADOS=${4:-50}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+PUERTO=18080
+URL=http://localhost:$PUERTO
+
+${MVN:-./mvnw} -B -q package -DskipTests
+JAR=target/FacturacionEntregaFinalMorales.jar
+
+ejecutar() {
+    local nombre=$1
+    shift
+    "$JAVA" -Xmx1g -jar "$JAR" --spring.profiles.active=h2 --server.port=$PUERTO \
+        --spring.jpa.show-sql=false --logging.level.root=WARN \
+        --app.limite-tasa.enabled=false --app.limite-adaptativo.enabled=false "$@" \
+        > "target/benchmark-$nombre.log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 120); do
+        curl -s -o /dev/null "$URL/actuator/health" && break
+        sleep 1
+    done
+    for i in $(seq "$PROYECTOS"); do
+        curl -s -o /dev/null -X POST "$URL/api/proyectos" -H 'Content-Type: application/json' \
+            -d "{\"nombre\":\"Proyecto $i\",\"descripcion\":\"Proyecto caliente $i\"}"
+    done
+    seq "$EMPLEADOS" | xargs -P 8 -I{} curl -s -o /dev/null -X POST "$URL/api/empleados" \
+        -H 'Content-Type: application/json' \
+        -d '{"nombre":"Emp{}","apellido":"Ape{}","email":"e{}@bench.com","legajo":"BENCH{}","departamento":"Dep"}'
+    echo "== $nombre"
+    "$JAVA" benchmark/ContencionAsignaciones.java "$URL" "$HILOS" "$SEGUNDOS" "$PROYECTOS" "$EMPLEADOS"
+    kill $pid
+    wait $pid 2>/dev/null || true
+}
+
+ejecutar con-bloqueos --app.bloqueos.enabled=true
+ejecutar sin-bloqueos --app.bloqueos.enabled=false
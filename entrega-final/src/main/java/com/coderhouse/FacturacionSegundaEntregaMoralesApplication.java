@@ -2,6 +2,7 @@ package com.coderhouse;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Clase principal de la aplicación Spring Boot.
@@ -14,6 +15,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Repository: Acceso a datos con JPA
  */
 @SpringBootApplication
+@EnableScheduling
 public class FacturacionSegundaEntregaMoralesApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,29 @@
+package com.coderhouse.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serializa en el proceso las llamadas que modifican el mismo proyecto o
+ * empleado. Cada atributo indica el nombre del parámetro que lleva el ID;
+ * BloqueoEntidadesAspect toma los bloqueos antes de abrir la transacción y
+ * los libera después del commit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BloqueoEntidades {
+
+    /**
+     * @return Nombre del parámetro con el ID del proyecto, o vacío si no se bloquea
+     */
+    String proyecto() default "";
+
+    /**
+     * @return Nombre del parámetro con el ID del empleado, o vacío si no se bloquea
+     */
+    String empleado() default "";
+}
@@ -0,0 +1,177 @@
+package com.coderhouse.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.coderhouse.exception.TiempoAgotadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bloqueos por franja para los métodos anotados con BloqueoEntidades.
+ *
+ * Cada proyecto y cada empleado se asocia a una de app.bloqueos.franjas
+ * ReentrantLock según su ID, de modo que la memoria es fija y dos IDs
+ * distintos solo esperan entre sí si comparten franja. Cuando una llamada
+ * abarca un proyecto y un empleado, las franjas se toman siempre en orden
+ * ascendente, lo que evita los interbloqueos entre asignaciones y remociones
+ * cruzadas; al serializar las llamadas sobre el mismo par tampoco se producen
+ * claves duplicadas en proyecto_empleado ni interbloqueos de MySQL sobre los
+ * contadores.
+ *
+ * El aspecto se ordena antes que el interceptor de transacciones: el bloqueo
+ * se toma antes de abrir la transacción y se libera después del commit. Si el
+ * método se llama dentro de una transacción ya abierta (trabajos por lotes),
+ * el bloqueo cubre solo la llamada. Quien espera más de app.bloqueos.espera-ms
+ * recibe TiempoAgotadoException (504).
+ *
+ * Publica bloqueos.espera (timer) y bloqueos.tiempo-agotado (counter).
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+@ConditionalOnProperty(name = "app.bloqueos.enabled", havingValue = "true")
+public class BloqueoEntidadesAspect {
+
+    private static final int TIPO_PROYECTO = 0;
+    private static final int TIPO_EMPLEADO = 1;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.bloqueos.franjas:1024}")
+    private int cantidadFranjas;
+
+    @Value("${app.bloqueos.espera-ms:5000}")
+    private long esperaMs;
+
+    private ReentrantLock[] franjas;
+    private int bitsFranja;
+    private Timer espera;
+    private Counter tiempoAgotado;
+
+    /** Posición de los parámetros de proyecto y empleado de cada método anotado (-1 si no aplica). */
+    private final Map<Method, int[]> parametros = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void iniciar() {
+        if (cantidadFranjas < 2 || Integer.bitCount(cantidadFranjas) != 1) {
+            throw new IllegalArgumentException("app.bloqueos.franjas debe ser una potencia de 2 mayor que 1: " + cantidadFranjas);
+        }
+        franjas = new ReentrantLock[cantidadFranjas];
+        for (int i = 0; i < cantidadFranjas; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+        bitsFranja = Integer.numberOfTrailingZeros(cantidadFranjas);
+        espera = Timer.builder("bloqueos.espera")
+            .description("Espera para tomar los bloqueos de una asignación")
+            .register(meterRegistry);
+        tiempoAgotado = Counter.builder("bloqueos.tiempo-agotado")
+            .description("Llamadas que no obtuvieron sus bloqueos a tiempo")
+            .register(meterRegistry);
+    }
+
+    @Around("@annotation(bloqueo)")
+    public Object bloquear(ProceedingJoinPoint punto, BloqueoEntidades bloqueo) throws Throwable {
+        Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+        int[] posiciones = parametros.computeIfAbsent(metodo, m -> resolverParametros(m, bloqueo));
+        Object[] argumentos = punto.getArgs();
+
+        int[] indices = new int[2];
+        int cantidad = 0;
+        if (posiciones[0] >= 0 && argumentos[posiciones[0]] != null) {
+            indices[cantidad++] = franja(TIPO_PROYECTO, (Long) argumentos[posiciones[0]]);
+        }
+        if (posiciones[1] >= 0 && argumentos[posiciones[1]] != null) {
+            indices[cantidad++] = franja(TIPO_EMPLEADO, (Long) argumentos[posiciones[1]]);
+        }
+        // Orden global ascendente; si ambos IDs caen en la misma franja se toma una sola vez
+        Arrays.sort(indices, 0, cantidad);
+        if (cantidad == 2 && indices[0] == indices[1]) {
+            cantidad = 1;
+        }
+
+        int tomados = tomar(indices, cantidad);
+        try {
+            return punto.proceed();
+        } finally {
+            for (int i = tomados - 1; i >= 0; i--) {
+                franjas[indices[i]].unlock();
+            }
+        }
+    }
+
+    private int tomar(int[] indices, int cantidad) {
+        long inicio = System.nanoTime();
+        long limite = inicio + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        int tomados = 0;
+        try {
+            for (; tomados < cantidad; tomados++) {
+                if (!franjas[indices[tomados]].tryLock(limite - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (tomados < cantidad) {
+            for (int i = tomados - 1; i >= 0; i--) {
+                franjas[indices[i]].unlock();
+            }
+            tiempoAgotado.increment();
+            throw new TiempoAgotadoException(String.format(
+                "Otra operación sobre el mismo proyecto o empleado no terminó en %d ms; reintente en unos segundos",
+                esperaMs));
+        }
+        return tomados;
+    }
+
+    /**
+     * Franja de una entidad por hash de Fibonacci de su tipo e ID.
+     */
+    private int franja(int tipo, long id) {
+        long hash = (id * 2 + tipo) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> (64 - bitsFranja));
+    }
+
+    private static int[] resolverParametros(Method metodo, BloqueoEntidades bloqueo) {
+        return new int[] {
+            posicion(metodo, bloqueo.proyecto()),
+            posicion(metodo, bloqueo.empleado())
+        };
+    }
+
+    private static int posicion(Method metodo, String nombre) {
+        if (nombre.isEmpty()) {
+            return -1;
+        }
+        Parameter[] parametrosMetodo = metodo.getParameters();
+        for (int i = 0; i < parametrosMetodo.length; i++) {
+            if (parametrosMetodo[i].getName().equals(nombre) && parametrosMetodo[i].getType() == Long.class) {
+                return i;
+            }
+        }
+        throw new IllegalStateException(String.format(
+            "%s no tiene un parámetro Long llamado %s para @BloqueoEntidades", metodo, nombre));
+    }
+}
@@ -0,0 +1,235 @@
+package com.coderhouse.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.coderhouse.exception.CompartimentoLlenoException;
+import com.coderhouse.exception.TiempoAgotadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pool de hilos acotado que aísla un tipo de trabajo del resto (bulkhead).
+ *
+ * Las tareas corren en hilos propios con una cola de capacidad fija; si la
+ * cola está llena se rechazan con CompartimentoLlenoException (503) en lugar
+ * de esperar. Los hilos del compartimento quedan marcados con su nombre, lo
+ * que permite a ReplicaRoutingDataSource darles un pool de conexiones propio.
+ *
+ * Las tareas son cancelables: cancelar el CompletableFuture interrumpe el
+ * hilo que la ejecuta, o la descarta si todavía estaba en cola. diferir()
+ * lo aprovecha para responder con un DeferredResult que cancela la tarea si
+ * vence el tiempo de espera del compartimento o si el contenedor informa un
+ * error de la conexión; los recorridos largos llaman a verificarCancelacion()
+ * para cortar la lectura en lugar de terminarla para nadie. Tomcat no avisa
+ * cuando un cliente HTTP/1.1 se desconecta mientras espera una respuesta
+ * asincrónica, así que en la práctica es el tiempo de espera lo que acota el
+ * trabajo abandonado.
+ *
+ * Publica compartimento.activos y compartimento.cola (gauges) y
+ * compartimento.rechazadas y compartimento.canceladas (counters),
+ * etiquetados por compartimento.
+ */
+public class Compartimento {
+
+    /** Listados completos, consultas por lista de IDs, cambios masivos y trabajos. */
+    public static final String MASIVO = "masivo";
+
+    /** Búsquedas y reportes que consultan la base pero no justifican un pool propio. */
+    public static final String CONSULTAS = "consultas";
+
+    private static final ThreadLocal<String> ACTUAL = new ThreadLocal<>();
+
+    private final String nombre;
+    private final ThreadPoolExecutor ejecutor;
+    private final long tiempoEsperaMs;
+    private final Counter rechazadas;
+    private final Counter canceladas;
+
+    /**
+     * @param nombre Nombre del compartimento y prefijo de sus hilos
+     * @param hilos Cantidad de hilos
+     * @param capacidadCola Tareas que pueden esperar un hilo libre
+     * @param tiempoEsperaMs Tiempo máximo de las respuestas diferidas, incluida la espera en cola
+     * @param meterRegistry Registro de métricas
+     */
+    public Compartimento(String nombre, int hilos, int capacidadCola, long tiempoEsperaMs, MeterRegistry meterRegistry) {
+        this.nombre = nombre;
+        this.tiempoEsperaMs = tiempoEsperaMs;
+        AtomicInteger numero = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadCola), tarea -> {
+                Thread hilo = new Thread(asignar(nombre, tarea), nombre + "-" + numero.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        Gauge.builder("compartimento.activos", ejecutor, ThreadPoolExecutor::getActiveCount)
+            .description("Tareas en ejecución en el compartimento")
+            .tag("compartimento", nombre)
+            .register(meterRegistry);
+        Gauge.builder("compartimento.cola", ejecutor, e -> e.getQueue().size())
+            .description("Tareas esperando un hilo del compartimento")
+            .tag("compartimento", nombre)
+            .register(meterRegistry);
+        this.rechazadas = Counter.builder("compartimento.rechazadas")
+            .description("Tareas rechazadas por cola llena")
+            .tag("compartimento", nombre)
+            .register(meterRegistry);
+        this.canceladas = Counter.builder("compartimento.canceladas")
+            .description("Tareas canceladas por tiempo agotado o error de la conexión")
+            .tag("compartimento", nombre)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta una tarea en el compartimento.
+     *
+     * @param tarea Tarea a ejecutar
+     * @return Resultado de la tarea; cancelarlo interrumpe la tarea
+     * @throws CompartimentoLlenoException si la cola está llena
+     */
+    public <T> CompletableFuture<T> ejecutar(Supplier<T> tarea) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        FutureTask<Void> ejecucion = new FutureTask<>(() -> {
+            try {
+                resultado.complete(tarea.get());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        }, null);
+        encolar(ejecucion);
+        resultado.whenComplete((valor, error) -> {
+            if (resultado.isCancelled()) {
+                ejecucion.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Ejecuta una tarea en el compartimento y devuelve su resultado como
+     * respuesta asincrónica. Si la tarea no termina en el tiempo de espera del
+     * compartimento se responde TiempoAgotadoException (504) y se cancela; si
+     * el contenedor informa un error de la conexión, se cancela sin responder.
+     *
+     * @param tarea Tarea a ejecutar
+     * @return Respuesta diferida con el resultado de la tarea
+     * @throws CompartimentoLlenoException si la cola está llena
+     */
+    public <T> DeferredResult<T> diferir(Supplier<T> tarea) {
+        DeferredResult<T> respuesta = new DeferredResult<>(tiempoEsperaMs);
+        CompletableFuture<T> resultado = ejecutar(tarea);
+        resultado.whenComplete((valor, error) -> {
+            if (error == null) {
+                respuesta.setResult(valor);
+            } else if (!(error instanceof CancellationException)) {
+                respuesta.setErrorResult(error);
+            }
+        });
+        respuesta.onTimeout(() -> {
+            cancelar(resultado);
+            respuesta.setErrorResult(new TiempoAgotadoException(String.format(
+                "La operación no terminó en %d ms; reintente más tarde o acote la consulta", tiempoEsperaMs)));
+        });
+        respuesta.onError(error -> cancelar(resultado));
+        return respuesta;
+    }
+
+    /**
+     * Adaptador para usar el compartimento como ejecutor de Spring MVC. Con la
+     * cola llena lanza CompartimentoLlenoException, que se responde con 503.
+     *
+     * @return Ejecutor que encola en el compartimento
+     */
+    public AsyncTaskExecutor ejecutorRespuestas() {
+        return new TaskExecutorAdapter(this::encolar);
+    }
+
+    private void encolar(Runnable tarea) {
+        try {
+            ejecutor.execute(tarea);
+        } catch (RejectedExecutionException e) {
+            rechazadas.increment();
+            throw new CompartimentoLlenoException(String.format(
+                "El compartimento %s tiene %d tareas en espera; reintente en unos segundos",
+                nombre, ejecutor.getQueue().size()));
+        }
+    }
+
+    /**
+     * Respuesta diferida ya resuelta, para los casos que no necesitan el
+     * compartimento (por ejemplo, lecturas del modelo en memoria).
+     *
+     * @param valor Resultado
+     * @return Respuesta diferida con el resultado
+     */
+    public static <T> DeferredResult<T> inmediato(T valor) {
+        DeferredResult<T> respuesta = new DeferredResult<>();
+        respuesta.setResult(valor);
+        return respuesta;
+    }
+
+    /**
+     * Corta un recorrido largo si su tarea fue cancelada. Conserva el estado
+     * de interrupción para que la transacción se revierta y el hilo se libere.
+     *
+     * @throws CancellationException si el hilo actual fue interrumpido
+     */
+    public static void verificarCancelacion() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Operación cancelada");
+        }
+    }
+
+    private void cancelar(CompletableFuture<?> resultado) {
+        if (resultado.cancel(true)) {
+            canceladas.increment();
+        }
+    }
+
+    /**
+     * Envuelve una tarea para que corra marcada como parte de un compartimento.
+     * Sirve para pools que no se crean con esta clase, como el de trabajos.
+     *
+     * @param nombre Nombre del compartimento
+     * @param tarea Tarea a envolver
+     * @return Tarea que marca el hilo mientras se ejecuta
+     */
+    public static Runnable asignar(String nombre, Runnable tarea) {
+        return () -> {
+            ACTUAL.set(nombre);
+            try {
+                tarea.run();
+            } finally {
+                ACTUAL.remove();
+            }
+        };
+    }
+
+    /**
+     * @return Nombre del compartimento del hilo actual, o null si es un hilo de solicitud
+     */
+    public static String actual() {
+        return ACTUAL.get();
+    }
+
+    /**
+     * Detiene los hilos del compartimento al cerrar el contexto.
+     */
+    public void cerrar() {
+        ejecutor.shutdownNow();
+    }
+}
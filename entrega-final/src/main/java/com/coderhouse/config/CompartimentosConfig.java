@@ -0,0 +1,41 @@
+package com.coderhouse.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Compartimentos (bulkheads) que separan las operaciones masivas de las
+ * solicitudes interactivas.
+ *
+ * Las interactivas corren en los hilos de Tomcat (server.tomcat.threads.max,
+ * server.tomcat.accept-count) con el pool primario; las masivas, en el
+ * compartimento masivo con sus propios hilos, su cola y, si
+ * app.datasource.masivo.enabled=true, su propio pool de conexiones. Las
+ * búsquedas y reportes corren en el compartimento de consultas, que usa el
+ * pool primario (o la réplica) pero no ocupa hilos de Tomcat mientras esperan
+ * a la base.
+ */
+@Configuration
+public class CompartimentosConfig {
+
+    @Bean(destroyMethod = "cerrar")
+    public Compartimento compartimentoMasivo(
+            @Value("${app.compartimentos.masivo.hilos:2}") int hilos,
+            @Value("${app.compartimentos.masivo.cola:20}") int capacidadCola,
+            @Value("${app.compartimentos.masivo.tiempo-espera-ms:60000}") long tiempoEsperaMs,
+            MeterRegistry meterRegistry) {
+        return new Compartimento(Compartimento.MASIVO, hilos, capacidadCola, tiempoEsperaMs, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    public Compartimento compartimentoConsultas(
+            @Value("${app.compartimentos.consultas.hilos:4}") int hilos,
+            @Value("${app.compartimentos.consultas.cola:50}") int capacidadCola,
+            @Value("${app.compartimentos.consultas.tiempo-espera-ms:10000}") long tiempoEsperaMs,
+            MeterRegistry meterRegistry) {
+        return new Compartimento(Compartimento.CONSULTAS, hilos, capacidadCola, tiempoEsperaMs, meterRegistry);
+    }
+}
@@ -0,0 +1,155 @@
+package com.coderhouse.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuración de DataSources con separación de lecturas y escrituras y un
+ * pool propio para las operaciones masivas.
+ * Se activa con app.datasource.replica.enabled=true o
+ * app.datasource.masivo.enabled=true y crea:
+ * - Un pool primario a partir de spring.datasource.*
+ * - Un pool de réplica a partir de app.datasource.replica.* (si está habilitada)
+ * - Un pool masivo contra el primario, dimensionado con app.datasource.masivo.hikari.* (si está habilitado)
+ * - Un pool masivo contra la réplica, dimensionado con app.datasource.replica.masivo.hikari.*
+ *   (si están habilitados el pool masivo y la réplica)
+ * - Un DataSource de enrutamiento que envía las transacciones readOnly a la
+ *   réplica, y las de los hilos del compartimento masivo a los pools masivos
+ *
+ * El pool masivo debe tener al menos dos conexiones por hilo que lo usa (los
+ * del compartimento masivo y los de trabajos): un hilo que ya tiene una
+ * conexión toma otra en las transacciones REQUIRES_NEW (alta de un
+ * departamento nuevo, relectura del modelo), y con menos conexiones todos
+ * los hilos pueden quedar esperando la segunda mientras retienen la primera.
+ */
+@Configuration
+@ConditionalOnExpression("${app.datasource.replica.enabled:false} or ${app.datasource.masivo.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.masivo.enabled", havingValue = "true")
+    @ConfigurationProperties("app.datasource.masivo.hikari")
+    public HikariDataSource masivoDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("masivo");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.driver-class-name:}") String driverClassName) {
+        return poolReplica("replica", url, username, password, driverClassName);
+    }
+
+    /**
+     * Pool de réplica para las lecturas del compartimento masivo, separado del
+     * de réplica interactivo por la misma razón que el masivo del primario.
+     */
+    @Bean
+    @ConditionalOnExpression("${app.datasource.replica.enabled:false} and ${app.datasource.masivo.enabled:false}")
+    @ConfigurationProperties("app.datasource.replica.masivo.hikari")
+    public HikariDataSource replicaMasivoDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.driver-class-name:}") String driverClassName) {
+        return poolReplica("replica-masivo", url, username, password, driverClassName);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-query:SHOW REPLICA STATUS}") String consultaRetraso,
+            @Value("${app.datasource.replica.max-lag-seconds:5}") long retrasoMaximoSegundos) {
+        return new ReplicaLagMonitor(replica, consultaRetraso, retrasoMaximoSegundos);
+    }
+
+    /**
+     * DataSource principal usado por JPA. El proxy lazy demora la obtención de la
+     * conexión física hasta la primera sentencia, cuando ya se conoce si la
+     * transacción es de solo lectura.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+            @Qualifier("masivoDataSource") ObjectProvider<HikariDataSource> masivo,
+            @Qualifier("replicaMasivoDataSource") ObjectProvider<DataSource> replicaMasivo,
+            ObjectProvider<ReplicaLagMonitor> monitor,
+            @Value("${app.compartimentos.masivo.hilos:2}") int hilosMasivo,
+            @Value("${app.trabajos.hilos:2}") int hilosTrabajos) {
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(ReplicaRoutingDataSource.PRIMARIO, primario);
+        replica.ifAvailable(ds -> destinos.put(ReplicaRoutingDataSource.REPLICA, ds));
+        masivo.ifAvailable(ds -> {
+            int minimo = 2 * (hilosMasivo + hilosTrabajos);
+            if (ds.getMaximumPoolSize() < minimo) {
+                throw new IllegalArgumentException(String.format(
+                    "app.datasource.masivo.hikari.maximum-pool-size=%d es menor que %d "
+                        + "(dos conexiones por cada uno de los %d hilos del compartimento masivo y de trabajos)",
+                    ds.getMaximumPoolSize(), minimo, hilosMasivo + hilosTrabajos));
+            }
+            destinos.put(ReplicaRoutingDataSource.MASIVO, ds);
+        });
+        replicaMasivo.ifAvailable(ds -> destinos.put(ReplicaRoutingDataSource.REPLICA_MASIVO, ds));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            monitor.getIfAvailable(), destinos.containsKey(ReplicaRoutingDataSource.MASIVO),
+            destinos.containsKey(ReplicaRoutingDataSource.REPLICA_MASIVO));
+        routing.setTargetDataSources(destinos);
+        routing.setDefaultTargetDataSource(primario);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource poolReplica(String nombre, String url, String username, String password,
+                                                String driverClassName) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password);
+        if (!driverClassName.isBlank()) {
+            builder.driverClassName(driverClassName);
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName(nombre);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
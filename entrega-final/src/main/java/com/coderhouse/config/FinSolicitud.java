@@ -0,0 +1,43 @@
+package com.coderhouse.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Ejecuta una acción al terminar una solicitud, sea sincrónica o asincrónica.
+ *
+ * Cuando el controller devuelve un CompletableFuture la cadena de filtros
+ * retorna antes de que la respuesta esté lista; los filtros que reservan
+ * capacidad deben liberarla recién cuando el contenedor completa la solicitud.
+ */
+final class FinSolicitud {
+
+    private FinSolicitud() {
+    }
+
+    static void alTerminar(HttpServletRequest request, Runnable accion) {
+        if (!request.isAsyncStarted()) {
+            accion.run();
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                accion.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.coderhouse.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia que se ajusta según la latencia observada
+ * (algoritmo de gradiente, al estilo de TCP Vegas).
+ *
+ * Las latencias se agrupan en ventanas; al cerrar cada una se compara su
+ * promedio (rtt corto) con un promedio móvil de muchas ventanas (rtt largo).
+ * Si la latencia reciente supera a la habitual más allá de la tolerancia, el
+ * límite baja en proporción (hasta la mitad por ventana); si no, crece en la
+ * raíz cuadrada del límite, que es la cola que se admite. Cuando las
+ * solicitudes en curso no llegan a la mitad del límite no hay evidencia de
+ * saturación y el límite no cambia.
+ *
+ * adquirir y liberar no bloquean: la ventana se acumula en contadores
+ * atómicos y solo el hilo que la cierra (el que obtiene el tryLock) calcula
+ * el ajuste; los demás registran su muestra y siguen.
+ */
+public class LimiteAdaptativo {
+
+    /** Peso de cada ventana en el rtt largo (promedio de unas 100 ventanas). */
+    private static final double PESO_RTT_LARGO = 2.0 / 101;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final double suavizado;
+    private final long ventanaNanos;
+    private final int minMuestras;
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private volatile double estimado;
+
+    private final LongAdder sumaRttVentana = new LongAdder();
+    private final LongAdder muestrasVentana = new LongAdder();
+    private final AtomicInteger maxEnCursoVentana = new AtomicInteger();
+    private final ReentrantLock cierre = new ReentrantLock();
+    private volatile long inicioVentana = System.nanoTime();
+    /** Solo lo modifica el hilo que cierra la ventana. */
+    private double rttLargo;
+    private volatile double rttCorto;
+
+    /**
+     * @param inicial Límite al arrancar
+     * @param minimo Límite mínimo
+     * @param maximo Límite máximo
+     * @param tolerancia Cuánto puede superar el rtt corto al largo sin reducir el límite
+     * @param suavizado Fracción del cambio calculado que se aplica por ventana (0 a 1)
+     * @param ventanaMs Duración mínima de una ventana
+     * @param minMuestras Muestras mínimas para cerrar una ventana
+     */
+    public LimiteAdaptativo(int inicial, int minimo, int maximo, double tolerancia, double suavizado,
+                            long ventanaMs, int minMuestras) {
+        if (minimo < 1 || maximo < minimo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException(String.format(
+                "Límite adaptativo inválido: inicial=%d, mínimo=%d, máximo=%d", inicial, minimo, maximo));
+        }
+        this.estimado = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.suavizado = suavizado;
+        this.ventanaNanos = TimeUnit.MILLISECONDS.toNanos(ventanaMs);
+        this.minMuestras = minMuestras;
+    }
+
+    /**
+     * Reserva un lugar si hay capacidad, sin esperar.
+     *
+     * @return true si se reservó; en ese caso debe llamarse a liberar
+     */
+    public boolean adquirir() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= (int) estimado) {
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar reservado y registra la latencia de la solicitud.
+     *
+     * @param rttNanos Duración de la solicitud
+     */
+    public void liberar(long rttNanos) {
+        int enVuelo = enCurso.getAndDecrement();
+        registrar(rttNanos, enVuelo);
+    }
+
+    private void registrar(long rttNanos, int enVuelo) {
+        sumaRttVentana.add(rttNanos);
+        muestrasVentana.increment();
+        if (enVuelo > maxEnCursoVentana.get()) {
+            maxEnCursoVentana.accumulateAndGet(enVuelo, Math::max);
+        }
+
+        long ahora = System.nanoTime();
+        if (ahora - inicioVentana < ventanaNanos || !cierre.tryLock()) {
+            return;
+        }
+        try {
+            // Otro hilo pudo cerrar la ventana entre la lectura de inicioVentana y el tryLock
+            if (ahora - inicioVentana < ventanaNanos || muestrasVentana.sum() < minMuestras) {
+                return;
+            }
+            // Las muestras que llegan durante el cierre pueden caer en esta ventana o en la
+            // siguiente; el promedio tolera esa diferencia
+            long muestras = muestrasVentana.sumThenReset();
+            long suma = sumaRttVentana.sumThenReset();
+            int maxEnCurso = maxEnCursoVentana.getAndSet(0);
+            inicioVentana = ahora;
+            ajustar((double) suma / muestras, maxEnCurso);
+        } finally {
+            cierre.unlock();
+        }
+    }
+
+    private void ajustar(double rtt, int enVuelo) {
+        rttCorto = rtt;
+        rttLargo = rttLargo == 0 ? rtt : rttLargo * (1 - PESO_RTT_LARGO) + rtt * PESO_RTT_LARGO;
+        // Tras una saturación larga el rtt largo queda alto; se lo acerca para volver a detectar la próxima
+        if (rttLargo / rtt > 2) {
+            rttLargo *= 0.95;
+        }
+        double actual = estimado;
+        if (enVuelo < actual / 2) {
+            return;
+        }
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * rttLargo / rtt));
+        double calculado = actual * gradiente + Math.sqrt(actual);
+        double nuevo = actual * (1 - suavizado) + calculado * suavizado;
+        estimado = Math.max(minimo, Math.min(maximo, nuevo));
+    }
+
+    /**
+     * @return Límite vigente
+     */
+    public int getLimite() {
+        return (int) estimado;
+    }
+
+    /**
+     * @return Solicitudes en curso
+     */
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    /**
+     * @return Latencia promedio de la última ventana, en milisegundos
+     */
+    public double getRttMs() {
+        return rttCorto / 1_000_000;
+    }
+}
@@ -0,0 +1,206 @@
+package com.coderhouse.config;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.coderhouse.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Límite de concurrencia adaptativo para /api, con presupuestos separados
+ * para lecturas, escrituras y operaciones masivas.
+ *
+ * Cada tipo tiene su propio LimiteAdaptativo, que baja cuando la latencia
+ * sube (por ejemplo, si MySQL se vuelve lento) y vuelve a crecer cuando se
+ * normaliza. Lo que excede el límite se rechaza de inmediato con 503 y
+ * Retry-After en lugar de hacer cola en Tomcat o en Hikari, de modo que una
+ * exportación masiva no deja sin lugar a las lecturas puntuales y una base
+ * lenta no encadena timeouts en todos los clientes.
+ *
+ * Las rutas masivas se configuran en app.limite-adaptativo.masivo.rutas
+ * como "MÉTODO patrón" (patrones Ant); el resto de los GET son lecturas y los
+ * demás métodos, escrituras. Corre antes que LimiteConcurrenciaFilter.
+ *
+ * Publica limite-adaptativo.limite y limite-adaptativo.en-curso (gauges) y
+ * limite-adaptativo.rechazadas (counter), etiquetados por tipo.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "app.limite-adaptativo.enabled", havingValue = "true")
+public class LimiteAdaptativoFilter extends OncePerRequestFilter {
+
+    /**
+     * Presupuesto al que se asigna cada solicitud.
+     */
+    public enum TipoSolicitud {
+        LECTURA,
+        ESCRITURA,
+        MASIVO
+    }
+
+    private final AntPathMatcher rutas = new AntPathMatcher();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.limite-adaptativo.masivo.rutas:}")
+    private List<String> rutasMasivas;
+
+    @Value("${app.limite-adaptativo.tolerancia:1.5}")
+    private double tolerancia;
+
+    @Value("${app.limite-adaptativo.suavizado:0.2}")
+    private double suavizado;
+
+    @Value("${app.limite-adaptativo.ventana-ms:250}")
+    private long ventanaMs;
+
+    @Value("${app.limite-adaptativo.min-muestras:10}")
+    private int minMuestras;
+
+    @Value("${app.limite-adaptativo.lectura.inicial:20}")
+    private int lecturaInicial;
+
+    @Value("${app.limite-adaptativo.lectura.minimo:5}")
+    private int lecturaMinimo;
+
+    @Value("${app.limite-adaptativo.lectura.maximo:200}")
+    private int lecturaMaximo;
+
+    @Value("${app.limite-adaptativo.escritura.inicial:10}")
+    private int escrituraInicial;
+
+    @Value("${app.limite-adaptativo.escritura.minimo:2}")
+    private int escrituraMinimo;
+
+    @Value("${app.limite-adaptativo.escritura.maximo:50}")
+    private int escrituraMaximo;
+
+    @Value("${app.limite-adaptativo.masivo.inicial:2}")
+    private int masivoInicial;
+
+    @Value("${app.limite-adaptativo.masivo.minimo:1}")
+    private int masivoMinimo;
+
+    @Value("${app.limite-adaptativo.masivo.maximo:4}")
+    private int masivoMaximo;
+
+    private final Map<TipoSolicitud, LimiteAdaptativo> limites = new EnumMap<>(TipoSolicitud.class);
+    private final Map<TipoSolicitud, Counter> rechazadas = new EnumMap<>(TipoSolicitud.class);
+
+    @PostConstruct
+    void iniciar() {
+        limites.put(TipoSolicitud.LECTURA, crearLimite(lecturaInicial, lecturaMinimo, lecturaMaximo));
+        limites.put(TipoSolicitud.ESCRITURA, crearLimite(escrituraInicial, escrituraMinimo, escrituraMaximo));
+        limites.put(TipoSolicitud.MASIVO, crearLimite(masivoInicial, masivoMinimo, masivoMaximo));
+
+        for (TipoSolicitud tipo : TipoSolicitud.values()) {
+            String etiqueta = tipo.name().toLowerCase();
+            LimiteAdaptativo limite = limites.get(tipo);
+            Gauge.builder("limite-adaptativo.limite", limite, LimiteAdaptativo::getLimite)
+                .description("Solicitudes concurrentes admitidas según la latencia observada")
+                .tag("tipo", etiqueta)
+                .register(meterRegistry);
+            Gauge.builder("limite-adaptativo.en-curso", limite, LimiteAdaptativo::getEnCurso)
+                .description("Solicitudes en ejecución")
+                .tag("tipo", etiqueta)
+                .register(meterRegistry);
+            Gauge.builder("limite-adaptativo.rtt", limite, LimiteAdaptativo::getRttMs)
+                .description("Latencia promedio de la última ventana")
+                .tag("tipo", etiqueta)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+            rechazadas.put(tipo, Counter.builder("limite-adaptativo.rechazadas")
+                .description("Solicitudes rechazadas por superar el límite adaptativo")
+                .tag("tipo", etiqueta)
+                .register(meterRegistry));
+        }
+    }
+
+    private LimiteAdaptativo crearLimite(int inicial, int minimo, int maximo) {
+        return new LimiteAdaptativo(inicial, minimo, maximo, tolerancia, suavizado, ventanaMs, minMuestras);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TipoSolicitud tipo = clasificar(request);
+        LimiteAdaptativo limite = limites.get(tipo);
+        if (!limite.adquirir()) {
+            rechazadas.get(tipo).increment();
+            rechazar(request, response, tipo, limite.getLimite());
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            FinSolicitud.alTerminar(request, () -> limite.liberar(System.nanoTime() - inicio));
+        }
+    }
+
+    /**
+     * Determina el presupuesto de una solicitud por su método y ruta.
+     *
+     * @param request Solicitud a /api
+     * @return Tipo de solicitud
+     */
+    TipoSolicitud clasificar(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        String ruta = request.getRequestURI();
+        for (String regla : rutasMasivas) {
+            int espacio = regla.indexOf(' ');
+            if (espacio > 0 && regla.substring(0, espacio).equalsIgnoreCase(metodo)
+                    && rutas.match(regla.substring(espacio + 1).trim(), ruta)) {
+                return TipoSolicitud.MASIVO;
+            }
+        }
+        return "GET".equals(metodo) || "HEAD".equals(metodo) ? TipoSolicitud.LECTURA : TipoSolicitud.ESCRITURA;
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response, TipoSolicitud tipo, int limite)
+            throws IOException {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            String.format("Se alcanzó el límite de %d solicitudes de tipo %s; reintente en unos segundos",
+                limite, tipo.name().toLowerCase()),
+            request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
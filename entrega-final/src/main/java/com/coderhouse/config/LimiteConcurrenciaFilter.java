@@ -0,0 +1,119 @@
+package com.coderhouse.config;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.coderhouse.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Límite de solicitudes concurrentes a /api, dimensionado según el pool de
+ * conexiones.
+ *
+ * Con hilos virtuales Tomcat ya no acota la concurrencia: miles de solicitudes
+ * llegarían a la capa de servicio y harían cola dentro de Hikari, cada una
+ * reteniendo su transacción y su memoria hasta que connection-timeout la
+ * descarte. Este filtro deja pasar hasta app.concurrencia.max-solicitudes
+ * (por defecto, factor-pool veces el tamaño del pool primario); el resto
+ * espera hasta app.concurrencia.espera-ms y luego recibe 503 con Retry-After.
+ *
+ * Se activa por defecto junto con spring.threads.virtual.enabled. Publica
+ * concurrencia.en-curso (gauge) y concurrencia.rechazadas (counter).
+ */
+@Component
+@ConditionalOnProperty(name = "app.concurrencia.enabled", havingValue = "true")
+public class LimiteConcurrenciaFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int tamanioPool;
+
+    @Value("${app.concurrencia.factor-pool:2}")
+    private int factorPool;
+
+    @Value("${app.concurrencia.max-solicitudes:0}")
+    private int maxSolicitudes;
+
+    @Value("${app.concurrencia.espera-ms:1000}")
+    private long esperaMs;
+
+    private Semaphore permisos;
+    private int limite;
+    private Counter rechazadas;
+
+    @PostConstruct
+    void iniciar() {
+        limite = maxSolicitudes > 0 ? maxSolicitudes : tamanioPool * factorPool;
+        permisos = new Semaphore(limite, true);
+        Gauge.builder("concurrencia.en-curso", permisos, p -> limite - p.availablePermits())
+            .description("Solicitudes a /api en ejecución")
+            .register(meterRegistry);
+        rechazadas = Counter.builder("concurrencia.rechazadas")
+            .description("Solicitudes rechazadas por superar el límite de concurrencia")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean adquirido;
+        try {
+            adquirido = permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquirido = false;
+        }
+        if (!adquirido) {
+            rechazadas.increment();
+            rechazar(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            FinSolicitud.alTerminar(request, permisos::release);
+        }
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            String.format("El servidor está atendiendo %d solicitudes; reintente en unos segundos", limite),
+            request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,254 @@
+package com.coderhouse.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.coderhouse.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Límite de tasa por cliente y grupo de rutas de /api.
+ *
+ * El cliente se identifica por la cabecera app.limite-tasa.cabecera-cliente
+ * si trae una de las claves de app.limite-tasa.claves-api; si no, por su IP,
+ * de modo que inventar claves no da cubetas nuevas. Detrás de un proxy de
+ * app.limite-tasa.proxies-confiables la IP es la última de X-Forwarded-For
+ * que no es un proxy de confianza; de cualquier otro origen la cabecera se
+ * ignora, porque el cliente la puede falsificar. Cada cliente tiene en cada grupo una
+ * cubeta de tokens implementada con GCRA: el estado es un único AtomicLong
+ * con el instante teórico de la próxima llegada y se actualiza con CAS, sin
+ * bloqueos ni hilos de recarga. Las cubetas viven en un cache de Caffeine
+ * acotado por app.limite-tasa.max-clientes y que olvida a los clientes
+ * inactivos, de modo que la memoria no crece con cada IP nueva.
+ *
+ * Las respuestas llevan RateLimit-Limit, RateLimit-Remaining y
+ * RateLimit-Reset; las rechazadas, 429 con Retry-After. Corre antes que los
+ * límites de concurrencia para que un cliente abusivo no consuma su cupo.
+ *
+ * Publica limite-tasa.rechazadas (counter) y limite-tasa.clientes (gauge),
+ * etiquetados por grupo.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@ConditionalOnProperty(name = "app.limite-tasa.enabled", havingValue = "true")
+public class LimiteTasaFilter extends OncePerRequestFilter {
+
+    private static final long NANOS_POR_SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final AntPathMatcher rutas = new AntPathMatcher();
+
+    @Autowired
+    private LimiteTasaProperties propiedades;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<GrupoTasa> grupos = new ArrayList<>();
+    private Set<String> clavesApi;
+    private Set<String> proxiesConfiables;
+
+    @PostConstruct
+    void iniciar() {
+        clavesApi = new HashSet<>(propiedades.getClavesApi());
+        proxiesConfiables = new HashSet<>(propiedades.getProxiesConfiables());
+        for (LimiteTasaProperties.Grupo config : propiedades.getGrupos()) {
+            if (config.getPorSegundo() <= 0 || config.getRafaga() < 1) {
+                throw new IllegalArgumentException(String.format(
+                    "Límite de tasa inválido para el grupo %s: por-segundo=%s, rafaga=%d",
+                    config.getNombre(), config.getPorSegundo(), config.getRafaga()));
+            }
+            Cache<String, AtomicLong> cubetas = Caffeine.newBuilder()
+                .maximumSize(propiedades.getMaxClientes())
+                .expireAfterAccess(Duration.ofSeconds(propiedades.getExpiracionS()))
+                .build();
+            Counter rechazadas = Counter.builder("limite-tasa.rechazadas")
+                .description("Solicitudes rechazadas por superar la tasa del cliente")
+                .tag("grupo", config.getNombre())
+                .register(meterRegistry);
+            Gauge.builder("limite-tasa.clientes", cubetas, Cache::estimatedSize)
+                .description("Clientes con cubeta activa")
+                .tag("grupo", config.getNombre())
+                .register(meterRegistry);
+            grupos.add(new GrupoTasa(config, cubetas, rechazadas));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        GrupoTasa grupo = buscarGrupo(request);
+        if (grupo == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long ahora = System.nanoTime();
+        AtomicLong cubeta = grupo.cubetas.get(cliente(request), clave -> new AtomicLong(Long.MIN_VALUE));
+        long resultado = grupo.consumir(cubeta, ahora);
+
+        response.setHeader("RateLimit-Limit", Integer.toString(grupo.rafaga));
+        if (resultado < 0) {
+            grupo.rechazadas.increment();
+            long segundos = Math.max(1, segundosHasta(-resultado));
+            response.setHeader("RateLimit-Remaining", "0");
+            response.setHeader("RateLimit-Reset", Long.toString(segundos));
+            rechazar(request, response, grupo, segundos);
+            return;
+        }
+        response.setHeader("RateLimit-Remaining", Long.toString(resultado));
+        response.setHeader("RateLimit-Reset", Long.toString(segundosHasta(cubeta.get() - ahora)));
+        chain.doFilter(request, response);
+    }
+
+    private GrupoTasa buscarGrupo(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        String ruta = request.getRequestURI();
+        for (GrupoTasa grupo : grupos) {
+            for (String[] regla : grupo.reglas) {
+                if (regla[0].equalsIgnoreCase(metodo) && rutas.match(regla[1], ruta)) {
+                    return grupo;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String cliente(HttpServletRequest request) {
+        String clave = request.getHeader(propiedades.getCabeceraCliente());
+        if (clave != null && clavesApi.contains(clave)) {
+            return "clave:" + clave;
+        }
+        return "ip:" + direccionCliente(request);
+    }
+
+    /**
+     * IP del cliente: la de la conexión o, si viene de un proxy de confianza,
+     * la primera de X-Forwarded-For que no lo es, recorriéndola desde el final.
+     */
+    private String direccionCliente(HttpServletRequest request) {
+        String direccion = request.getRemoteAddr();
+        String reenviada = request.getHeader("X-Forwarded-For");
+        if (reenviada == null || !proxiesConfiables.contains(direccion)) {
+            return direccion;
+        }
+        String[] saltos = reenviada.split(",");
+        for (int i = saltos.length - 1; i >= 0; i--) {
+            String salto = saltos[i].trim();
+            if (salto.isEmpty()) {
+                break;
+            }
+            direccion = salto;
+            if (!proxiesConfiables.contains(salto)) {
+                break;
+            }
+        }
+        return direccion;
+    }
+
+    private static long segundosHasta(long nanos) {
+        return (nanos + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO;
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response, GrupoTasa grupo, long segundos)
+            throws IOException {
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Too Many Requests",
+            String.format("Se superó el límite de %s solicitudes por segundo del grupo %s; reintente en %d s",
+                grupo.porSegundo, grupo.nombre, segundos),
+            request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Grupo de rutas con sus cubetas por cliente.
+     */
+    private static final class GrupoTasa {
+
+        private final String nombre;
+        private final List<String[]> reglas = new ArrayList<>();
+        private final double porSegundo;
+        private final int rafaga;
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+        private final Cache<String, AtomicLong> cubetas;
+        private final Counter rechazadas;
+
+        GrupoTasa(LimiteTasaProperties.Grupo config, Cache<String, AtomicLong> cubetas, Counter rechazadas) {
+            this.nombre = config.getNombre();
+            for (String regla : config.getRutas()) {
+                String[] partes = regla.trim().split("\\s+", 2);
+                if (partes.length != 2) {
+                    throw new IllegalArgumentException("Regla de límite de tasa inválida: " + regla);
+                }
+                reglas.add(partes);
+            }
+            this.porSegundo = config.getPorSegundo();
+            this.rafaga = config.getRafaga();
+            this.intervaloNanos = (long) (NANOS_POR_SEGUNDO / porSegundo);
+            this.toleranciaNanos = intervaloNanos * rafaga;
+            this.cubetas = cubetas;
+            this.rechazadas = rechazadas;
+        }
+
+        /**
+         * Consume un token de la cubeta si hay disponible (GCRA).
+         *
+         * @param cubeta Instante teórico de la próxima llegada del cliente
+         * @param ahora Instante actual (System.nanoTime)
+         * @return Tokens restantes si se admitió, o menos los nanosegundos hasta el próximo token
+         */
+        long consumir(AtomicLong cubeta, long ahora) {
+            while (true) {
+                long actual = cubeta.get();
+                long siguiente = Math.max(actual, ahora) + intervaloNanos;
+                long admitidoDesde = siguiente - toleranciaNanos;
+                if (ahora < admitidoDesde) {
+                    return -(admitidoDesde - ahora);
+                }
+                if (cubeta.compareAndSet(actual, siguiente)) {
+                    return (ahora - admitidoDesde) / intervaloNanos;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.coderhouse.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuración del límite de tasa por cliente (app.limite-tasa).
+ * Los grupos se evalúan en orden y una solicitud cuenta solo para el primero
+ * cuyas rutas coinciden.
+ */
+@Component
+@ConfigurationProperties("app.limite-tasa")
+public class LimiteTasaProperties {
+
+    /**
+     * Cabecera que identifica al cliente; sin ella se usa la dirección IP.
+     */
+    private String cabeceraCliente = "X-Api-Key";
+
+    /**
+     * Claves de API válidas. Una clave que no está en la lista no identifica
+     * al cliente: la solicitud cuenta para su IP.
+     */
+    private List<String> clavesApi = new ArrayList<>();
+
+    /**
+     * IPs de los proxies de confianza. Solo cuando la conexión viene de uno
+     * de ellos se toma la IP del cliente de X-Forwarded-For.
+     */
+    private List<String> proxiesConfiables = new ArrayList<>();
+
+    /**
+     * Clientes recordados por grupo; al superarse se descartan los menos usados.
+     */
+    private long maxClientes = 100_000;
+
+    /**
+     * Segundos sin solicitudes tras los que se olvida la cubeta de un cliente.
+     */
+    private long expiracionS = 600;
+
+    private List<Grupo> grupos = new ArrayList<>();
+
+    /**
+     * Grupo de rutas con su propia tasa por cliente.
+     */
+    public static class Grupo {
+
+        private String nombre;
+
+        /**
+         * Reglas "MÉTODO patrón" (patrones Ant).
+         */
+        private List<String> rutas = new ArrayList<>();
+
+        /**
+         * Solicitudes por segundo sostenidas.
+         */
+        private double porSegundo;
+
+        /**
+         * Solicitudes que se admiten de una vez tras un período sin uso.
+         */
+        private int rafaga;
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public void setNombre(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public List<String> getRutas() {
+            return rutas;
+        }
+
+        public void setRutas(List<String> rutas) {
+            this.rutas = rutas;
+        }
+
+        public double getPorSegundo() {
+            return porSegundo;
+        }
+
+        public void setPorSegundo(double porSegundo) {
+            this.porSegundo = porSegundo;
+        }
+
+        public int getRafaga() {
+            return rafaga;
+        }
+
+        public void setRafaga(int rafaga) {
+            this.rafaga = rafaga;
+        }
+    }
+
+    // Getters y Setters
+
+    public String getCabeceraCliente() {
+        return cabeceraCliente;
+    }
+
+    public void setCabeceraCliente(String cabeceraCliente) {
+        this.cabeceraCliente = cabeceraCliente;
+    }
+
+    public List<String> getClavesApi() {
+        return clavesApi;
+    }
+
+    public void setClavesApi(List<String> clavesApi) {
+        this.clavesApi = clavesApi;
+    }
+
+    public List<String> getProxiesConfiables() {
+        return proxiesConfiables;
+    }
+
+    public void setProxiesConfiables(List<String> proxiesConfiables) {
+        this.proxiesConfiables = proxiesConfiables;
+    }
+
+    public long getMaxClientes() {
+        return maxClientes;
+    }
+
+    public void setMaxClientes(long maxClientes) {
+        this.maxClientes = maxClientes;
+    }
+
+    public long getExpiracionS() {
+        return expiracionS;
+    }
+
+    public void setExpiracionS(long expiracionS) {
+        this.expiracionS = expiracionS;
+    }
+
+    public List<Grupo> getGrupos() {
+        return grupos;
+    }
+
+    public void setGrupos(List<Grupo> grupos) {
+        this.grupos = grupos;
+    }
+}
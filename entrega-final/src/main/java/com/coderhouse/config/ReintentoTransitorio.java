@@ -0,0 +1,19 @@
+package com.coderhouse.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca operaciones idempotentes que pueden repetirse completas si la base
+ * las aborta por un interbloqueo, una espera de bloqueo agotada o un fallo de
+ * serialización. ReintentoTransitorioAspect repite la transacción entera con
+ * espera exponencial y aleatoria, fuera de los bloqueos de BloqueoEntidades.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReintentoTransitorio {
+}
@@ -0,0 +1,178 @@
+package com.coderhouse.config;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reintentos de los métodos anotados con ReintentoTransitorio ante errores
+ * transitorios de la base: interbloqueos, esperas de bloqueo agotadas y
+ * fallos de serialización. Se reconocen por PessimisticLockingFailureException
+ * (CannotAcquireLockException y sus variantes) o, en la cadena de causas, por
+ * SQLState 40001/40P01 y los códigos 1213 (interbloqueo) y 1205 (espera
+ * agotada) de MySQL. La base ya revirtió la transacción, así que repetirla
+ * completa no duplica cambios.
+ *
+ * Entre intentos espera un tiempo aleatorio entre 0 y
+ * app.reintentos.espera-inicial-ms * 2^(intento - 1), acotado por
+ * app.reintentos.espera-maxima-ms, para que las transacciones que chocaron no
+ * vuelvan a chocar al mismo tiempo. Tras app.reintentos.max-intentos se
+ * propaga el último error.
+ *
+ * Es el aspecto más externo: cada intento vuelve a tomar los bloqueos de
+ * BloqueoEntidadesAspect y abre una transacción nueva, y la espera no retiene
+ * bloqueos ni conexiones. Si ya hay una transacción activa (trabajos por
+ * lotes) no reintenta, porque la transacción externa quedó marcada para
+ * revertirse y debe repetirse entera.
+ *
+ * Publica reintentos.realizados, reintentos.exitosos y reintentos.agotados
+ * (counters), etiquetados por operación.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+@ConditionalOnProperty(name = "app.reintentos.enabled", havingValue = "true")
+public class ReintentoTransitorioAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(ReintentoTransitorioAspect.class);
+
+    private static final Set<String> ESTADOS_TRANSITORIOS = Set.of("40001", "40P01");
+    private static final int MYSQL_INTERBLOQUEO = 1213;
+    private static final int MYSQL_ESPERA_AGOTADA = 1205;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.reintentos.max-intentos:3}")
+    private int maxIntentos;
+
+    @Value("${app.reintentos.espera-inicial-ms:20}")
+    private long esperaInicialMs;
+
+    @Value("${app.reintentos.espera-maxima-ms:500}")
+    private long esperaMaximaMs;
+
+    /** Contadores por operación: realizados, exitosos y agotados. */
+    private final Map<String, Counter[]> contadores = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void iniciar() {
+        if (maxIntentos < 1) {
+            throw new IllegalArgumentException("app.reintentos.max-intentos debe ser al menos 1: " + maxIntentos);
+        }
+    }
+
+    @Around("@annotation(com.coderhouse.config.ReintentoTransitorio)")
+    public Object reintentar(ProceedingJoinPoint punto) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return punto.proceed();
+        }
+        String operacion = operacion(punto);
+        for (int intento = 1; ; intento++) {
+            try {
+                Object resultado = punto.proceed();
+                if (intento > 1) {
+                    contadores(operacion)[1].increment();
+                }
+                return resultado;
+            } catch (RuntimeException e) {
+                if (!esTransitorio(e)) {
+                    throw e;
+                }
+                if (intento >= maxIntentos) {
+                    contadores(operacion)[2].increment();
+                    log.warn("{} falló {} veces por contención en la base: {}", operacion, intento, e.getMessage());
+                    throw e;
+                }
+                contadores(operacion)[0].increment();
+                if (!esperar(intento)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Espera aleatoria con tope exponencial antes del siguiente intento.
+     *
+     * @return false si el hilo fue interrumpido
+     */
+    private boolean esperar(int intento) {
+        long tope = Math.min(esperaMaximaMs, esperaInicialMs << Math.min(intento - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(tope + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Indica si la excepción es un interbloqueo, una espera de bloqueo
+     * agotada o un fallo de serialización.
+     */
+    static boolean esTransitorio(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof PessimisticLockingFailureException) {
+                return true;
+            }
+            if (causa instanceof SQLException sql) {
+                for (SQLException actual = sql; actual != null; actual = actual.getNextException()) {
+                    if (ESTADOS_TRANSITORIOS.contains(actual.getSQLState())
+                            || actual.getErrorCode() == MYSQL_INTERBLOQUEO
+                            || actual.getErrorCode() == MYSQL_ESPERA_AGOTADA) {
+                        return true;
+                    }
+                }
+            }
+            if (causa.getCause() == causa) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static String operacion(ProceedingJoinPoint punto) {
+        MethodSignature firma = (MethodSignature) punto.getSignature();
+        return firma.getDeclaringType().getSimpleName() + "." + firma.getName();
+    }
+
+    private Counter[] contadores(String operacion) {
+        return contadores.computeIfAbsent(operacion, clave -> new Counter[] {
+            Counter.builder("reintentos.realizados")
+                .description("Reintentos por errores transitorios de la base")
+                .tag("operacion", clave)
+                .register(meterRegistry),
+            Counter.builder("reintentos.exitosos")
+                .description("Operaciones que terminaron bien después de reintentar")
+                .tag("operacion", clave)
+                .register(meterRegistry),
+            Counter.builder("reintentos.agotados")
+                .description("Operaciones que fallaron tras agotar los reintentos")
+                .tag("operacion", clave)
+                .register(meterRegistry)
+        });
+    }
+}
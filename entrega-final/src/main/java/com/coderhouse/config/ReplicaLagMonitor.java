@@ -0,0 +1,93 @@
+package com.coderhouse.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Monitorea el retraso de replicación de la réplica de lectura.
+ * Ejecuta periódicamente la consulta de retraso configurada y deshabilita el
+ * enrutamiento a la réplica cuando supera el máximo permitido o no responde.
+ *
+ * La consulta por defecto es SHOW REPLICA STATUS (MySQL 8); si el resultado
+ * tiene la columna Seconds_Behind_Source se usa esa, si no la primera columna.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final String COLUMNA_RETRASO_MYSQL = "Seconds_Behind_Source";
+
+    private final DataSource replica;
+    private final String consultaRetraso;
+    private final long retrasoMaximoSegundos;
+
+    private volatile boolean replicaDisponible = false;
+    private volatile long ultimoRetrasoSegundos = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String consultaRetraso, long retrasoMaximoSegundos) {
+        this.replica = replica;
+        this.consultaRetraso = consultaRetraso;
+        this.retrasoMaximoSegundos = retrasoMaximoSegundos;
+    }
+
+    /**
+     * Consulta el retraso actual de la réplica y actualiza su disponibilidad.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void verificarRetraso() {
+        try (Connection con = replica.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(consultaRetraso)) {
+
+            Long retraso = rs.next() ? leerRetraso(rs) : null;
+            ultimoRetrasoSegundos = retraso != null ? retraso : -1;
+            boolean disponible = retraso != null && retraso <= retrasoMaximoSegundos;
+            if (disponible != replicaDisponible) {
+                log.info("Réplica {} (retraso: {}s, máximo: {}s)",
+                    disponible ? "habilitada" : "deshabilitada", retraso, retrasoMaximoSegundos);
+            }
+            replicaDisponible = disponible;
+        } catch (SQLException ex) {
+            log.warn("No se pudo verificar el retraso de la réplica: {}", ex.getMessage());
+            marcarNoDisponible();
+        }
+    }
+
+    private Long leerRetraso(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columna = 1;
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (COLUMNA_RETRASO_MYSQL.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                columna = i;
+                break;
+            }
+        }
+        long valor = rs.getLong(columna);
+        // Un valor NULL indica que la replicación está detenida
+        return rs.wasNull() ? null : valor;
+    }
+
+    /**
+     * Marca la réplica como no disponible hasta la próxima verificación exitosa.
+     */
+    public void marcarNoDisponible() {
+        replicaDisponible = false;
+        ultimoRetrasoSegundos = -1;
+    }
+
+    public boolean isReplicaDisponible() {
+        return replicaDisponible;
+    }
+
+    public long getUltimoRetrasoSegundos() {
+        return ultimoRetrasoSegundos;
+    }
+}
@@ -0,0 +1,75 @@
+package com.coderhouse.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que enruta las conexiones entre el pool primario, el de réplica
+ * y los masivos. Las transacciones marcadas como readOnly se envían a la
+ * réplica siempre que el monitor de retraso la considere disponible; el resto
+ * va al primario. Los hilos del compartimento masivo hacen la misma elección
+ * pero entre sus propios pools (masivo de réplica y masivo del primario), para
+ * que una exportación no agote las conexiones de las solicitudes interactivas.
+ *
+ * Debe envolverse en un LazyConnectionDataSourceProxy para que la decisión se
+ * tome con la transacción ya inicializada.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+    public static final String REPLICA = "replica";
+    public static final String MASIVO = "masivo";
+    public static final String REPLICA_MASIVO = "replica-masivo";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final ReplicaLagMonitor monitor;
+    private final boolean conPoolMasivo;
+    private final boolean conReplicaMasiva;
+
+    /**
+     * @param monitor Monitor de retraso de la réplica, o null si no hay réplica
+     * @param conPoolMasivo true si hay un pool masivo entre los destinos
+     * @param conReplicaMasiva true si hay un pool masivo de réplica entre los destinos
+     */
+    public ReplicaRoutingDataSource(ReplicaLagMonitor monitor, boolean conPoolMasivo, boolean conReplicaMasiva) {
+        this.monitor = monitor;
+        this.conPoolMasivo = conPoolMasivo;
+        this.conReplicaMasiva = conReplicaMasiva;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean aReplica = monitor != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && monitor.isReplicaDisponible();
+        if (conPoolMasivo && Compartimento.MASIVO.equals(Compartimento.actual())) {
+            return aReplica && conReplicaMasiva ? REPLICA_MASIVO : MASIVO;
+        }
+        return aReplica ? REPLICA : PRIMARIO;
+    }
+
+    /**
+     * Obtiene la conexión del destino elegido. Si la réplica falla al conectar,
+     * se marca como no disponible y la lectura se resuelve contra el primario.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            return super.getConnection();
+        } catch (SQLException ex) {
+            Object destino = determineCurrentLookupKey();
+            if (!REPLICA.equals(destino) && !REPLICA_MASIVO.equals(destino)) {
+                throw ex;
+            }
+            log.warn("No se pudo conectar a la réplica, se usa el primario: {}", ex.getMessage());
+            monitor.marcarNoDisponible();
+            // Con la réplica marcada como no disponible, la clave ahora resuelve al pool del primario
+            return determineTargetDataSource().getConnection();
+        }
+    }
+}
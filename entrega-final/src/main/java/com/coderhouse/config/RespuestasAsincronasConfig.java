@@ -0,0 +1,23 @@
+package com.coderhouse.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Ejecuta en el compartimento masivo las respuestas que Spring MVC procesa en
+ * su propio ejecutor (StreamingResponseBody y Callable), como las
+ * exportaciones en streaming, en lugar del pool de tareas general.
+ */
+@Configuration
+public class RespuestasAsincronasConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private Compartimento compartimentoMasivo;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(compartimentoMasivo.ejecutorRespuestas());
+    }
+}
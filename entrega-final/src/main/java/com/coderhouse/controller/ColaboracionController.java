@@ -0,0 +1,106 @@
+package com.coderhouse.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coderhouse.dto.CaminoColaboracionDTO;
+import com.coderhouse.dto.CompaneroDTO;
+import com.coderhouse.dto.EstadisticasColaboracionDTO;
+import com.coderhouse.dto.GradoColaboracionDTO;
+import com.coderhouse.service.ColaboracionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller REST para el análisis de colaboración entre empleados.
+ * Dos empleados colaboran si comparten al menos un proyecto.
+ */
+@RestController
+@RequestMapping("/api/colaboracion")
+@Tag(name = "Colaboración", description = "API de análisis del grafo de colaboración entre empleados")
+public class ColaboracionController {
+    
+    @Autowired
+    private ColaboracionService colaboracionService;
+    
+    /**
+     * Obtiene los compañeros de un empleado.
+     * 
+     * @param id ID del empleado
+     * @param limite Cantidad máxima de compañeros
+     * @return Compañeros ordenados por proyectos compartidos
+     */
+    @Operation(summary = "Compañeros de un empleado", description = "Retorna los empleados que comparten proyectos con el indicado, de mayor a menor cantidad de proyectos compartidos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Compañeros encontrados"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido"),
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+    })
+    @GetMapping("/empleados/{id}/companeros")
+    public ResponseEntity<List<CompaneroDTO>> obtenerCompaneros(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "50") int limite) {
+        List<CompaneroDTO> companeros = colaboracionService.obtenerCompaneros(id, limite);
+        return ResponseEntity.ok(companeros);
+    }
+    
+    /**
+     * Busca el camino de colaboración más corto entre dos empleados.
+     * 
+     * @param desde ID del empleado de origen
+     * @param hasta ID del empleado de destino
+     * @return Empleados y proyectos que forman el camino
+     */
+    @Operation(summary = "Camino de colaboración", description = "Retorna la cadena más corta de empleados que comparten proyectos entre dos empleados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada (encontrado indica si existe camino)"),
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+    })
+    @GetMapping("/camino")
+    public ResponseEntity<CaminoColaboracionDTO> obtenerCamino(
+            @RequestParam Long desde,
+            @RequestParam Long hasta) {
+        CaminoColaboracionDTO camino = colaboracionService.obtenerCamino(desde, hasta);
+        return ResponseEntity.ok(camino);
+    }
+    
+    /**
+     * Obtiene el ranking de empleados por cantidad de compañeros distintos.
+     * 
+     * @param limite Cantidad de empleados del ranking
+     * @return Ranking de mayor a menor
+     */
+    @Operation(summary = "Ranking de colaboración", description = "Retorna los empleados con más compañeros distintos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ranking calculado"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido")
+    })
+    @GetMapping("/ranking")
+    public ResponseEntity<List<GradoColaboracionDTO>> obtenerRanking(
+            @RequestParam(defaultValue = "10") int limite) {
+        List<GradoColaboracionDTO> ranking = colaboracionService.obtenerRanking(limite);
+        return ResponseEntity.ok(ranking);
+    }
+    
+    /**
+     * Obtiene el estado de la instantánea del grafo.
+     * 
+     * @return Versión, tamaño y cambios pendientes
+     */
+    @Operation(summary = "Estadísticas del grafo", description = "Retorna la versión, el tamaño y la memoria estimada de la instantánea del grafo de colaboración")
+    @ApiResponse(responseCode = "200", description = "Estadísticas del grafo")
+    @GetMapping("/estadisticas")
+    public ResponseEntity<EstadisticasColaboracionDTO> obtenerEstadisticas() {
+        return ResponseEntity.ok(colaboracionService.obtenerEstadisticas());
+    }
+}
@@ -0,0 +1,56 @@
+package com.coderhouse.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.coderhouse.config.Compartimento;
+import com.coderhouse.dto.ConsultaGrafoDTO;
+import com.coderhouse.dto.ResultadoGrafoDTO;
+import com.coderhouse.service.ConsultaGrafoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Controller REST para consultas anidadas sobre el grafo Empleado-Proyecto.
+ * Permite resolver recorridos como "proyecto → miembros → sus otros proyectos"
+ * en una sola solicitud. Las consultas corren en el compartimento de
+ * consultas, con tiempo de espera y cancelación de la consulta al vencer.
+ */
+@RestController
+@RequestMapping("/api/consultas")
+@Tag(name = "Consultas", description = "API para consultas anidadas sobre empleados y proyectos")
+public class ConsultaGrafoController {
+    
+    @Autowired
+    private ConsultaGrafoService consultaGrafoService;
+    
+    @Autowired
+    private Compartimento compartimentoConsultas;
+    
+    /**
+     * Ejecuta una consulta anidada sobre el grafo.
+     * 
+     * @param consulta Nodos raíz y profundidad a expandir
+     * @return Árbol de resultados
+     */
+    @Operation(summary = "Consulta anidada del grafo", description = "Expande el grafo Empleado-Proyecto desde los nodos raíz, resolviendo cada nivel con una única consulta por lotes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta ejecutada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Consulta inválida o fuera de los límites permitidos"),
+        @ApiResponse(responseCode = "503", description = "Compartimento de consultas lleno"),
+        @ApiResponse(responseCode = "504", description = "La consulta no terminó en el tiempo de espera del compartimento")
+    })
+    @PostMapping("/grafo")
+    public DeferredResult<ResponseEntity<ResultadoGrafoDTO>> consultar(@Valid @RequestBody ConsultaGrafoDTO consulta) {
+        return compartimentoConsultas.diferir(() -> ResponseEntity.ok(consultaGrafoService.consultar(consulta)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.coderhouse.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coderhouse.dto.DepartamentoResponseDTO;
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.PaginaKeysetDTO;
+import com.coderhouse.service.DepartamentoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller REST de consulta de departamentos.
+ * Los departamentos se crean al asignarlos a un empleado.
+ */
+@RestController
+@RequestMapping("/api/departamentos")
+@Tag(name = "Departamentos", description = "API de consulta de departamentos")
+public class DepartamentoController {
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    /**
+     * Obtiene todos los departamentos.
+     *
+     * @return Departamentos con su cantidad de empleados
+     */
+    @Operation(summary = "Obtener todos los departamentos", description = "Retorna los departamentos ordenados por nombre con su cantidad de empleados")
+    @ApiResponse(responseCode = "200", description = "Lista de departamentos obtenida exitosamente")
+    @GetMapping
+    public ResponseEntity<List<DepartamentoResponseDTO>> obtenerTodos() {
+        return ResponseEntity.ok(departamentoService.obtenerTodos());
+    }
+
+    /**
+     * Obtiene un departamento por su ID.
+     *
+     * @param id ID del departamento
+     * @return Departamento encontrado
+     */
+    @Operation(summary = "Obtener departamento por ID", description = "Retorna un departamento con su cantidad de empleados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Departamento encontrado"),
+        @ApiResponse(responseCode = "404", description = "Departamento no encontrado")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<DepartamentoResponseDTO> obtenerPorId(@PathVariable Long id) {
+        return ResponseEntity.ok(departamentoService.obtenerPorId(id));
+    }
+
+    /**
+     * Obtiene un departamento por su nombre.
+     *
+     * @param nombre Nombre del departamento
+     * @return Departamento encontrado
+     */
+    @Operation(summary = "Obtener departamento por nombre", description = "Retorna un departamento con su cantidad de empleados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Departamento encontrado"),
+        @ApiResponse(responseCode = "404", description = "Departamento no encontrado")
+    })
+    @GetMapping("/nombre/{nombre}")
+    public ResponseEntity<DepartamentoResponseDTO> obtenerPorNombre(@PathVariable String nombre) {
+        return ResponseEntity.ok(departamentoService.obtenerPorNombre(nombre));
+    }
+
+    /**
+     * Obtiene una página de los empleados de un departamento.
+     *
+     * @param id ID del departamento
+     * @param despuesDe ID del último empleado recibido (cursor)
+     * @param limite Cantidad máxima de empleados a devolver
+     * @return Página de empleados y cursor para la página siguiente
+     */
+    @Operation(summary = "Obtener empleados de un departamento", description = "Retorna los empleados del departamento ordenados por ID, paginados por cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de empleados"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido"),
+        @ApiResponse(responseCode = "404", description = "Departamento no encontrado")
+    })
+    @GetMapping("/{id}/empleados")
+    public ResponseEntity<PaginaKeysetDTO<EmpleadoSimpleDTO>> obtenerEmpleados(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int limite) {
+        return ResponseEntity.ok(departamentoService.obtenerEmpleados(id, despuesDe, limite));
+    }
+}
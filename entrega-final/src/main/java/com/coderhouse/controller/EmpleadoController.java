@@ -1,9 +1,11 @@
 package com.coderhouse.controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +14,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.coderhouse.config.Compartimento;
+import com.coderhouse.dto.CambioDepartamentoDTO;
 import com.coderhouse.dto.EmpleadoDTO;
 import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.dto.ResultadoCambioDepartamentoDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.service.Coalescedor;
 import com.coderhouse.service.EmpleadoService;
+import com.coderhouse.service.ModeloLecturaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -27,6 +39,10 @@ import jakarta.validation.Valid;
 /**
  * Controller REST para gestionar operaciones sobre la entidad Empleado.
  * Expone endpoints para operaciones CRUD y gestión de relaciones con Proyectos.
+ * Si el modelo de lectura en memoria está habilitado, los GET se resuelven con él;
+ * si no, las lecturas individuales concurrentes idénticas se coalescen.
+ * Los listados completos y las consultas por lista de IDs corren en el
+ * compartimento masivo, con sus propios hilos y conexiones.
  */
 @RestController
 @RequestMapping("/api/empleados")
@@ -36,17 +52,75 @@ public class EmpleadoController {
     @Autowired
     private EmpleadoService empleadoService;
     
+    @Autowired(required = false)
+    private ModeloLecturaService modeloLectura;
+    
+    @Autowired
+    private Coalescedor coalescedor;
+    
+    @Autowired
+    private Compartimento compartimentoMasivo;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Obtiene todos los empleados.
      * 
      * @return Lista de todos los empleados
      */
     @Operation(summary = "Obtener todos los empleados", description = "Retorna una lista con todos los empleados registrados")
-    @ApiResponse(responseCode = "200", description = "Lista de empleados obtenida exitosamente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de empleados obtenida exitosamente"),
+        @ApiResponse(responseCode = "503", description = "Compartimento masivo lleno"),
+        @ApiResponse(responseCode = "504", description = "El listado no terminó en el tiempo de espera del compartimento")
+    })
     @GetMapping
-    public ResponseEntity<List<EmpleadoResponseDTO>> obtenerTodos() {
-        List<EmpleadoResponseDTO> empleados = empleadoService.obtenerTodos();
-        return ResponseEntity.ok(empleados);
+    public DeferredResult<ResponseEntity<List<EmpleadoResponseDTO>>> obtenerTodos() {
+        if (modeloLectura != null) {
+            return Compartimento.inmediato(ResponseEntity.ok(modeloLectura.obtenerEmpleados()));
+        }
+        return compartimentoMasivo.diferir(() -> ResponseEntity.ok(empleadoService.obtenerTodos()));
+    }
+    
+    /**
+     * Exporta todos los empleados en modo de lectura masiva (exportaciones y reportes).
+     * El arreglo JSON se escribe a medida que se lee con una sesión sin estado,
+     * por lo que la memoria no crece con la cantidad de empleados.
+     * 
+     * @return Arreglo JSON con todos los empleados, en orden de ID
+     */
+    @Operation(summary = "Exportar todos los empleados", description = "Con masivo=true retorna todos los empleados en streaming, leídos con una sesión sin estado, para listados grandes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+        @ApiResponse(responseCode = "503", description = "Compartimento masivo lleno")
+    })
+    @GetMapping(params = "masivo=true")
+    public ResponseEntity<StreamingResponseBody> exportarTodos() {
+        StreamingResponseBody cuerpo = modeloLectura != null
+            ? ExportacionJson.<EmpleadoResponseDTO>arreglo(objectMapper, consumidor -> modeloLectura.obtenerEmpleados().forEach(consumidor))
+            : ExportacionJson.<EmpleadoResponseDTO>arreglo(objectMapper, empleadoService::exportarTodos);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+    
+    /**
+     * Obtiene varios empleados por una lista de IDs.
+     * 
+     * @param ids IDs de los empleados separados por coma
+     * @return Un resultado por ID, en el orden solicitado
+     */
+    @Operation(summary = "Obtener empleados por lista de IDs", description = "Retorna los empleados solicitados en el mismo orden, indicando los IDs no encontrados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado larga"),
+        @ApiResponse(responseCode = "503", description = "Compartimento masivo lleno")
+    })
+    @GetMapping(params = "ids")
+    public CompletableFuture<ResponseEntity<List<ResultadoPorIdDTO<EmpleadoResponseDTO>>>> obtenerPorIds(@RequestParam List<Long> ids) {
+        if (modeloLectura != null) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(modeloLectura.obtenerEmpleadosPorIds(ids)));
+        }
+        return compartimentoMasivo.ejecutar(() -> ResponseEntity.ok(empleadoService.obtenerPorIds(ids)));
     }
     
     /**
@@ -58,11 +132,14 @@ public class EmpleadoController {
     @Operation(summary = "Obtener empleado por ID", description = "Retorna un empleado específico por su ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Empleado encontrado"),
-        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado"),
+        @ApiResponse(responseCode = "504", description = "Lectura idéntica en curso sin respuesta a tiempo")
     })
     @GetMapping("/{id}")
     public ResponseEntity<EmpleadoResponseDTO> obtenerPorId(@PathVariable Long id) {
-        EmpleadoResponseDTO empleado = empleadoService.obtenerPorId(id);
+        EmpleadoResponseDTO empleado = modeloLectura != null
+            ? modeloLectura.obtenerEmpleado(id)
+            : coalescedor.ejecutar("empleado", id, () -> empleadoService.obtenerPorId(id));
         return ResponseEntity.ok(empleado);
     }
     
@@ -75,11 +152,14 @@ public class EmpleadoController {
     @Operation(summary = "Obtener empleado por email", description = "Retorna un empleado específico por su email")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Empleado encontrado"),
-        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado"),
+        @ApiResponse(responseCode = "504", description = "Lectura idéntica en curso sin respuesta a tiempo")
     })
     @GetMapping("/email/{email}")
     public ResponseEntity<EmpleadoResponseDTO> obtenerPorEmail(@PathVariable String email) {
-        EmpleadoResponseDTO empleado = empleadoService.obtenerPorEmail(email);
+        EmpleadoResponseDTO empleado = modeloLectura != null
+            ? modeloLectura.obtenerEmpleadoPorEmail(email)
+            : coalescedor.ejecutar("empleado-email", email, () -> empleadoService.obtenerPorEmail(email));
         return ResponseEntity.ok(empleado);
     }
     
@@ -92,11 +172,14 @@ public class EmpleadoController {
     @Operation(summary = "Obtener empleado por legajo", description = "Retorna un empleado específico por su legajo")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Empleado encontrado"),
-        @ApiResponse(responseCode = "404", description = "Empleado no encontrado")
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado"),
+        @ApiResponse(responseCode = "504", description = "Lectura idéntica en curso sin respuesta a tiempo")
     })
     @GetMapping("/legajo/{legajo}")
     public ResponseEntity<EmpleadoResponseDTO> obtenerPorLegajo(@PathVariable String legajo) {
-        EmpleadoResponseDTO empleado = empleadoService.obtenerPorLegajo(legajo);
+        EmpleadoResponseDTO empleado = modeloLectura != null
+            ? modeloLectura.obtenerEmpleadoPorLegajo(legajo)
+            : coalescedor.ejecutar("empleado-legajo", legajo, () -> empleadoService.obtenerPorLegajo(legajo));
         return ResponseEntity.ok(empleado);
     }
     
@@ -138,6 +221,24 @@ public class EmpleadoController {
         return ResponseEntity.ok(empleadoActualizado);
     }
     
+    /**
+     * Cambia el departamento de varios empleados a la vez.
+     * 
+     * @param cambio Departamento de destino y empleados a mover
+     * @return Cantidad de empleados solicitados y actualizados
+     */
+    @Operation(summary = "Cambiar departamento de varios empleados", description = "Mueve al departamento indicado los empleados de una lista de IDs o de un departamento actual, con un UPDATE por lotes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Departamento cambiado"),
+        @ApiResponse(responseCode = "400", description = "Criterio inválido o demasiados empleados"),
+        @ApiResponse(responseCode = "404", description = "Departamento actual no encontrado"),
+        @ApiResponse(responseCode = "503", description = "Compartimento masivo lleno")
+    })
+    @PutMapping("/departamento")
+    public CompletableFuture<ResponseEntity<ResultadoCambioDepartamentoDTO>> cambiarDepartamento(@Valid @RequestBody CambioDepartamentoDTO cambio) {
+        return compartimentoMasivo.ejecutar(() -> ResponseEntity.ok(empleadoService.cambiarDepartamento(cambio)));
+    }
+    
     /**
      * Elimina un empleado por su ID.
      * 
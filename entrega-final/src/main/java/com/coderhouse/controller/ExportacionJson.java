@@ -0,0 +1,49 @@
+package com.coderhouse.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Escribe un recorrido como un arreglo JSON a medida que se leen los
+ * elementos, sin armar la lista completa.
+ *
+ * Spring MVC ejecuta el cuerpo en su ejecutor asincrónico, que es el
+ * compartimento masivo (RespuestasAsincronasConfig). Si el cliente se
+ * desconecta la escritura falla y el recorrido se corta; si vence
+ * spring.mvc.async.request-timeout, el hilo se interrumpe y el recorrido se
+ * corta en la fila siguiente.
+ */
+final class ExportacionJson {
+
+    private ExportacionJson() {
+    }
+
+    /**
+     * @param objectMapper Mapper con la configuración de la aplicación
+     * @param recorrido Recorrido que entrega cada elemento al consumidor recibido
+     * @return Cuerpo de respuesta que escribe el arreglo
+     */
+    static <T> StreamingResponseBody arreglo(ObjectMapper objectMapper, Consumer<Consumer<T>> recorrido) {
+        return salida -> {
+            try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+                generador.writeStartArray();
+                recorrido.accept(elemento -> {
+                    try {
+                        generador.writeObject(elemento);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generador.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
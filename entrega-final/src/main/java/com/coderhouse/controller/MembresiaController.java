@@ -0,0 +1,73 @@
+package com.coderhouse.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coderhouse.dto.OperacionConjunto;
+import com.coderhouse.dto.ResultadoMembresiaDTO;
+import com.coderhouse.service.IndiceMembresias;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller REST para consultas de conjuntos sobre las asignaciones
+ * Empleado-Proyecto. Las consultas se resuelven sobre el índice de bitmaps
+ * en memoria, sin acceder a la base de datos.
+ */
+@RestController
+@RequestMapping("/api/membresias")
+@Tag(name = "Membresías", description = "API para operaciones de conjuntos sobre asignaciones de empleados y proyectos")
+public class MembresiaController {
+    
+    @Autowired
+    private IndiceMembresias indiceMembresias;
+    
+    /**
+     * Combina los miembros de varios proyectos.
+     * 
+     * @param proyectos IDs de los proyectos (para ANDNOT, el primero es la base)
+     * @param op Operación de conjunto
+     * @return IDs de los empleados resultantes
+     */
+    @Operation(summary = "Empleados por proyectos", description = "Empleados en todos (AND), en alguno (OR) o en el primero pero no en los demás (ANDNOT) de los proyectos indicados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta ejecutada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs u operación inválida")
+    })
+    @GetMapping("/empleados")
+    public ResponseEntity<ResultadoMembresiaDTO> empleadosDeProyectos(
+            @RequestParam List<Long> proyectos,
+            @RequestParam(defaultValue = "AND") OperacionConjunto op) {
+        ResultadoMembresiaDTO resultado = indiceMembresias.empleadosDeProyectos(proyectos, op);
+        return ResponseEntity.ok(resultado);
+    }
+    
+    /**
+     * Combina los proyectos de varios empleados.
+     * 
+     * @param empleados IDs de los empleados (para ANDNOT, el primero es la base)
+     * @param op Operación de conjunto
+     * @return IDs de los proyectos resultantes
+     */
+    @Operation(summary = "Proyectos por empleados", description = "Proyectos compartidos por todos (AND), de alguno (OR) o del primero pero no de los demás (ANDNOT) de los empleados indicados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Consulta ejecutada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs u operación inválida")
+    })
+    @GetMapping("/proyectos")
+    public ResponseEntity<ResultadoMembresiaDTO> proyectosDeEmpleados(
+            @RequestParam List<Long> empleados,
+            @RequestParam(defaultValue = "AND") OperacionConjunto op) {
+        ResultadoMembresiaDTO resultado = indiceMembresias.proyectosDeEmpleados(empleados, op);
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -1,9 +1,11 @@
 package com.coderhouse.controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +14,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.coderhouse.config.Compartimento;
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.PaginaKeysetDTO;
 import com.coderhouse.dto.ProyectoDTO;
 import com.coderhouse.dto.ProyectoResponseDTO;
+import com.coderhouse.dto.RecomendacionDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.service.Coalescedor;
+import com.coderhouse.service.ModeloLecturaService;
 import com.coderhouse.service.ProyectoService;
+import com.coderhouse.service.RecomendacionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -27,6 +41,11 @@ import jakarta.validation.Valid;
 /**
  * Controller REST para gestionar operaciones sobre la entidad Proyecto.
  * Expone endpoints para operaciones CRUD y gestión de relaciones con Empleados.
+ * Si el modelo de lectura en memoria está habilitado, los GET se resuelven con él;
+ * si no, las lecturas individuales concurrentes idénticas se coalescen.
+ * Los listados completos y las consultas por lista de IDs corren en el
+ * compartimento masivo, con sus propios hilos y conexiones, y las búsquedas
+ * por nombre en el de consultas.
  */
 @RestController
 @RequestMapping("/api/proyectos")
@@ -36,17 +55,81 @@ public class ProyectoController {
     @Autowired
     private ProyectoService proyectoService;
     
+    @Autowired
+    private RecomendacionService recomendacionService;
+    
+    @Autowired(required = false)
+    private ModeloLecturaService modeloLectura;
+    
+    @Autowired
+    private Coalescedor coalescedor;
+    
+    @Autowired
+    private Compartimento compartimentoMasivo;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Compartimento compartimentoConsultas;
+    
     /**
      * Obtiene todos los proyectos.
      * 
      * @return Lista de todos los proyectos
      */
     @Operation(summary = "Obtener todos los proyectos", description = "Retorna una lista con todos los proyectos registrados")
-    @ApiResponse(responseCode = "200", description = "Lista de proyectos obtenida exitosamente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de proyectos obtenida exitosamente"),
+        @ApiResponse(responseCode = "503", description = "Compartimento masivo lleno"),
+        @ApiResponse(responseCode = "504", description = "El listado no terminó en el tiempo de espera del compartimento")
+    })
     @GetMapping
-    public ResponseEntity<List<ProyectoResponseDTO>> obtenerTodos() {
-        List<ProyectoResponseDTO> proyectos = proyectoService.obtenerTodos();
-        return ResponseEntity.ok(proyectos);
+    public DeferredResult<ResponseEntity<List<ProyectoResponseDTO>>> obtenerTodos() {
+        if (modeloLectura != null) {
+            return Compartimento.inmediato(ResponseEntity.ok(modeloLectura.obtenerProyectos()));
+        }
+        return compartimentoMasivo.diferir(() -> ResponseEntity.ok(proyectoService.obtenerTodos()));
+    }
+    
+    /**
+     * Exporta todos los proyectos en modo de lectura masiva (exportaciones y reportes).
+     * El arreglo JSON se escribe a medida que se lee con una sesión sin estado,
+     * por lo que la memoria no crece con la cantidad de proyectos.
+     * 
+     * @return Arreglo JSON con todos los proyectos, en orden de ID
+     */
+    @Operation(summary = "Exportar todos los proyectos", description = "Con masivo=true retorna todos los proyectos en streaming, leídos con una sesión sin estado, para listados grandes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+        @ApiResponse(responseCode = "503", description = "Compartimento masivo lleno")
+    })
+    @GetMapping(params = "masivo=true")
+    public ResponseEntity<StreamingResponseBody> exportarTodos() {
+        StreamingResponseBody cuerpo = modeloLectura != null
+            ? ExportacionJson.<ProyectoResponseDTO>arreglo(objectMapper, consumidor -> modeloLectura.obtenerProyectos().forEach(consumidor))
+            : ExportacionJson.<ProyectoResponseDTO>arreglo(objectMapper, proyectoService::exportarTodos);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+    
+    /**
+     * Obtiene varios proyectos por una lista de IDs.
+     * 
+     * @param ids IDs de los proyectos separados por coma
+     * @return Un resultado por ID, en el orden solicitado
+     */
+    @Operation(summary = "Obtener proyectos por lista de IDs", description = "Retorna los proyectos solicitados en el mismo orden, indicando los IDs no encontrados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resultados obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o demasiado larga"),
+        @ApiResponse(responseCode = "503", description = "Compartimento masivo lleno")
+    })
+    @GetMapping(params = "ids")
+    public CompletableFuture<ResponseEntity<List<ResultadoPorIdDTO<ProyectoResponseDTO>>>> obtenerPorIds(@RequestParam List<Long> ids) {
+        if (modeloLectura != null) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(modeloLectura.obtenerProyectosPorIds(ids)));
+        }
+        return compartimentoMasivo.ejecutar(() -> ResponseEntity.ok(proyectoService.obtenerPorIds(ids)));
     }
     
     /**
@@ -58,14 +141,67 @@ public class ProyectoController {
     @Operation(summary = "Obtener proyecto por ID", description = "Retorna un proyecto específico por su ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Proyecto encontrado"),
-        @ApiResponse(responseCode = "404", description = "Proyecto no encontrado")
+        @ApiResponse(responseCode = "404", description = "Proyecto no encontrado"),
+        @ApiResponse(responseCode = "504", description = "Lectura idéntica en curso sin respuesta a tiempo")
     })
     @GetMapping("/{id}")
     public ResponseEntity<ProyectoResponseDTO> obtenerPorId(@PathVariable Long id) {
-        ProyectoResponseDTO proyecto = proyectoService.obtenerPorId(id);
+        ProyectoResponseDTO proyecto = modeloLectura != null
+            ? modeloLectura.obtenerProyecto(id)
+            : coalescedor.ejecutar("proyecto", id, () -> proyectoService.obtenerPorId(id));
         return ResponseEntity.ok(proyecto);
     }
     
+    /**
+     * Obtiene los empleados de un proyecto con paginación por cursor.
+     * 
+     * @param id ID del proyecto
+     * @param despuesDe ID del último empleado recibido (cursor)
+     * @param limite Cantidad máxima de empleados a devolver
+     * @return Página de empleados y cursor para la página siguiente
+     */
+    @Operation(summary = "Obtener empleados de un proyecto", description = "Retorna los empleados del proyecto ordenados por ID, paginados por cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de empleados"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido"),
+        @ApiResponse(responseCode = "404", description = "Proyecto no encontrado"),
+        @ApiResponse(responseCode = "504", description = "Lectura idéntica en curso sin respuesta a tiempo")
+    })
+    @GetMapping("/{id}/empleados")
+    public ResponseEntity<PaginaKeysetDTO<EmpleadoSimpleDTO>> obtenerEmpleados(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long despuesDe,
+            @RequestParam(defaultValue = "50") int limite) {
+        PaginaKeysetDTO<EmpleadoSimpleDTO> pagina = modeloLectura != null
+            ? modeloLectura.obtenerEmpleadosDeProyecto(id, despuesDe, limite)
+            : coalescedor.ejecutar("proyecto-empleados", id + ":" + despuesDe + ":" + limite,
+                () -> proyectoService.obtenerEmpleados(id, despuesDe, limite));
+        return ResponseEntity.ok(pagina);
+    }
+    
+    /**
+     * Recomienda empleados para sumarse a un proyecto.
+     * 
+     * @param id ID del proyecto
+     * @param departamento Departamento buscado (opcional; por defecto, el del equipo actual)
+     * @param limite Cantidad máxima de candidatos
+     * @return Candidatos ordenados por puntaje
+     */
+    @Operation(summary = "Recomendar empleados para un proyecto", description = "Ordena a los empleados que no están en el proyecto por afinidad de departamento, compañeros en el equipo y carga de proyectos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Candidatos recomendados"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido"),
+        @ApiResponse(responseCode = "404", description = "Proyecto no encontrado")
+    })
+    @GetMapping("/{id}/recomendaciones")
+    public ResponseEntity<List<RecomendacionDTO>> obtenerRecomendaciones(
+            @PathVariable Long id,
+            @RequestParam(required = false) String departamento,
+            @RequestParam(defaultValue = "10") int limite) {
+        List<RecomendacionDTO> recomendaciones = recomendacionService.recomendar(id, departamento, limite);
+        return ResponseEntity.ok(recomendaciones);
+    }
+    
     /**
      * Busca proyectos por nombre (búsqueda parcial, case-insensitive).
      * 
@@ -73,11 +209,17 @@ public class ProyectoController {
      * @return Lista de proyectos encontrados
      */
     @Operation(summary = "Buscar proyectos por nombre", description = "Busca proyectos que contengan el nombre especificado (búsqueda parcial)")
-    @ApiResponse(responseCode = "200", description = "Lista de proyectos encontrados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de proyectos encontrados"),
+        @ApiResponse(responseCode = "503", description = "Compartimento de consultas lleno"),
+        @ApiResponse(responseCode = "504", description = "La búsqueda no terminó en el tiempo de espera del compartimento")
+    })
     @GetMapping("/buscar/{nombre}")
-    public ResponseEntity<List<ProyectoResponseDTO>> buscarPorNombre(@PathVariable String nombre) {
-        List<ProyectoResponseDTO> proyectos = proyectoService.buscarPorNombre(nombre);
-        return ResponseEntity.ok(proyectos);
+    public DeferredResult<ResponseEntity<List<ProyectoResponseDTO>>> buscarPorNombre(@PathVariable String nombre) {
+        if (modeloLectura != null) {
+            return Compartimento.inmediato(ResponseEntity.ok(modeloLectura.buscarProyectosPorNombre(nombre)));
+        }
+        return compartimentoConsultas.diferir(() -> ResponseEntity.ok(proyectoService.buscarPorNombre(nombre)));
     }
     
     /**
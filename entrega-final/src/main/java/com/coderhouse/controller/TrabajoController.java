@@ -0,0 +1,103 @@
+package com.coderhouse.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.coderhouse.dto.TrabajoDTO;
+import com.coderhouse.dto.TrabajoResponseDTO;
+import com.coderhouse.service.TrabajoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Controller REST de trabajos masivos.
+ * Los trabajos se aceptan de inmediato y se ejecutan en segundo plano;
+ * su avance se consulta por ID.
+ */
+@RestController
+@RequestMapping("/api/trabajos")
+@Tag(name = "Trabajos", description = "API de operaciones masivas en segundo plano")
+public class TrabajoController {
+
+    @Autowired
+    private TrabajoService trabajoService;
+
+    /**
+     * Crea un trabajo masivo.
+     *
+     * @param trabajoDTO Tipo, IDs y parámetros del trabajo
+     * @return Trabajo aceptado, con su ID para consultar el avance
+     */
+    @Operation(summary = "Crear un trabajo masivo", description = "Asigna, remueve, elimina o cambia de departamento una lista de IDs en segundo plano, por lotes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Trabajo aceptado"),
+        @ApiResponse(responseCode = "400", description = "Datos inválidos o demasiados IDs")
+    })
+    @PostMapping
+    public ResponseEntity<TrabajoResponseDTO> crear(@Valid @RequestBody TrabajoDTO trabajoDTO) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(trabajoService.crear(trabajoDTO));
+    }
+
+    /**
+     * Obtiene el estado y avance de un trabajo.
+     *
+     * @param id ID del trabajo
+     * @return Trabajo con su avance y los IDs que fallaron
+     */
+    @Operation(summary = "Obtener trabajo por ID", description = "Retorna el estado, el avance y los IDs fallidos de un trabajo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Trabajo encontrado"),
+        @ApiResponse(responseCode = "404", description = "Trabajo no encontrado")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<TrabajoResponseDTO> obtenerPorId(@PathVariable Long id) {
+        return ResponseEntity.ok(trabajoService.obtenerPorId(id));
+    }
+
+    /**
+     * Obtiene los trabajos más recientes.
+     *
+     * @param limite Cantidad máxima de trabajos
+     * @return Trabajos del más nuevo al más antiguo
+     */
+    @Operation(summary = "Obtener trabajos recientes", description = "Retorna los últimos trabajos creados con su estado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de trabajos obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido")
+    })
+    @GetMapping
+    public ResponseEntity<List<TrabajoResponseDTO>> obtenerRecientes(@RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(trabajoService.obtenerRecientes(limite));
+    }
+
+    /**
+     * Reintenta en un trabajo nuevo los IDs que fallaron en otro.
+     *
+     * @param id ID del trabajo original
+     * @return Trabajo nuevo aceptado
+     */
+    @Operation(summary = "Reintentar IDs fallidos", description = "Crea un trabajo nuevo con los IDs que fallaron en un trabajo terminado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Trabajo aceptado"),
+        @ApiResponse(responseCode = "400", description = "El trabajo no terminó o no tiene IDs fallidos"),
+        @ApiResponse(responseCode = "404", description = "Trabajo no encontrado")
+    })
+    @PostMapping("/{id}/reintentar")
+    public ResponseEntity<TrabajoResponseDTO> reintentarFallidos(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(trabajoService.reintentarFallidos(id));
+    }
+}
@@ -0,0 +1,49 @@
+package com.coderhouse.dto;
+
+/**
+ * Arista de la relación proyecto_empleado proyectada por las consultas
+ * del grafo: el nodo de origen y los datos mínimos del nodo destino.
+ */
+public class AristaGrafoDTO {
+    
+    private Long origenId;
+    private Long destinoId;
+    private String destinoNombre;
+    
+    // Constructores
+    
+    public AristaGrafoDTO() {
+    }
+    
+    public AristaGrafoDTO(Long origenId, Long destinoId, String destinoNombre) {
+        this.origenId = origenId;
+        this.destinoId = destinoId;
+        this.destinoNombre = destinoNombre;
+    }
+    
+    // Getters y Setters
+    
+    public Long getOrigenId() {
+        return origenId;
+    }
+    
+    public void setOrigenId(Long origenId) {
+        this.origenId = origenId;
+    }
+    
+    public Long getDestinoId() {
+        return destinoId;
+    }
+    
+    public void setDestinoId(Long destinoId) {
+        this.destinoId = destinoId;
+    }
+    
+    public String getDestinoNombre() {
+        return destinoNombre;
+    }
+    
+    public void setDestinoNombre(String destinoNombre) {
+        this.destinoNombre = destinoNombre;
+    }
+}
@@ -0,0 +1,58 @@
+package com.coderhouse.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para cambiar el departamento de varios empleados a la vez.
+ * Los empleados se indican por lista de IDs o por su departamento actual,
+ * pero no de ambas formas.
+ */
+public class CambioDepartamentoDTO {
+    
+    @Size(max = 50, message = "El departamento no puede exceder 50 caracteres")
+    private String departamento;
+    
+    private List<Long> ids;
+    
+    @Size(max = 50, message = "El departamento actual no puede exceder 50 caracteres")
+    private String departamentoActual;
+    
+    // Constructores
+    
+    public CambioDepartamentoDTO() {
+    }
+    
+    public CambioDepartamentoDTO(String departamento, List<Long> ids, String departamentoActual) {
+        this.departamento = departamento;
+        this.ids = ids;
+        this.departamentoActual = departamentoActual;
+    }
+    
+    // Getters y Setters
+    
+    public String getDepartamento() {
+        return departamento;
+    }
+    
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public String getDepartamentoActual() {
+        return departamentoActual;
+    }
+    
+    public void setDepartamentoActual(String departamentoActual) {
+        this.departamentoActual = departamentoActual;
+    }
+}
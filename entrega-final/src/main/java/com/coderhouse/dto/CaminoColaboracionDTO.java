@@ -0,0 +1,81 @@
+package com.coderhouse.dto;
+
+import java.util.List;
+
+/**
+ * DTO con el camino de colaboración más corto entre dos empleados.
+ * empleados[i] y empleados[i + 1] comparten el proyecto proyectos[i].
+ */
+public class CaminoColaboracionDTO {
+    
+    private Long desde;
+    private Long hasta;
+    private boolean encontrado;
+    private int distancia;
+    private List<Long> empleados;
+    private List<Long> proyectos;
+    
+    // Constructores
+    
+    public CaminoColaboracionDTO() {
+    }
+    
+    public CaminoColaboracionDTO(Long desde, Long hasta, boolean encontrado, int distancia, List<Long> empleados, List<Long> proyectos) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.encontrado = encontrado;
+        this.distancia = distancia;
+        this.empleados = empleados;
+        this.proyectos = proyectos;
+    }
+    
+    // Getters y Setters
+    
+    public Long getDesde() {
+        return desde;
+    }
+    
+    public void setDesde(Long desde) {
+        this.desde = desde;
+    }
+    
+    public Long getHasta() {
+        return hasta;
+    }
+    
+    public void setHasta(Long hasta) {
+        this.hasta = hasta;
+    }
+    
+    public boolean isEncontrado() {
+        return encontrado;
+    }
+    
+    public void setEncontrado(boolean encontrado) {
+        this.encontrado = encontrado;
+    }
+    
+    public int getDistancia() {
+        return distancia;
+    }
+    
+    public void setDistancia(int distancia) {
+        this.distancia = distancia;
+    }
+    
+    public List<Long> getEmpleados() {
+        return empleados;
+    }
+    
+    public void setEmpleados(List<Long> empleados) {
+        this.empleados = empleados;
+    }
+    
+    public List<Long> getProyectos() {
+        return proyectos;
+    }
+    
+    public void setProyectos(List<Long> proyectos) {
+        this.proyectos = proyectos;
+    }
+}
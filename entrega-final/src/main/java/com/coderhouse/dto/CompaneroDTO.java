@@ -0,0 +1,39 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO con un compañero de trabajo de un empleado y la cantidad
+ * de proyectos que comparten.
+ */
+public class CompaneroDTO {
+    
+    private Long empleadoId;
+    private int proyectosCompartidos;
+    
+    // Constructores
+    
+    public CompaneroDTO() {
+    }
+    
+    public CompaneroDTO(Long empleadoId, int proyectosCompartidos) {
+        this.empleadoId = empleadoId;
+        this.proyectosCompartidos = proyectosCompartidos;
+    }
+    
+    // Getters y Setters
+    
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+    
+    public void setEmpleadoId(Long empleadoId) {
+        this.empleadoId = empleadoId;
+    }
+    
+    public int getProyectosCompartidos() {
+        return proyectosCompartidos;
+    }
+    
+    public void setProyectosCompartidos(int proyectosCompartidos) {
+        this.proyectosCompartidos = proyectosCompartidos;
+    }
+}
@@ -0,0 +1,64 @@
+package com.coderhouse.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO de consulta anidada sobre el grafo Empleado-Proyecto.
+ * Parte de los nodos raíz indicados y expande la cantidad de niveles pedida,
+ * alternando entre proyectos y empleados.
+ * 
+ * Ejemplo "proyecto → miembros → sus otros proyectos":
+ * {"tipo": "PROYECTO", "ids": [1], "profundidad": 2}
+ */
+public class ConsultaGrafoDTO {
+    
+    @NotNull(message = "El tipo de nodo raíz es obligatorio")
+    private TipoNodoGrafo tipo;
+    
+    @NotEmpty(message = "Debe indicar al menos un ID raíz")
+    private List<Long> ids;
+    
+    @Min(value = 0, message = "La profundidad no puede ser negativa")
+    private int profundidad = 1;
+    
+    // Constructores
+    
+    public ConsultaGrafoDTO() {
+    }
+    
+    public ConsultaGrafoDTO(TipoNodoGrafo tipo, List<Long> ids, int profundidad) {
+        this.tipo = tipo;
+        this.ids = ids;
+        this.profundidad = profundidad;
+    }
+    
+    // Getters y Setters
+    
+    public TipoNodoGrafo getTipo() {
+        return tipo;
+    }
+    
+    public void setTipo(TipoNodoGrafo tipo) {
+        this.tipo = tipo;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public int getProfundidad() {
+        return profundidad;
+    }
+    
+    public void setProfundidad(int profundidad) {
+        this.profundidad = profundidad;
+    }
+}
@@ -0,0 +1,48 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO de respuesta para Departamento.
+ */
+public class DepartamentoResponseDTO {
+    
+    private Long id;
+    private String nombre;
+    private long cantidadEmpleados;
+    
+    // Constructores
+    
+    public DepartamentoResponseDTO() {
+    }
+    
+    public DepartamentoResponseDTO(Long id, String nombre, long cantidadEmpleados) {
+        this.id = id;
+        this.nombre = nombre;
+        this.cantidadEmpleados = cantidadEmpleados;
+    }
+    
+    // Getters y Setters
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    public long getCantidadEmpleados() {
+        return cantidadEmpleados;
+    }
+    
+    public void setCantidadEmpleados(long cantidadEmpleados) {
+        this.cantidadEmpleados = cantidadEmpleados;
+    }
+}
@@ -19,6 +19,7 @@ public class EmpleadoResponseDTO {
     private String legajo;
     private String departamento;
     private LocalDateTime fechaIngreso;
+    private long cantidadProyectos;
     private List<ProyectoSimpleDTO> proyectos;
     
     // Constructores
@@ -32,8 +33,9 @@ public class EmpleadoResponseDTO {
         this.apellido = empleado.getApellido();
         this.email = empleado.getEmail();
         this.legajo = empleado.getLegajo();
-        this.departamento = empleado.getDepartamento();
+        this.departamento = empleado.getNombreDepartamento();
         this.fechaIngreso = empleado.getFechaIngreso();
+        this.cantidadProyectos = empleado.getCantidadProyectos();
         this.proyectos = empleado.getProyectos().stream()
             .map(ProyectoSimpleDTO::new)
             .collect(Collectors.toList());
@@ -97,6 +99,14 @@ public class EmpleadoResponseDTO {
         this.fechaIngreso = fechaIngreso;
     }
     
+    public long getCantidadProyectos() {
+        return cantidadProyectos;
+    }
+    
+    public void setCantidadProyectos(long cantidadProyectos) {
+        this.cantidadProyectos = cantidadProyectos;
+    }
+    
     public List<ProyectoSimpleDTO> getProyectos() {
         return proyectos;
     }
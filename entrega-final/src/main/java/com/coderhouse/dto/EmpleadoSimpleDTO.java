@@ -25,7 +25,16 @@ public class EmpleadoSimpleDTO {
         this.apellido = empleado.getApellido();
         this.email = empleado.getEmail();
         this.legajo = empleado.getLegajo();
-        this.departamento = empleado.getDepartamento();
+        this.departamento = empleado.getNombreDepartamento();
+    }
+    
+    public EmpleadoSimpleDTO(Long id, String nombre, String apellido, String email, String legajo, String departamento) {
+        this.id = id;
+        this.nombre = nombre;
+        this.apellido = apellido;
+        this.email = email;
+        this.legajo = legajo;
+        this.departamento = departamento;
     }
     
     // Getters y Setters
@@ -0,0 +1,78 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO con el estado de la instantánea del grafo de colaboración.
+ */
+public class EstadisticasColaboracionDTO {
+    
+    private long version;
+    private int empleados;
+    private int proyectos;
+    private int asignaciones;
+    private long bytesEstimados;
+    private int cambiosPendientes;
+    
+    // Constructores
+    
+    public EstadisticasColaboracionDTO() {
+    }
+    
+    public EstadisticasColaboracionDTO(long version, int empleados, int proyectos, int asignaciones, long bytesEstimados, int cambiosPendientes) {
+        this.version = version;
+        this.empleados = empleados;
+        this.proyectos = proyectos;
+        this.asignaciones = asignaciones;
+        this.bytesEstimados = bytesEstimados;
+        this.cambiosPendientes = cambiosPendientes;
+    }
+    
+    // Getters y Setters
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
+    
+    public int getEmpleados() {
+        return empleados;
+    }
+    
+    public void setEmpleados(int empleados) {
+        this.empleados = empleados;
+    }
+    
+    public int getProyectos() {
+        return proyectos;
+    }
+    
+    public void setProyectos(int proyectos) {
+        this.proyectos = proyectos;
+    }
+    
+    public int getAsignaciones() {
+        return asignaciones;
+    }
+    
+    public void setAsignaciones(int asignaciones) {
+        this.asignaciones = asignaciones;
+    }
+    
+    public long getBytesEstimados() {
+        return bytesEstimados;
+    }
+    
+    public void setBytesEstimados(long bytesEstimados) {
+        this.bytesEstimados = bytesEstimados;
+    }
+    
+    public int getCambiosPendientes() {
+        return cambiosPendientes;
+    }
+    
+    public void setCambiosPendientes(int cambiosPendientes) {
+        this.cambiosPendientes = cambiosPendientes;
+    }
+}
@@ -0,0 +1,39 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO del ranking de colaboración: cantidad de compañeros distintos
+ * con los que trabaja un empleado.
+ */
+public class GradoColaboracionDTO {
+    
+    private Long empleadoId;
+    private int companeros;
+    
+    // Constructores
+    
+    public GradoColaboracionDTO() {
+    }
+    
+    public GradoColaboracionDTO(Long empleadoId, int companeros) {
+        this.empleadoId = empleadoId;
+        this.companeros = companeros;
+    }
+    
+    // Getters y Setters
+    
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+    
+    public void setEmpleadoId(Long empleadoId) {
+        this.empleadoId = empleadoId;
+    }
+    
+    public int getCompaneros() {
+        return companeros;
+    }
+    
+    public void setCompaneros(int companeros) {
+        this.companeros = companeros;
+    }
+}
@@ -0,0 +1,61 @@
+package com.coderhouse.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nodo del resultado de una consulta anidada sobre el grafo.
+ * Los hijos de un proyecto son sus empleados y los de un empleado sus proyectos.
+ */
+public class NodoGrafoDTO {
+    
+    private TipoNodoGrafo tipo;
+    private Long id;
+    private String nombre;
+    private List<NodoGrafoDTO> hijos = new ArrayList<>();
+    
+    // Constructores
+    
+    public NodoGrafoDTO() {
+    }
+    
+    public NodoGrafoDTO(TipoNodoGrafo tipo, Long id, String nombre) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nombre = nombre;
+    }
+    
+    // Getters y Setters
+    
+    public TipoNodoGrafo getTipo() {
+        return tipo;
+    }
+    
+    public void setTipo(TipoNodoGrafo tipo) {
+        this.tipo = tipo;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    public List<NodoGrafoDTO> getHijos() {
+        return hijos;
+    }
+    
+    public void setHijos(List<NodoGrafoDTO> hijos) {
+        this.hijos = hijos;
+    }
+}
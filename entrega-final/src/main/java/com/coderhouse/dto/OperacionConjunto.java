@@ -0,0 +1,16 @@
+package com.coderhouse.dto;
+
+/**
+ * Operaciones de conjunto disponibles en las consultas de membresías.
+ */
+public enum OperacionConjunto {
+    
+    /** Elementos presentes en todos los conjuntos. */
+    AND,
+    
+    /** Elementos presentes en al menos un conjunto. */
+    OR,
+    
+    /** Elementos del primer conjunto que no están en ninguno de los demás. */
+    ANDNOT
+}
@@ -1,20 +1,19 @@
 package com.coderhouse.dto;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import com.coderhouse.models.Proyecto;
 
 /**
  * DTO de respuesta para Proyecto.
- * Incluye información de los empleados asociados.
+ * Incluye la cantidad de empleados asociados, leída de la columna
+ * desnormalizada del proyecto; el detalle de los miembros
+ * se obtiene paginado desde /api/proyectos/{id}/empleados.
  */
 public class ProyectoResponseDTO {
     
     private Long id;
     private String nombre;
     private String descripcion;
-    private List<EmpleadoSimpleDTO> empleados;
+    private long cantidadEmpleados;
     
     // Constructores
     
@@ -25,9 +24,7 @@ public class ProyectoResponseDTO {
         this.id = proyecto.getId();
         this.nombre = proyecto.getNombre();
         this.descripcion = proyecto.getDescripcion();
-        this.empleados = proyecto.getEmpleados().stream()
-            .map(EmpleadoSimpleDTO::new)
-            .collect(Collectors.toList());
+        this.cantidadEmpleados = proyecto.getCantidadEmpleados();
     }
     
     // Getters y Setters
@@ -56,11 +53,11 @@ public class ProyectoResponseDTO {
         this.descripcion = descripcion;
     }
     
-    public List<EmpleadoSimpleDTO> getEmpleados() {
-        return empleados;
+    public long getCantidadEmpleados() {
+        return cantidadEmpleados;
     }
     
-    public void setEmpleados(List<EmpleadoSimpleDTO> empleados) {
-        this.empleados = empleados;
+    public void setCantidadEmpleados(long cantidadEmpleados) {
+        this.cantidadEmpleados = cantidadEmpleados;
     }
 }
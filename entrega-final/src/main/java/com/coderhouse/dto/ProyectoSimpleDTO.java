@@ -4,12 +4,13 @@ import com.coderhouse.models.Proyecto;
 
 /**
  * DTO simplificado de Proyecto para evitar referencias circulares.
+ * No incluye la descripción para no forzar la carga de esa columna
+ * en los listados anidados.
  */
 public class ProyectoSimpleDTO {
     
     private Long id;
     private String nombre;
-    private String descripcion;
     
     // Constructores
     
@@ -19,7 +20,11 @@ public class ProyectoSimpleDTO {
     public ProyectoSimpleDTO(Proyecto proyecto) {
         this.id = proyecto.getId();
         this.nombre = proyecto.getNombre();
-        this.descripcion = proyecto.getDescripcion();
+    }
+    
+    public ProyectoSimpleDTO(Long id, String nombre) {
+        this.id = id;
+        this.nombre = nombre;
     }
     
     // Getters y Setters
@@ -39,12 +44,4 @@ public class ProyectoSimpleDTO {
     public void setNombre(String nombre) {
         this.nombre = nombre;
     }
-    
-    public String getDescripcion() {
-        return descripcion;
-    }
-    
-    public void setDescripcion(String descripcion) {
-        this.descripcion = descripcion;
-    }
 }
@@ -0,0 +1,80 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO con un empleado candidato para un proyecto, su puntaje total
+ * y los criterios que lo componen.
+ */
+public class RecomendacionDTO {
+    
+    private Long empleadoId;
+    private String departamento;
+    private double puntaje;
+    private double afinidadDepartamento;
+    private int proyectosActuales;
+    private int companerosEnEquipo;
+    
+    // Constructores
+    
+    public RecomendacionDTO() {
+    }
+    
+    public RecomendacionDTO(Long empleadoId, String departamento, double puntaje, double afinidadDepartamento,
+                            int proyectosActuales, int companerosEnEquipo) {
+        this.empleadoId = empleadoId;
+        this.departamento = departamento;
+        this.puntaje = puntaje;
+        this.afinidadDepartamento = afinidadDepartamento;
+        this.proyectosActuales = proyectosActuales;
+        this.companerosEnEquipo = companerosEnEquipo;
+    }
+    
+    // Getters y Setters
+    
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+    
+    public void setEmpleadoId(Long empleadoId) {
+        this.empleadoId = empleadoId;
+    }
+    
+    public String getDepartamento() {
+        return departamento;
+    }
+    
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+    
+    public double getPuntaje() {
+        return puntaje;
+    }
+    
+    public void setPuntaje(double puntaje) {
+        this.puntaje = puntaje;
+    }
+    
+    public double getAfinidadDepartamento() {
+        return afinidadDepartamento;
+    }
+    
+    public void setAfinidadDepartamento(double afinidadDepartamento) {
+        this.afinidadDepartamento = afinidadDepartamento;
+    }
+    
+    public int getProyectosActuales() {
+        return proyectosActuales;
+    }
+    
+    public void setProyectosActuales(int proyectosActuales) {
+        this.proyectosActuales = proyectosActuales;
+    }
+    
+    public int getCompanerosEnEquipo() {
+        return companerosEnEquipo;
+    }
+    
+    public void setCompanerosEnEquipo(int companerosEnEquipo) {
+        this.companerosEnEquipo = companerosEnEquipo;
+    }
+}
@@ -0,0 +1,48 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO de respuesta de un cambio de departamento masivo.
+ */
+public class ResultadoCambioDepartamentoDTO {
+    
+    private String departamento;
+    private int solicitados;
+    private int actualizados;
+    
+    // Constructores
+    
+    public ResultadoCambioDepartamentoDTO() {
+    }
+    
+    public ResultadoCambioDepartamentoDTO(String departamento, int solicitados, int actualizados) {
+        this.departamento = departamento;
+        this.solicitados = solicitados;
+        this.actualizados = actualizados;
+    }
+    
+    // Getters y Setters
+    
+    public String getDepartamento() {
+        return departamento;
+    }
+    
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+    
+    public int getSolicitados() {
+        return solicitados;
+    }
+    
+    public void setSolicitados(int solicitados) {
+        this.solicitados = solicitados;
+    }
+    
+    public int getActualizados() {
+        return actualizados;
+    }
+    
+    public void setActualizados(int actualizados) {
+        this.actualizados = actualizados;
+    }
+}
@@ -0,0 +1,51 @@
+package com.coderhouse.dto;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de una consulta anidada sobre el grafo.
+ * Indica si el resultado fue truncado por alcanzar el límite de nodos.
+ */
+public class ResultadoGrafoDTO {
+    
+    private List<NodoGrafoDTO> raices;
+    private int totalNodos;
+    private boolean truncado;
+    
+    // Constructores
+    
+    public ResultadoGrafoDTO() {
+    }
+    
+    public ResultadoGrafoDTO(List<NodoGrafoDTO> raices, int totalNodos, boolean truncado) {
+        this.raices = raices;
+        this.totalNodos = totalNodos;
+        this.truncado = truncado;
+    }
+    
+    // Getters y Setters
+    
+    public List<NodoGrafoDTO> getRaices() {
+        return raices;
+    }
+    
+    public void setRaices(List<NodoGrafoDTO> raices) {
+        this.raices = raices;
+    }
+    
+    public int getTotalNodos() {
+        return totalNodos;
+    }
+    
+    public void setTotalNodos(int totalNodos) {
+        this.totalNodos = totalNodos;
+    }
+    
+    public boolean isTruncado() {
+        return truncado;
+    }
+    
+    public void setTruncado(boolean truncado) {
+        this.truncado = truncado;
+    }
+}
@@ -0,0 +1,51 @@
+package com.coderhouse.dto;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta de una consulta de membresías.
+ * Contiene los IDs resultantes de aplicar la operación de conjunto.
+ */
+public class ResultadoMembresiaDTO {
+    
+    private OperacionConjunto operacion;
+    private int cantidad;
+    private List<Long> ids;
+    
+    // Constructores
+    
+    public ResultadoMembresiaDTO() {
+    }
+    
+    public ResultadoMembresiaDTO(OperacionConjunto operacion, List<Long> ids) {
+        this.operacion = operacion;
+        this.cantidad = ids.size();
+        this.ids = ids;
+    }
+    
+    // Getters y Setters
+    
+    public OperacionConjunto getOperacion() {
+        return operacion;
+    }
+    
+    public void setOperacion(OperacionConjunto operacion) {
+        this.operacion = operacion;
+    }
+    
+    public int getCantidad() {
+        return cantidad;
+    }
+    
+    public void setCantidad(int cantidad) {
+        this.cantidad = cantidad;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,52 @@
+package com.coderhouse.dto;
+
+/**
+ * DTO de respuesta para consultas por lista de IDs.
+ * Cada elemento corresponde a un ID solicitado, en el mismo orden de la
+ * solicitud, e indica si el recurso fue encontrado.
+ * 
+ * @param <T> Tipo del recurso devuelto
+ */
+public class ResultadoPorIdDTO<T> {
+    
+    private Long id;
+    private boolean encontrado;
+    private T resultado;
+    
+    // Constructores
+    
+    public ResultadoPorIdDTO() {
+    }
+    
+    public ResultadoPorIdDTO(Long id, T resultado) {
+        this.id = id;
+        this.encontrado = resultado != null;
+        this.resultado = resultado;
+    }
+    
+    // Getters y Setters
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public boolean isEncontrado() {
+        return encontrado;
+    }
+    
+    public void setEncontrado(boolean encontrado) {
+        this.encontrado = encontrado;
+    }
+    
+    public T getResultado() {
+        return resultado;
+    }
+    
+    public void setResultado(T resultado) {
+        this.resultado = resultado;
+    }
+}
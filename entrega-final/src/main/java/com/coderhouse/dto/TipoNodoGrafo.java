@@ -0,0 +1,20 @@
+package com.coderhouse.dto;
+
+/**
+ * Tipos de nodo del grafo Empleado-Proyecto.
+ * El grafo es bipartito: los hijos de un proyecto son empleados y viceversa.
+ */
+public enum TipoNodoGrafo {
+    
+    PROYECTO,
+    EMPLEADO;
+    
+    /**
+     * Retorna el tipo de los nodos vecinos.
+     * 
+     * @return EMPLEADO para PROYECTO y PROYECTO para EMPLEADO
+     */
+    public TipoNodoGrafo opuesto() {
+        return this == PROYECTO ? EMPLEADO : PROYECTO;
+    }
+}
@@ -0,0 +1,72 @@
+package com.coderhouse.dto;
+
+import java.util.List;
+
+import com.coderhouse.models.Trabajo;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO para crear un trabajo masivo.
+ */
+public class TrabajoDTO {
+    
+    @NotNull(message = "El tipo de trabajo es obligatorio")
+    private Trabajo.Tipo tipo;
+    
+    @NotEmpty(message = "La lista de IDs no puede estar vacía")
+    private List<Long> ids;
+    
+    private Long proyectoId;
+    
+    @Size(max = 50, message = "El departamento no puede exceder 50 caracteres")
+    private String departamento;
+    
+    // Constructores
+    
+    public TrabajoDTO() {
+    }
+    
+    public TrabajoDTO(Trabajo.Tipo tipo, List<Long> ids, Long proyectoId, String departamento) {
+        this.tipo = tipo;
+        this.ids = ids;
+        this.proyectoId = proyectoId;
+        this.departamento = departamento;
+    }
+    
+    // Getters y Setters
+    
+    public Trabajo.Tipo getTipo() {
+        return tipo;
+    }
+    
+    public void setTipo(Trabajo.Tipo tipo) {
+        this.tipo = tipo;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public Long getProyectoId() {
+        return proyectoId;
+    }
+    
+    public void setProyectoId(Long proyectoId) {
+        this.proyectoId = proyectoId;
+    }
+    
+    public String getDepartamento() {
+        return departamento;
+    }
+    
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+}
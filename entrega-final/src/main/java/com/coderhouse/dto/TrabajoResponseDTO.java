@@ -0,0 +1,163 @@
+package com.coderhouse.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.coderhouse.models.Trabajo;
+
+/**
+ * DTO de respuesta para Trabajo, con el avance y los IDs que fallaron.
+ */
+public class TrabajoResponseDTO {
+    
+    private Long id;
+    private Trabajo.Tipo tipo;
+    private Trabajo.Estado estado;
+    private Long proyectoId;
+    private String departamento;
+    private int total;
+    private int procesados;
+    private int exitosos;
+    private int fallidos;
+    private List<Long> idsFallidos;
+    private String ultimoError;
+    private LocalDateTime creadoEn;
+    private LocalDateTime iniciadoEn;
+    private LocalDateTime finalizadoEn;
+    
+    // Constructores
+    
+    public TrabajoResponseDTO() {
+    }
+    
+    public TrabajoResponseDTO(Trabajo trabajo, List<Long> idsFallidos) {
+        this.id = trabajo.getId();
+        this.tipo = trabajo.getTipo();
+        this.estado = trabajo.getEstado();
+        this.proyectoId = trabajo.getProyectoId();
+        this.departamento = trabajo.getDepartamento();
+        this.total = trabajo.getTotal();
+        this.procesados = trabajo.getProcesados();
+        this.exitosos = trabajo.getExitosos();
+        this.fallidos = trabajo.getFallidos();
+        this.idsFallidos = idsFallidos;
+        this.ultimoError = trabajo.getUltimoError();
+        this.creadoEn = trabajo.getCreadoEn();
+        this.iniciadoEn = trabajo.getIniciadoEn();
+        this.finalizadoEn = trabajo.getFinalizadoEn();
+    }
+    
+    // Getters y Setters
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Trabajo.Tipo getTipo() {
+        return tipo;
+    }
+    
+    public void setTipo(Trabajo.Tipo tipo) {
+        this.tipo = tipo;
+    }
+    
+    public Trabajo.Estado getEstado() {
+        return estado;
+    }
+    
+    public void setEstado(Trabajo.Estado estado) {
+        this.estado = estado;
+    }
+    
+    public Long getProyectoId() {
+        return proyectoId;
+    }
+    
+    public void setProyectoId(Long proyectoId) {
+        this.proyectoId = proyectoId;
+    }
+    
+    public String getDepartamento() {
+        return departamento;
+    }
+    
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+    
+    public void setTotal(int total) {
+        this.total = total;
+    }
+    
+    public int getProcesados() {
+        return procesados;
+    }
+    
+    public void setProcesados(int procesados) {
+        this.procesados = procesados;
+    }
+    
+    public int getExitosos() {
+        return exitosos;
+    }
+    
+    public void setExitosos(int exitosos) {
+        this.exitosos = exitosos;
+    }
+    
+    public int getFallidos() {
+        return fallidos;
+    }
+    
+    public void setFallidos(int fallidos) {
+        this.fallidos = fallidos;
+    }
+    
+    public List<Long> getIdsFallidos() {
+        return idsFallidos;
+    }
+    
+    public void setIdsFallidos(List<Long> idsFallidos) {
+        this.idsFallidos = idsFallidos;
+    }
+    
+    public String getUltimoError() {
+        return ultimoError;
+    }
+    
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+    
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+    
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+    
+    public LocalDateTime getIniciadoEn() {
+        return iniciadoEn;
+    }
+    
+    public void setIniciadoEn(LocalDateTime iniciadoEn) {
+        this.iniciadoEn = iniciadoEn;
+    }
+    
+    public LocalDateTime getFinalizadoEn() {
+        return finalizadoEn;
+    }
+    
+    public void setFinalizadoEn(LocalDateTime finalizadoEn) {
+        this.finalizadoEn = finalizadoEn;
+    }
+}
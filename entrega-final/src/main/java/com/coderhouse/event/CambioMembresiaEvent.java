@@ -0,0 +1,37 @@
+package com.coderhouse.event;
+
+/**
+ * Evento publicado cuando una asignación entre empleado y proyecto cambia.
+ * Solo se publica si la relación efectivamente se agregó o se quitó.
+ */
+public class CambioMembresiaEvent {
+    
+    private final Long empleadoId;
+    private final Long proyectoId;
+    private final boolean asignado;
+    
+    // Constructores
+    
+    public CambioMembresiaEvent(Long empleadoId, Long proyectoId, boolean asignado) {
+        this.empleadoId = empleadoId;
+        this.proyectoId = proyectoId;
+        this.asignado = asignado;
+    }
+    
+    // Getters
+    
+    public Long getEmpleadoId() {
+        return empleadoId;
+    }
+    
+    public Long getProyectoId() {
+        return proyectoId;
+    }
+    
+    /**
+     * @return true si el empleado se asignó al proyecto, false si se removió
+     */
+    public boolean isAsignado() {
+        return asignado;
+    }
+}
@@ -0,0 +1,28 @@
+package com.coderhouse.event;
+
+/**
+ * Evento publicado al eliminar un empleado o un proyecto.
+ * Las asignaciones de la entidad eliminada desaparecen junto con ella.
+ */
+public class EntidadEliminadaEvent {
+    
+    private final Class<?> entidad;
+    private final Long id;
+    
+    // Constructores
+    
+    public EntidadEliminadaEvent(Class<?> entidad, Long id) {
+        this.entidad = entidad;
+        this.id = id;
+    }
+    
+    // Getters
+    
+    public Class<?> getEntidad() {
+        return entidad;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
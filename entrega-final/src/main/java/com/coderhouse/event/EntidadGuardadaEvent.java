@@ -0,0 +1,27 @@
+package com.coderhouse.event;
+
+/**
+ * Evento publicado al crear o actualizar un empleado o un proyecto.
+ */
+public class EntidadGuardadaEvent {
+    
+    private final Class<?> entidad;
+    private final Long id;
+    
+    // Constructores
+    
+    public EntidadGuardadaEvent(Class<?> entidad, Long id) {
+        this.entidad = entidad;
+        this.id = id;
+    }
+    
+    // Getters
+    
+    public Class<?> getEntidad() {
+        return entidad;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,31 @@
+package com.coderhouse.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado al actualizar varios empleados o proyectos con una sola
+ * sentencia. Reemplaza a un {@link EntidadGuardadaEvent} por fila, de modo
+ * que las cachés se invalidan una sola vez por operación.
+ */
+public class EntidadesGuardadasEvent {
+    
+    private final Class<?> entidad;
+    private final List<Long> ids;
+    
+    // Constructores
+    
+    public EntidadesGuardadasEvent(Class<?> entidad, List<Long> ids) {
+        this.entidad = entidad;
+        this.ids = ids;
+    }
+    
+    // Getters
+    
+    public Class<?> getEntidad() {
+        return entidad;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+}
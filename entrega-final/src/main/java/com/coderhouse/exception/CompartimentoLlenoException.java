@@ -0,0 +1,11 @@
+package com.coderhouse.exception;
+
+/**
+ * Excepción para cuando el pool de un compartimento no admite más tareas.
+ */
+public class CompartimentoLlenoException extends RuntimeException {
+    
+    public CompartimentoLlenoException(String message) {
+        super(message);
+    }
+}
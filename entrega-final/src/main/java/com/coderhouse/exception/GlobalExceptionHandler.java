@@ -3,6 +3,8 @@ package com.coderhouse.exception;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,6 +12,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 /**
  * Manejador global de excepciones para la aplicación.
@@ -52,6 +56,79 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
     
+    /**
+     * Maneja operaciones que superaron su tiempo de espera.
+     */
+    @ExceptionHandler(TiempoAgotadoException.class)
+    public ResponseEntity<ErrorResponse> handleTiempoAgotadoException(
+            TiempoAgotadoException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.GATEWAY_TIMEOUT.value(),
+            "Gateway Timeout",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+    
+    /**
+     * Maneja respuestas asincrónicas que superaron spring.mvc.async.request-timeout.
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleAsyncRequestTimeoutException(
+            AsyncRequestTimeoutException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.GATEWAY_TIMEOUT.value(),
+            "Gateway Timeout",
+            "La operación no terminó en el tiempo de espera de las solicitudes asincrónicas",
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+    
+    /**
+     * Maneja excepciones de compartimento lleno.
+     */
+    @ExceptionHandler(CompartimentoLlenoException.class)
+    public ResponseEntity<ErrorResponse> handleCompartimentoLlenoException(
+            CompartimentoLlenoException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(errorResponse);
+    }
+    
+    /**
+     * Maneja interbloqueos y esperas de bloqueo en la base que persistieron
+     * después de los reintentos.
+     */
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handlePessimisticLockingFailureException(
+            PessimisticLockingFailureException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "La operación chocó con otras modificaciones concurrentes; reintente en unos segundos",
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(errorResponse);
+    }
+    
     /**
      * Maneja excepciones de validación de argumentos.
      */
@@ -92,6 +169,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Maneja parámetros de la solicitud con un tipo o valor inválido.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            String.format("Valor inválido para el parámetro '%s': %s", ex.getName(), ex.getValue()),
+            request.getDescription(false).replace("uri=", "")
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+    
     /**
      * Maneja todas las demás excepciones no capturadas.
      */
@@ -0,0 +1,11 @@
+package com.coderhouse.exception;
+
+/**
+ * Excepción para cuando una operación no termina dentro del tiempo de espera permitido.
+ */
+public class TiempoAgotadoException extends RuntimeException {
+    
+    public TiempoAgotadoException(String message) {
+        super(message);
+    }
+}
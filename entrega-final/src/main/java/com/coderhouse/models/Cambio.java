@@ -0,0 +1,121 @@
+package com.coderhouse.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Registro de un cambio confirmado sobre empleados, proyectos o asignaciones.
+ * Solo guarda qué fila cambió: al reproducir el registro se relee su estado
+ * actual, por lo que reproducir un cambio más de una vez no altera el resultado.
+ */
+@Entity
+@Table(name = "Cambios", indexes = @Index(name = "idx_cambios_fecha", columnList = "Fecha"))
+public class Cambio {
+
+    /**
+     * Tipo de fila afectada por el cambio.
+     */
+    public enum Tipo {
+        EMPLEADO,
+        PROYECTO,
+        /** entidadId es el empleado y relacionadoId el proyecto. */
+        ASIGNACION
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Tipo", nullable = false, length = 20)
+    private Tipo tipo;
+
+    @Column(name = "EntidadId", nullable = false)
+    private Long entidadId;
+
+    @Column(name = "RelacionadoId")
+    private Long relacionadoId;
+
+    @Column(name = "Fecha", nullable = false)
+    private LocalDateTime fecha;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public Cambio() {
+        super();
+    }
+
+    /**
+     * Constructor con parámetros principales.
+     *
+     * @param tipo Tipo de fila afectada
+     * @param entidadId ID de la fila afectada
+     * @param relacionadoId ID del proyecto en una asignación, o null
+     */
+    public Cambio(Tipo tipo, Long entidadId, Long relacionadoId) {
+        super();
+        this.tipo = tipo;
+        this.entidadId = entidadId;
+        this.relacionadoId = relacionadoId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (fecha == null) {
+            fecha = LocalDateTime.now();
+        }
+    }
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getEntidadId() {
+        return entidadId;
+    }
+
+    public void setEntidadId(Long entidadId) {
+        this.entidadId = entidadId;
+    }
+
+    public Long getRelacionadoId() {
+        return relacionadoId;
+    }
+
+    public void setRelacionadoId(Long relacionadoId) {
+        this.relacionadoId = relacionadoId;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+}
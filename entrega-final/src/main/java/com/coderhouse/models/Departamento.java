@@ -0,0 +1,65 @@
+package com.coderhouse.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad que representa un Departamento.
+ * Los empleados lo referencian por clave foránea en lugar de repetir el
+ * nombre en cada fila. Los departamentos no se renombran ni se eliminan,
+ * lo que permite mantener en memoria la correspondencia ID-nombre
+ * (ver DepartamentoService).
+ */
+@Entity
+@Table(name = "Departamentos")
+public class Departamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "Nombre", nullable = false, unique = true, length = 50)
+    private String nombre;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public Departamento() {
+        super();
+    }
+
+    /**
+     * @param nombre Nombre único del departamento
+     */
+    public Departamento(String nombre) {
+        super();
+        this.nombre = nombre;
+    }
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    @Override
+    public String toString() {
+        return "Departamento [id=" + id + ", nombre=" + nombre + "]";
+    }
+}
@@ -4,13 +4,20 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
@@ -19,7 +26,11 @@ import jakarta.persistence.Table;
  * Mantiene una relación ManyToMany con Proyecto.
  */
 @Entity
-@Table(name = "Empleados")
+@Table(name = "Empleados", indexes = {
+    @Index(name = "idx_empleado_departamento", columnList = "Departamento_Id, id"),
+    @Index(name = "idx_empleado_eliminado", columnList = "Eliminado")
+})
+@SQLRestriction("eliminado = false")
 public class Empleado {
     
     @Id
@@ -38,12 +49,35 @@ public class Empleado {
     @Column(name = "Legajo", nullable = false, unique = true)
     private String legajo;
     
-    @Column(name = "Departamento")
-    private String departamento;
+    /**
+     * Departamento por clave foránea. El índice (Departamento_Id, id) permite
+     * filtrar y paginar por departamento sin recorrer la tabla.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "Departamento_Id", foreignKey = @ForeignKey(name = "fk_empleado_departamento"))
+    private Departamento departamento;
     
     @Column(name = "FechaIngreso")
     private LocalDateTime fechaIngreso;
     
+    /**
+     * Cantidad de proyectos del empleado, desnormalizada para no recorrer
+     * proyecto_empleado. Se modifica solo con UPDATE atómicos desde el
+     * repositorio, por eso no se incluye en los INSERT/UPDATE de la entidad.
+     */
+    @ColumnDefault("0")
+    @Column(name = "CantidadProyectos", nullable = false, insertable = false, updatable = false)
+    private long cantidadProyectos;
+    
+    /**
+     * Baja lógica: las filas marcadas quedan fuera de todas las consultas de
+     * la entidad hasta que PurgadorEliminados las borra. Se modifica solo con
+     * UPDATE desde el repositorio, por eso no se incluye en los INSERT/UPDATE.
+     */
+    @ColumnDefault("false")
+    @Column(name = "Eliminado", nullable = false, insertable = false, updatable = false)
+    private boolean eliminado;
+    
     @ManyToMany(mappedBy = "empleados", fetch = FetchType.LAZY)
     private List<Proyecto> proyectos = new ArrayList<>();
     
@@ -63,7 +97,7 @@ public class Empleado {
      * @param legajo Legajo único del empleado
      * @param departamento Departamento al que pertenece
      */
-    public Empleado(String nombre, String apellido, String email, String legajo, String departamento) {
+    public Empleado(String nombre, String apellido, String email, String legajo, Departamento departamento) {
         super();
         this.nombre = nombre;
         this.apellido = apellido;
@@ -125,14 +159,21 @@ public class Empleado {
         this.legajo = legajo;
     }
 
-    public String getDepartamento() {
+    public Departamento getDepartamento() {
         return departamento;
     }
 
-    public void setDepartamento(String departamento) {
+    public void setDepartamento(Departamento departamento) {
         this.departamento = departamento;
     }
 
+    /**
+     * @return Nombre del departamento, o null si el empleado no tiene
+     */
+    public String getNombreDepartamento() {
+        return departamento != null ? departamento.getNombre() : null;
+    }
+
     public LocalDateTime getFechaIngreso() {
         return fechaIngreso;
     }
@@ -141,6 +182,18 @@ public class Empleado {
         this.fechaIngreso = fechaIngreso;
     }
 
+    public long getCantidadProyectos() {
+        return cantidadProyectos;
+    }
+
+    public void setCantidadProyectos(long cantidadProyectos) {
+        this.cantidadProyectos = cantidadProyectos;
+    }
+
+    public boolean isEliminado() {
+        return eliminado;
+    }
+
     public List<Proyecto> getProyectos() {
         return proyectos;
     }
@@ -152,7 +205,7 @@ public class Empleado {
     @Override
     public String toString() {
         return "Empleado [id=" + id + ", nombre=" + nombre + ", apellido=" + apellido + 
-               ", email=" + email + ", legajo=" + legajo + ", departamento=" + departamento + 
+               ", email=" + email + ", legajo=" + legajo + ", departamento=" + (departamento != null ? departamento.getId() : null) + 
                ", fechaIngreso=" + fechaIngreso + "]";
     }
 }
@@ -3,6 +3,10 @@ package com.coderhouse.models;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -20,7 +25,8 @@ import jakarta.persistence.Table;
  * Mantiene una relación ManyToMany con Empleado.
  */
 @Entity
-@Table(name = "Proyectos")
+@Table(name = "Proyectos", indexes = @Index(name = "idx_proyecto_eliminado", columnList = "Eliminado"))
+@SQLRestriction("eliminado = false")
 public class Proyecto {
 
     @Id
@@ -30,19 +36,48 @@ public class Proyecto {
     @Column(name = "Nombre", nullable = false)
     private String nombre;
     
+    /**
+     * Columna TEXT que solo se necesita en la vista completa del proyecto.
+     * Con el enhancement de bytecode se carga recién al acceder al getter.
+     */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "Descripcion")
     private String descripcion;
     
+    /**
+     * Cantidad de empleados del proyecto, desnormalizada para no recorrer
+     * proyecto_empleado. Se modifica solo con UPDATE atómicos desde el
+     * repositorio, por eso no se incluye en los INSERT/UPDATE de la entidad.
+     */
+    @ColumnDefault("0")
+    @Column(name = "CantidadEmpleados", nullable = false, insertable = false, updatable = false)
+    private long cantidadEmpleados;
+    
+    /**
+     * Baja lógica: las filas marcadas quedan fuera de todas las consultas de
+     * la entidad hasta que PurgadorEliminados las borra. Se modifica solo con
+     * UPDATE desde el repositorio, por eso no se incluye en los INSERT/UPDATE.
+     */
+    @ColumnDefault("false")
+    @Column(name = "Eliminado", nullable = false, insertable = false, updatable = false)
+    private boolean eliminado;
+    
     /**
      * Relación ManyToMany con Empleado.
      * Las modificaciones en cascada permiten que al eliminar un proyecto,
      * se actualice la relación con los empleados.
+     * Los índices compuestos permiten contar y paginar miembros por keyset
+     * y recorrer la relación desde el lado del empleado.
      */
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
         name = "proyecto_empleado",
         joinColumns = @JoinColumn(name = "proyecto_id"),
-        inverseJoinColumns = @JoinColumn(name = "empleado_id")
+        inverseJoinColumns = @JoinColumn(name = "empleado_id"),
+        indexes = {
+            @Index(name = "idx_proyecto_empleado_proyecto", columnList = "proyecto_id, empleado_id"),
+            @Index(name = "idx_proyecto_empleado_empleado", columnList = "empleado_id, proyecto_id")
+        }
     )
     private List<Empleado> empleados = new ArrayList<>();
     
@@ -91,6 +126,18 @@ public class Proyecto {
         this.descripcion = descripcion;
     }
 
+    public long getCantidadEmpleados() {
+        return cantidadEmpleados;
+    }
+
+    public void setCantidadEmpleados(long cantidadEmpleados) {
+        this.cantidadEmpleados = cantidadEmpleados;
+    }
+
+    public boolean isEliminado() {
+        return eliminado;
+    }
+
     public List<Empleado> getEmpleados() {
         return empleados;
     }
@@ -99,8 +146,12 @@ public class Proyecto {
         this.empleados = empleados;
     }
 
+    /**
+     * No incluye la descripción: leerla inicializaría el atributo lazy, y
+     * fuera de una sesión fallaría.
+     */
     @Override
     public String toString() {
-        return "Proyecto [id=" + id + ", nombre=" + nombre + ", descripcion=" + descripcion + "]";
+        return "Proyecto [id=" + id + ", nombre=" + nombre + "]";
     }
 }
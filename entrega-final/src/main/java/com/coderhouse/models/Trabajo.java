@@ -0,0 +1,261 @@
+package com.coderhouse.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * Operación masiva que se ejecuta en segundo plano por lotes.
+ * Guarda los IDs a procesar y el avance confirmado, de modo que un trabajo
+ * interrumpido se retoma desde el último lote confirmado.
+ */
+@Entity
+@Table(name = "Trabajos", indexes = @Index(name = "idx_trabajos_estado", columnList = "Estado, id"))
+public class Trabajo {
+
+    /**
+     * Operación que se aplica a cada ID del trabajo.
+     */
+    public enum Tipo {
+        /** Asigna cada empleado al proyecto del trabajo. */
+        ASIGNAR_EMPLEADOS,
+        /** Remueve cada empleado del proyecto del trabajo. */
+        REMOVER_EMPLEADOS,
+        ELIMINAR_EMPLEADOS,
+        ELIMINAR_PROYECTOS,
+        /** Cambia el departamento de cada empleado al del trabajo. */
+        MOVER_DEPARTAMENTO
+    }
+
+    public enum Estado {
+        PENDIENTE,
+        EN_CURSO,
+        COMPLETADO,
+        COMPLETADO_CON_ERRORES
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Tipo", nullable = false, length = 30)
+    private Tipo tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Estado", nullable = false, length = 30)
+    private Estado estado;
+
+    @Column(name = "ProyectoId")
+    private Long proyectoId;
+
+    @Column(name = "Departamento", length = 50)
+    private String departamento;
+
+    /**
+     * IDs a procesar separados por coma. Solo se lee al ejecutar el trabajo.
+     */
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "Ids", nullable = false)
+    private String ids;
+
+    @Column(name = "Total", nullable = false)
+    private int total;
+
+    /**
+     * Cantidad de IDs procesados, que es también la posición desde la que se retoma.
+     */
+    @Column(name = "Procesados", nullable = false)
+    private int procesados;
+
+    @Column(name = "Exitosos", nullable = false)
+    private int exitosos;
+
+    @Column(name = "Fallidos", nullable = false)
+    private int fallidos;
+
+    @Column(name = "UltimoError", length = 500)
+    private String ultimoError;
+
+    @Column(name = "CreadoEn", nullable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "IniciadoEn")
+    private LocalDateTime iniciadoEn;
+
+    @Column(name = "FinalizadoEn")
+    private LocalDateTime finalizadoEn;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public Trabajo() {
+        super();
+    }
+
+    /**
+     * Constructor con parámetros principales.
+     *
+     * @param tipo Operación a aplicar
+     * @param proyectoId Proyecto de una asignación o remoción, o null
+     * @param departamento Departamento de destino de un cambio de departamento, o null
+     * @param ids IDs a procesar separados por coma
+     * @param total Cantidad de IDs
+     */
+    public Trabajo(Tipo tipo, Long proyectoId, String departamento, String ids, int total) {
+        super();
+        this.tipo = tipo;
+        this.estado = Estado.PENDIENTE;
+        this.proyectoId = proyectoId;
+        this.departamento = departamento;
+        this.ids = ids;
+        this.total = total;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (creadoEn == null) {
+            creadoEn = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * @return true si el trabajo ya no tiene IDs por procesar
+     */
+    public boolean isTerminado() {
+        return estado == Estado.COMPLETADO || estado == Estado.COMPLETADO_CON_ERRORES;
+    }
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public void setEstado(Estado estado) {
+        this.estado = estado;
+    }
+
+    public Long getProyectoId() {
+        return proyectoId;
+    }
+
+    public void setProyectoId(Long proyectoId) {
+        this.proyectoId = proyectoId;
+    }
+
+    public String getDepartamento() {
+        return departamento;
+    }
+
+    public void setDepartamento(String departamento) {
+        this.departamento = departamento;
+    }
+
+    public String getIds() {
+        return ids;
+    }
+
+    public void setIds(String ids) {
+        this.ids = ids;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getProcesados() {
+        return procesados;
+    }
+
+    public void setProcesados(int procesados) {
+        this.procesados = procesados;
+    }
+
+    public int getExitosos() {
+        return exitosos;
+    }
+
+    public void setExitosos(int exitosos) {
+        this.exitosos = exitosos;
+    }
+
+    public int getFallidos() {
+        return fallidos;
+    }
+
+    public void setFallidos(int fallidos) {
+        this.fallidos = fallidos;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+
+    public LocalDateTime getIniciadoEn() {
+        return iniciadoEn;
+    }
+
+    public void setIniciadoEn(LocalDateTime iniciadoEn) {
+        this.iniciadoEn = iniciadoEn;
+    }
+
+    public LocalDateTime getFinalizadoEn() {
+        return finalizadoEn;
+    }
+
+    public void setFinalizadoEn(LocalDateTime finalizadoEn) {
+        this.finalizadoEn = finalizadoEn;
+    }
+
+    @Override
+    public String toString() {
+        return "Trabajo [id=" + id + ", tipo=" + tipo + ", estado=" + estado + ", procesados=" + procesados
+               + "/" + total + "]";
+    }
+}
@@ -0,0 +1,73 @@
+package com.coderhouse.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * ID de un trabajo que no se pudo aplicar. Se guarda una fila por ID para que
+ * registrar un fallo cueste lo mismo sin importar cuántos fallaron antes.
+ */
+@Entity
+@Table(name = "TrabajosFallidos", indexes = @Index(name = "idx_trabajos_fallidos_trabajo", columnList = "TrabajoId, id"))
+public class TrabajoFallido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "TrabajoId", nullable = false)
+    private Long trabajoId;
+
+    @Column(name = "ElementoId", nullable = false)
+    private Long elementoId;
+
+    /**
+     * Constructor por defecto requerido por JPA.
+     */
+    public TrabajoFallido() {
+        super();
+    }
+
+    /**
+     * Constructor con parámetros principales.
+     *
+     * @param trabajoId ID del trabajo
+     * @param elementoId ID que falló
+     */
+    public TrabajoFallido(Long trabajoId, Long elementoId) {
+        super();
+        this.trabajoId = trabajoId;
+        this.elementoId = elementoId;
+    }
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTrabajoId() {
+        return trabajoId;
+    }
+
+    public void setTrabajoId(Long trabajoId) {
+        this.trabajoId = trabajoId;
+    }
+
+    public Long getElementoId() {
+        return elementoId;
+    }
+
+    public void setElementoId(Long elementoId) {
+        this.elementoId = elementoId;
+    }
+}
@@ -0,0 +1,48 @@
+package com.coderhouse.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.coderhouse.models.Cambio;
+
+/**
+ * Repositorio para el registro de cambios.
+ */
+@Repository
+public interface CambioRepository extends JpaRepository<Cambio, Long> {
+
+    /**
+     * Obtiene los cambios posteriores a un ID, en orden, para recorrer el registro por keyset.
+     *
+     * @param despuesDe ID del último cambio procesado
+     * @param pageable Tamaño del lote (se usa solo el límite)
+     * @return Cambios con ID mayor, ordenados por ID
+     */
+    List<Cambio> findByIdGreaterThanOrderByIdAsc(Long despuesDe, Pageable pageable);
+
+    /**
+     * Obtiene el mayor ID registrado antes de una fecha, o 0 si no hay ninguno.
+     *
+     * @param limite Fecha límite (exclusiva)
+     * @return ID del último cambio anterior a la fecha
+     */
+    @Query("select coalesce(max(c.id), 0) from Cambio c where c.fecha < :limite")
+    long maxIdAnteriorA(@Param("limite") LocalDateTime limite);
+
+    /**
+     * Elimina los cambios anteriores a una fecha.
+     *
+     * @param limite Fecha límite (exclusiva)
+     * @return Cantidad de cambios eliminados
+     */
+    @Modifying
+    @Query("delete from Cambio c where c.fecha < :limite")
+    int eliminarAnterioresA(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,39 @@
+package com.coderhouse.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.coderhouse.dto.DepartamentoResponseDTO;
+import com.coderhouse.models.Departamento;
+
+/**
+ * Repositorio para la entidad Departamento.
+ */
+@Repository
+public interface DepartamentoRepository extends JpaRepository<Departamento, Long> {
+
+    /**
+     * Busca un departamento por su nombre.
+     *
+     * @param nombre Nombre del departamento
+     * @return Optional con el departamento encontrado
+     */
+    Optional<Departamento> findByNombre(String nombre);
+
+    /**
+     * Lista los departamentos con la cantidad de empleados de cada uno,
+     * contando sobre el índice de la clave foránea de Empleados. La baja
+     * lógica se filtra de forma explícita porque un join por entidad con ON
+     * no aplica la restricción de Empleado.
+     *
+     * @return Departamentos ordenados por nombre
+     */
+    @Query("select new com.coderhouse.dto.DepartamentoResponseDTO(d.id, d.nombre, count(e.id)) "
+         + "from Departamento d left join Empleado e on e.departamento = d and e.eliminado = false "
+         + "group by d.id, d.nombre order by d.nombre")
+    List<DepartamentoResponseDTO> listarConCantidadEmpleados();
+}
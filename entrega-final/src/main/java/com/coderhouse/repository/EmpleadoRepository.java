@@ -1,10 +1,19 @@
 package com.coderhouse.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.coderhouse.dto.AristaGrafoDTO;
+import com.coderhouse.models.Departamento;
 import com.coderhouse.models.Empleado;
 
 /**
@@ -31,19 +40,215 @@ public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
     Optional<Empleado> findByLegajo(String legajo);
     
     /**
-     * Verifica si existe un empleado con el email dado.
+     * Cuenta los empleados con el email dado, incluidos los dados de baja que
+     * aún no se purgaron: la restricción única sigue vigente para ellos.
      * 
      * @param email Email a verificar
-     * @return true si existe, false en caso contrario
+     * @return Cantidad de filas con ese email (0 o 1)
      */
-    boolean existsByEmail(String email);
+    @Query(value = "select count(*) from empleados where email = :email", nativeQuery = true)
+    long contarPorEmail(@Param("email") String email);
     
     /**
-     * Verifica si existe un empleado con el legajo dado.
+     * Cuenta los empleados con el legajo dado, incluidos los dados de baja que
+     * aún no se purgaron: la restricción única sigue vigente para ellos.
      * 
      * @param legajo Legajo a verificar
-     * @return true si existe, false en caso contrario
+     * @return Cantidad de filas con ese legajo (0 o 1)
      */
-    boolean existsByLegajo(String legajo);
+    @Query(value = "select count(*) from empleados where legajo = :legajo", nativeQuery = true)
+    long contarPorLegajo(@Param("legajo") String legajo);
+    
+    /**
+     * Da de baja lógica a un empleado. Sus asignaciones y contadores se
+     * resuelven después en PurgadorEliminados.
+     * 
+     * @param id ID del empleado
+     * @return 1 si se dio de baja, 0 si no existía o ya estaba dado de baja
+     */
+    @Modifying
+    @Query("update Empleado e set e.eliminado = true where e.id = :id and e.eliminado = false")
+    int marcarEliminado(@Param("id") Long id);
+    
+    /**
+     * Obtiene IDs de empleados dados de baja pendientes de purga.
+     * 
+     * @param limite Cantidad máxima de IDs
+     * @return IDs ordenados
+     */
+    @Query(value = "select id from empleados where eliminado = true order by id limit :limite", nativeQuery = true)
+    List<Long> findIdsEliminados(@Param("limite") int limite);
+    
+    /**
+     * Borra definitivamente un empleado dado de baja.
+     * Sus filas de proyecto_empleado deben haberse eliminado antes.
+     * 
+     * @param id ID del empleado
+     * @return Cantidad de filas eliminadas
+     */
+    @Modifying
+    @Query(value = "delete from empleados where id = :id and eliminado = true", nativeQuery = true)
+    int purgar(@Param("id") Long id);
+    
+    /**
+     * Busca los empleados con los IDs dados junto con sus proyectos,
+     * resueltos en una única consulta.
+     * 
+     * @param ids IDs de los empleados
+     * @return Lista de empleados encontrados (sin orden garantizado)
+     */
+    @EntityGraph(attributePaths = "proyectos")
+    List<Empleado> findByIdIn(Collection<Long> ids);
+    
+    /**
+     * Obtiene una página de empleados de un departamento usando paginación
+     * keyset sobre el índice (Departamento_Id, id).
+     * 
+     * @param departamentoId ID del departamento
+     * @param despuesDe ID del último empleado de la página anterior
+     * @param pageable Tamaño de la página (se usa solo el límite)
+     * @return Empleados con ID mayor al cursor, ordenados por ID
+     */
+    @Query("select e from Empleado e where e.departamento.id = :departamentoId and e.id > :despuesDe order by e.id")
+    List<Empleado> findByDepartamentoDespuesDe(@Param("departamentoId") Long departamentoId,
+                                               @Param("despuesDe") Long despuesDe,
+                                               Pageable pageable);
+    
+    /**
+     * Cuenta los empleados de un departamento sobre el índice de la clave foránea.
+     * 
+     * @param departamentoId ID del departamento
+     * @return Cantidad de empleados
+     */
+    long countByDepartamento_Id(Long departamentoId);
+    
+    /**
+     * Obtiene los IDs de los empleados de un departamento sobre el índice
+     * (Departamento_Id, id), sin cargar las entidades.
+     * 
+     * @param departamentoId ID del departamento
+     * @return IDs ordenados
+     */
+    @Query("select e.id from Empleado e where e.departamento.id = :departamentoId order by e.id")
+    List<Long> findIdsByDepartamento(@Param("departamentoId") Long departamentoId);
+    
+    /**
+     * Obtiene los IDs de los empleados sin departamento.
+     * 
+     * @return IDs ordenados
+     */
+    @Query("select e.id from Empleado e where e.departamento is null order by e.id")
+    List<Long> findIdsSinDepartamento();
+    
+    /**
+     * Obtiene el departamento de varios empleados sin cargar las entidades.
+     * Los empleados inexistentes o dados de baja no aparecen en el resultado.
+     * 
+     * @param ids IDs de los empleados
+     * @return Pares [ID, nombre del departamento o null]
+     */
+    @Query("select e.id, d.nombre from Empleado e left join e.departamento d where e.id in :ids")
+    List<Object[]> findDepartamentosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Cambia el departamento de varios empleados con un único UPDATE, sin leer
+     * las filas. Se vacía el contexto de persistencia para que las entidades
+     * ya cargadas en la transacción no conserven el departamento anterior.
+     * 
+     * @param ids IDs de los empleados
+     * @param departamento Referencia al departamento de destino, o null para ninguno
+     * @return Cantidad de filas actualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Empleado e set e.departamento = :departamento where e.id in :ids")
+    int cambiarDepartamento(@Param("ids") Collection<Long> ids, @Param("departamento") Departamento departamento);
+    
+    /**
+     * Mueve todos los empleados de un departamento a otro con un único UPDATE
+     * sobre el índice (Departamento_Id, id), sin listar los IDs.
+     * 
+     * @param origenId ID del departamento actual
+     * @param departamento Referencia al departamento de destino, o null para ninguno
+     * @return Cantidad de filas actualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Empleado e set e.departamento = :departamento where e.departamento.id = :origenId")
+    int moverDepartamento(@Param("origenId") Long origenId, @Param("departamento") Departamento departamento);
+    
+    /**
+     * Suma el delta indicado a la cantidad de proyectos de un empleado con un
+     * UPDATE atómico, sin leer ni bloquear previamente la fila.
+     * 
+     * @param id ID del empleado
+     * @param delta Cantidad a sumar (negativa para restar)
+     * @return Cantidad de filas actualizadas
+     */
+    @Modifying
+    @Query("update Empleado e set e.cantidadProyectos = e.cantidadProyectos + :delta where e.id = :id")
+    int ajustarCantidadProyectos(@Param("id") Long id, @Param("delta") long delta);
+    
+    /**
+     * Resta uno a la cantidad de proyectos de cada empleado dado. Se usa al
+     * purgar un proyecto, junto con el borrado de esas filas de proyecto_empleado.
+     * 
+     * @param empleadoIds IDs de los empleados del proyecto
+     * @return Cantidad de empleados actualizados
+     */
+    @Modifying
+    @Query(value = "update empleados set cantidad_proyectos = cantidad_proyectos - 1 where id in (:empleadoIds)",
+           nativeQuery = true)
+    int descontarProyecto(@Param("empleadoIds") Collection<Long> empleadoIds);
+    
+    /**
+     * Obtiene un lote de IDs de empleados, incluidos los dados de baja,
+     * posteriores al dado, para recorrer la tabla por keyset.
+     * 
+     * @param desdeId ID a partir del cual buscar (excluido)
+     * @param limite Cantidad máxima de IDs
+     * @return IDs ordenados
+     */
+    @Query(value = "select id from empleados where id > :desdeId order by id limit :limite", nativeQuery = true)
+    List<Long> findIdsDespuesDe(@Param("desdeId") Long desdeId, @Param("limite") int limite);
+    
+    /**
+     * Filtra, entre los empleados dados, los que tienen una cantidad de
+     * proyectos distinta de la de proyecto_empleado. Es una lectura sin
+     * bloqueos.
+     * 
+     * @param ids IDs de los empleados a verificar
+     * @return IDs de los empleados con el contador desviado
+     */
+    @Query(value = "select e.id from empleados e where e.id in (:ids) and e.cantidad_proyectos <> "
+                 + "(select count(*) from proyecto_empleado pe where pe.empleado_id = e.id)",
+           nativeQuery = true)
+    List<Long> findIdsConCantidadDesviada(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Recalcula la cantidad de proyectos de los empleados dados cuyo
+     * contador no coincide con proyecto_empleado. Vuelve a comparar al
+     * actualizar, así que no toca filas ya corregidas por otra escritura.
+     * 
+     * @param ids IDs de los empleados a reparar
+     * @return Cantidad de empleados corregidos
+     */
+    @Modifying
+    @Query(value = "update empleados e set cantidad_proyectos = "
+                 + "(select count(*) from proyecto_empleado pe where pe.empleado_id = e.id) "
+                 + "where e.id in (:ids) and cantidad_proyectos <> "
+                 + "(select count(*) from proyecto_empleado pe where pe.empleado_id = e.id)",
+           nativeQuery = true)
+    int repararCantidadProyectos(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Obtiene los proyectos de varios empleados recorriendo la tabla
+     * proyecto_empleado en una única consulta.
+     * 
+     * @param ids IDs de los empleados
+     * @param pageable Límite de aristas a devolver
+     * @return Aristas empleado → proyecto ordenadas por empleado y proyecto
+     */
+    @Query("select new com.coderhouse.dto.AristaGrafoDTO(e.id, p.id, p.nombre) "
+         + "from Empleado e join e.proyectos p where e.id in :ids order by e.id, p.id")
+    List<AristaGrafoDTO> findAristasProyectos(@Param("ids") Collection<Long> ids, Pageable pageable);
 }
 
@@ -0,0 +1,228 @@
+package com.coderhouse.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.coderhouse.config.Compartimento;
+import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.dto.ProyectoResponseDTO;
+import com.coderhouse.dto.ProyectoSimpleDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Repositorio de lectura masiva basado en StatelessSession de Hibernate.
+ * Las consultas devuelven columnas escalares que se recorren con un cursor
+ * forward-only, por lo que no se crean entidades gestionadas, snapshots para
+ * dirty checking ni caché de primer nivel.
+ *
+ * La sesión sin estado usa la conexión de la transacción en curso, de modo que
+ * debe invocarse desde un método @Transactional(readOnly = true). Los
+ * recorridos se cortan con CancellationException si la tarea que los ejecuta
+ * fue cancelada (tiempo agotado o error de la conexión).
+ */
+@Repository
+public class LecturaMasivaRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.lectura-masiva.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Recorre todos los empleados con sus proyectos, de a uno.
+     * Una sola consulta ordenada por empleado trae cada asignación como una
+     * fila; las filas consecutivas del mismo empleado se agrupan en un DTO que
+     * se entrega apenas termina, de modo que la memoria no crece con la
+     * cantidad de empleados.
+     *
+     * @param consumidor Recibe un DTO nuevo por empleado, en orden de ID
+     */
+    public void recorrerEmpleadosConProyectos(Consumer<EmpleadoResponseDTO> consumidor) {
+        EmpleadoResponseDTO[] actual = new EmpleadoResponseDTO[1];
+        try (StatelessSession session = abrirSesion()) {
+            recorrer(session, "select e.id, e.nombre, e.apellido, e.email, e.legajo, d.nombre, e.fechaIngreso, "
+                    + "e.cantidadProyectos, p.id, p.nombre from Empleado e left join e.departamento d "
+                    + "left join e.proyectos p order by e.id, p.id", fila -> {
+                if (actual[0] == null || !actual[0].getId().equals(fila[0])) {
+                    if (actual[0] != null) {
+                        consumidor.accept(actual[0]);
+                    }
+                    actual[0] = empleado(fila);
+                    actual[0].setProyectos(new ArrayList<>());
+                }
+                if (fila[8] != null) {
+                    actual[0].getProyectos().add(new ProyectoSimpleDTO((Long) fila[8], (String) fila[9]));
+                }
+            });
+        }
+        if (actual[0] != null) {
+            consumidor.accept(actual[0]);
+        }
+    }
+
+    /**
+     * Recorre todos los empleados sin sus proyectos.
+     *
+     * @param consumidor Recibe un DTO nuevo por empleado, en orden de ID
+     */
+    public void recorrerEmpleados(Consumer<EmpleadoResponseDTO> consumidor) {
+        try (StatelessSession session = abrirSesion()) {
+            recorrerEmpleados(session, consumidor);
+        }
+    }
+
+    /**
+     * Recorre todos los proyectos.
+     *
+     * @param consumidor Recibe un DTO nuevo por proyecto, en orden de ID
+     */
+    public void recorrerProyectos(Consumer<ProyectoResponseDTO> consumidor) {
+        try (StatelessSession session = abrirSesion()) {
+            recorrer(session, "select p.id, p.nombre, p.descripcion, p.cantidadEmpleados from Proyecto p order by p.id", fila -> {
+                ProyectoResponseDTO dto = new ProyectoResponseDTO();
+                dto.setId((Long) fila[0]);
+                dto.setNombre((String) fila[1]);
+                dto.setDescripcion((String) fila[2]);
+                dto.setCantidadEmpleados((Long) fila[3]);
+                consumidor.accept(dto);
+            });
+        }
+    }
+
+    /**
+     * Recorre todas las asignaciones de proyecto_empleado.
+     *
+     * @param consumidor Recibe el ID de proyecto y el ID de empleado de cada asignación
+     */
+    public void recorrerAsignaciones(BiConsumer<Long, Long> consumidor) {
+        try (StatelessSession session = abrirSesion()) {
+            recorrer(session, "select p.id, e.id from Proyecto p join p.empleados e",
+                fila -> consumidor.accept((Long) fila[0], (Long) fila[1]));
+        }
+    }
+
+    /**
+     * Recorre las asignaciones agrupadas por empleado.
+     *
+     * @param consumidor Recibe el ID de cada empleado con asignaciones y los IDs ordenados de sus proyectos
+     */
+    public void recorrerProyectosPorEmpleado(BiConsumer<Long, long[]> consumidor) {
+        try (StatelessSession session = abrirSesion()) {
+            recorrerAgrupado(session, "select e.id, p.id from Empleado e join e.proyectos p order by e.id, p.id", consumidor);
+        }
+    }
+
+    /**
+     * Recorre las asignaciones agrupadas por proyecto.
+     *
+     * @param consumidor Recibe el ID de cada proyecto con asignaciones y los IDs ordenados de sus empleados
+     */
+    public void recorrerEmpleadosPorProyecto(BiConsumer<Long, long[]> consumidor) {
+        try (StatelessSession session = abrirSesion()) {
+            recorrerAgrupado(session, "select p.id, e.id from Proyecto p join p.empleados e order by p.id, e.id", consumidor);
+        }
+    }
+
+    /**
+     * Recorre el departamento de todos los empleados.
+     *
+     * @param consumidor Recibe el ID y el departamento de cada empleado, en orden de ID
+     */
+    public void recorrerDepartamentos(BiConsumer<Long, String> consumidor) {
+        try (StatelessSession session = abrirSesion()) {
+            recorrer(session, "select e.id, d.nombre from Empleado e left join e.departamento d order by e.id",
+                fila -> consumidor.accept((Long) fila[0], (String) fila[1]));
+        }
+    }
+
+    /**
+     * Abre una sesión sin estado sobre la conexión de la transacción actual.
+     */
+    private StatelessSession abrirSesion() {
+        Session session = entityManager.unwrap(Session.class);
+        return session.getSessionFactory()
+            .withStatelessOptions()
+            .connection(session.doReturningWork(connection -> connection))
+            .openStatelessSession();
+    }
+
+    private void recorrerEmpleados(StatelessSession session, Consumer<EmpleadoResponseDTO> consumidor) {
+        recorrer(session, "select e.id, e.nombre, e.apellido, e.email, e.legajo, d.nombre, e.fechaIngreso, "
+                + "e.cantidadProyectos from Empleado e left join e.departamento d order by e.id", fila -> {
+            consumidor.accept(empleado(fila));
+        });
+    }
+
+    /**
+     * DTO de empleado sin proyectos a partir de las primeras ocho columnas de una fila.
+     */
+    private static EmpleadoResponseDTO empleado(Object[] fila) {
+        EmpleadoResponseDTO dto = new EmpleadoResponseDTO();
+        dto.setId((Long) fila[0]);
+        dto.setNombre((String) fila[1]);
+        dto.setApellido((String) fila[2]);
+        dto.setEmail((String) fila[3]);
+        dto.setLegajo((String) fila[4]);
+        dto.setDepartamento((String) fila[5]);
+        dto.setFechaIngreso((LocalDateTime) fila[6]);
+        dto.setCantidadProyectos((Long) fila[7]);
+        return dto;
+    }
+
+    /**
+     * Recorre pares (clave, valor) ordenados por clave y entrega cada clave
+     * con sus valores en un arreglo, sin materializar el resultado completo.
+     */
+    private void recorrerAgrupado(StatelessSession session, String hql, BiConsumer<Long, long[]> consumidor) {
+        long[] valores = new long[16];
+        int cantidad = 0;
+        Long actual = null;
+        try (ScrollableResults<Object[]> filas = session.createQuery(hql, Object[].class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (filas.next()) {
+                Compartimento.verificarCancelacion();
+                Object[] fila = filas.get();
+                Long clave = (Long) fila[0];
+                if (actual != null && !actual.equals(clave)) {
+                    consumidor.accept(actual, Arrays.copyOf(valores, cantidad));
+                    cantidad = 0;
+                }
+                actual = clave;
+                if (cantidad == valores.length) {
+                    valores = Arrays.copyOf(valores, cantidad * 2);
+                }
+                valores[cantidad++] = (Long) fila[1];
+            }
+        }
+        if (actual != null) {
+            consumidor.accept(actual, Arrays.copyOf(valores, cantidad));
+        }
+    }
+
+    private void recorrer(StatelessSession session, String hql, Consumer<Object[]> consumidor) {
+        try (ScrollableResults<Object[]> filas = session.createQuery(hql, Object[].class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (filas.next()) {
+                Compartimento.verificarCancelacion();
+                consumidor.accept(filas.get());
+            }
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.coderhouse.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.coderhouse.dto.AristaGrafoDTO;
+import com.coderhouse.models.Empleado;
 import com.coderhouse.models.Proyecto;
 
 /**
  * Repositorio para la entidad Proyecto.
  * Proporciona métodos CRUD y consultas personalizadas.
+ * 
+ * La descripción es un atributo lazy; las consultas que alimentan la vista
+ * completa del proyecto la incluyen mediante un entity graph para evitar
+ * una consulta adicional por proyecto. findById la deja sin cargar, ya que
+ * lo usan las escrituras, que no la leen.
  */
 @Repository
 public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
     
+    @Override
+    @EntityGraph(attributePaths = "descripcion")
+    List<Proyecto> findAll();
+    
+    /**
+     * Busca un proyecto por su ID junto con la descripción, para las
+     * operaciones que devuelven la vista completa del proyecto.
+     * 
+     * @param id ID del proyecto
+     * @return Optional con el proyecto encontrado
+     */
+    @EntityGraph(attributePaths = "descripcion")
+    Optional<Proyecto> findConDescripcionById(Long id);
+    
     /**
      * Busca un proyecto por su nombre.
      * 
      * @param nombre Nombre del proyecto
      * @return Optional con el proyecto encontrado
      */
+    @EntityGraph(attributePaths = "descripcion")
     Optional<Proyecto> findByNombre(String nombre);
     
     /**
@@ -29,6 +57,7 @@ public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
      * @param nombre Nombre o parte del nombre a buscar
      * @return Lista de proyectos encontrados
      */
+    @EntityGraph(attributePaths = "descripcion")
     List<Proyecto> findByNombreContainingIgnoreCase(String nombre);
     
     /**
@@ -38,5 +67,174 @@ public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
      * @return true si existe, false en caso contrario
      */
     boolean existsByNombre(String nombre);
+    
+    /**
+     * Busca los proyectos con los IDs dados en una única consulta.
+     * 
+     * @param ids IDs de los proyectos
+     * @return Lista de proyectos encontrados (sin orden garantizado)
+     */
+    @EntityGraph(attributePaths = "descripcion")
+    List<Proyecto> findByIdIn(Collection<Long> ids);
+    
+    /**
+     * Suma el delta indicado a la cantidad de empleados de un proyecto con un
+     * UPDATE atómico, sin leer ni bloquear previamente la fila.
+     * 
+     * @param id ID del proyecto
+     * @param delta Cantidad a sumar (negativa para restar)
+     * @return Cantidad de filas actualizadas
+     */
+    @Modifying
+    @Query("update Proyecto p set p.cantidadEmpleados = p.cantidadEmpleados + :delta where p.id = :id")
+    int ajustarCantidadEmpleados(@Param("id") Long id, @Param("delta") long delta);
+    
+    /**
+     * Resta uno a la cantidad de empleados de cada proyecto dado. Se usa al
+     * purgar un empleado, junto con el borrado de esas filas de proyecto_empleado.
+     * 
+     * @param proyectoIds IDs de los proyectos del empleado
+     * @return Cantidad de proyectos actualizados
+     */
+    @Modifying
+    @Query(value = "update proyectos set cantidad_empleados = cantidad_empleados - 1 where id in (:proyectoIds)",
+           nativeQuery = true)
+    int descontarEmpleado(@Param("proyectoIds") Collection<Long> proyectoIds);
+    
+    /**
+     * Elimina las filas de proyecto_empleado que combinan los proyectos y
+     * empleados dados. Borra solo esas filas, sin que Hibernate recree la
+     * colección, que no incluye a los empleados dados de baja.
+     * 
+     * @param proyectoIds IDs de los proyectos
+     * @param empleadoIds IDs de los empleados
+     * @return Cantidad de asignaciones eliminadas
+     */
+    @Modifying
+    @Query(value = "delete from proyecto_empleado where proyecto_id in (:proyectoIds) and empleado_id in (:empleadoIds)",
+           nativeQuery = true)
+    int eliminarAsignaciones(@Param("proyectoIds") Collection<Long> proyectoIds,
+                             @Param("empleadoIds") Collection<Long> empleadoIds);
+    
+    /**
+     * Obtiene un lote de empleados asignados a un proyecto, incluidos los
+     * dados de baja, recorriendo el índice (proyecto_id, empleado_id).
+     * 
+     * @param proyectoId ID del proyecto
+     * @param limite Cantidad máxima de IDs
+     * @return IDs de empleados ordenados
+     */
+    @Query(value = "select empleado_id from proyecto_empleado where proyecto_id = :proyectoId "
+                 + "order by empleado_id limit :limite", nativeQuery = true)
+    List<Long> findEmpleadoIdsAsignados(@Param("proyectoId") Long proyectoId, @Param("limite") int limite);
+    
+    /**
+     * Obtiene un lote de proyectos asignados a un empleado, incluidos los
+     * dados de baja, recorriendo el índice (empleado_id, proyecto_id).
+     * 
+     * @param empleadoId ID del empleado
+     * @param limite Cantidad máxima de IDs
+     * @return IDs de proyectos ordenados
+     */
+    @Query(value = "select proyecto_id from proyecto_empleado where empleado_id = :empleadoId "
+                 + "order by proyecto_id limit :limite", nativeQuery = true)
+    List<Long> findProyectoIdsAsignados(@Param("empleadoId") Long empleadoId, @Param("limite") int limite);
+    
+    /**
+     * Da de baja lógica a un proyecto. Sus asignaciones y contadores se
+     * resuelven después en PurgadorEliminados.
+     * 
+     * @param id ID del proyecto
+     * @return 1 si se dio de baja, 0 si no existía o ya estaba dado de baja
+     */
+    @Modifying
+    @Query("update Proyecto p set p.eliminado = true where p.id = :id and p.eliminado = false")
+    int marcarEliminado(@Param("id") Long id);
+    
+    /**
+     * Obtiene IDs de proyectos dados de baja pendientes de purga.
+     * 
+     * @param limite Cantidad máxima de IDs
+     * @return IDs ordenados
+     */
+    @Query(value = "select id from proyectos where eliminado = true order by id limit :limite", nativeQuery = true)
+    List<Long> findIdsEliminados(@Param("limite") int limite);
+    
+    /**
+     * Borra definitivamente un proyecto dado de baja.
+     * Sus filas de proyecto_empleado deben haberse eliminado antes.
+     * 
+     * @param id ID del proyecto
+     * @return Cantidad de filas eliminadas
+     */
+    @Modifying
+    @Query(value = "delete from proyectos where id = :id and eliminado = true", nativeQuery = true)
+    int purgar(@Param("id") Long id);
+    
+    /**
+     * Obtiene un lote de IDs de proyectos, incluidos los dados de baja,
+     * posteriores al dado, para recorrer la tabla por keyset.
+     * 
+     * @param desdeId ID a partir del cual buscar (excluido)
+     * @param limite Cantidad máxima de IDs
+     * @return IDs ordenados
+     */
+    @Query(value = "select id from proyectos where id > :desdeId order by id limit :limite", nativeQuery = true)
+    List<Long> findIdsDespuesDe(@Param("desdeId") Long desdeId, @Param("limite") int limite);
+    
+    /**
+     * Filtra, entre los proyectos dados, los que tienen una cantidad de
+     * empleados distinta de la de proyecto_empleado. Es una lectura sin
+     * bloqueos.
+     * 
+     * @param ids IDs de los proyectos a verificar
+     * @return IDs de los proyectos con el contador desviado
+     */
+    @Query(value = "select p.id from proyectos p where p.id in (:ids) and p.cantidad_empleados <> "
+                 + "(select count(*) from proyecto_empleado pe where pe.proyecto_id = p.id)",
+           nativeQuery = true)
+    List<Long> findIdsConCantidadDesviada(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Recalcula la cantidad de empleados de los proyectos dados cuyo
+     * contador no coincide con proyecto_empleado. Vuelve a comparar al
+     * actualizar, así que no toca filas ya corregidas por otra escritura.
+     * 
+     * @param ids IDs de los proyectos a reparar
+     * @return Cantidad de proyectos corregidos
+     */
+    @Modifying
+    @Query(value = "update proyectos p set cantidad_empleados = "
+                 + "(select count(*) from proyecto_empleado pe where pe.proyecto_id = p.id) "
+                 + "where p.id in (:ids) and cantidad_empleados <> "
+                 + "(select count(*) from proyecto_empleado pe where pe.proyecto_id = p.id)",
+           nativeQuery = true)
+    int repararCantidadEmpleados(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Obtiene una página de empleados de un proyecto usando paginación keyset:
+     * recorre el índice (proyecto_id, empleado_id) a partir del último ID visto.
+     * 
+     * @param proyectoId ID del proyecto
+     * @param despuesDe ID del último empleado de la página anterior
+     * @param pageable Tamaño de la página (se usa solo el límite)
+     * @return Empleados con ID mayor al cursor, ordenados por ID
+     */
+    @Query("select e from Proyecto p join p.empleados e where p.id = :proyectoId and e.id > :despuesDe order by e.id")
+    List<Empleado> findEmpleadosDespuesDe(@Param("proyectoId") Long proyectoId,
+                                         @Param("despuesDe") Long despuesDe,
+                                         Pageable pageable);
+    
+    /**
+     * Obtiene los empleados de varios proyectos recorriendo la tabla
+     * proyecto_empleado en una única consulta.
+     * 
+     * @param ids IDs de los proyectos
+     * @param pageable Límite de aristas a devolver
+     * @return Aristas proyecto → empleado ordenadas por proyecto y empleado
+     */
+    @Query("select new com.coderhouse.dto.AristaGrafoDTO(p.id, e.id, concat(e.nombre, ' ', e.apellido)) "
+         + "from Proyecto p join p.empleados e where p.id in :ids order by p.id, e.id")
+    List<AristaGrafoDTO> findAristasEmpleados(@Param("ids") Collection<Long> ids, Pageable pageable);
 }
 
@@ -0,0 +1,36 @@
+package com.coderhouse.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.coderhouse.models.TrabajoFallido;
+
+/**
+ * Repositorio para los IDs que fallaron en los trabajos.
+ */
+@Repository
+public interface TrabajoFallidoRepository extends JpaRepository<TrabajoFallido, Long> {
+
+    /**
+     * Obtiene los IDs que fallaron en un trabajo, en el orden en que fallaron.
+     *
+     * @param trabajoId ID del trabajo
+     * @return IDs fallidos
+     */
+    @Query("select f.elementoId from TrabajoFallido f where f.trabajoId = :trabajoId order by f.id")
+    List<Long> findElementosPorTrabajo(@Param("trabajoId") Long trabajoId);
+
+    /**
+     * Obtiene los fallos de varios trabajos en una sola consulta.
+     *
+     * @param trabajoIds IDs de los trabajos
+     * @return Fallos ordenados por trabajo y por orden de fallo
+     */
+    @Query("select f from TrabajoFallido f where f.trabajoId in :trabajoIds order by f.trabajoId, f.id")
+    List<TrabajoFallido> findPorTrabajos(@Param("trabajoIds") Collection<Long> trabajoIds);
+}
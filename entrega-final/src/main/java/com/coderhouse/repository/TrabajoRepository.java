@@ -0,0 +1,36 @@
+package com.coderhouse.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.coderhouse.models.Trabajo;
+
+/**
+ * Repositorio para los trabajos en segundo plano.
+ */
+@Repository
+public interface TrabajoRepository extends JpaRepository<Trabajo, Long> {
+
+    /**
+     * Obtiene los IDs de los trabajos en los estados dados, del más antiguo al más nuevo.
+     *
+     * @param estados Estados buscados
+     * @return IDs ordenados
+     */
+    @Query("select t.id from Trabajo t where t.estado in :estados order by t.id")
+    List<Long> findIdsPorEstado(@Param("estados") Collection<Trabajo.Estado> estados);
+
+    /**
+     * Obtiene los trabajos más recientes.
+     *
+     * @param pageable Tamaño de la página (se usa solo el límite)
+     * @return Trabajos del más nuevo al más antiguo
+     */
+    List<Trabajo> findAllByOrderByIdDesc(Pageable pageable);
+}
@@ -0,0 +1,177 @@
+package com.coderhouse.service;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Puntaje de candidatos para un proyecto sobre instantáneas inmutables del
+ * grafo de colaboración y de los empleados. Combina tres criterios en [0, 1]:
+ * - Afinidad de departamento: proporción del equipo con el mismo departamento
+ *   (o 1 si coincide con el departamento solicitado)
+ * - Compañeros en el equipo: proporción del equipo con la que ya trabajó
+ * - Carga: 1 / (1 + proyectos actuales)
+ *
+ * Los candidatos se evalúan en paralelo por rangos; cada rango retiene sus
+ * mejores k en un montículo propio y los montículos se combinan al unir.
+ */
+final class CalculoRecomendaciones {
+
+    private static final int UMBRAL_SECUENCIAL = 4096;
+
+    private final GrafoColaboracion grafo;
+    private final InstantaneaEmpleados empleados;
+    private final double pesoDepartamento;
+    private final double pesoCompaneros;
+    private final double pesoCarga;
+
+    private final int tamanioEquipo;
+    private final BitSet equipo = new BitSet();
+    private final int[] companerosEnEquipo;
+    private final double[] afinidadPorDepartamento;
+
+    /**
+     * Prepara los datos del equipo actual del proyecto.
+     *
+     * @param proyecto Posición del proyecto en el grafo, o -1 si no tiene miembros
+     * @param departamento Departamento solicitado, o null para usar el del equipo
+     */
+    CalculoRecomendaciones(GrafoColaboracion grafo, InstantaneaEmpleados empleados, int proyecto,
+                           String departamento, double pesoDepartamento, double pesoCompaneros, double pesoCarga) {
+        this.grafo = grafo;
+        this.empleados = empleados;
+        this.pesoDepartamento = pesoDepartamento;
+        this.pesoCompaneros = pesoCompaneros;
+        this.pesoCarga = pesoCarga;
+        this.companerosEnEquipo = new int[grafo.cantidadEmpleados()];
+        this.afinidadPorDepartamento = new double[empleados.cantidadDepartamentos()];
+
+        int miembros = 0;
+        if (proyecto >= 0) {
+            int[] marcas = new int[grafo.cantidadEmpleados()];
+            int[] porDepartamento = new int[empleados.cantidadDepartamentos()];
+            int[] integrantes = grafo.empleadosDe(proyecto);
+            for (int i = grafo.inicioEmpleados(proyecto); i < grafo.finEmpleados(proyecto); i++) {
+                int miembro = integrantes[i];
+                equipo.set(miembro);
+                miembros++;
+                contarCompaneros(miembro, proyecto, marcas, miembros);
+
+                int posicion = empleados.posicion(grafo.idEmpleado(miembro));
+                if (posicion >= 0 && empleados.departamento(posicion) != InstantaneaEmpleados.SIN_DEPARTAMENTO) {
+                    porDepartamento[empleados.departamento(posicion)]++;
+                }
+            }
+            if (departamento == null) {
+                for (int codigo = 0; codigo < porDepartamento.length; codigo++) {
+                    afinidadPorDepartamento[codigo] = (double) porDepartamento[codigo] / miembros;
+                }
+            }
+        }
+        if (departamento != null) {
+            int codigo = empleados.codigoDepartamento(departamento);
+            if (codigo != InstantaneaEmpleados.SIN_DEPARTAMENTO) {
+                afinidadPorDepartamento[codigo] = 1.0;
+            }
+        }
+        this.tamanioEquipo = miembros;
+    }
+
+    /**
+     * Suma uno a cada empleado que compartió otro proyecto con el miembro dado.
+     * El sello evita contar dos veces al mismo compañero de un mismo miembro.
+     */
+    private void contarCompaneros(int miembro, int proyecto, int[] marcas, int sello) {
+        int[] proyectos = grafo.proyectosDe(miembro);
+        for (int i = grafo.inicioProyectos(miembro); i < grafo.finProyectos(miembro); i++) {
+            int otroProyecto = proyectos[i];
+            if (otroProyecto == proyecto) {
+                continue;
+            }
+            int[] integrantes = grafo.empleadosDe(otroProyecto);
+            for (int j = grafo.inicioEmpleados(otroProyecto); j < grafo.finEmpleados(otroProyecto); j++) {
+                int companero = integrantes[j];
+                if (marcas[companero] != sello) {
+                    marcas[companero] = sello;
+                    companerosEnEquipo[companero]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evalúa todos los empleados que no están en el equipo y retiene los mejores.
+     *
+     * @return Montículo con posiciones de la instantánea de empleados
+     */
+    MonticuloTopK mejores(int limite, ForkJoinPool pool) {
+        return pool.invoke(new Evaluacion(0, empleados.cantidad(), limite));
+    }
+
+    /** Indica si el empleado en la posición dada ya es miembro del proyecto. */
+    boolean enEquipo(int posicion) {
+        int nodo = grafo.empleado(empleados.id(posicion));
+        return nodo >= 0 && equipo.get(nodo);
+    }
+
+    int proyectosActuales(int posicion) {
+        int nodo = grafo.empleado(empleados.id(posicion));
+        return nodo >= 0 ? grafo.finProyectos(nodo) - grafo.inicioProyectos(nodo) : 0;
+    }
+
+    int companerosEnEquipo(int posicion) {
+        int nodo = grafo.empleado(empleados.id(posicion));
+        return nodo >= 0 ? companerosEnEquipo[nodo] : 0;
+    }
+
+    double afinidadDepartamento(int posicion) {
+        int codigo = empleados.departamento(posicion);
+        return codigo == InstantaneaEmpleados.SIN_DEPARTAMENTO ? 0 : afinidadPorDepartamento[codigo];
+    }
+
+    /**
+     * Calcula el puntaje de un candidato a partir de su posición en la
+     * instantánea de empleados y su nodo en el grafo (-1 si no tiene proyectos).
+     */
+    private double puntaje(int posicion, int nodo) {
+        int carga = nodo >= 0 ? grafo.finProyectos(nodo) - grafo.inicioProyectos(nodo) : 0;
+        double companeros = nodo >= 0 && tamanioEquipo > 0 ? (double) companerosEnEquipo[nodo] / tamanioEquipo : 0;
+        return pesoDepartamento * afinidadDepartamento(posicion)
+             + pesoCompaneros * companeros
+             + pesoCarga / (1 + carga);
+    }
+
+    private final class Evaluacion extends RecursiveTask<MonticuloTopK> {
+
+        private final int desde;
+        private final int hasta;
+        private final int limite;
+
+        Evaluacion(int desde, int hasta, int limite) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.limite = limite;
+        }
+
+        @Override
+        protected MonticuloTopK compute() {
+            if (hasta - desde > UMBRAL_SECUENCIAL) {
+                int medio = (desde + hasta) >>> 1;
+                Evaluacion izquierda = new Evaluacion(desde, medio, limite);
+                izquierda.fork();
+                MonticuloTopK mejores = new Evaluacion(medio, hasta, limite).compute();
+                mejores.combinar(izquierda.join());
+                return mejores;
+            }
+            MonticuloTopK mejores = new MonticuloTopK(limite);
+            for (int posicion = desde; posicion < hasta; posicion++) {
+                int nodo = grafo.empleado(empleados.id(posicion));
+                if (nodo >= 0 && equipo.get(nodo)) {
+                    continue;
+                }
+                mejores.ofrecer(posicion, puntaje(posicion, nodo));
+            }
+            return mejores;
+        }
+    }
+}
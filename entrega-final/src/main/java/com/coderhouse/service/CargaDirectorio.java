@@ -0,0 +1,267 @@
+package com.coderhouse.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.models.Cambio;
+import com.coderhouse.models.Empleado;
+import com.coderhouse.models.Proyecto;
+import com.coderhouse.repository.CambioRepository;
+import com.coderhouse.repository.EmpleadoRepository;
+import com.coderhouse.repository.LecturaMasivaRepository;
+import com.coderhouse.repository.ProyectoRepository;
+
+/**
+ * Carga de empleados, proyectos y asignaciones para los índices en memoria.
+ *
+ * Con app.instantanea.enabled=true la carga inicial parte del archivo de
+ * instantánea (ver {@link FormatoInstantanea}) y reproduce el registro de
+ * cambios desde su marca de agua, releyendo de la base solo las filas que
+ * cambiaron. Todos los índices que se cargan al iniciar (membresías, grafo
+ * de colaboración, recomendaciones y modelo de lectura) comparten esa misma
+ * instantánea, que se libera cuando la aplicación termina de arrancar. Sin
+ * archivo, o si está dañado o es demasiado antiguo, se lee la base completa.
+ */
+@Service
+public class CargaDirectorio {
+
+    private static final Logger log = LoggerFactory.getLogger(CargaDirectorio.class);
+
+    @Autowired
+    private LecturaMasivaRepository lecturaMasivaRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.instantanea.enabled:false}")
+    private boolean instantaneaHabilitada;
+
+    @Value("${app.instantanea.archivo:data/directorio.snap}")
+    private String archivo;
+
+    @Value("${app.instantanea.margen-ms:60000}")
+    private long margenMs;
+
+    @Value("${app.instantanea.retencion-cambios-ms:86400000}")
+    private long retencionMs;
+
+    @Value("${app.lote.tamanio:500}")
+    private int tamanioLote;
+
+    private InstantaneaDirectorio inicial;
+
+    /**
+     * Instantánea compartida por las cargas iniciales; se construye en el primer uso.
+     */
+    synchronized InstantaneaDirectorio inicial() {
+        if (inicial == null) {
+            inicial = cargarInicial();
+        }
+        return inicial;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void liberarInicial() {
+        inicial = null;
+    }
+
+    /**
+     * Recorre todas las asignaciones para la carga inicial de un índice.
+     *
+     * @param consumidor Recibe el ID de proyecto y el ID de empleado de cada asignación
+     */
+    void recorrerAsignaciones(BiConsumer<Long, Long> consumidor) {
+        if (!instantaneaHabilitada) {
+            releerAsignaciones(consumidor);
+            return;
+        }
+        inicial().empleados().recorrer(fila -> {
+            for (long proyectoId : fila.proyectos) {
+                consumidor.accept(proyectoId, fila.id);
+            }
+        });
+    }
+
+    /**
+     * Recorre todas las asignaciones desde la base, sin pasar por la
+     * instantánea, para reconstruir un índice ya cargado.
+     *
+     * @param consumidor Recibe el ID de proyecto y el ID de empleado de cada asignación
+     */
+    void releerAsignaciones(BiConsumer<Long, Long> consumidor) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado ->
+            lecturaMasivaRepository.recorrerAsignaciones(consumidor));
+    }
+
+    /**
+     * Recorre el departamento de todos los empleados para la carga inicial de un índice.
+     *
+     * @param consumidor Recibe el ID y el departamento de cada empleado, en orden de ID
+     */
+    void recorrerDepartamentos(BiConsumer<Long, String> consumidor) {
+        if (!instantaneaHabilitada) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(estado ->
+                lecturaMasivaRepository.recorrerDepartamentos(consumidor));
+            return;
+        }
+        InstantaneaDirectorio directorio = inicial();
+        directorio.empleados().recorrer(fila ->
+            consumidor.accept(fila.id, directorio.nombreDepartamento(fila.departamento)));
+    }
+
+    /**
+     * Lee el directorio completo desde el primario.
+     */
+    InstantaneaDirectorio desdeBase() {
+        InstantaneaDirectorio.Constructor constructor = new InstantaneaDirectorio.Constructor();
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            lecturaMasivaRepository.recorrerEmpleados(e -> constructor.agregarEmpleado(e.getId(), e.getNombre(),
+                e.getApellido(), e.getEmail(), e.getLegajo(), e.getDepartamento(), e.getFechaIngreso()));
+            lecturaMasivaRepository.recorrerProyectos(p ->
+                constructor.agregarProyecto(p.getId(), p.getNombre(), p.getDescripcion()));
+            lecturaMasivaRepository.recorrerProyectosPorEmpleado(constructor::asignarProyectos);
+            lecturaMasivaRepository.recorrerEmpleadosPorProyecto(constructor::asignarEmpleados);
+        });
+        return constructor.construir(1);
+    }
+
+    /**
+     * Relee del primario las filas indicadas y devuelve la instantánea con su
+     * estado confirmado: las que ya no existen se quitan y los empleados
+     * quedan con exactamente los proyectos que tienen en la base.
+     * Usa una transacción nueva, por lo que puede invocarse después de un commit.
+     *
+     * @param base Instantánea sobre la que se aplican los cambios
+     * @param proyectoIds Proyectos a releer
+     * @param empleadoIds Empleados a releer junto con sus asignaciones
+     */
+    InstantaneaDirectorio refrescar(InstantaneaDirectorio base, Collection<Long> proyectoIds,
+                                    Collection<Long> empleadoIds) {
+        TransactionTemplate relectura = new TransactionTemplate(transactionManager);
+        relectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return relectura.execute(estado -> {
+            InstantaneaDirectorio resultado = base;
+            // Primero los proyectos, para que las asignaciones de los empleados encuentren su fila
+            for (List<Long> lote : Lotes.particionar(new ArrayList<>(proyectoIds), tamanioLote)) {
+                Map<Long, Proyecto> encontrados = new HashMap<>();
+                proyectoRepository.findByIdIn(lote).forEach(p -> encontrados.put(p.getId(), p));
+                for (Long id : lote) {
+                    Proyecto p = encontrados.get(id);
+                    resultado = p != null
+                        ? resultado.conProyecto(p.getId(), p.getNombre(), p.getDescripcion())
+                        : resultado.sinProyecto(id);
+                }
+            }
+            for (List<Long> lote : Lotes.particionar(new ArrayList<>(empleadoIds), tamanioLote)) {
+                Map<Long, Empleado> encontrados = new HashMap<>();
+                empleadoRepository.findByIdIn(lote).forEach(e -> encontrados.put(e.getId(), e));
+                for (Long id : lote) {
+                    Empleado e = encontrados.get(id);
+                    if (e == null) {
+                        resultado = resultado.sinEmpleado(id);
+                        continue;
+                    }
+                    long[] proyectos = e.getProyectos().stream().mapToLong(Proyecto::getId).toArray();
+                    resultado = resultado.conEmpleado(e.getId(), e.getNombre(), e.getApellido(), e.getEmail(),
+                        e.getLegajo(), e.getNombreDepartamento(), e.getFechaIngreso())
+                        .conProyectosDeEmpleado(e.getId(), proyectos);
+                }
+            }
+            return resultado;
+        });
+    }
+
+    private InstantaneaDirectorio cargarInicial() {
+        long inicio = System.nanoTime();
+        if (instantaneaHabilitada) {
+            InstantaneaDirectorio directorio = desdeArchivo(Path.of(archivo));
+            if (directorio != null) {
+                log.info("Directorio cargado desde instantánea: {} empleados, {} proyectos en {} ms",
+                    directorio.empleados().cantidad(), directorio.proyectos().cantidad(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+                return directorio;
+            }
+        }
+        InstantaneaDirectorio directorio = desdeBase();
+        log.info("Directorio cargado desde la base: {} empleados, {} proyectos en {} ms",
+            directorio.empleados().cantidad(), directorio.proyectos().cantidad(),
+            (System.nanoTime() - inicio) / 1_000_000);
+        return directorio;
+    }
+
+    /**
+     * Lee la instantánea en disco y reproduce los cambios posteriores a su marca de agua.
+     *
+     * @return Directorio actualizado, o null si el archivo no se puede usar
+     */
+    private InstantaneaDirectorio desdeArchivo(Path ruta) {
+        if (!Files.exists(ruta)) {
+            log.info("No existe la instantánea {}; se carga desde la base", ruta);
+            return null;
+        }
+        FormatoInstantanea.Contenido contenido;
+        try {
+            contenido = FormatoInstantanea.leer(ruta);
+        } catch (IOException e) {
+            log.warn("No se pudo leer la instantánea {}: {}", ruta, e.getMessage());
+            return null;
+        }
+        // Los cambios anteriores a la retención pueden haberse purgado del registro
+        if (contenido.capturadaEn - margenMs < System.currentTimeMillis() - retencionMs) {
+            log.warn("La instantánea {} es anterior a la retención del registro de cambios; se descarta", ruta);
+            return null;
+        }
+
+        Set<Long> proyectos = new LinkedHashSet<>();
+        Set<Long> empleados = new LinkedHashSet<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            long ultimo = contenido.marcaAgua;
+            List<Cambio> lote;
+            do {
+                lote = cambioRepository.findByIdGreaterThanOrderByIdAsc(ultimo, PageRequest.ofSize(tamanioLote));
+                for (Cambio cambio : lote) {
+                    if (cambio.getTipo() == Cambio.Tipo.PROYECTO) {
+                        proyectos.add(cambio.getEntidadId());
+                    } else {
+                        // EMPLEADO y ASIGNACION: el empleado se relee junto con sus proyectos
+                        empleados.add(cambio.getEntidadId());
+                    }
+                    ultimo = cambio.getId();
+                }
+            } while (lote.size() == tamanioLote);
+        });
+        log.info("Reproduciendo cambios desde la marca {}: {} proyectos y {} empleados a releer",
+            contenido.marcaAgua, proyectos.size(), empleados.size());
+        return refrescar(contenido.directorio, proyectos, empleados);
+    }
+}
@@ -0,0 +1,178 @@
+package com.coderhouse.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.event.EntidadGuardadaEvent;
+import com.coderhouse.event.EntidadesGuardadasEvent;
+import com.coderhouse.exception.TiempoAgotadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Coalescencia de lecturas concurrentes idénticas (single-flight).
+ *
+ * La primera solicitud para una clave ejecuta la lectura en su propio hilo;
+ * las que llegan mientras está en curso no consultan la base y esperan ese
+ * mismo resultado (o la misma excepción) hasta la espera de la operación,
+ * tras lo cual reciben TiempoAgotadoException (504). La espera se configura
+ * por operación con app.coalescencia.espera-ms-por-operacion.&lt;operacion&gt;
+ * y, si no está, vale app.coalescencia.espera-ms. La clave se libera al
+ * terminar la lectura, por lo que no es una caché: una solicitud posterior
+ * siempre vuelve a leer.
+ *
+ * Cada escritura confirmada avanza un número de secuencia, y una solicitud
+ * solo se suma a una lectura que empezó después de la última escritura que
+ * ya conocía; si no, ejecuta la suya. Como los eventos se procesan antes de
+ * que el escritor responda, quien recibió la respuesta de un PUT nunca
+ * obtiene un resultado leído antes de ese cambio. La secuencia es global, no
+ * por clave: con muchas escrituras se comparte menos, pero nunca de más.
+ *
+ * Debe llamarse fuera de una transacción, para que las solicitudes en
+ * espera no retengan una conexión del pool.
+ *
+ * Publica coalescencia.solicitudes (counter, por operación y resultado:
+ * ejecutada, compartida o tiempo-agotado) y coalescencia.en-curso (gauge).
+ */
+@Component
+public class Coalescedor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment entorno;
+
+    @Value("${app.coalescencia.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${app.coalescencia.espera-ms:2000}")
+    private long esperaMs;
+
+    private final Map<String, Lectura> enCurso = new ConcurrentHashMap<>();
+    private final Map<String, Long> esperasPorOperacion = new ConcurrentHashMap<>();
+    private final AtomicLong escrituras = new AtomicLong();
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("coalescencia.en-curso", enCurso, Map::size)
+            .description("Lecturas en curso que otras solicitudes pueden compartir")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la lectura, o espera la que ya está en curso para la misma clave
+     * si empezó después de la última escritura confirmada.
+     *
+     * @param operacion Nombre de la operación, para las métricas
+     * @param clave Identifica lecturas idénticas dentro de la operación
+     * @param lectura Lectura a ejecutar
+     * @return Resultado propio o compartido
+     * @throws TiempoAgotadoException Si la lectura en curso no termina a tiempo
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T ejecutar(String operacion, Object clave, Supplier<T> lectura) {
+        if (!habilitado) {
+            return lectura.get();
+        }
+        String claveCompleta = operacion + ":" + clave;
+        Lectura propia = new Lectura(escrituras.get());
+        // Una lectura anterior a una escritura se reemplaza; la que sigue en curso termina igual para quien la espera
+        Lectura elegida = enCurso.compute(claveCompleta,
+            (k, actual) -> actual != null && actual.secuencia >= propia.secuencia ? actual : propia);
+
+        if (elegida == propia) {
+            contador(operacion, "ejecutada").increment();
+            try {
+                T resultado = lectura.get();
+                propia.resultado.complete(resultado);
+                return resultado;
+            } catch (RuntimeException | Error e) {
+                propia.resultado.completeExceptionally(e);
+                throw e;
+            } finally {
+                enCurso.remove(claveCompleta, propia);
+            }
+        }
+
+        long espera = esperasPorOperacion.computeIfAbsent(operacion, o ->
+            entorno.getProperty("app.coalescencia.espera-ms-por-operacion." + o, Long.class, esperaMs));
+        try {
+            T resultado = (T) elegida.resultado.get(espera, TimeUnit.MILLISECONDS);
+            contador(operacion, "compartida").increment();
+            return resultado;
+        } catch (ExecutionException e) {
+            contador(operacion, "compartida").increment();
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw (Error) e.getCause();
+        } catch (TimeoutException e) {
+            contador(operacion, "tiempo-agotado").increment();
+            throw new TiempoAgotadoException(String.format(
+                "La lectura %s no terminó en %d ms; reintente en unos segundos", operacion, espera));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            contador(operacion, "tiempo-agotado").increment();
+            throw new TiempoAgotadoException("La espera de la lectura " + operacion + " fue interrumpida");
+        }
+    }
+
+    @TransactionalEventListener
+    public void alGuardarEntidad(EntidadGuardadaEvent evento) {
+        escrituras.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void alGuardarEntidades(EntidadesGuardadasEvent evento) {
+        escrituras.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void alEliminarEntidad(EntidadEliminadaEvent evento) {
+        escrituras.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void alCambiarMembresia(CambioMembresiaEvent evento) {
+        escrituras.incrementAndGet();
+    }
+
+    private Counter contador(String operacion, String resultado) {
+        return Counter.builder("coalescencia.solicitudes")
+            .description("Lecturas ejecutadas, compartidas con una en curso o sin respuesta a tiempo")
+            .tag("operacion", operacion)
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Lectura en curso y la secuencia de escrituras vigente cuando empezó.
+     */
+    private static final class Lectura {
+
+        private final long secuencia;
+        private final CompletableFuture<Object> resultado = new CompletableFuture<>();
+
+        Lectura(long secuencia) {
+            this.secuencia = secuencia;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.coderhouse.dto.CaminoColaboracionDTO;
+import com.coderhouse.dto.CompaneroDTO;
+import com.coderhouse.dto.EstadisticasColaboracionDTO;
+import com.coderhouse.dto.GradoColaboracionDTO;
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.models.Empleado;
+import com.coderhouse.models.Proyecto;
+import com.coderhouse.repository.EmpleadoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Servicio de análisis de colaboración entre empleados.
+ * Trabaja sobre una instantánea inmutable en formato CSR del grafo
+ * Empleado-Proyecto ({@link GrafoColaboracion}) que se carga al iniciar.
+ *
+ * Las asignaciones, remociones y eliminaciones confirmadas se encolan como
+ * cambios pendientes; una tarea periódica los aplica sobre la superposición
+ * de la instantánea actual y publica una nueva versión, que se compacta en
+ * un CSR nuevo solo cuando la superposición crece demasiado. Las consultas siempre leen una
+ * instantánea completa, sin bloqueos.
+ */
+@Service
+public class ColaboracionService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ColaboracionService.class);
+
+    @Autowired
+    private CargaDirectorio cargaDirectorio;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Value("${app.colaboracion.paralelismo:0}")
+    private int paralelismo;
+
+    @Value("${app.colaboracion.max-superposicion:10000}")
+    private int maxSuperposicion;
+
+    @Value("${app.paginacion.max-limite:500}")
+    private int maxLimite;
+
+    private final ConcurrentLinkedQueue<Object> pendientes = new ConcurrentLinkedQueue<>();
+    private volatile GrafoColaboracion grafo = GrafoColaboracion.vacio();
+    private ForkJoinPool pool;
+
+    /**
+     * Crea el pool fork/join y carga la instantánea inicial desde proyecto_empleado.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+
+        long inicio = System.nanoTime();
+        Asignaciones asignaciones = new Asignaciones(1024);
+        cargaDirectorio.recorrerAsignaciones((proyectoId, empleadoId) -> asignaciones.agregar(empleadoId, proyectoId));
+        grafo = asignaciones.construir(1);
+        log.info("Grafo de colaboración cargado: {} empleados, {} asignaciones, ~{} KB en {} ms",
+            grafo.cantidadEmpleados(), grafo.cantidadAsignaciones(), grafo.bytesEstimados() / 1024,
+            (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Obtiene los compañeros de un empleado, de mayor a menor cantidad de proyectos compartidos.
+     *
+     * @param empleadoId ID del empleado
+     * @param limite Cantidad máxima de compañeros a devolver
+     * @return Lista de compañeros
+     * @throws ResourceNotFoundException Si el empleado no existe
+     * @throws IllegalArgumentException Si el límite está fuera de rango
+     */
+    public List<CompaneroDTO> obtenerCompaneros(Long empleadoId, int limite) {
+        validarLimite(limite);
+        GrafoColaboracion actual = grafo;
+        int empleado = posicionEmpleado(actual, empleadoId);
+        if (empleado < 0) {
+            return new ArrayList<>();
+        }
+
+        int[][] companeros = actual.companeros(empleado);
+        MonticuloTopK mejores = new MonticuloTopK(limite);
+        for (int i = 0; i < companeros[0].length; i++) {
+            mejores.ofrecer(companeros[0][i], companeros[1][i]);
+        }
+        double[] compartidos = new double[mejores.tamanio()];
+        int[] ordenados = mejores.extraerOrdenados(compartidos);
+
+        List<CompaneroDTO> resultado = new ArrayList<>(ordenados.length);
+        for (int i = 0; i < ordenados.length; i++) {
+            resultado.add(new CompaneroDTO(actual.idEmpleado(ordenados[i]), (int) compartidos[i]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca el camino de colaboración más corto entre dos empleados.
+     *
+     * @param desde ID del empleado de origen
+     * @param hasta ID del empleado de destino
+     * @return Camino encontrado, o un resultado con encontrado=false
+     * @throws ResourceNotFoundException Si alguno de los empleados no existe
+     */
+    public CaminoColaboracionDTO obtenerCamino(Long desde, Long hasta) {
+        GrafoColaboracion actual = grafo;
+        int origen = posicionEmpleado(actual, desde);
+        int destino = posicionEmpleado(actual, hasta);
+        int[] camino = origen >= 0 && destino >= 0 ? actual.caminoMasCorto(origen, destino, pool) : null;
+        if (camino == null) {
+            return new CaminoColaboracionDTO(desde, hasta, false, -1, new ArrayList<>(), new ArrayList<>());
+        }
+
+        List<Long> empleados = new ArrayList<>();
+        List<Long> proyectos = new ArrayList<>();
+        for (int i = 0; i < camino.length; i++) {
+            if (i % 2 == 0) {
+                empleados.add(actual.idEmpleado(camino[i]));
+            } else {
+                proyectos.add(actual.idProyecto(camino[i]));
+            }
+        }
+        return new CaminoColaboracionDTO(desde, hasta, true, proyectos.size(), empleados, proyectos);
+    }
+
+    /**
+     * Obtiene los empleados con más compañeros distintos.
+     *
+     * @param limite Cantidad de empleados del ranking
+     * @return Ranking de mayor a menor cantidad de compañeros
+     * @throws IllegalArgumentException Si el límite está fuera de rango
+     */
+    public List<GradoColaboracionDTO> obtenerRanking(int limite) {
+        validarLimite(limite);
+        GrafoColaboracion actual = grafo;
+        int[] grados = actual.grados(pool);
+
+        MonticuloTopK mejores = new MonticuloTopK(limite);
+        for (int empleado = 0; empleado < grados.length; empleado++) {
+            mejores.ofrecer(empleado, grados[empleado]);
+        }
+        double[] puntajes = new double[mejores.tamanio()];
+        int[] ordenados = mejores.extraerOrdenados(puntajes);
+
+        List<GradoColaboracionDTO> resultado = new ArrayList<>(ordenados.length);
+        for (int i = 0; i < ordenados.length; i++) {
+            resultado.add(new GradoColaboracionDTO(actual.idEmpleado(ordenados[i]), (int) puntajes[i]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el estado de la instantánea actual.
+     */
+    public EstadisticasColaboracionDTO obtenerEstadisticas() {
+        GrafoColaboracion actual = grafo;
+        return new EstadisticasColaboracionDTO(actual.getVersion(), actual.cantidadEmpleados(),
+            actual.cantidadProyectos(), actual.cantidadAsignaciones(), actual.bytesEstimados(), pendientes.size());
+    }
+
+    /**
+     * Instantánea vigente, para otros servicios que analizan la relación.
+     */
+    GrafoColaboracion instantanea() {
+        return grafo;
+    }
+
+    /**
+     * Pool fork/join compartido por los cálculos en paralelo sobre el grafo.
+     */
+    ForkJoinPool pool() {
+        return pool;
+    }
+
+    @TransactionalEventListener
+    public void alCambiarMembresia(CambioMembresiaEvent evento) {
+        pendientes.add(evento);
+    }
+
+    @TransactionalEventListener
+    public void alEliminarEntidad(EntidadEliminadaEvent evento) {
+        pendientes.add(evento);
+    }
+
+    /**
+     * Aplica los cambios pendientes sobre la superposición de la instantánea
+     * actual y publica una nueva versión. Los arreglos CSR se reconstruyen
+     * solo cuando la superposición supera {@code app.colaboracion.max-superposicion}
+     * listas, para que una asignación suelta no cueste una pasada por todo el grafo.
+     * Solo la ejecuta el planificador, por lo que hay un único escritor.
+     */
+    @Scheduled(fixedDelayString = "${app.colaboracion.compactacion-ms:1000}")
+    public void aplicarPendientes() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        GrafoColaboracion base = grafo;
+
+        List<GrafoColaboracion.Cambio> cambios = new ArrayList<>();
+        Object evento;
+        while ((evento = pendientes.poll()) != null) {
+            if (evento instanceof CambioMembresiaEvent cambio) {
+                cambios.add(GrafoColaboracion.Cambio.asignacion(
+                    cambio.getEmpleadoId(), cambio.getProyectoId(), cambio.isAsignado()));
+            } else if (evento instanceof EntidadEliminadaEvent eliminada) {
+                if (eliminada.getEntidad() == Empleado.class) {
+                    cambios.add(GrafoColaboracion.Cambio.bajaEmpleado(eliminada.getId()));
+                } else if (eliminada.getEntidad() == Proyecto.class) {
+                    cambios.add(GrafoColaboracion.Cambio.bajaProyecto(eliminada.getId()));
+                }
+            }
+        }
+
+        GrafoColaboracion nuevo = base.conCambios(cambios, base.getVersion() + 1);
+        if (nuevo.tamanioSuperposicion() > maxSuperposicion) {
+            long inicio = System.nanoTime();
+            nuevo = nuevo.compactada();
+            log.debug("Grafo de colaboración compactado: {} asignaciones en {} ms",
+                nuevo.cantidadAsignaciones(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+        grafo = nuevo;
+    }
+
+    private int posicionEmpleado(GrafoColaboracion actual, Long empleadoId) {
+        int empleado = actual.empleado(empleadoId);
+        // Un empleado sin asignaciones no está en el grafo; se distingue de uno inexistente
+        if (empleado < 0 && !empleadoRepository.existsById(empleadoId)) {
+            throw new ResourceNotFoundException("Empleado", "id", empleadoId);
+        }
+        return empleado;
+    }
+
+    private void validarLimite(int limite) {
+        if (limite < 1 || limite > maxLimite) {
+            throw new IllegalArgumentException(
+                String.format("El límite debe estar entre 1 y %d", maxLimite));
+        }
+    }
+
+    /**
+     * Lista de asignaciones en dos arreglos long paralelos que crecen a demanda.
+     */
+    private static final class Asignaciones {
+
+        private long[] empleados;
+        private long[] proyectos;
+        private int cantidad;
+
+        Asignaciones(int capacidad) {
+            this.empleados = new long[Math.max(capacidad, 16)];
+            this.proyectos = new long[empleados.length];
+        }
+
+        void agregar(long empleadoId, long proyectoId) {
+            if (cantidad == empleados.length) {
+                empleados = Arrays.copyOf(empleados, cantidad * 2);
+                proyectos = Arrays.copyOf(proyectos, cantidad * 2);
+            }
+            empleados[cantidad] = empleadoId;
+            proyectos[cantidad++] = proyectoId;
+        }
+
+        GrafoColaboracion construir(long version) {
+            return GrafoColaboracion.construir(empleados, proyectos, cantidad, version);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.coderhouse.config.Compartimento;
+import com.coderhouse.dto.AristaGrafoDTO;
+import com.coderhouse.dto.ConsultaGrafoDTO;
+import com.coderhouse.dto.NodoGrafoDTO;
+import com.coderhouse.dto.ResultadoGrafoDTO;
+import com.coderhouse.dto.TipoNodoGrafo;
+import com.coderhouse.repository.EmpleadoRepository;
+import com.coderhouse.repository.ProyectoRepository;
+
+/**
+ * Servicio que resuelve consultas anidadas sobre el grafo Empleado-Proyecto.
+ * Cada nivel se resuelve con una consulta por lotes sobre proyecto_empleado
+ * para todos los nodos del nivel, al estilo DataLoader, sin cargas por nodo.
+ *
+ * El límite de nodos también acota lo que se lee: cada lote pide como máximo
+ * las aristas que todavía pueden convertirse en nodos, y cuando las ya leídas
+ * alcanzan para agotar el límite no se lanzan más lotes. Para que el corte
+ * coincida con el recorrido, los nodos de cada nivel se expanden por ID.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ConsultaGrafoService {
+    
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+    
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+    
+    @Value("${app.consulta-grafo.max-profundidad:3}")
+    private int maxProfundidad;
+    
+    @Value("${app.consulta-grafo.max-nodos:5000}")
+    private int maxNodos;
+    
+    @Value("${app.lote.max-ids:1000}")
+    private int maxIdsPorConsulta;
+    
+    @Value("${app.lote.tamanio:500}")
+    private int tamanioLote;
+    
+    /**
+     * Ejecuta una consulta anidada.
+     * Al expandir un nodo se omite el nodo padre, de modo que "proyecto → miembros
+     * → proyectos" devuelve los otros proyectos de cada miembro.
+     * 
+     * @param consulta Tipo e IDs de los nodos raíz y profundidad a expandir
+     * @return Árbol de resultados; truncado si se alcanzó el límite de nodos
+     * @throws IllegalArgumentException Si la profundidad o la cantidad de raíces superan los límites
+     */
+    public ResultadoGrafoDTO consultar(ConsultaGrafoDTO consulta) {
+        if (consulta.getProfundidad() > maxProfundidad) {
+            throw new IllegalArgumentException(
+                String.format("La profundidad máxima permitida es %d", maxProfundidad));
+        }
+        List<Long> ids = Lotes.distintos(consulta.getIds(), maxIdsPorConsulta);
+        
+        List<NodoGrafoDTO> raices = cargarRaices(consulta.getTipo(), ids);
+        int totalNodos = raices.size();
+        boolean truncado = false;
+        
+        TipoNodoGrafo tipo = consulta.getTipo();
+        List<NodoGrafoDTO> nivel = raices;
+        List<Long> padres = new ArrayList<>();
+        raices.forEach(raiz -> padres.add(null));
+        
+        for (int profundidad = 0; profundidad < consulta.getProfundidad() && !nivel.isEmpty() && !truncado; profundidad++) {
+            List<NodoGrafoDTO> actual = nivel;
+            int[] orden = IntStream.range(0, actual.size()).boxed()
+                .sorted(Comparator.comparing(i -> actual.get(i).getId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+            Map<Long, List<AristaGrafoDTO>> aristas = cargarAristas(tipo, nivel, padres, maxNodos - totalNodos);
+            TipoNodoGrafo tipoHijo = tipo.opuesto();
+            
+            List<NodoGrafoDTO> siguienteNivel = new ArrayList<>();
+            List<Long> siguientesPadres = new ArrayList<>();
+            expansion:
+            for (int i : orden) {
+                NodoGrafoDTO nodo = nivel.get(i);
+                for (AristaGrafoDTO arista : aristas.getOrDefault(nodo.getId(), List.of())) {
+                    if (Objects.equals(arista.getDestinoId(), padres.get(i))) {
+                        continue;
+                    }
+                    if (totalNodos >= maxNodos) {
+                        truncado = true;
+                        break expansion;
+                    }
+                    NodoGrafoDTO hijo = new NodoGrafoDTO(tipoHijo, arista.getDestinoId(), arista.getDestinoNombre());
+                    nodo.getHijos().add(hijo);
+                    siguienteNivel.add(hijo);
+                    siguientesPadres.add(nodo.getId());
+                    totalNodos++;
+                }
+            }
+            
+            tipo = tipoHijo;
+            nivel = siguienteNivel;
+            padres.clear();
+            padres.addAll(siguientesPadres);
+        }
+        
+        return new ResultadoGrafoDTO(raices, totalNodos, truncado);
+    }
+    
+    /**
+     * Carga los nodos raíz en el orden solicitado, omitiendo los IDs inexistentes.
+     */
+    private List<NodoGrafoDTO> cargarRaices(TipoNodoGrafo tipo, List<Long> ids) {
+        Map<Long, NodoGrafoDTO> nodos = new HashMap<>();
+        if (tipo == TipoNodoGrafo.PROYECTO) {
+            proyectoRepository.findAllById(ids).forEach(proyecto ->
+                nodos.put(proyecto.getId(), new NodoGrafoDTO(tipo, proyecto.getId(), proyecto.getNombre())));
+        } else {
+            empleadoRepository.findAllById(ids).forEach(empleado ->
+                nodos.put(empleado.getId(), new NodoGrafoDTO(tipo, empleado.getId(),
+                    empleado.getNombre() + " " + empleado.getApellido())));
+        }
+        return ids.stream()
+            .map(nodos::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Carga las aristas de los nodos de un nivel, agrupadas por nodo de origen,
+     * con los IDs distintos en orden ascendente y en lotes de tamaño acotado.
+     *
+     * Cada arista leída produce un nodo por cada aparición de su origen en el
+     * nivel, salvo la que vuelve al padre (a lo sumo una por aparición), así
+     * que las aristas leídas menos las apariciones con padre son nodos seguros.
+     * Cada lote pide hasta restantes + apariciones con padre + 1 aristas, y al
+     * superar entre todas el presupuesto se deja de consultar: la expansión,
+     * en el mismo orden, llega al límite antes de alcanzar un nodo sin leer.
+     *
+     * @param restantes Nodos que todavía se pueden agregar al resultado
+     */
+    private Map<Long, List<AristaGrafoDTO>> cargarAristas(TipoNodoGrafo tipo, List<NodoGrafoDTO> nivel,
+                                                         List<Long> padres, int restantes) {
+        // ID → apariciones con padre en el nivel
+        Map<Long, Integer> ids = new TreeMap<>();
+        for (int i = 0; i < nivel.size(); i++) {
+            ids.merge(nivel.get(i).getId(), padres.get(i) != null ? 1 : 0, Integer::sum);
+        }
+        
+        Map<Long, List<AristaGrafoDTO>> aristas = new HashMap<>();
+        for (List<Long> lote : Lotes.particionar(new ArrayList<>(ids.keySet()), tamanioLote)) {
+            if (restantes < 0) {
+                break;
+            }
+            // Si la solicitud se canceló no se lanzan más consultas
+            Compartimento.verificarCancelacion();
+            int conPadre = lote.stream().mapToInt(ids::get).sum();
+            PageRequest limite = PageRequest.of(0, restantes + conPadre + 1);
+            List<AristaGrafoDTO> resultado = tipo == TipoNodoGrafo.PROYECTO
+                ? proyectoRepository.findAristasEmpleados(lote, limite)
+                : empleadoRepository.findAristasProyectos(lote, limite);
+            for (AristaGrafoDTO arista : resultado) {
+                aristas.computeIfAbsent(arista.getOrigenId(), id -> new ArrayList<>()).add(arista);
+            }
+            restantes -= resultado.size() - conPadre;
+        }
+        return aristas;
+    }
+}
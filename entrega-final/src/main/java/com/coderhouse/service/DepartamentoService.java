@@ -0,0 +1,240 @@
+package com.coderhouse.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.dto.DepartamentoResponseDTO;
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.PaginaKeysetDTO;
+import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.models.Departamento;
+import com.coderhouse.models.Empleado;
+import com.coderhouse.repository.DepartamentoRepository;
+import com.coderhouse.repository.EmpleadoRepository;
+
+/**
+ * Servicio de departamentos con un diccionario ID-nombre en memoria.
+ *
+ * Los departamentos solo se agregan (no se renombran ni se eliminan), por lo
+ * que el diccionario nunca queda desactualizado: se carga al iniciar y se
+ * completa al crear un departamento o al encontrar uno creado por otra
+ * instancia. Así las escrituras de empleados resuelven el nombre a una
+ * referencia sin consultar Departamentos, y los filtros por departamento
+ * traducen el nombre a la clave foránea sin un join.
+ */
+@Service
+@Transactional
+public class DepartamentoService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartamentoService.class);
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.paginacion.max-limite:500}")
+    private int maxLimitePagina;
+
+    private final Map<String, Long> idsPorNombre = new ConcurrentHashMap<>();
+    private final Map<Long, String> nombresPorId = new ConcurrentHashMap<>();
+
+    /**
+     * Carga el diccionario completo antes de que la aplicación empiece a atender solicitudes.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado ->
+            departamentoRepository.findAll().forEach(this::registrar));
+        log.info("Diccionario de departamentos cargado: {} departamentos", nombresPorId.size());
+    }
+
+    /**
+     * Obtiene todos los departamentos con su cantidad de empleados.
+     *
+     * @return Departamentos ordenados por nombre
+     */
+    @Transactional(readOnly = true)
+    public List<DepartamentoResponseDTO> obtenerTodos() {
+        return departamentoRepository.listarConCantidadEmpleados();
+    }
+
+    /**
+     * Busca un departamento por su ID.
+     *
+     * @param id ID del departamento
+     * @return Departamento con su cantidad de empleados
+     * @throws ResourceNotFoundException Si el departamento no existe
+     */
+    @Transactional(readOnly = true)
+    public DepartamentoResponseDTO obtenerPorId(Long id) {
+        String nombre = nombreDe(id);
+        if (nombre == null) {
+            throw new ResourceNotFoundException("Departamento", "id", id);
+        }
+        return new DepartamentoResponseDTO(id, nombre, empleadoRepository.countByDepartamento_Id(id));
+    }
+
+    /**
+     * Busca un departamento por su nombre.
+     *
+     * @param nombre Nombre del departamento
+     * @return Departamento con su cantidad de empleados
+     * @throws ResourceNotFoundException Si el departamento no existe
+     */
+    @Transactional(readOnly = true)
+    public DepartamentoResponseDTO obtenerPorNombre(String nombre) {
+        Long id = buscarId(nombre);
+        if (id == null) {
+            throw new ResourceNotFoundException("Departamento", "nombre", nombre);
+        }
+        return new DepartamentoResponseDTO(id, nombresPorId.get(id), empleadoRepository.countByDepartamento_Id(id));
+    }
+
+    /**
+     * Obtiene una página de los empleados de un departamento.
+     * Usa paginación keyset sobre el índice (Departamento_Id, id) y toma el
+     * nombre del departamento del diccionario, sin cargar la entidad.
+     *
+     * @param id ID del departamento
+     * @param despuesDe ID del último empleado de la página anterior (null para la primera)
+     * @param limite Cantidad máxima de empleados por página
+     * @return Página de empleados ordenados por ID
+     * @throws ResourceNotFoundException Si el departamento no existe
+     * @throws IllegalArgumentException Si el límite está fuera de rango
+     */
+    @Transactional(readOnly = true)
+    public PaginaKeysetDTO<EmpleadoSimpleDTO> obtenerEmpleados(Long id, Long despuesDe, int limite) {
+        if (limite < 1 || limite > maxLimitePagina) {
+            throw new IllegalArgumentException(
+                String.format("El límite debe estar entre 1 y %d", maxLimitePagina));
+        }
+        String nombre = nombreDe(id);
+        if (nombre == null) {
+            throw new ResourceNotFoundException("Departamento", "id", id);
+        }
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<Empleado> empleados = empleadoRepository.findByDepartamentoDespuesDe(
+            id, despuesDe != null ? despuesDe : 0L, PageRequest.ofSize(limite + 1));
+        boolean hayMas = empleados.size() > limite;
+        List<EmpleadoSimpleDTO> pagina = empleados.stream()
+            .limit(limite)
+            .map(e -> new EmpleadoSimpleDTO(e.getId(), e.getNombre(), e.getApellido(), e.getEmail(), e.getLegajo(), nombre))
+            .collect(Collectors.toList());
+        Long siguienteCursor = hayMas ? pagina.get(pagina.size() - 1).getId() : null;
+        return new PaginaKeysetDTO<>(pagina, siguienteCursor, hayMas);
+    }
+
+    /**
+     * Obtiene la referencia al departamento con el nombre dado para asignarla
+     * a un empleado, creándolo si no existe. No consulta la tabla si el
+     * nombre ya está en el diccionario.
+     *
+     * @param nombre Nombre del departamento; vacío o null para ninguno
+     * @return Referencia al departamento, o null
+     */
+    public Departamento referencia(String nombre) {
+        String normalizado = normalizar(nombre);
+        if (normalizado == null) {
+            return null;
+        }
+        Long id = buscarId(normalizado);
+        if (id == null) {
+            id = crear(normalizado);
+        }
+        return departamentoRepository.getReferenceById(id);
+    }
+
+    /**
+     * Traduce un nombre de departamento a su ID.
+     *
+     * @param nombre Nombre del departamento
+     * @return ID del departamento, o null si no existe
+     */
+    @Transactional(readOnly = true)
+    public Long buscarId(String nombre) {
+        String normalizado = normalizar(nombre);
+        if (normalizado == null) {
+            return null;
+        }
+        Long id = idsPorNombre.get(normalizado);
+        if (id != null) {
+            return id;
+        }
+        return departamentoRepository.findByNombre(normalizado)
+            .map(departamento -> {
+                registrar(departamento);
+                idsPorNombre.putIfAbsent(normalizado, departamento.getId());
+                return departamento.getId();
+            })
+            .orElse(null);
+    }
+
+    /**
+     * Traduce un ID de departamento a su nombre.
+     *
+     * @param id ID del departamento
+     * @return Nombre del departamento, o null si no existe
+     */
+    @Transactional(readOnly = true)
+    public String nombreDe(Long id) {
+        String nombre = nombresPorId.get(id);
+        if (nombre != null) {
+            return nombre;
+        }
+        return departamentoRepository.findById(id)
+            .map(departamento -> {
+                registrar(departamento);
+                return departamento.getNombre();
+            })
+            .orElse(null);
+    }
+
+    /**
+     * Crea el departamento en una transacción propia, de modo que quede
+     * confirmado (y pueda agregarse al diccionario) aunque la escritura del
+     * empleado falle después. Si otra transacción lo creó al mismo tiempo, se
+     * usa el existente.
+     */
+    private Long crear(String nombre) {
+        TransactionTemplate creacion = new TransactionTemplate(transactionManager);
+        creacion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Departamento departamento;
+        try {
+            departamento = creacion.execute(estado -> departamentoRepository.save(new Departamento(nombre)));
+        } catch (DataIntegrityViolationException e) {
+            departamento = creacion.execute(estado -> departamentoRepository.findByNombre(nombre)).orElseThrow(() -> e);
+        }
+        registrar(departamento);
+        return departamento.getId();
+    }
+
+    private void registrar(Departamento departamento) {
+        idsPorNombre.put(departamento.getNombre(), departamento.getId());
+        nombresPorId.put(departamento.getId(), departamento.getNombre());
+    }
+
+    private static String normalizar(String nombre) {
+        return nombre == null || nombre.isBlank() ? null : nombre.trim();
+    }
+}
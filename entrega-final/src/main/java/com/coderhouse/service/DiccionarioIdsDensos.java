@@ -0,0 +1,59 @@
+package com.coderhouse.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario que asigna a cada ID de base de datos un entero denso
+ * (0, 1, 2, ...) en orden de aparición, para usarlo como posición en un bitmap.
+ *
+ * Las lecturas no bloquean: la búsqueda inversa usa un arreglo que se
+ * reemplaza completo al crecer. Las asignaciones de nuevos IDs se serializan.
+ */
+class DiccionarioIdsDensos {
+
+    private final Map<Long, Integer> densos = new ConcurrentHashMap<>();
+    private volatile long[] ids = new long[1024];
+    private int siguiente = 0;
+
+    /**
+     * Retorna el entero denso de un ID, asignándole uno nuevo si no lo tenía.
+     */
+    int densoDe(Long id) {
+        Integer denso = densos.get(id);
+        return denso != null ? denso : asignar(id);
+    }
+
+    /**
+     * Retorna el entero denso de un ID, o -1 si el ID nunca fue registrado.
+     */
+    int buscar(Long id) {
+        Integer denso = densos.get(id);
+        return denso != null ? denso : -1;
+    }
+
+    /**
+     * Retorna el ID de base de datos correspondiente a un entero denso.
+     */
+    long idDe(int denso) {
+        return ids[denso];
+    }
+
+    private synchronized int asignar(Long id) {
+        Integer existente = densos.get(id);
+        if (existente != null) {
+            return existente;
+        }
+        int denso = siguiente++;
+        long[] actuales = ids;
+        if (denso == actuales.length) {
+            actuales = Arrays.copyOf(actuales, actuales.length * 2);
+        }
+        actuales[denso] = id;
+        // La escritura volátil publica el ID antes de que el entero denso sea visible
+        ids = actuales;
+        densos.put(id, denso);
+        return denso;
+    }
+}
@@ -1,19 +1,36 @@
 package com.coderhouse.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.coderhouse.config.BloqueoEntidades;
+import com.coderhouse.config.ReintentoTransitorio;
+import com.coderhouse.dto.CambioDepartamentoDTO;
 import com.coderhouse.dto.EmpleadoDTO;
 import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.dto.ResultadoCambioDepartamentoDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.event.EntidadGuardadaEvent;
+import com.coderhouse.event.EntidadesGuardadasEvent;
 import com.coderhouse.exception.DuplicateResourceException;
 import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.models.Departamento;
 import com.coderhouse.models.Empleado;
 import com.coderhouse.models.Proyecto;
 import com.coderhouse.repository.EmpleadoRepository;
+import com.coderhouse.repository.LecturaMasivaRepository;
 import com.coderhouse.repository.ProyectoRepository;
 
 /**
@@ -30,17 +47,49 @@ public class EmpleadoService {
     @Autowired
     private ProyectoRepository proyectoRepository;
     
+    @Autowired
+    private LecturaMasivaRepository lecturaMasivaRepository;
+    
+    @Autowired
+    private DepartamentoService departamentoService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.lote.max-ids:1000}")
+    private int maxIdsPorConsulta;
+    
+    @Value("${app.lote.tamanio:500}")
+    private int tamanioLote;
+    
+    @Value("${app.departamentos.max-cambio-masivo:10000}")
+    private int maxCambioMasivo;
+    
     /**
      * Obtiene todos los empleados.
      * 
      * @return Lista de todos los empleados como DTOs
      */
+    @Transactional(readOnly = true)
     public List<EmpleadoResponseDTO> obtenerTodos() {
         return empleadoRepository.findAll().stream()
             .map(EmpleadoResponseDTO::new)
             .collect(Collectors.toList());
     }
     
+    /**
+     * Recorre todos los empleados en modo de lectura masiva.
+     * Usa una sesión sin estado con un cursor forward-only, sin snapshots ni
+     * caché de primer nivel, y entrega cada DTO apenas se lee, de modo que
+     * una exportación no retiene el resultado completo en memoria.
+     * 
+     * @param consumidor Recibe cada empleado como DTO, en orden de ID
+     */
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<EmpleadoResponseDTO> consumidor) {
+        lecturaMasivaRepository.recorrerEmpleadosConProyectos(consumidor);
+    }
+    
     /**
      * Busca un empleado por su ID.
      * 
@@ -48,12 +97,38 @@ public class EmpleadoService {
      * @return EmpleadoResponseDTO con los datos del empleado
      * @throws ResourceNotFoundException Si el empleado no existe
      */
+    @Transactional(readOnly = true)
     public EmpleadoResponseDTO obtenerPorId(Long id) {
         Empleado empleado = empleadoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Empleado", "id", id));
         return new EmpleadoResponseDTO(empleado);
     }
     
+    /**
+     * Busca varios empleados por sus IDs.
+     * Los IDs se resuelven con consultas IN por lotes que también cargan los
+     * proyectos de cada empleado.
+     * 
+     * @param ids IDs de los empleados
+     * @return Un resultado por ID, en el orden solicitado, indicando si fue encontrado
+     * @throws IllegalArgumentException Si la lista está vacía o supera el máximo permitido
+     */
+    @Transactional(readOnly = true)
+    public List<ResultadoPorIdDTO<EmpleadoResponseDTO>> obtenerPorIds(List<Long> ids) {
+        List<Long> distintos = Lotes.distintos(ids, maxIdsPorConsulta);
+        
+        Map<Long, EmpleadoResponseDTO> encontrados = new HashMap<>();
+        for (List<Long> lote : Lotes.particionar(distintos, tamanioLote)) {
+            for (Empleado empleado : empleadoRepository.findByIdIn(lote)) {
+                encontrados.put(empleado.getId(), new EmpleadoResponseDTO(empleado));
+            }
+        }
+        
+        return ids.stream()
+            .map(id -> new ResultadoPorIdDTO<>(id, encontrados.get(id)))
+            .collect(Collectors.toList());
+    }
+    
     /**
      * Busca un empleado por su email.
      * 
@@ -61,6 +136,7 @@ public class EmpleadoService {
      * @return EmpleadoResponseDTO con los datos del empleado
      * @throws ResourceNotFoundException Si el empleado no existe
      */
+    @Transactional(readOnly = true)
     public EmpleadoResponseDTO obtenerPorEmail(String email) {
         Empleado empleado = empleadoRepository.findByEmail(email)
             .orElseThrow(() -> new ResourceNotFoundException("Empleado", "email", email));
@@ -74,6 +150,7 @@ public class EmpleadoService {
      * @return EmpleadoResponseDTO con los datos del empleado
      * @throws ResourceNotFoundException Si el empleado no existe
      */
+    @Transactional(readOnly = true)
     public EmpleadoResponseDTO obtenerPorLegajo(String legajo) {
         Empleado empleado = empleadoRepository.findByLegajo(legajo)
             .orElseThrow(() -> new ResourceNotFoundException("Empleado", "legajo", legajo));
@@ -82,17 +159,18 @@ public class EmpleadoService {
     
     /**
      * Crea un nuevo empleado.
-     * Valida que el email y legajo sean únicos.
+     * Valida que el email y legajo sean únicos, también frente a los empleados
+     * dados de baja que aún no se purgaron.
      * 
      * @param empleadoDTO DTO con los datos del empleado a crear
      * @return EmpleadoResponseDTO del empleado creado
      * @throws DuplicateResourceException Si el email o legajo ya existen
      */
     public EmpleadoResponseDTO crear(EmpleadoDTO empleadoDTO) {
-        if (empleadoRepository.existsByEmail(empleadoDTO.getEmail())) {
+        if (empleadoRepository.contarPorEmail(empleadoDTO.getEmail()) > 0) {
             throw new DuplicateResourceException("Empleado", "email", empleadoDTO.getEmail());
         }
-        if (empleadoRepository.existsByLegajo(empleadoDTO.getLegajo())) {
+        if (empleadoRepository.contarPorLegajo(empleadoDTO.getLegajo()) > 0) {
             throw new DuplicateResourceException("Empleado", "legajo", empleadoDTO.getLegajo());
         }
         
@@ -101,10 +179,11 @@ public class EmpleadoService {
             empleadoDTO.getApellido(),
             empleadoDTO.getEmail(),
             empleadoDTO.getLegajo(),
-            empleadoDTO.getDepartamento()
+            departamentoService.referencia(empleadoDTO.getDepartamento())
         );
         
         Empleado empleadoGuardado = empleadoRepository.save(empleado);
+        eventPublisher.publishEvent(new EntidadGuardadaEvent(Empleado.class, empleadoGuardado.getId()));
         return new EmpleadoResponseDTO(empleadoGuardado);
     }
     
@@ -117,19 +196,20 @@ public class EmpleadoService {
      * @throws ResourceNotFoundException Si el empleado no existe
      * @throws DuplicateResourceException Si hay conflictos de email/legajo
      */
+    @ReintentoTransitorio
     public EmpleadoResponseDTO actualizar(Long id, EmpleadoDTO empleadoDTO) {
         Empleado empleadoExistente = empleadoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Empleado", "id", id));
         
         // Validar email único si cambió
         if (!empleadoExistente.getEmail().equals(empleadoDTO.getEmail()) && 
-            empleadoRepository.existsByEmail(empleadoDTO.getEmail())) {
+            empleadoRepository.contarPorEmail(empleadoDTO.getEmail()) > 0) {
             throw new DuplicateResourceException("Empleado", "email", empleadoDTO.getEmail());
         }
         
         // Validar legajo único si cambió
         if (!empleadoExistente.getLegajo().equals(empleadoDTO.getLegajo()) && 
-            empleadoRepository.existsByLegajo(empleadoDTO.getLegajo())) {
+            empleadoRepository.contarPorLegajo(empleadoDTO.getLegajo()) > 0) {
             throw new DuplicateResourceException("Empleado", "legajo", empleadoDTO.getLegajo());
         }
         
@@ -137,24 +217,97 @@ public class EmpleadoService {
         empleadoExistente.setApellido(empleadoDTO.getApellido());
         empleadoExistente.setEmail(empleadoDTO.getEmail());
         empleadoExistente.setLegajo(empleadoDTO.getLegajo());
-        empleadoExistente.setDepartamento(empleadoDTO.getDepartamento());
+        empleadoExistente.setDepartamento(departamentoService.referencia(empleadoDTO.getDepartamento()));
         
         Empleado empleadoActualizado = empleadoRepository.save(empleadoExistente);
+        eventPublisher.publishEvent(new EntidadGuardadaEvent(Empleado.class, id));
         return new EmpleadoResponseDTO(empleadoActualizado);
     }
     
+    /**
+     * Cambia solo el departamento de un empleado, sin validar ni reescribir el
+     * resto de sus datos. Se usa desde los trabajos masivos.
+     * 
+     * @param id ID del empleado
+     * @param departamento Nombre del departamento de destino; vacío o null para ninguno
+     * @throws ResourceNotFoundException Si el empleado no existe
+     */
+    @ReintentoTransitorio
+    public void cambiarDepartamento(Long id, String departamento) {
+        Empleado empleado = empleadoRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Empleado", "id", id));
+        empleado.setDepartamento(departamentoService.referencia(departamento));
+        eventPublisher.publishEvent(new EntidadGuardadaEvent(Empleado.class, id));
+    }
+    
+    /**
+     * Cambia el departamento de varios empleados sin cargar las filas ni
+     * validar email y legajo, que no cambian. Por IDs se actualiza con UPDATE
+     * por lotes; por departamento actual, con un único UPDATE sobre la columna,
+     * sin límite de empleados. Las cachés se invalidan una sola vez con un
+     * EntidadesGuardadasEvent al confirmarse.
+     * 
+     * @param cambio Departamento de destino y empleados a mover, por IDs o por departamento actual
+     * @return Cantidad de empleados solicitados y actualizados
+     * @throws IllegalArgumentException Si no se indica exactamente un criterio o hay demasiados IDs
+     * @throws ResourceNotFoundException Si el departamento actual no existe
+     */
+    @ReintentoTransitorio
+    public ResultadoCambioDepartamentoDTO cambiarDepartamento(CambioDepartamentoDTO cambio) {
+        boolean porIds = cambio.getIds() != null && !cambio.getIds().isEmpty();
+        boolean porDepartamento = cambio.getDepartamentoActual() != null && !cambio.getDepartamentoActual().isBlank();
+        if (porIds == porDepartamento) {
+            throw new IllegalArgumentException("Debe indicar ids o departamentoActual, pero no ambos");
+        }
+        
+        List<Long> ids;
+        int actualizados = 0;
+        Departamento destino;
+        if (porIds) {
+            ids = Lotes.distintos(cambio.getIds(), maxCambioMasivo);
+            destino = departamentoService.referencia(cambio.getDepartamento());
+            for (List<Long> lote : Lotes.particionar(ids, tamanioLote)) {
+                actualizados += empleadoRepository.cambiarDepartamento(lote, destino);
+            }
+        } else {
+            Long origenId = departamentoService.buscarId(cambio.getDepartamentoActual());
+            if (origenId == null) {
+                throw new ResourceNotFoundException("Departamento", "nombre", cambio.getDepartamentoActual());
+            }
+            // Solo para el evento: lectura sobre el índice, sin cargar las filas
+            ids = empleadoRepository.findIdsByDepartamento(origenId);
+            destino = departamentoService.referencia(cambio.getDepartamento());
+            actualizados = empleadoRepository.moverDepartamento(origenId, destino);
+            if (actualizados != ids.size()) {
+                // Un alta o un cambio concurrente alteró el departamento entre la lectura y el
+                // UPDATE; se invalida todo el destino para no dejar a nadie con el anterior
+                ids = destino != null
+                    ? empleadoRepository.findIdsByDepartamento(destino.getId())
+                    : empleadoRepository.findIdsSinDepartamento();
+            }
+        }
+        if (actualizados > 0) {
+            eventPublisher.publishEvent(new EntidadesGuardadasEvent(Empleado.class, new ArrayList<>(ids)));
+        }
+        return new ResultadoCambioDepartamentoDTO(destino != null ? departamentoService.nombreDe(destino.getId()) : null,
+            ids.size(), actualizados);
+    }
+    
     /**
      * Elimina un empleado por su ID.
-     * Las relaciones con proyectos se actualizan en cascada.
+     * Es una baja lógica de una sola fila: desde ese momento el empleado no
+     * aparece en ninguna consulta, y PurgadorEliminados descuenta los
+     * contadores, borra sus filas de proyecto_empleado y lo elimina por lotes.
      * 
      * @param id ID del empleado a eliminar
      * @throws ResourceNotFoundException Si el empleado no existe
      */
+    @ReintentoTransitorio
     public void eliminar(Long id) {
-        if (!empleadoRepository.existsById(id)) {
+        if (empleadoRepository.marcarEliminado(id) == 0) {
             throw new ResourceNotFoundException("Empleado", "id", id);
         }
-        empleadoRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntidadEliminadaEvent(Empleado.class, id));
     }
     
     /**
@@ -165,6 +318,8 @@ public class EmpleadoService {
      * @return EmpleadoResponseDTO del empleado actualizado
      * @throws ResourceNotFoundException Si el empleado o proyecto no existen
      */
+    @ReintentoTransitorio
+    @BloqueoEntidades(proyecto = "proyectoId", empleado = "empleadoId")
     public EmpleadoResponseDTO asignarProyecto(Long empleadoId, Long proyectoId) {
         Empleado empleado = empleadoRepository.findById(empleadoId)
             .orElseThrow(() -> new ResourceNotFoundException("Empleado", "id", empleadoId));
@@ -176,6 +331,8 @@ public class EmpleadoService {
             empleado.getProyectos().add(proyecto);
             proyecto.getEmpleados().add(empleado);
             proyectoRepository.save(proyecto);
+            ajustarContadores(empleado, proyecto, 1);
+            eventPublisher.publishEvent(new CambioMembresiaEvent(empleadoId, proyectoId, true));
         }
         
         Empleado empleadoActualizado = empleadoRepository.save(empleado);
@@ -190,6 +347,8 @@ public class EmpleadoService {
      * @return EmpleadoResponseDTO del empleado actualizado
      * @throws ResourceNotFoundException Si el empleado o proyecto no existen
      */
+    @ReintentoTransitorio
+    @BloqueoEntidades(proyecto = "proyectoId", empleado = "empleadoId")
     public EmpleadoResponseDTO removerProyecto(Long empleadoId, Long proyectoId) {
         Empleado empleado = empleadoRepository.findById(empleadoId)
             .orElseThrow(() -> new ResourceNotFoundException("Empleado", "id", empleadoId));
@@ -197,12 +356,25 @@ public class EmpleadoService {
         Proyecto proyecto = proyectoRepository.findById(proyectoId)
             .orElseThrow(() -> new ResourceNotFoundException("Proyecto", "id", proyectoId));
         
-        empleado.getProyectos().remove(proyecto);
-        proyecto.getEmpleados().remove(empleado);
-        proyectoRepository.save(proyecto);
+        // Se borra solo la fila: quitarla de la colección haría que Hibernate la
+        // recree sin las asignaciones de empleados dados de baja
+        if (proyectoRepository.eliminarAsignaciones(List.of(proyectoId), List.of(empleadoId)) > 0) {
+            ajustarContadores(empleado, proyecto, -1);
+            eventPublisher.publishEvent(new CambioMembresiaEvent(empleadoId, proyectoId, false));
+        }
         
-        Empleado empleadoActualizado = empleadoRepository.save(empleado);
-        return new EmpleadoResponseDTO(empleadoActualizado);
+        return new EmpleadoResponseDTO(empleado);
+    }
+    
+    /**
+     * Actualiza los contadores de ambos lados de la relación con UPDATE
+     * atómicos dentro de la transacción de la asignación, y refleja el cambio
+     * en las entidades cargadas para la respuesta.
+     */
+    private void ajustarContadores(Empleado empleado, Proyecto proyecto, long delta) {
+        empleadoRepository.ajustarCantidadProyectos(empleado.getId(), delta);
+        proyectoRepository.ajustarCantidadEmpleados(proyecto.getId(), delta);
+        empleado.setCantidadProyectos(empleado.getCantidadProyectos() + delta);
+        proyecto.setCantidadEmpleados(proyecto.getCantidadEmpleados() + delta);
     }
 }
-
@@ -0,0 +1,105 @@
+package com.coderhouse.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.repository.CambioRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Escribe periódicamente la instantánea del directorio en disco y purga el
+ * registro de cambios más antiguo que la retención.
+ *
+ * La marca de agua es el último cambio registrado hace más de
+ * app.instantanea.margen-ms y se toma antes de capturar los datos. Al cargar
+ * solo se reproducen los cambios con ID mayor a la marca, por lo que se asume
+ * que toda transacción confirma y se aplica en memoria dentro del margen
+ * desde que registra su cambio (el registro se inserta justo antes del commit,
+ * ver {@link RegistroCambios}). Un cambio cuya confirmación tarde más que el
+ * margen y termine después de la captura queda por debajo de la marca y no se
+ * reproduce: esa fila queda desactualizada en la instantánea cargada hasta su
+ * próximo cambio o hasta una carga completa desde la base. Los cambios por
+ * encima de la marca que ya estaban capturados se reproducen de nuevo, lo que
+ * no altera el resultado porque la reproducción relee el estado actual.
+ */
+@Service
+@ConditionalOnProperty(name = "app.instantanea.enabled", havingValue = "true")
+public class EscritorInstantanea {
+
+    private static final Logger log = LoggerFactory.getLogger(EscritorInstantanea.class);
+
+    @Autowired
+    private CargaDirectorio cargaDirectorio;
+
+    @Autowired(required = false)
+    private ModeloLecturaService modeloLectura;
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.instantanea.archivo:data/directorio.snap}")
+    private String archivo;
+
+    @Value("${app.instantanea.margen-ms:60000}")
+    private long margenMs;
+
+    @Value("${app.instantanea.retencion-cambios-ms:86400000}")
+    private long retencionMs;
+
+    /**
+     * Captura y escribe la instantánea. Si el modelo de lectura está habilitado
+     * se vuelca desde memoria; si no, se lee la base completa.
+     */
+    @Scheduled(initialDelayString = "${app.instantanea.intervalo-ms:600000}",
+               fixedDelayString = "${app.instantanea.intervalo-ms:600000}")
+    public synchronized void escribir() {
+        long inicio = System.nanoTime();
+        long capturadaEn = System.currentTimeMillis();
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        Long marcaAgua = transaccion.execute(estado ->
+            cambioRepository.maxIdAnteriorA(LocalDateTime.now().minus(Duration.ofMillis(margenMs))));
+        InstantaneaDirectorio directorio = modeloLectura != null ? modeloLectura.instantanea() : cargaDirectorio.desdeBase();
+
+        Path ruta = Path.of(archivo);
+        try {
+            long bytes = FormatoInstantanea.escribir(ruta, directorio, marcaAgua, capturadaEn);
+            log.info("Instantánea escrita en {}: {} empleados, {} proyectos, {} KB, marca {} en {} ms", ruta,
+                directorio.empleados().cantidad(), directorio.proyectos().cantidad(), bytes / 1024, marcaAgua,
+                (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            log.error("No se pudo escribir la instantánea {}", ruta, e);
+            return;
+        }
+
+        Integer purgados = transaccion.execute(estado ->
+            cambioRepository.eliminarAnterioresA(LocalDateTime.now().minus(Duration.ofMillis(retencionMs))));
+        if (purgados != null && purgados > 0) {
+            log.info("Registro de cambios: {} entradas purgadas", purgados);
+        }
+    }
+
+    /**
+     * Deja una instantánea reciente al detener la aplicación, para que el
+     * próximo arranque tenga pocos cambios que reproducir.
+     */
+    @PreDestroy
+    void escribirAlDetener() {
+        escribir();
+    }
+}
@@ -0,0 +1,259 @@
+package com.coderhouse.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.coderhouse.service.InstantaneaDirectorio.FilaEmpleado;
+import com.coderhouse.service.InstantaneaDirectorio.FilaProyecto;
+
+/**
+ * Formato binario versionado de la instantánea del directorio en disco.
+ *
+ * Estructura (enteros big-endian, textos como longitud + UTF-8, -1 = null):
+ * - Encabezado: magic "DIRS", versión de formato, marca de agua (último ID
+ *   del registro de cambios incluido) y momento de captura en milisegundos
+ * - Diccionario de departamentos
+ * - Empleados: ID, datos, código de departamento, fecha de ingreso e IDs de proyectos
+ * - Proyectos: ID, nombre, descripción e IDs de empleados
+ * - CRC32 de todo lo anterior
+ *
+ * El archivo se escribe en uno temporal que luego reemplaza al anterior con
+ * un movimiento atómico, y se lee mapeándolo en memoria con FileChannel.map.
+ */
+final class FormatoInstantanea {
+
+    private static final int MAGIC = 0x44495253;
+    private static final int VERSION_FORMATO = 1;
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+
+    private FormatoInstantanea() {
+    }
+
+    /**
+     * Contenido leído de un archivo de instantánea.
+     */
+    static final class Contenido {
+
+        final InstantaneaDirectorio directorio;
+        final long marcaAgua;
+        final long capturadaEn;
+
+        Contenido(InstantaneaDirectorio directorio, long marcaAgua, long capturadaEn) {
+            this.directorio = directorio;
+            this.marcaAgua = marcaAgua;
+            this.capturadaEn = capturadaEn;
+        }
+    }
+
+    /**
+     * Escribe la instantánea reemplazando atómicamente el archivo existente.
+     *
+     * @return Tamaño del archivo en bytes
+     */
+    static long escribir(Path archivo, InstantaneaDirectorio directorio, long marcaAgua, long capturadaEn)
+            throws IOException {
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        Files.createDirectories(carpeta);
+        Path temporal = Files.createTempFile(carpeta, archivo.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream salida = Files.newOutputStream(temporal)) {
+                DataOutputStream datos = new DataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(salida, 1 << 16), crc));
+                datos.writeInt(MAGIC);
+                datos.writeInt(VERSION_FORMATO);
+                datos.writeLong(marcaAgua);
+                datos.writeLong(capturadaEn);
+
+                datos.writeInt(directorio.cantidadDepartamentos());
+                for (int codigo = 0; codigo < directorio.cantidadDepartamentos(); codigo++) {
+                    escribirTexto(datos, directorio.nombreDepartamento(codigo));
+                }
+
+                datos.writeInt(directorio.empleados().cantidad());
+                EscrituraFilas escritura = new EscrituraFilas(datos);
+                directorio.empleados().recorrer(escritura::empleado);
+                escritura.verificar();
+
+                datos.writeInt(directorio.proyectos().cantidad());
+                directorio.proyectos().recorrer(escritura::proyecto);
+                escritura.verificar();
+
+                datos.flush();
+                // El CRC se escribe fuera del flujo verificado
+                DataOutputStream pie = new DataOutputStream(salida);
+                pie.writeLong(crc.getValue());
+                pie.flush();
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(archivo);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Lee una instantánea mapeando el archivo en memoria.
+     *
+     * @throws IOException Si el archivo no se puede leer, es de otra versión o está dañado
+     */
+    static Contenido leer(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            if (tamanio > Integer.MAX_VALUE) {
+                throw new IOException("Instantánea demasiado grande para un único mapeo: " + tamanio + " bytes");
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanio);
+            if (tamanio < 32 || buffer.getInt(0) != MAGIC) {
+                throw new IOException("El archivo no es una instantánea del directorio");
+            }
+            if (buffer.getInt(4) != VERSION_FORMATO) {
+                throw new IOException("Versión de formato no soportada: " + buffer.getInt(4));
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) tamanio - Long.BYTES));
+            if (crc.getValue() != buffer.getLong((int) tamanio - Long.BYTES)) {
+                throw new IOException("CRC inválido: la instantánea está dañada o incompleta");
+            }
+
+            buffer.position(8);
+            long marcaAgua = buffer.getLong();
+            long capturadaEn = buffer.getLong();
+
+            String[] departamentos = new String[buffer.getInt()];
+            for (int i = 0; i < departamentos.length; i++) {
+                departamentos[i] = leerTexto(buffer);
+            }
+
+            InstantaneaDirectorio.Constructor constructor = new InstantaneaDirectorio.Constructor();
+            int empleados = buffer.getInt();
+            for (int i = 0; i < empleados; i++) {
+                long id = buffer.getLong();
+                String nombre = leerTexto(buffer);
+                String apellido = leerTexto(buffer);
+                String email = leerTexto(buffer);
+                String legajo = leerTexto(buffer);
+                int departamento = buffer.getInt();
+                long segundos = buffer.getLong();
+                int nanos = buffer.getInt();
+                LocalDateTime fechaIngreso = segundos == SIN_FECHA ? null
+                    : LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+                constructor.agregarEmpleado(id, nombre, apellido, email, legajo,
+                    departamento == InstantaneaDirectorio.SIN_DEPARTAMENTO ? null : departamentos[departamento],
+                    fechaIngreso);
+                constructor.asignarProyectos(id, leerIds(buffer));
+            }
+            int proyectos = buffer.getInt();
+            for (int i = 0; i < proyectos; i++) {
+                long id = buffer.getLong();
+                constructor.agregarProyecto(id, leerTexto(buffer), leerTexto(buffer));
+                constructor.asignarEmpleados(id, leerIds(buffer));
+            }
+            return new Contenido(constructor.construir(1), marcaAgua, capturadaEn);
+        } catch (RuntimeException e) {
+            // Un buffer mal formado que pasó el CRC (por ejemplo, de un escritor con un error) no debe impedir el arranque
+            throw new IOException("Instantánea mal formada", e);
+        }
+    }
+
+    private static void escribirTexto(DataOutputStream datos, String texto) throws IOException {
+        if (texto == null) {
+            datos.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        datos.writeInt(bytes.length);
+        datos.write(bytes);
+    }
+
+    private static String leerTexto(ByteBuffer buffer) {
+        int longitud = buffer.getInt();
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void escribirIds(DataOutputStream datos, long[] ids) throws IOException {
+        datos.writeInt(ids.length);
+        for (long id : ids) {
+            datos.writeLong(id);
+        }
+    }
+
+    private static long[] leerIds(ByteBuffer buffer) {
+        long[] ids = new long[buffer.getInt()];
+        buffer.asLongBuffer().get(ids);
+        buffer.position(buffer.position() + ids.length * Long.BYTES);
+        return ids;
+    }
+
+    /**
+     * Escribe filas desde un recorrido con Consumer y guarda la primera
+     * IOException para relanzarla al terminar.
+     */
+    private static final class EscrituraFilas {
+
+        private final DataOutputStream datos;
+        private IOException error;
+
+        EscrituraFilas(DataOutputStream datos) {
+            this.datos = datos;
+        }
+
+        void empleado(FilaEmpleado fila) {
+            if (error != null) {
+                return;
+            }
+            try {
+                datos.writeLong(fila.id);
+                escribirTexto(datos, fila.nombre);
+                escribirTexto(datos, fila.apellido);
+                escribirTexto(datos, fila.email);
+                escribirTexto(datos, fila.legajo);
+                datos.writeInt(fila.departamento);
+                datos.writeLong(fila.fechaIngreso != null ? fila.fechaIngreso.toEpochSecond(ZoneOffset.UTC) : SIN_FECHA);
+                datos.writeInt(fila.fechaIngreso != null ? fila.fechaIngreso.getNano() : 0);
+                escribirIds(datos, fila.proyectos);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+
+        void proyecto(FilaProyecto fila) {
+            if (error != null) {
+                return;
+            }
+            try {
+                datos.writeLong(fila.id);
+                escribirTexto(datos, fila.nombre);
+                escribirTexto(datos, fila.descripcion);
+                escribirIds(datos, fila.empleados);
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+
+        void verificar() throws IOException {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+}
@@ -0,0 +1,734 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Instantánea inmutable del grafo bipartito Empleado-Proyecto en formato CSR
+ * (compressed sparse row): para cada lado, un arreglo de offsets y un arreglo
+ * de destinos, ambos de int, indexados por posiciones densas.
+ *
+ * Las posiciones densas son el índice del ID en los arreglos ordenados
+ * idsEmpleado/idsProyecto, que se resuelven con búsqueda binaria.
+ * Los compañeros de un empleado se obtienen recorriendo los miembros de sus
+ * proyectos, sin materializar las aristas empleado-empleado.
+ *
+ * Memoria aproximada para V empleados, P proyectos y E asignaciones:
+ * 12·(V + P) + 8·E bytes. Un millón de empleados con tres proyectos cada uno
+ * y cien mil proyectos ocupan unos 37 MB.
+ *
+ * Los cambios no reconstruyen los arreglos CSR: {@link #conCambios} devuelve
+ * una instantánea que los comparte y agrega una superposición con la lista
+ * completa de vecinos de cada empleado o proyecto modificado (y posiciones
+ * nuevas, a continuación de las del CSR, para los IDs que no estaban). Las
+ * consultas toman la lista de la superposición cuando existe y el tramo del
+ * CSR en caso contrario. {@link #compactada} vuelca todo en un CSR nuevo.
+ */
+final class GrafoColaboracion {
+
+    /** Tamaño de rango por debajo del cual las tareas fork/join se procesan secuencialmente. */
+    private static final int UMBRAL_SECUENCIAL = 1024;
+
+    private final long version;
+    private final long[] idsEmpleado;
+    private final long[] idsProyecto;
+    private final int[] offsetsEmpleado;
+    private final int[] proyectosDeEmpleado;
+    private final int[] offsetsProyecto;
+    private final int[] empleadosDeProyecto;
+    private final Superposicion superposicion;
+
+    /** Grado de colaboración por empleado, calculado a demanda una sola vez. */
+    private volatile int[] grados;
+
+    private GrafoColaboracion(long version, long[] idsEmpleado, long[] idsProyecto,
+                              int[] offsetsEmpleado, int[] proyectosDeEmpleado,
+                              int[] offsetsProyecto, int[] empleadosDeProyecto,
+                              Superposicion superposicion) {
+        this.version = version;
+        this.idsEmpleado = idsEmpleado;
+        this.idsProyecto = idsProyecto;
+        this.offsetsEmpleado = offsetsEmpleado;
+        this.proyectosDeEmpleado = proyectosDeEmpleado;
+        this.offsetsProyecto = offsetsProyecto;
+        this.empleadosDeProyecto = empleadosDeProyecto;
+        this.superposicion = superposicion;
+    }
+
+    /**
+     * Construye una instantánea a partir de una lista de asignaciones.
+     * Las asignaciones repetidas se descartan.
+     *
+     * @param empleados IDs de empleado de cada asignación
+     * @param proyectos IDs de proyecto de cada asignación
+     * @param cantidad Cantidad de posiciones válidas en ambos arreglos
+     * @param version Número de versión de la instantánea
+     */
+    static GrafoColaboracion construir(long[] empleados, long[] proyectos, int cantidad, long version) {
+        long[] idsEmpleado = distintosOrdenados(empleados, cantidad);
+        long[] idsProyecto = distintosOrdenados(proyectos, cantidad);
+
+        // Cada arista se codifica como (empleado << 32 | proyecto) para ordenarla y deduplicarla
+        long[] aristas = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            long empleado = Arrays.binarySearch(idsEmpleado, empleados[i]);
+            long proyecto = Arrays.binarySearch(idsProyecto, proyectos[i]);
+            aristas[i] = (empleado << 32) | proyecto;
+        }
+        Arrays.parallelSort(aristas);
+        int total = deduplicar(aristas, cantidad);
+
+        int[] offsetsEmpleado = new int[idsEmpleado.length + 1];
+        int[] proyectosDeEmpleado = new int[total];
+        int[] offsetsProyecto = new int[idsProyecto.length + 1];
+        for (int i = 0; i < total; i++) {
+            offsetsEmpleado[(int) (aristas[i] >>> 32) + 1]++;
+            offsetsProyecto[(int) aristas[i] + 1]++;
+            proyectosDeEmpleado[i] = (int) aristas[i];
+        }
+        acumular(offsetsEmpleado);
+        acumular(offsetsProyecto);
+
+        // Las aristas están ordenadas por empleado, así que cada proyecto recibe sus miembros ya ordenados
+        int[] empleadosDeProyecto = new int[total];
+        int[] siguiente = Arrays.copyOf(offsetsProyecto, idsProyecto.length);
+        for (int i = 0; i < total; i++) {
+            empleadosDeProyecto[siguiente[(int) aristas[i]]++] = (int) (aristas[i] >>> 32);
+        }
+        return new GrafoColaboracion(version, idsEmpleado, idsProyecto,
+            offsetsEmpleado, proyectosDeEmpleado, offsetsProyecto, empleadosDeProyecto, new Superposicion());
+    }
+
+    static GrafoColaboracion vacio() {
+        return construir(new long[0], new long[0], 0, 0);
+    }
+
+    /**
+     * Devuelve una instantánea con los cambios aplicados, en orden, sobre una
+     * copia de la superposición. Los arreglos CSR se comparten. Si esta
+     * instantánea ya tenía los grados calculados, se copian y se recalculan
+     * solo los de los empleados cuyos compañeros pudieron cambiar.
+     *
+     * @param cambios Cambios confirmados, en el orden en que ocurrieron
+     * @param version Número de versión de la nueva instantánea
+     */
+    GrafoColaboracion conCambios(List<Cambio> cambios, long version) {
+        GrafoColaboracion nuevo = new GrafoColaboracion(version, idsEmpleado, idsProyecto,
+            offsetsEmpleado, proyectosDeEmpleado, offsetsProyecto, empleadosDeProyecto, superposicion.copia());
+        BitSet afectados = new BitSet();
+        for (Cambio cambio : cambios) {
+            nuevo.aplicar(cambio, afectados);
+        }
+
+        int[] previos = grados;
+        if (previos != null && afectados.cardinality() <= nuevo.cantidadEmpleados() / 4) {
+            int[] recalculados = Arrays.copyOf(previos, nuevo.cantidadEmpleados());
+            int[] marcas = new int[nuevo.cantidadEmpleados()];
+            for (int empleado = afectados.nextSetBit(0); empleado >= 0; empleado = afectados.nextSetBit(empleado + 1)) {
+                recalculados[empleado] = nuevo.grado(empleado, marcas);
+            }
+            nuevo.grados = recalculados;
+        }
+        return nuevo;
+    }
+
+    /**
+     * Reconstruye los arreglos CSR con la superposición incluida. Los
+     * empleados y proyectos que quedaron sin asignaciones dejan de estar.
+     */
+    GrafoColaboracion compactada() {
+        int total = cantidadAsignaciones();
+        long[] empleados = new long[total];
+        long[] proyectos = new long[total];
+        int n = 0;
+        for (int empleado = 0; empleado < cantidadEmpleados(); empleado++) {
+            int[] lista = proyectosDe(empleado);
+            for (int i = inicioProyectos(empleado); i < finProyectos(empleado); i++) {
+                empleados[n] = idEmpleado(empleado);
+                proyectos[n++] = idProyecto(lista[i]);
+            }
+        }
+        return construir(empleados, proyectos, n, version);
+    }
+
+    /** Cantidad de listas de vecinos guardadas en la superposición. */
+    int tamanioSuperposicion() {
+        return superposicion.proyectosPorEmpleado.size() + superposicion.empleadosPorProyecto.size();
+    }
+
+    private void aplicar(Cambio cambio, BitSet afectados) {
+        Superposicion s = superposicion;
+        switch (cambio.tipo) {
+            case ASIGNACION:
+            case REMOCION: {
+                boolean asignar = cambio.tipo == Cambio.Tipo.ASIGNACION;
+                int empleado = asignar ? s.posicionEmpleado(this, cambio.empleadoId) : posicionEmpleado(cambio.empleadoId);
+                int proyecto = asignar ? s.posicionProyecto(this, cambio.proyectoId) : posicionProyecto(cambio.proyectoId);
+                if (empleado < 0 || proyecto < 0) {
+                    return;
+                }
+                int[] proyectos = listaProyectos(empleado);
+                int[] miembros = listaEmpleados(proyecto);
+                boolean presente = Arrays.binarySearch(proyectos, proyecto) >= 0;
+                if (asignar == presente) {
+                    return;
+                }
+                marcarMiembros(miembros, afectados);
+                afectados.set(empleado);
+                s.proyectosPorEmpleado(empleado, asignar ? insertar(proyectos, proyecto) : quitar(proyectos, proyecto));
+                s.empleadosPorProyecto(proyecto, asignar ? insertar(miembros, empleado) : quitar(miembros, empleado));
+                s.asignaciones += asignar ? 1 : -1;
+                return;
+            }
+            case BAJA_EMPLEADO: {
+                int empleado = posicionEmpleado(cambio.empleadoId);
+                if (empleado < 0) {
+                    return;
+                }
+                for (int proyecto : listaProyectos(empleado)) {
+                    int[] miembros = listaEmpleados(proyecto);
+                    marcarMiembros(miembros, afectados);
+                    s.empleadosPorProyecto(proyecto, quitar(miembros, empleado));
+                    s.asignaciones--;
+                }
+                afectados.set(empleado);
+                s.proyectosPorEmpleado(empleado, new int[0]);
+                return;
+            }
+            case BAJA_PROYECTO: {
+                int proyecto = posicionProyecto(cambio.proyectoId);
+                if (proyecto < 0) {
+                    return;
+                }
+                int[] miembros = listaEmpleados(proyecto);
+                marcarMiembros(miembros, afectados);
+                for (int empleado : miembros) {
+                    s.proyectosPorEmpleado(empleado, quitar(listaProyectos(empleado), proyecto));
+                    s.asignaciones--;
+                }
+                s.empleadosPorProyecto(proyecto, new int[0]);
+                return;
+            }
+            default:
+                throw new IllegalArgumentException("Cambio no soportado: " + cambio.tipo);
+        }
+    }
+
+    /** Los compañeros de cada miembro pueden cambiar, así que su grado también. */
+    private void marcarMiembros(int[] miembros, BitSet afectados) {
+        for (int miembro : miembros) {
+            afectados.set(miembro);
+        }
+    }
+
+    /** Copia de los proyectos actuales de un empleado, ordenados. */
+    private int[] listaProyectos(int empleado) {
+        return Arrays.copyOfRange(proyectosDe(empleado), inicioProyectos(empleado), finProyectos(empleado));
+    }
+
+    /** Copia de los miembros actuales de un proyecto, ordenados. */
+    private int[] listaEmpleados(int proyecto) {
+        return Arrays.copyOfRange(empleadosDe(proyecto), inicioEmpleados(proyecto), finEmpleados(proyecto));
+    }
+
+    // Consultas de estructura
+
+    long getVersion() {
+        return version;
+    }
+
+    /** Cantidad de posiciones de empleado, incluidas las agregadas por la superposición. */
+    int cantidadEmpleados() {
+        return idsEmpleado.length + superposicion.idsEmpleadoNuevos.size();
+    }
+
+    /** Cantidad de posiciones de proyecto, incluidas las agregadas por la superposición. */
+    int cantidadProyectos() {
+        return idsProyecto.length + superposicion.idsProyectoNuevos.size();
+    }
+
+    int cantidadAsignaciones() {
+        return proyectosDeEmpleado.length + superposicion.asignaciones;
+    }
+
+    long bytesEstimados() {
+        return 8L * (idsEmpleado.length + idsProyecto.length)
+             + 4L * (offsetsEmpleado.length + offsetsProyecto.length)
+             + 4L * (proyectosDeEmpleado.length + empleadosDeProyecto.length)
+             + superposicion.bytesEstimados();
+    }
+
+    /** Posición densa de un empleado, o -1 si no tiene asignaciones. */
+    int empleado(long id) {
+        int posicion = posicionEmpleado(id);
+        return posicion >= 0 && finProyectos(posicion) > inicioProyectos(posicion) ? posicion : -1;
+    }
+
+    /** Posición densa de un proyecto, o -1 si no tiene asignaciones. */
+    int proyecto(long id) {
+        int posicion = posicionProyecto(id);
+        return posicion >= 0 && finEmpleados(posicion) > inicioEmpleados(posicion) ? posicion : -1;
+    }
+
+    private int posicionEmpleado(long id) {
+        int posicion = Arrays.binarySearch(idsEmpleado, id);
+        return posicion >= 0 ? posicion : superposicion.empleadosNuevos.getOrDefault(id, -1);
+    }
+
+    private int posicionProyecto(long id) {
+        int posicion = Arrays.binarySearch(idsProyecto, id);
+        return posicion >= 0 ? posicion : superposicion.proyectosNuevos.getOrDefault(id, -1);
+    }
+
+    long idEmpleado(int empleado) {
+        return empleado < idsEmpleado.length
+            ? idsEmpleado[empleado] : superposicion.idsEmpleadoNuevos.get(empleado - idsEmpleado.length);
+    }
+
+    long idProyecto(int proyecto) {
+        return proyecto < idsProyecto.length
+            ? idsProyecto[proyecto] : superposicion.idsProyectoNuevos.get(proyecto - idsProyecto.length);
+    }
+
+    /**
+     * Arreglo con los proyectos del empleado entre {@link #inicioProyectos}
+     * y {@link #finProyectos}: la lista de la superposición o el CSR.
+     */
+    int[] proyectosDe(int empleado) {
+        int[] propios = superposicion.proyectos(empleado);
+        return propios != null ? propios : proyectosDeEmpleado;
+    }
+
+    int inicioProyectos(int empleado) {
+        return superposicion.proyectos(empleado) != null ? 0 : offsetsEmpleado[empleado];
+    }
+
+    int finProyectos(int empleado) {
+        int[] propios = superposicion.proyectos(empleado);
+        return propios != null ? propios.length : offsetsEmpleado[empleado + 1];
+    }
+
+    /**
+     * Arreglo con los miembros del proyecto entre {@link #inicioEmpleados}
+     * y {@link #finEmpleados}: la lista de la superposición o el CSR.
+     */
+    int[] empleadosDe(int proyecto) {
+        int[] propios = superposicion.empleados(proyecto);
+        return propios != null ? propios : empleadosDeProyecto;
+    }
+
+    int inicioEmpleados(int proyecto) {
+        return superposicion.empleados(proyecto) != null ? 0 : offsetsProyecto[proyecto];
+    }
+
+    int finEmpleados(int proyecto) {
+        int[] propios = superposicion.empleados(proyecto);
+        return propios != null ? propios.length : offsetsProyecto[proyecto + 1];
+    }
+
+    // Algoritmos
+
+    /**
+     * Calcula los compañeros de un empleado y la cantidad de proyectos que comparte con cada uno.
+     *
+     * @return Pares [posición de compañero, proyectos compartidos] ordenados por posición
+     */
+    int[][] companeros(int empleado) {
+        int[] proyectos = proyectosDe(empleado);
+        int desde = inicioProyectos(empleado);
+        int hasta = finProyectos(empleado);
+        int total = 0;
+        for (int i = desde; i < hasta; i++) {
+            total += finEmpleados(proyectos[i]) - inicioEmpleados(proyectos[i]);
+        }
+        int[] miembros = new int[total];
+        int n = 0;
+        for (int i = desde; i < hasta; i++) {
+            int proyecto = proyectos[i];
+            int[] empleados = empleadosDe(proyecto);
+            for (int j = inicioEmpleados(proyecto); j < finEmpleados(proyecto); j++) {
+                if (empleados[j] != empleado) {
+                    miembros[n++] = empleados[j];
+                }
+            }
+        }
+        Arrays.sort(miembros, 0, n);
+
+        int[] posiciones = new int[n];
+        int[] compartidos = new int[n];
+        int distintos = 0;
+        for (int i = 0; i < n; i++) {
+            if (distintos > 0 && posiciones[distintos - 1] == miembros[i]) {
+                compartidos[distintos - 1]++;
+            } else {
+                posiciones[distintos] = miembros[i];
+                compartidos[distintos++] = 1;
+            }
+        }
+        return new int[][] { Arrays.copyOf(posiciones, distintos), Arrays.copyOf(compartidos, distintos) };
+    }
+
+    /**
+     * Retorna la cantidad de compañeros distintos de cada empleado.
+     * Se calcula en paralelo la primera vez y queda asociado a la instantánea.
+     */
+    int[] grados(ForkJoinPool pool) {
+        int[] resultado = grados;
+        if (resultado == null) {
+            synchronized (this) {
+                resultado = grados;
+                if (resultado == null) {
+                    resultado = new int[cantidadEmpleados()];
+                    int tamanioRango = Math.max(UMBRAL_SECUENCIAL,
+                        resultado.length / (pool.getParallelism() * 4) + 1);
+                    pool.invoke(new CalculoGrados(resultado, 0, resultado.length, tamanioRango));
+                    grados = resultado;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta los compañeros distintos de un empleado. Usa como sello la
+     * posición del empleado + 1, así un mismo arreglo de marcas sirve para
+     * varios empleados sin limpiarlo.
+     */
+    private int grado(int empleado, int[] marcas) {
+        int sello = empleado + 1;
+        marcas[empleado] = sello;
+        int grado = 0;
+        int[] proyectos = proyectosDe(empleado);
+        for (int i = inicioProyectos(empleado); i < finProyectos(empleado); i++) {
+            int proyecto = proyectos[i];
+            int[] miembros = empleadosDe(proyecto);
+            for (int j = inicioEmpleados(proyecto); j < finEmpleados(proyecto); j++) {
+                if (marcas[miembros[j]] != sello) {
+                    marcas[miembros[j]] = sello;
+                    grado++;
+                }
+            }
+        }
+        return grado;
+    }
+
+    /**
+     * Calcula los grados de un rango de empleados. Cada hoja marca los
+     * compañeros ya contados en un arreglo propio usando como sello la
+     * posición del empleado, por lo que no necesita limpiarlo entre empleados.
+     */
+    private final class CalculoGrados extends RecursiveAction {
+
+        private final int[] grados;
+        private final int desde;
+        private final int hasta;
+        private final int tamanioRango;
+
+        CalculoGrados(int[] grados, int desde, int hasta, int tamanioRango) {
+            this.grados = grados;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tamanioRango = tamanioRango;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > tamanioRango) {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new CalculoGrados(grados, desde, medio, tamanioRango),
+                          new CalculoGrados(grados, medio, hasta, tamanioRango));
+                return;
+            }
+            int[] marcas = new int[grados.length];
+            for (int empleado = desde; empleado < hasta; empleado++) {
+                grados[empleado] = grado(empleado, marcas);
+            }
+        }
+    }
+
+    /**
+     * Busca el camino de colaboración más corto entre dos empleados con un BFS
+     * por niveles. Cada nivel se expande en paralelo: los empleados y proyectos
+     * se reclaman con compareAndSet, así cada uno se visita una sola vez.
+     *
+     * @return Secuencia alternada empleado, proyecto, empleado, ... (posiciones densas),
+     *         o null si no existe camino
+     */
+    int[] caminoMasCorto(int origen, int destino, ForkJoinPool pool) {
+        if (origen == destino) {
+            return new int[] { origen };
+        }
+        // padre guarda la posición del predecesor + 1; 0 indica no visitado
+        AtomicIntegerArray padre = new AtomicIntegerArray(cantidadEmpleados());
+        AtomicIntegerArray proyectoVisitado = new AtomicIntegerArray(cantidadProyectos());
+        int[] via = new int[cantidadEmpleados()];
+        padre.set(origen, origen + 1);
+
+        int[] frontera = { origen };
+        while (frontera.length > 0 && padre.get(destino) == 0) {
+            frontera = pool.invoke(new ExpansionNivel(frontera, 0, frontera.length, padre, proyectoVisitado, via));
+        }
+        if (padre.get(destino) == 0) {
+            return null;
+        }
+
+        List<Integer> inverso = new ArrayList<>();
+        for (int actual = destino; actual != origen; actual = padre.get(actual) - 1) {
+            inverso.add(actual);
+            inverso.add(via[actual]);
+        }
+        inverso.add(origen);
+        int[] camino = new int[inverso.size()];
+        for (int i = 0; i < camino.length; i++) {
+            camino[i] = inverso.get(camino.length - 1 - i);
+        }
+        return camino;
+    }
+
+    /**
+     * Expande un tramo de la frontera y devuelve los empleados descubiertos.
+     * La escritura de via la hace solo el hilo que ganó el compareAndSet, y se
+     * lee después del join, que garantiza su visibilidad.
+     */
+    private final class ExpansionNivel extends RecursiveTask<int[]> {
+
+        private final int[] frontera;
+        private final int desde;
+        private final int hasta;
+        private final AtomicIntegerArray padre;
+        private final AtomicIntegerArray proyectoVisitado;
+        private final int[] via;
+
+        ExpansionNivel(int[] frontera, int desde, int hasta, AtomicIntegerArray padre,
+                       AtomicIntegerArray proyectoVisitado, int[] via) {
+            this.frontera = frontera;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.padre = padre;
+            this.proyectoVisitado = proyectoVisitado;
+            this.via = via;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (hasta - desde > UMBRAL_SECUENCIAL) {
+                int medio = (desde + hasta) >>> 1;
+                ExpansionNivel izquierda = new ExpansionNivel(frontera, desde, medio, padre, proyectoVisitado, via);
+                izquierda.fork();
+                int[] derecha = new ExpansionNivel(frontera, medio, hasta, padre, proyectoVisitado, via).compute();
+                int[] primera = izquierda.join();
+                int[] unidos = Arrays.copyOf(primera, primera.length + derecha.length);
+                System.arraycopy(derecha, 0, unidos, primera.length, derecha.length);
+                return unidos;
+            }
+            int[] descubiertos = new int[16];
+            int n = 0;
+            for (int k = desde; k < hasta; k++) {
+                int empleado = frontera[k];
+                int[] proyectos = proyectosDe(empleado);
+                for (int i = inicioProyectos(empleado); i < finProyectos(empleado); i++) {
+                    int proyecto = proyectos[i];
+                    if (!proyectoVisitado.compareAndSet(proyecto, 0, 1)) {
+                        continue;
+                    }
+                    int[] miembros = empleadosDe(proyecto);
+                    for (int j = inicioEmpleados(proyecto); j < finEmpleados(proyecto); j++) {
+                        int companero = miembros[j];
+                        if (padre.compareAndSet(companero, 0, empleado + 1)) {
+                            via[companero] = proyecto;
+                            if (n == descubiertos.length) {
+                                descubiertos = Arrays.copyOf(descubiertos, n * 2);
+                            }
+                            descubiertos[n++] = companero;
+                        }
+                    }
+                }
+            }
+            return Arrays.copyOf(descubiertos, n);
+        }
+    }
+
+    // Utilidades de construcción
+
+    private static long[] distintosOrdenados(long[] valores, int cantidad) {
+        long[] copia = Arrays.copyOf(valores, cantidad);
+        Arrays.parallelSort(copia);
+        return Arrays.copyOf(copia, deduplicar(copia, cantidad));
+    }
+
+    /** Elimina duplicados consecutivos de un arreglo ordenado y retorna la nueva longitud. */
+    private static int deduplicar(long[] ordenados, int cantidad) {
+        int distintos = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (distintos == 0 || ordenados[distintos - 1] != ordenados[i]) {
+                ordenados[distintos++] = ordenados[i];
+            }
+        }
+        return distintos;
+    }
+
+    private static void acumular(int[] offsets) {
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+    }
+
+    private static int[] insertar(int[] ordenados, int valor) {
+        int posicion = -Arrays.binarySearch(ordenados, valor) - 1;
+        int[] resultado = new int[ordenados.length + 1];
+        System.arraycopy(ordenados, 0, resultado, 0, posicion);
+        resultado[posicion] = valor;
+        System.arraycopy(ordenados, posicion, resultado, posicion + 1, ordenados.length - posicion);
+        return resultado;
+    }
+
+    private static int[] quitar(int[] ordenados, int valor) {
+        int posicion = Arrays.binarySearch(ordenados, valor);
+        if (posicion < 0) {
+            return ordenados;
+        }
+        int[] resultado = new int[ordenados.length - 1];
+        System.arraycopy(ordenados, 0, resultado, 0, posicion);
+        System.arraycopy(ordenados, posicion + 1, resultado, posicion, resultado.length - posicion);
+        return resultado;
+    }
+
+    /**
+     * Cambio confirmado de la relación, identificado por IDs de base de datos.
+     */
+    static final class Cambio {
+
+        enum Tipo { ASIGNACION, REMOCION, BAJA_EMPLEADO, BAJA_PROYECTO }
+
+        private final Tipo tipo;
+        private final long empleadoId;
+        private final long proyectoId;
+
+        private Cambio(Tipo tipo, long empleadoId, long proyectoId) {
+            this.tipo = tipo;
+            this.empleadoId = empleadoId;
+            this.proyectoId = proyectoId;
+        }
+
+        static Cambio asignacion(long empleadoId, long proyectoId, boolean asignado) {
+            return new Cambio(asignado ? Tipo.ASIGNACION : Tipo.REMOCION, empleadoId, proyectoId);
+        }
+
+        static Cambio bajaEmpleado(long empleadoId) {
+            return new Cambio(Tipo.BAJA_EMPLEADO, empleadoId, 0);
+        }
+
+        static Cambio bajaProyecto(long proyectoId) {
+            return new Cambio(Tipo.BAJA_PROYECTO, 0, proyectoId);
+        }
+    }
+
+    /**
+     * Listas de vecinos que reemplazan a las del CSR y posiciones agregadas
+     * para IDs nuevos. Se modifica solo mientras {@link #conCambios} arma una
+     * instantánea todavía no publicada; después es de solo lectura.
+     */
+    private static final class Superposicion {
+
+        private final Map<Integer, int[]> proyectosPorEmpleado;
+        private final Map<Integer, int[]> empleadosPorProyecto;
+        // Espejo de las claves de los mapas, para no buscar en ellos a los no modificados
+        private final BitSet empleadosModificados;
+        private final BitSet proyectosModificados;
+        private final Map<Long, Integer> empleadosNuevos;
+        private final Map<Long, Integer> proyectosNuevos;
+        private final List<Long> idsEmpleadoNuevos;
+        private final List<Long> idsProyectoNuevos;
+        private int asignaciones;
+
+        Superposicion() {
+            this(new HashMap<>(), new HashMap<>(), new BitSet(), new BitSet(),
+                new HashMap<>(), new HashMap<>(), new ArrayList<>(), new ArrayList<>(), 0);
+        }
+
+        private Superposicion(Map<Integer, int[]> proyectosPorEmpleado, Map<Integer, int[]> empleadosPorProyecto,
+                              BitSet empleadosModificados, BitSet proyectosModificados,
+                              Map<Long, Integer> empleadosNuevos, Map<Long, Integer> proyectosNuevos,
+                              List<Long> idsEmpleadoNuevos, List<Long> idsProyectoNuevos, int asignaciones) {
+            this.proyectosPorEmpleado = proyectosPorEmpleado;
+            this.empleadosPorProyecto = empleadosPorProyecto;
+            this.empleadosModificados = empleadosModificados;
+            this.proyectosModificados = proyectosModificados;
+            this.empleadosNuevos = empleadosNuevos;
+            this.proyectosNuevos = proyectosNuevos;
+            this.idsEmpleadoNuevos = idsEmpleadoNuevos;
+            this.idsProyectoNuevos = idsProyectoNuevos;
+            this.asignaciones = asignaciones;
+        }
+
+        /** Copia superficial: las listas de vecinos nunca se modifican, se reemplazan. */
+        Superposicion copia() {
+            return new Superposicion(new HashMap<>(proyectosPorEmpleado), new HashMap<>(empleadosPorProyecto),
+                (BitSet) empleadosModificados.clone(), (BitSet) proyectosModificados.clone(),
+                new HashMap<>(empleadosNuevos), new HashMap<>(proyectosNuevos),
+                new ArrayList<>(idsEmpleadoNuevos), new ArrayList<>(idsProyectoNuevos), asignaciones);
+        }
+
+        int[] proyectos(int empleado) {
+            return empleadosModificados.get(empleado) ? proyectosPorEmpleado.get(empleado) : null;
+        }
+
+        int[] empleados(int proyecto) {
+            return proyectosModificados.get(proyecto) ? empleadosPorProyecto.get(proyecto) : null;
+        }
+
+        void proyectosPorEmpleado(int empleado, int[] proyectos) {
+            proyectosPorEmpleado.put(empleado, proyectos);
+            empleadosModificados.set(empleado);
+        }
+
+        void empleadosPorProyecto(int proyecto, int[] empleados) {
+            empleadosPorProyecto.put(proyecto, empleados);
+            proyectosModificados.set(proyecto);
+        }
+
+        /** Posición del empleado; si el ID no está en la instantánea se le asigna una nueva. */
+        int posicionEmpleado(GrafoColaboracion grafo, long id) {
+            int posicion = grafo.posicionEmpleado(id);
+            if (posicion < 0) {
+                posicion = grafo.cantidadEmpleados();
+                empleadosNuevos.put(id, posicion);
+                idsEmpleadoNuevos.add(id);
+                proyectosPorEmpleado(posicion, new int[0]);
+            }
+            return posicion;
+        }
+
+        /** Posición del proyecto; si el ID no está en la instantánea se le asigna una nueva. */
+        int posicionProyecto(GrafoColaboracion grafo, long id) {
+            int posicion = grafo.posicionProyecto(id);
+            if (posicion < 0) {
+                posicion = grafo.cantidadProyectos();
+                proyectosNuevos.put(id, posicion);
+                idsProyectoNuevos.add(id);
+                empleadosPorProyecto(posicion, new int[0]);
+            }
+            return posicion;
+        }
+
+        long bytesEstimados() {
+            long bytes = 0;
+            for (int[] lista : proyectosPorEmpleado.values()) {
+                bytes += 16 + 4L * lista.length;
+            }
+            for (int[] lista : empleadosPorProyecto.values()) {
+                bytes += 16 + 4L * lista.length;
+            }
+            return bytes + 64L * (proyectosPorEmpleado.size() + empleadosPorProyecto.size()
+                + idsEmpleadoNuevos.size() + idsProyectoNuevos.size());
+        }
+    }
+}
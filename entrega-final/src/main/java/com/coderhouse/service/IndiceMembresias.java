@@ -0,0 +1,281 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.coderhouse.dto.OperacionConjunto;
+import com.coderhouse.dto.ResultadoMembresiaDTO;
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.models.Empleado;
+import com.coderhouse.models.Proyecto;
+
+/**
+ * Índice en memoria de la relación proyecto_empleado basado en Roaring Bitmaps.
+ * Guarda, para cada proyecto, el bitmap de sus empleados y, para cada
+ * empleado, el bitmap de sus proyectos, usando IDs densos como posiciones.
+ * Así las consultas del tipo "empleados en A y en B" o "proyectos compartidos
+ * por X e Y" se resuelven con operaciones de bitmaps sin tocar la base.
+ *
+ * El índice se carga completo al iniciar la aplicación y luego se actualiza
+ * con los eventos de asignación y eliminación, una vez confirmada la
+ * transacción que los generó. Cada cambio reemplaza el bitmap afectado por
+ * una copia modificada, de modo que las consultas nunca ven un bitmap a medio
+ * actualizar y no necesitan bloqueos.
+ *
+ * Como los eventos no cubren las escrituras fuera de la aplicación ni un
+ * evento perdido, cada app.membresias.reconstruccion-ms el índice se vuelve
+ * a cargar desde proyecto_empleado sin detener las consultas: los cambios
+ * que llegan durante la carga se aplican también a la copia nueva antes de
+ * publicarla. Los proyectos cuyo bitmap difería se informan en el log.
+ */
+@Service
+public class IndiceMembresias implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceMembresias.class);
+
+    @Autowired
+    private CargaDirectorio cargaDirectorio;
+
+    @Value("${app.lote.max-ids:1000}")
+    private int maxIdsPorConsulta;
+
+    private final DiccionarioIdsDensos empleados = new DiccionarioIdsDensos();
+    private final DiccionarioIdsDensos proyectos = new DiccionarioIdsDensos();
+    private volatile Relacion relacion = new Relacion();
+
+    /**
+     * Eventos recibidos mientras corre una reconstrucción, para aplicarlos a
+     * la copia nueva; null fuera de ella. Protegido por el monitor del índice.
+     */
+    private List<Object> pendientes;
+
+    /**
+     * Carga el índice desde proyecto_empleado antes de que la aplicación
+     * empiece a atender solicitudes.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long inicio = System.nanoTime();
+        relacion = cargar(cargaDirectorio::recorrerAsignaciones);
+        log.info("Índice de membresías cargado: {} proyectos, {} empleados en {} ms",
+            relacion.empleadosPorProyecto.size(), relacion.proyectosPorEmpleado.size(),
+            (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Vuelve a cargar el índice desde la base y reemplaza al actual.
+     */
+    @Scheduled(initialDelayString = "${app.membresias.reconstruccion-ms:600000}",
+               fixedDelayString = "${app.membresias.reconstruccion-ms:600000}")
+    public void reconstruir() {
+        synchronized (this) {
+            pendientes = new ArrayList<>();
+        }
+        Relacion nueva;
+        try {
+            nueva = cargar(cargaDirectorio::releerAsignaciones);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendientes = null;
+            }
+            throw e;
+        }
+        int desvios;
+        synchronized (this) {
+            pendientes.forEach(evento -> aplicar(nueva, evento));
+            pendientes = null;
+            desvios = contarDiferencias(relacion.empleadosPorProyecto, nueva.empleadosPorProyecto);
+            relacion = nueva;
+        }
+        if (desvios > 0) {
+            log.warn("Índice de membresías reconstruido: {} proyectos diferían de la base", desvios);
+        }
+    }
+
+    private Relacion cargar(Consumer<BiConsumer<Long, Long>> recorrido) {
+        Relacion nueva = new Relacion();
+        recorrido.accept((proyectoId, empleadoId) -> {
+            int proyecto = proyectos.densoDe(proyectoId);
+            int empleado = empleados.densoDe(empleadoId);
+            nueva.empleadosPorProyecto.computeIfAbsent(proyecto, p -> new RoaringBitmap()).add(empleado);
+            nueva.proyectosPorEmpleado.computeIfAbsent(empleado, e -> new RoaringBitmap()).add(proyecto);
+        });
+        nueva.empleadosPorProyecto.values().forEach(RoaringBitmap::runOptimize);
+        nueva.proyectosPorEmpleado.values().forEach(RoaringBitmap::runOptimize);
+        return nueva;
+    }
+
+    private static int contarDiferencias(Map<Integer, RoaringBitmap> anterior, Map<Integer, RoaringBitmap> nuevo) {
+        Set<Integer> claves = new HashSet<>(anterior.keySet());
+        claves.addAll(nuevo.keySet());
+        int diferencias = 0;
+        for (Integer clave : claves) {
+            if (!Objects.equals(anterior.get(clave), nuevo.get(clave))) {
+                diferencias++;
+            }
+        }
+        return diferencias;
+    }
+
+    /**
+     * Obtiene los empleados que resultan de combinar los miembros de los proyectos dados.
+     *
+     * @param proyectoIds IDs de los proyectos; para ANDNOT el primero es la base
+     * @param operacion Operación de conjunto a aplicar
+     * @return IDs de empleados ordenados
+     * @throws IllegalArgumentException Si la lista está vacía o supera el máximo permitido
+     */
+    public ResultadoMembresiaDTO empleadosDeProyectos(List<Long> proyectoIds, OperacionConjunto operacion) {
+        RoaringBitmap resultado = combinar(bitmapsDe(proyectoIds, proyectos, relacion.empleadosPorProyecto), operacion);
+        return new ResultadoMembresiaDTO(operacion, idsDe(resultado, empleados));
+    }
+
+    /**
+     * Obtiene los proyectos que resultan de combinar las asignaciones de los empleados dados.
+     *
+     * @param empleadoIds IDs de los empleados; para ANDNOT el primero es la base
+     * @param operacion Operación de conjunto a aplicar
+     * @return IDs de proyectos ordenados
+     * @throws IllegalArgumentException Si la lista está vacía o supera el máximo permitido
+     */
+    public ResultadoMembresiaDTO proyectosDeEmpleados(List<Long> empleadoIds, OperacionConjunto operacion) {
+        RoaringBitmap resultado = combinar(bitmapsDe(empleadoIds, empleados, relacion.proyectosPorEmpleado), operacion);
+        return new ResultadoMembresiaDTO(operacion, idsDe(resultado, proyectos));
+    }
+
+    /**
+     * Aplica una asignación o remoción confirmada.
+     */
+    @TransactionalEventListener
+    public synchronized void alCambiarMembresia(CambioMembresiaEvent evento) {
+        registrar(evento);
+    }
+
+    /**
+     * Quita del índice todas las asignaciones de un empleado o proyecto eliminado.
+     */
+    @TransactionalEventListener
+    public synchronized void alEliminarEntidad(EntidadEliminadaEvent evento) {
+        registrar(evento);
+    }
+
+    private void registrar(Object evento) {
+        aplicar(relacion, evento);
+        if (pendientes != null) {
+            pendientes.add(evento);
+        }
+    }
+
+    private void aplicar(Relacion destino, Object evento) {
+        if (evento instanceof CambioMembresiaEvent cambio) {
+            int proyecto = proyectos.densoDe(cambio.getProyectoId());
+            int empleado = empleados.densoDe(cambio.getEmpleadoId());
+            if (cambio.isAsignado()) {
+                reemplazar(destino.empleadosPorProyecto, proyecto, bitmap -> bitmap.add(empleado));
+                reemplazar(destino.proyectosPorEmpleado, empleado, bitmap -> bitmap.add(proyecto));
+            } else {
+                reemplazar(destino.empleadosPorProyecto, proyecto, bitmap -> bitmap.remove(empleado));
+                reemplazar(destino.proyectosPorEmpleado, empleado, bitmap -> bitmap.remove(proyecto));
+            }
+        } else if (evento instanceof EntidadEliminadaEvent eliminada) {
+            if (eliminada.getEntidad() == Empleado.class) {
+                quitar(empleados.buscar(eliminada.getId()), destino.proyectosPorEmpleado, destino.empleadosPorProyecto);
+            } else if (eliminada.getEntidad() == Proyecto.class) {
+                quitar(proyectos.buscar(eliminada.getId()), destino.empleadosPorProyecto, destino.proyectosPorEmpleado);
+            }
+        }
+    }
+
+    private void quitar(int denso, Map<Integer, RoaringBitmap> propios, Map<Integer, RoaringBitmap> opuestos) {
+        if (denso < 0) {
+            return;
+        }
+        RoaringBitmap vecinos = propios.remove(denso);
+        if (vecinos != null) {
+            vecinos.forEach((int vecino) -> reemplazar(opuestos, vecino, bitmap -> bitmap.remove(denso)));
+        }
+    }
+
+    /**
+     * Reemplaza el bitmap de una clave por una copia con el cambio aplicado.
+     * Los bitmaps publicados en el mapa nunca se modifican.
+     */
+    private void reemplazar(Map<Integer, RoaringBitmap> bitmaps, int clave, Consumer<RoaringBitmap> cambio) {
+        RoaringBitmap actual = bitmaps.get(clave);
+        RoaringBitmap copia = actual != null ? actual.clone() : new RoaringBitmap();
+        cambio.accept(copia);
+        if (copia.isEmpty()) {
+            bitmaps.remove(clave);
+        } else {
+            bitmaps.put(clave, copia);
+        }
+    }
+
+    private List<RoaringBitmap> bitmapsDe(List<Long> ids, DiccionarioIdsDensos diccionario,
+                                         Map<Integer, RoaringBitmap> bitmaps) {
+        List<RoaringBitmap> resultado = new ArrayList<>();
+        for (Long id : Lotes.distintos(ids, maxIdsPorConsulta)) {
+            int denso = diccionario.buscar(id);
+            RoaringBitmap bitmap = denso >= 0 ? bitmaps.get(denso) : null;
+            // Un ID desconocido o sin asignaciones equivale al conjunto vacío
+            resultado.add(bitmap != null ? bitmap : new RoaringBitmap());
+        }
+        return resultado;
+    }
+
+    private RoaringBitmap combinar(List<RoaringBitmap> bitmaps, OperacionConjunto operacion) {
+        switch (operacion) {
+            case AND:
+                return FastAggregation.and(bitmaps.iterator());
+            case OR:
+                return FastAggregation.or(bitmaps.iterator());
+            case ANDNOT:
+                RoaringBitmap excluidos = FastAggregation.or(bitmaps.subList(1, bitmaps.size()).iterator());
+                return RoaringBitmap.andNot(bitmaps.get(0), excluidos);
+            default:
+                throw new IllegalArgumentException("Operación no soportada: " + operacion);
+        }
+    }
+
+    private List<Long> idsDe(RoaringBitmap bitmap, DiccionarioIdsDensos diccionario) {
+        long[] ids = new long[bitmap.getCardinality()];
+        int i = 0;
+        for (int denso : bitmap) {
+            ids[i++] = diccionario.idDe(denso);
+        }
+        Arrays.sort(ids);
+        List<Long> resultado = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            resultado.add(id);
+        }
+        return resultado;
+    }
+
+    /**
+     * Los dos lados de la relación; se reemplaza entero al reconstruir el índice.
+     */
+    private static final class Relacion {
+        private final Map<Integer, RoaringBitmap> empleadosPorProyecto = new ConcurrentHashMap<>();
+        private final Map<Integer, RoaringBitmap> proyectosPorEmpleado = new ConcurrentHashMap<>();
+    }
+}
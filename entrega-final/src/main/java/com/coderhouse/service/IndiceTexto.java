@@ -0,0 +1,68 @@
+package com.coderhouse.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice inmutable de texto a ID (email, legajo) repartido en cubetas por
+ * hash. Una modificación copia solo la cubeta afectada, por lo que agregar o
+ * quitar una clave cuesta O(n / cubetas) aunque el índice sea grande.
+ */
+final class IndiceTexto {
+
+    private static final int CUBETAS = 1024;
+
+    private final Map<String, Long>[] cubetas;
+
+    private IndiceTexto(Map<String, Long>[] cubetas) {
+        this.cubetas = cubetas;
+    }
+
+    @SuppressWarnings("unchecked")
+    static IndiceTexto vacio() {
+        Map<String, Long>[] cubetas = new Map[CUBETAS];
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas[i] = new HashMap<>();
+        }
+        return new IndiceTexto(cubetas);
+    }
+
+    /** ID asociado a la clave, o null si no existe. */
+    Long buscar(String clave) {
+        return clave == null ? null : cubetas[cubeta(clave)].get(clave);
+    }
+
+    /**
+     * Devuelve un índice con la clave asociada al ID, o quitada si id es null.
+     */
+    IndiceTexto con(String clave, Long id) {
+        if (clave == null) {
+            return this;
+        }
+        int cubeta = cubeta(clave);
+        Map<String, Long> copia = new HashMap<>(cubetas[cubeta]);
+        if (id == null) {
+            copia.remove(clave);
+        } else {
+            copia.put(clave, id);
+        }
+        Map<String, Long>[] nuevas = cubetas.clone();
+        nuevas[cubeta] = copia;
+        return new IndiceTexto(nuevas);
+    }
+
+    /**
+     * Agrega una clave sobre las cubetas actuales, sin copiarlas.
+     * Solo se usa durante la carga inicial, antes de publicar el índice.
+     */
+    void agregarEnCarga(String clave, Long id) {
+        if (clave != null) {
+            cubetas[cubeta(clave)].put(clave, id);
+        }
+    }
+
+    private static int cubeta(String clave) {
+        int hash = clave.hashCode();
+        return (hash ^ (hash >>> 16)) & (CUBETAS - 1);
+    }
+}
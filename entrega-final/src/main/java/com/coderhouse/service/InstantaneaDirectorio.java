@@ -0,0 +1,338 @@
+package com.coderhouse.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instantánea inmutable de empleados, proyectos y asignaciones que usa el
+ * modelo de lectura. Cada fila guarda los IDs relacionados en un long[]
+ * ordenado y el departamento se codifica contra un diccionario de nombres.
+ *
+ * Cada método con... devuelve una instantánea nueva que comparte con la
+ * anterior todo lo que no cambió (ver {@link TablaPorId} e {@link IndiceTexto}).
+ */
+final class InstantaneaDirectorio {
+
+    /** Código usado para empleados sin departamento. */
+    static final int SIN_DEPARTAMENTO = -1;
+
+    private static final long[] SIN_IDS = new long[0];
+
+    private final long version;
+    private final TablaPorId<FilaEmpleado> empleados;
+    private final TablaPorId<FilaProyecto> proyectos;
+    private final IndiceTexto porEmail;
+    private final IndiceTexto porLegajo;
+    private final String[] departamentos;
+    private final Map<String, Integer> codigosDepartamento;
+
+    private InstantaneaDirectorio(long version, TablaPorId<FilaEmpleado> empleados, TablaPorId<FilaProyecto> proyectos,
+                                  IndiceTexto porEmail, IndiceTexto porLegajo,
+                                  String[] departamentos, Map<String, Integer> codigosDepartamento) {
+        this.version = version;
+        this.empleados = empleados;
+        this.proyectos = proyectos;
+        this.porEmail = porEmail;
+        this.porLegajo = porLegajo;
+        this.departamentos = departamentos;
+        this.codigosDepartamento = codigosDepartamento;
+    }
+
+    static InstantaneaDirectorio vacia() {
+        return new InstantaneaDirectorio(0, TablaPorId.vacia(), TablaPorId.vacia(),
+            IndiceTexto.vacio(), IndiceTexto.vacio(), new String[0], new HashMap<>());
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    TablaPorId<FilaEmpleado> empleados() {
+        return empleados;
+    }
+
+    TablaPorId<FilaProyecto> proyectos() {
+        return proyectos;
+    }
+
+    FilaEmpleado empleadoPorEmail(String email) {
+        Long id = porEmail.buscar(email);
+        return id != null ? empleados.buscar(id) : null;
+    }
+
+    FilaEmpleado empleadoPorLegajo(String legajo) {
+        Long id = porLegajo.buscar(legajo);
+        return id != null ? empleados.buscar(id) : null;
+    }
+
+    int cantidadDepartamentos() {
+        return departamentos.length;
+    }
+
+    String nombreDepartamento(int codigo) {
+        return codigo == SIN_DEPARTAMENTO ? null : departamentos[codigo];
+    }
+
+    /**
+     * Alta o modificación de los datos de un empleado; conserva sus proyectos.
+     */
+    InstantaneaDirectorio conEmpleado(long id, String nombre, String apellido, String email, String legajo,
+                                      String departamento, LocalDateTime fechaIngreso) {
+        String[] nuevosDepartamentos = departamentos;
+        Map<String, Integer> nuevosCodigos = codigosDepartamento;
+        Integer codigo = departamento == null ? Integer.valueOf(SIN_DEPARTAMENTO) : codigosDepartamento.get(departamento);
+        if (codigo == null) {
+            codigo = departamentos.length;
+            nuevosDepartamentos = Arrays.copyOf(departamentos, departamentos.length + 1);
+            nuevosDepartamentos[codigo] = departamento;
+            nuevosCodigos = new HashMap<>(codigosDepartamento);
+            nuevosCodigos.put(departamento, codigo);
+        }
+
+        FilaEmpleado anterior = empleados.buscar(id);
+        IndiceTexto nuevoPorEmail = porEmail;
+        IndiceTexto nuevoPorLegajo = porLegajo;
+        if (anterior != null && !anterior.email.equals(email)) {
+            nuevoPorEmail = nuevoPorEmail.con(anterior.email, null);
+        }
+        if (anterior != null && !anterior.legajo.equals(legajo)) {
+            nuevoPorLegajo = nuevoPorLegajo.con(anterior.legajo, null);
+        }
+        FilaEmpleado fila = new FilaEmpleado(id, nombre, apellido, email, legajo, codigo, fechaIngreso,
+            anterior != null ? anterior.proyectos : SIN_IDS);
+        return new InstantaneaDirectorio(version + 1, empleados.con(id, fila), proyectos,
+            nuevoPorEmail.con(email, id), nuevoPorLegajo.con(legajo, id), nuevosDepartamentos, nuevosCodigos);
+    }
+
+    /**
+     * Baja de un empleado; se quita también de los proyectos en los que estaba.
+     */
+    InstantaneaDirectorio sinEmpleado(long id) {
+        FilaEmpleado anterior = empleados.buscar(id);
+        if (anterior == null) {
+            return this;
+        }
+        TablaPorId<FilaProyecto> nuevosProyectos = proyectos;
+        for (long proyectoId : anterior.proyectos) {
+            FilaProyecto proyecto = nuevosProyectos.buscar(proyectoId);
+            if (proyecto != null) {
+                nuevosProyectos = nuevosProyectos.con(proyectoId, proyecto.conEmpleados(quitar(proyecto.empleados, id)));
+            }
+        }
+        return new InstantaneaDirectorio(version + 1, empleados.con(id, null), nuevosProyectos,
+            porEmail.con(anterior.email, null), porLegajo.con(anterior.legajo, null), departamentos, codigosDepartamento);
+    }
+
+    /**
+     * Alta o modificación de los datos de un proyecto; conserva sus empleados.
+     */
+    InstantaneaDirectorio conProyecto(long id, String nombre, String descripcion) {
+        FilaProyecto anterior = proyectos.buscar(id);
+        FilaProyecto fila = new FilaProyecto(id, nombre, descripcion, anterior != null ? anterior.empleados : SIN_IDS);
+        return new InstantaneaDirectorio(version + 1, empleados, proyectos.con(id, fila),
+            porEmail, porLegajo, departamentos, codigosDepartamento);
+    }
+
+    /**
+     * Baja de un proyecto; se quita también de sus empleados.
+     */
+    InstantaneaDirectorio sinProyecto(long id) {
+        FilaProyecto anterior = proyectos.buscar(id);
+        if (anterior == null) {
+            return this;
+        }
+        TablaPorId<FilaEmpleado> nuevosEmpleados = empleados;
+        for (long empleadoId : anterior.empleados) {
+            FilaEmpleado empleado = nuevosEmpleados.buscar(empleadoId);
+            if (empleado != null) {
+                nuevosEmpleados = nuevosEmpleados.con(empleadoId, empleado.conProyectos(quitar(empleado.proyectos, id)));
+            }
+        }
+        return new InstantaneaDirectorio(version + 1, nuevosEmpleados, proyectos.con(id, null),
+            porEmail, porLegajo, departamentos, codigosDepartamento);
+    }
+
+    /**
+     * Refleja el estado de una asignación. Si falta alguna de las dos filas
+     * (por ejemplo, porque se eliminó después) no se modifica nada.
+     */
+    InstantaneaDirectorio conAsignacion(long empleadoId, long proyectoId, boolean asignado) {
+        FilaEmpleado empleado = empleados.buscar(empleadoId);
+        FilaProyecto proyecto = proyectos.buscar(proyectoId);
+        if (empleado == null || proyecto == null) {
+            return this;
+        }
+        long[] proyectosEmpleado = asignado ? agregar(empleado.proyectos, proyectoId) : quitar(empleado.proyectos, proyectoId);
+        long[] empleadosProyecto = asignado ? agregar(proyecto.empleados, empleadoId) : quitar(proyecto.empleados, empleadoId);
+        if (proyectosEmpleado == empleado.proyectos && empleadosProyecto == proyecto.empleados) {
+            return this;
+        }
+        return new InstantaneaDirectorio(version + 1,
+            empleados.con(empleadoId, empleado.conProyectos(proyectosEmpleado)),
+            proyectos.con(proyectoId, proyecto.conEmpleados(empleadosProyecto)),
+            porEmail, porLegajo, departamentos, codigosDepartamento);
+    }
+
+    /**
+     * Reemplaza los proyectos de un empleado por los dados, aplicando solo
+     * las asignaciones que se agregaron o quitaron.
+     */
+    InstantaneaDirectorio conProyectosDeEmpleado(long empleadoId, long[] proyectoIds) {
+        FilaEmpleado empleado = empleados.buscar(empleadoId);
+        if (empleado == null) {
+            return this;
+        }
+        long[] nuevos = proyectoIds.clone();
+        Arrays.sort(nuevos);
+        InstantaneaDirectorio resultado = this;
+        for (long proyectoId : empleado.proyectos) {
+            if (Arrays.binarySearch(nuevos, proyectoId) < 0) {
+                resultado = resultado.conAsignacion(empleadoId, proyectoId, false);
+            }
+        }
+        for (long proyectoId : nuevos) {
+            if (Arrays.binarySearch(empleado.proyectos, proyectoId) < 0) {
+                resultado = resultado.conAsignacion(empleadoId, proyectoId, true);
+            }
+        }
+        return resultado;
+    }
+
+    /** Agrega un ID a un arreglo ordenado; devuelve el mismo arreglo si ya estaba. */
+    private static long[] agregar(long[] ids, long id) {
+        int posicion = Arrays.binarySearch(ids, id);
+        if (posicion >= 0) {
+            return ids;
+        }
+        int insercion = -posicion - 1;
+        long[] resultado = new long[ids.length + 1];
+        System.arraycopy(ids, 0, resultado, 0, insercion);
+        resultado[insercion] = id;
+        System.arraycopy(ids, insercion, resultado, insercion + 1, ids.length - insercion);
+        return resultado;
+    }
+
+    /** Quita un ID de un arreglo ordenado; devuelve el mismo arreglo si no estaba. */
+    private static long[] quitar(long[] ids, long id) {
+        int posicion = Arrays.binarySearch(ids, id);
+        if (posicion < 0) {
+            return ids;
+        }
+        long[] resultado = new long[ids.length - 1];
+        System.arraycopy(ids, 0, resultado, 0, posicion);
+        System.arraycopy(ids, posicion + 1, resultado, posicion, ids.length - posicion - 1);
+        return resultado;
+    }
+
+    /**
+     * Fila inmutable de un empleado con los IDs de sus proyectos ordenados.
+     */
+    static final class FilaEmpleado {
+
+        final long id;
+        final String nombre;
+        final String apellido;
+        final String email;
+        final String legajo;
+        final int departamento;
+        final LocalDateTime fechaIngreso;
+        final long[] proyectos;
+
+        FilaEmpleado(long id, String nombre, String apellido, String email, String legajo,
+                     int departamento, LocalDateTime fechaIngreso, long[] proyectos) {
+            this.id = id;
+            this.nombre = nombre;
+            this.apellido = apellido;
+            this.email = email;
+            this.legajo = legajo;
+            this.departamento = departamento;
+            this.fechaIngreso = fechaIngreso;
+            this.proyectos = proyectos;
+        }
+
+        FilaEmpleado conProyectos(long[] proyectos) {
+            return new FilaEmpleado(id, nombre, apellido, email, legajo, departamento, fechaIngreso, proyectos);
+        }
+    }
+
+    /**
+     * Fila inmutable de un proyecto con los IDs de sus empleados ordenados.
+     */
+    static final class FilaProyecto {
+
+        final long id;
+        final String nombre;
+        final String descripcion;
+        final String nombreMinusculas;
+        final long[] empleados;
+
+        FilaProyecto(long id, String nombre, String descripcion, long[] empleados) {
+            this.id = id;
+            this.nombre = nombre;
+            this.descripcion = descripcion;
+            this.nombreMinusculas = nombre.toLowerCase();
+            this.empleados = empleados;
+        }
+
+        FilaProyecto conEmpleados(long[] empleados) {
+            return new FilaProyecto(id, nombre, descripcion, empleados);
+        }
+    }
+
+    /**
+     * Carga inicial en cuatro pasadas: empleados, proyectos y las asignaciones
+     * agrupadas por empleado y por proyecto.
+     */
+    static final class Constructor {
+
+        private final TablaPorId.Constructor<FilaEmpleado> empleados = new TablaPorId.Constructor<>();
+        private final TablaPorId.Constructor<FilaProyecto> proyectos = new TablaPorId.Constructor<>();
+        private final IndiceTexto porEmail = IndiceTexto.vacio();
+        private final IndiceTexto porLegajo = IndiceTexto.vacio();
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private String[] departamentos = new String[16];
+
+        void agregarEmpleado(long id, String nombre, String apellido, String email, String legajo,
+                             String departamento, LocalDateTime fechaIngreso) {
+            int codigo = SIN_DEPARTAMENTO;
+            if (departamento != null) {
+                codigo = codigos.computeIfAbsent(departamento, nombreDepartamento -> {
+                    int nuevo = codigos.size();
+                    if (nuevo == departamentos.length) {
+                        departamentos = Arrays.copyOf(departamentos, nuevo * 2);
+                    }
+                    departamentos[nuevo] = nombreDepartamento;
+                    return nuevo;
+                });
+            }
+            empleados.agregar(id, new FilaEmpleado(id, nombre, apellido, email, legajo, codigo, fechaIngreso, SIN_IDS));
+            porEmail.agregarEnCarga(email, id);
+            porLegajo.agregarEnCarga(legajo, id);
+        }
+
+        void agregarProyecto(long id, String nombre, String descripcion) {
+            proyectos.agregar(id, new FilaProyecto(id, nombre, descripcion, SIN_IDS));
+        }
+
+        void asignarProyectos(long empleadoId, long[] proyectoIds) {
+            FilaEmpleado fila = empleados.buscar(empleadoId);
+            if (fila != null) {
+                empleados.agregar(empleadoId, fila.conProyectos(proyectoIds));
+            }
+        }
+
+        void asignarEmpleados(long proyectoId, long[] empleadoIds) {
+            FilaProyecto fila = proyectos.buscar(proyectoId);
+            if (fila != null) {
+                proyectos.agregar(proyectoId, fila.conEmpleados(empleadoIds));
+            }
+        }
+
+        InstantaneaDirectorio construir(long version) {
+            return new InstantaneaDirectorio(version, empleados.construir(), proyectos.construir(), porEmail, porLegajo,
+                Arrays.copyOf(departamentos, codigos.size()), new HashMap<>(codigos));
+        }
+    }
+}
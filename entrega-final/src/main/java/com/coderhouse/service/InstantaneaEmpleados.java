@@ -0,0 +1,141 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantánea inmutable de los atributos de empleados que usa el motor de
+ * recomendaciones. Los IDs están ordenados y el departamento de cada
+ * empleado se guarda como código entero de un diccionario.
+ */
+final class InstantaneaEmpleados {
+
+    /** Código usado para empleados sin departamento. */
+    static final int SIN_DEPARTAMENTO = -1;
+
+    private final long version;
+    private final long[] ids;
+    private final int[] departamentos;
+    private final String[] nombresDepartamento;
+
+    private InstantaneaEmpleados(long version, long[] ids, int[] departamentos, String[] nombresDepartamento) {
+        this.version = version;
+        this.ids = ids;
+        this.departamentos = departamentos;
+        this.nombresDepartamento = nombresDepartamento;
+    }
+
+    /**
+     * Acumula empleados en orden de ID y construye la instantánea.
+     */
+    static final class Constructor {
+
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> nombres = new ArrayList<>();
+        private long[] ids = new long[1024];
+        private int[] departamentos = new int[1024];
+        private int cantidad;
+
+        Constructor() {
+        }
+
+        /** Parte del diccionario de otra instantánea, para conservar sus códigos. */
+        Constructor(String[] nombresDepartamento) {
+            for (String nombre : nombresDepartamento) {
+                codigos.put(nombre, nombres.size());
+                nombres.add(nombre);
+            }
+        }
+
+        void agregar(long id, String departamento) {
+            if (cantidad == ids.length) {
+                ids = Arrays.copyOf(ids, cantidad * 2);
+                departamentos = Arrays.copyOf(departamentos, cantidad * 2);
+            }
+            ids[cantidad] = id;
+            departamentos[cantidad++] = departamento == null ? SIN_DEPARTAMENTO
+                : codigos.computeIfAbsent(departamento, nombre -> {
+                    nombres.add(nombre);
+                    return nombres.size() - 1;
+                });
+        }
+
+        InstantaneaEmpleados construir(long version) {
+            return new InstantaneaEmpleados(version, Arrays.copyOf(ids, cantidad),
+                Arrays.copyOf(departamentos, cantidad), nombres.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * Aplica los cambios de algunos empleados sobre una copia de la instantánea.
+     *
+     * @param version Versión de la nueva instantánea
+     * @param cambiados IDs releídos, ordenados
+     * @param actuales Departamento vigente de cada ID releído (null si no tiene);
+     *                 los IDs que no están se quitan
+     * @return Nueva instantánea
+     */
+    InstantaneaEmpleados conCambios(long version, long[] cambiados, Map<Long, String> actuales) {
+        Constructor constructor = new Constructor(nombresDepartamento);
+        int i = 0;
+        for (long id : cambiados) {
+            while (i < ids.length && ids[i] < id) {
+                constructor.agregar(ids[i], nombreDepartamento(departamentos[i]));
+                i++;
+            }
+            if (i < ids.length && ids[i] == id) {
+                i++;
+            }
+            if (actuales.containsKey(id)) {
+                constructor.agregar(id, actuales.get(id));
+            }
+        }
+        for (; i < ids.length; i++) {
+            constructor.agregar(ids[i], nombreDepartamento(departamentos[i]));
+        }
+        return constructor.construir(version);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    int cantidad() {
+        return ids.length;
+    }
+
+    int cantidadDepartamentos() {
+        return nombresDepartamento.length;
+    }
+
+    /** Posición de un empleado, o -1 si no existe. */
+    int posicion(long id) {
+        int posicion = Arrays.binarySearch(ids, id);
+        return posicion >= 0 ? posicion : -1;
+    }
+
+    long id(int posicion) {
+        return ids[posicion];
+    }
+
+    int departamento(int posicion) {
+        return departamentos[posicion];
+    }
+
+    /** Código de un departamento por nombre, o SIN_DEPARTAMENTO si ningún empleado lo tiene. */
+    int codigoDepartamento(String nombre) {
+        for (int i = 0; i < nombresDepartamento.length; i++) {
+            if (nombresDepartamento[i].equalsIgnoreCase(nombre)) {
+                return i;
+            }
+        }
+        return SIN_DEPARTAMENTO;
+    }
+
+    String nombreDepartamento(int codigo) {
+        return codigo == SIN_DEPARTAMENTO ? null : nombresDepartamento[codigo];
+    }
+}
@@ -0,0 +1,360 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.dto.EmpleadoResponseDTO;
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.PaginaKeysetDTO;
+import com.coderhouse.dto.ProyectoResponseDTO;
+import com.coderhouse.dto.ProyectoSimpleDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.event.EntidadGuardadaEvent;
+import com.coderhouse.event.EntidadesGuardadasEvent;
+import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.models.Empleado;
+import com.coderhouse.models.Proyecto;
+import com.coderhouse.service.InstantaneaDirectorio.FilaEmpleado;
+import com.coderhouse.service.InstantaneaDirectorio.FilaProyecto;
+
+/**
+ * Modelo de lectura en memoria de empleados, proyectos y asignaciones (CQRS).
+ * Se habilita con app.modelo-lectura.enabled=true; en ese caso los GET de
+ * EmpleadoController y ProyectoController se resuelven con este servicio en
+ * lugar de consultar la base.
+ *
+ * El modelo se carga completo al iniciar (ver {@link CargaDirectorio}). Cada
+ * alta, modificación, baja o asignación confirmada solo encola el ID de la
+ * fila afectada; una tarea periódica relee del primario, por lotes, las filas
+ * encoladas y publica una nueva {@link InstantaneaDirectorio}. Así quien
+ * confirma no espera la relectura ni ocupa una segunda conexión mientras
+ * todavía tiene tomados sus bloqueos, a cambio de que una escritura tarde
+ * hasta {@code app.modelo-lectura.aplicacion-ms} en verse. Las lecturas
+ * toman la instantánea vigente sin bloqueos. Una búsqueda de una sola fila
+ * que no la encuentra se resuelve contra el primario antes de responder que
+ * no existe, para que quien acaba de crear un empleado o proyecto pueda
+ * leerlo en la siguiente solicitud. Como se relee el estado
+ * confirmado, el orden en que llegan los eventos de transacciones
+ * concurrentes no altera el resultado final.
+ */
+@Service
+@ConditionalOnProperty(name = "app.modelo-lectura.enabled", havingValue = "true")
+public class ModeloLecturaService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ModeloLecturaService.class);
+
+    @Autowired
+    private CargaDirectorio cargaDirectorio;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private ProyectoService proyectoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.lote.max-ids:1000}")
+    private int maxIdsPorConsulta;
+
+    @Value("${app.paginacion.max-limite:500}")
+    private int maxLimitePagina;
+
+    private final ConcurrentLinkedQueue<Long> proyectosPendientes = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> empleadosPendientes = new ConcurrentLinkedQueue<>();
+    private volatile InstantaneaDirectorio instantanea = InstantaneaDirectorio.vacia();
+
+    /**
+     * Carga el modelo antes de que la aplicación empiece a atender solicitudes,
+     * desde la instantánea en disco si está habilitada o desde la base.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        instantanea = cargaDirectorio.inicial();
+        log.info("Modelo de lectura cargado: {} empleados, {} proyectos",
+            instantanea.empleados().cantidad(), instantanea.proyectos().cantidad());
+    }
+
+    // Empleados
+
+    /**
+     * Obtiene todos los empleados con sus proyectos, ordenados por ID.
+     */
+    public List<EmpleadoResponseDTO> obtenerEmpleados() {
+        InstantaneaDirectorio actual = instantanea;
+        List<EmpleadoResponseDTO> resultado = new ArrayList<>(actual.empleados().cantidad());
+        actual.empleados().recorrer(fila -> resultado.add(aEmpleadoDTO(actual, fila)));
+        return resultado;
+    }
+
+    /**
+     * Busca varios empleados por sus IDs, en el orden solicitado.
+     *
+     * @throws IllegalArgumentException Si la lista está vacía o supera el máximo permitido
+     */
+    public List<ResultadoPorIdDTO<EmpleadoResponseDTO>> obtenerEmpleadosPorIds(List<Long> ids) {
+        Lotes.distintos(ids, maxIdsPorConsulta);
+        InstantaneaDirectorio actual = instantanea;
+        return ids.stream()
+            .map(id -> {
+                FilaEmpleado fila = id != null ? actual.empleados().buscar(id) : null;
+                return new ResultadoPorIdDTO<>(id, fila != null ? aEmpleadoDTO(actual, fila) : null);
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca un empleado por su ID.
+     *
+     * @throws ResourceNotFoundException Si el empleado no existe
+     */
+    public EmpleadoResponseDTO obtenerEmpleado(Long id) {
+        InstantaneaDirectorio actual = instantanea;
+        FilaEmpleado fila = actual.empleados().buscar(id);
+        if (fila == null) {
+            return desdePrimario(() -> empleadoService.obtenerPorId(id));
+        }
+        return aEmpleadoDTO(actual, fila);
+    }
+
+    /**
+     * Busca un empleado por su email.
+     *
+     * @throws ResourceNotFoundException Si el empleado no existe
+     */
+    public EmpleadoResponseDTO obtenerEmpleadoPorEmail(String email) {
+        InstantaneaDirectorio actual = instantanea;
+        FilaEmpleado fila = actual.empleadoPorEmail(email);
+        if (fila == null) {
+            return desdePrimario(() -> empleadoService.obtenerPorEmail(email));
+        }
+        return aEmpleadoDTO(actual, fila);
+    }
+
+    /**
+     * Busca un empleado por su legajo.
+     *
+     * @throws ResourceNotFoundException Si el empleado no existe
+     */
+    public EmpleadoResponseDTO obtenerEmpleadoPorLegajo(String legajo) {
+        InstantaneaDirectorio actual = instantanea;
+        FilaEmpleado fila = actual.empleadoPorLegajo(legajo);
+        if (fila == null) {
+            return desdePrimario(() -> empleadoService.obtenerPorLegajo(legajo));
+        }
+        return aEmpleadoDTO(actual, fila);
+    }
+
+    // Proyectos
+
+    /**
+     * Obtiene todos los proyectos, ordenados por ID.
+     */
+    public List<ProyectoResponseDTO> obtenerProyectos() {
+        List<ProyectoResponseDTO> resultado = new ArrayList<>();
+        instantanea.proyectos().recorrer(fila -> resultado.add(aProyectoDTO(fila)));
+        return resultado;
+    }
+
+    /**
+     * Busca varios proyectos por sus IDs, en el orden solicitado.
+     *
+     * @throws IllegalArgumentException Si la lista está vacía o supera el máximo permitido
+     */
+    public List<ResultadoPorIdDTO<ProyectoResponseDTO>> obtenerProyectosPorIds(List<Long> ids) {
+        Lotes.distintos(ids, maxIdsPorConsulta);
+        TablaPorId<FilaProyecto> proyectos = instantanea.proyectos();
+        return ids.stream()
+            .map(id -> {
+                FilaProyecto fila = id != null ? proyectos.buscar(id) : null;
+                return new ResultadoPorIdDTO<>(id, fila != null ? aProyectoDTO(fila) : null);
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca un proyecto por su ID.
+     *
+     * @throws ResourceNotFoundException Si el proyecto no existe
+     */
+    public ProyectoResponseDTO obtenerProyecto(Long id) {
+        FilaProyecto fila = instantanea.proyectos().buscar(id);
+        if (fila == null) {
+            return desdePrimario(() -> proyectoService.obtenerPorId(id));
+        }
+        return aProyectoDTO(fila);
+    }
+
+    /**
+     * Página de empleados de un proyecto con la misma semántica de cursor que
+     * {@link ProyectoService#obtenerEmpleados(Long, Long, int)}.
+     *
+     * @throws ResourceNotFoundException Si el proyecto no existe
+     * @throws IllegalArgumentException Si el límite está fuera de rango
+     */
+    public PaginaKeysetDTO<EmpleadoSimpleDTO> obtenerEmpleadosDeProyecto(Long proyectoId, Long despuesDe, int limite) {
+        if (limite < 1 || limite > maxLimitePagina) {
+            throw new IllegalArgumentException(
+                String.format("El límite debe estar entre 1 y %d", maxLimitePagina));
+        }
+        InstantaneaDirectorio actual = instantanea;
+        FilaProyecto proyecto = actual.proyectos().buscar(proyectoId);
+        if (proyecto == null) {
+            return desdePrimario(() -> proyectoService.obtenerEmpleados(proyectoId, despuesDe, limite));
+        }
+        long[] empleados = proyecto.empleados;
+
+        int desde = Arrays.binarySearch(empleados, despuesDe != null ? despuesDe : 0L);
+        desde = desde >= 0 ? desde + 1 : -desde - 1;
+        int hasta = (int) Math.min(empleados.length, (long) desde + limite);
+        List<EmpleadoSimpleDTO> pagina = new ArrayList<>(hasta - desde);
+        for (int i = desde; i < hasta; i++) {
+            FilaEmpleado fila = actual.empleados().buscar(empleados[i]);
+            if (fila != null) {
+                pagina.add(new EmpleadoSimpleDTO(fila.id, fila.nombre, fila.apellido, fila.email, fila.legajo,
+                    actual.nombreDepartamento(fila.departamento)));
+            }
+        }
+        boolean hayMas = hasta < empleados.length;
+        Long siguienteCursor = hayMas ? empleados[hasta - 1] : null;
+        return new PaginaKeysetDTO<>(pagina, siguienteCursor, hayMas);
+    }
+
+    /**
+     * Busca proyectos que contengan el nombre dado (sin distinguir mayúsculas).
+     */
+    public List<ProyectoResponseDTO> buscarProyectosPorNombre(String nombre) {
+        String buscado = nombre.toLowerCase();
+        List<ProyectoResponseDTO> resultado = new ArrayList<>();
+        instantanea.proyectos().recorrer(fila -> {
+            if (fila.nombreMinusculas.contains(buscado)) {
+                resultado.add(aProyectoDTO(fila));
+            }
+        });
+        return resultado;
+    }
+
+    // Aplicación de escrituras confirmadas
+
+    @TransactionalEventListener
+    public void alGuardarEntidad(EntidadGuardadaEvent evento) {
+        encolar(evento.getEntidad(), List.of(evento.getId()));
+    }
+
+    @TransactionalEventListener
+    public void alGuardarEntidades(EntidadesGuardadasEvent evento) {
+        encolar(evento.getEntidad(), evento.getIds());
+    }
+
+    @TransactionalEventListener
+    public void alEliminarEntidad(EntidadEliminadaEvent evento) {
+        encolar(evento.getEntidad(), List.of(evento.getId()));
+    }
+
+    @TransactionalEventListener
+    public void alCambiarMembresia(CambioMembresiaEvent evento) {
+        // El empleado se relee con todos sus proyectos, lo que también refleja la asignación
+        empleadosPendientes.add(evento.getEmpleadoId());
+    }
+
+    /**
+     * Relee por lotes las filas con cambios confirmados desde la última
+     * ejecución y publica una sola instantánea nueva. Solo la ejecuta el
+     * planificador, por lo que hay un único escritor; los eventos que llegan
+     * mientras relee quedan para la próxima ejecución.
+     */
+    @Scheduled(fixedDelayString = "${app.modelo-lectura.aplicacion-ms:100}")
+    public void aplicarPendientes() {
+        Set<Long> proyectos = drenar(proyectosPendientes);
+        Set<Long> empleados = drenar(empleadosPendientes);
+        if (!proyectos.isEmpty() || !empleados.isEmpty()) {
+            instantanea = cargaDirectorio.refrescar(instantanea, proyectos, empleados);
+        }
+    }
+
+    /**
+     * Instantánea vigente, para volcarla a disco (ver {@link EscritorInstantanea}).
+     */
+    InstantaneaDirectorio instantanea() {
+        return instantanea;
+    }
+
+    private void encolar(Class<?> entidad, Collection<Long> ids) {
+        if (entidad == Empleado.class) {
+            empleadosPendientes.addAll(ids);
+        } else if (entidad == Proyecto.class) {
+            proyectosPendientes.addAll(ids);
+        }
+    }
+
+    private static Set<Long> drenar(ConcurrentLinkedQueue<Long> pendientes) {
+        Set<Long> ids = new LinkedHashSet<>();
+        Long id;
+        while ((id = pendientes.poll()) != null) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Resuelve contra la base una búsqueda que no encontró la fila en la
+     * instantánea: puede ser un alta confirmada que todavía no se aplicó.
+     * Si tampoco está en la base, el servicio lanza ResourceNotFoundException.
+     */
+    private <T> T desdePrimario(Supplier<T> lectura) {
+        // Transacción de escritura para leer del primario y no de una réplica atrasada
+        return new TransactionTemplate(transactionManager).execute(estado -> lectura.get());
+    }
+
+    private EmpleadoResponseDTO aEmpleadoDTO(InstantaneaDirectorio actual, FilaEmpleado fila) {
+        EmpleadoResponseDTO dto = new EmpleadoResponseDTO();
+        dto.setId(fila.id);
+        dto.setNombre(fila.nombre);
+        dto.setApellido(fila.apellido);
+        dto.setEmail(fila.email);
+        dto.setLegajo(fila.legajo);
+        dto.setDepartamento(actual.nombreDepartamento(fila.departamento));
+        dto.setFechaIngreso(fila.fechaIngreso);
+        dto.setCantidadProyectos(fila.proyectos.length);
+        List<ProyectoSimpleDTO> proyectos = new ArrayList<>(fila.proyectos.length);
+        for (long proyectoId : fila.proyectos) {
+            FilaProyecto proyecto = actual.proyectos().buscar(proyectoId);
+            if (proyecto != null) {
+                proyectos.add(new ProyectoSimpleDTO(proyecto.id, proyecto.nombre));
+            }
+        }
+        dto.setProyectos(proyectos);
+        return dto;
+    }
+
+    private ProyectoResponseDTO aProyectoDTO(FilaProyecto fila) {
+        ProyectoResponseDTO dto = new ProyectoResponseDTO();
+        dto.setId(fila.id);
+        dto.setNombre(fila.nombre);
+        dto.setDescripcion(fila.descripcion);
+        dto.setCantidadEmpleados(fila.empleados.length);
+        return dto;
+    }
+}
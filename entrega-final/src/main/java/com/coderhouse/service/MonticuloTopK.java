@@ -0,0 +1,117 @@
+package com.coderhouse.service;
+
+/**
+ * Montículo mínimo acotado que conserva los k elementos de mayor puntaje.
+ * Usa arreglos primitivos para no crear objetos por candidato; la raíz es
+ * siempre el peor elemento retenido, que se reemplaza cuando llega uno mejor.
+ *
+ * A igual puntaje se prefiere el elemento de menor posición, de modo que el
+ * resultado es determinista. No es seguro para uso concurrente: cada hilo
+ * usa su propio montículo y luego se combinan.
+ */
+final class MonticuloTopK {
+
+    private final int[] elementos;
+    private final double[] puntajes;
+    private int tamanio;
+
+    MonticuloTopK(int capacidad) {
+        this.elementos = new int[capacidad];
+        this.puntajes = new double[capacidad];
+    }
+
+    /**
+     * Ofrece un elemento; se retiene si hay lugar o si supera al peor retenido.
+     */
+    void ofrecer(int elemento, double puntaje) {
+        if (elementos.length == 0) {
+            return;
+        }
+        if (tamanio < elementos.length) {
+            elementos[tamanio] = elemento;
+            puntajes[tamanio] = puntaje;
+            subir(tamanio++);
+        } else if (peor(elementos[0], puntajes[0], elemento, puntaje)) {
+            elementos[0] = elemento;
+            puntajes[0] = puntaje;
+            bajar(0);
+        }
+    }
+
+    /**
+     * Incorpora los elementos retenidos por otro montículo.
+     */
+    void combinar(MonticuloTopK otro) {
+        for (int i = 0; i < otro.tamanio; i++) {
+            ofrecer(otro.elementos[i], otro.puntajes[i]);
+        }
+    }
+
+    int tamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Vacía el montículo y retorna los elementos de mayor a menor puntaje.
+     *
+     * @param puntajesOrdenados Arreglo de al menos tamanio() posiciones donde se
+     *                          copian los puntajes en el mismo orden
+     * @return Elementos ordenados de mayor a menor puntaje
+     */
+    int[] extraerOrdenados(double[] puntajesOrdenados) {
+        int[] resultado = new int[tamanio];
+        for (int i = tamanio - 1; i >= 0; i--) {
+            resultado[i] = elementos[0];
+            puntajesOrdenados[i] = puntajes[0];
+            tamanio--;
+            elementos[0] = elementos[tamanio];
+            puntajes[0] = puntajes[tamanio];
+            bajar(0);
+        }
+        return resultado;
+    }
+
+    /** Indica si (a, puntajeA) es peor candidato que (b, puntajeB). */
+    private static boolean peor(int a, double puntajeA, int b, double puntajeB) {
+        return puntajeA < puntajeB || (puntajeA == puntajeB && a > b);
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!peor(elementos[i], puntajes[i], elementos[padre], puntajes[padre])) {
+                break;
+            }
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void bajar(int i) {
+        while (true) {
+            int izquierdo = 2 * i + 1;
+            if (izquierdo >= tamanio) {
+                break;
+            }
+            int menor = izquierdo;
+            int derecho = izquierdo + 1;
+            if (derecho < tamanio && peor(elementos[derecho], puntajes[derecho], elementos[izquierdo], puntajes[izquierdo])) {
+                menor = derecho;
+            }
+            if (!peor(elementos[menor], puntajes[menor], elementos[i], puntajes[i])) {
+                break;
+            }
+            intercambiar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void intercambiar(int i, int j) {
+        int elemento = elementos[i];
+        elementos[i] = elementos[j];
+        elementos[j] = elemento;
+        double puntaje = puntajes[i];
+        puntajes[i] = puntajes[j];
+        puntajes[j] = puntaje;
+    }
+}
@@ -1,18 +1,33 @@
 package com.coderhouse.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.coderhouse.config.BloqueoEntidades;
+import com.coderhouse.config.ReintentoTransitorio;
+import com.coderhouse.dto.EmpleadoSimpleDTO;
+import com.coderhouse.dto.PaginaKeysetDTO;
 import com.coderhouse.dto.ProyectoDTO;
 import com.coderhouse.dto.ProyectoResponseDTO;
+import com.coderhouse.dto.ResultadoPorIdDTO;
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.event.EntidadGuardadaEvent;
 import com.coderhouse.exception.ResourceNotFoundException;
 import com.coderhouse.models.Empleado;
 import com.coderhouse.models.Proyecto;
 import com.coderhouse.repository.EmpleadoRepository;
+import com.coderhouse.repository.LecturaMasivaRepository;
 import com.coderhouse.repository.ProyectoRepository;
 
 /**
@@ -29,17 +44,46 @@ public class ProyectoService {
     @Autowired
     private EmpleadoRepository empleadoRepository;
     
+    @Autowired
+    private LecturaMasivaRepository lecturaMasivaRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.lote.max-ids:1000}")
+    private int maxIdsPorConsulta;
+    
+    @Value("${app.lote.tamanio:500}")
+    private int tamanioLote;
+    
+    @Value("${app.paginacion.max-limite:500}")
+    private int maxLimitePagina;
+    
     /**
      * Obtiene todos los proyectos.
      * 
      * @return Lista de todos los proyectos como DTOs
      */
+    @Transactional(readOnly = true)
     public List<ProyectoResponseDTO> obtenerTodos() {
         return proyectoRepository.findAll().stream()
             .map(ProyectoResponseDTO::new)
             .collect(Collectors.toList());
     }
     
+    /**
+     * Recorre todos los proyectos en modo de lectura masiva.
+     * Usa una sesión sin estado con un cursor forward-only, sin snapshots ni
+     * caché de primer nivel, y entrega cada DTO apenas se lee, de modo que
+     * una exportación no retiene el resultado completo en memoria.
+     * 
+     * @param consumidor Recibe cada proyecto como DTO, en orden de ID
+     */
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<ProyectoResponseDTO> consumidor) {
+        lecturaMasivaRepository.recorrerProyectos(consumidor);
+    }
+    
     /**
      * Busca un proyecto por su ID.
      * 
@@ -47,12 +91,72 @@ public class ProyectoService {
      * @return ProyectoResponseDTO con los datos del proyecto
      * @throws ResourceNotFoundException Si el proyecto no existe
      */
+    @Transactional(readOnly = true)
     public ProyectoResponseDTO obtenerPorId(Long id) {
-        Proyecto proyecto = proyectoRepository.findById(id)
+        Proyecto proyecto = proyectoRepository.findConDescripcionById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Proyecto", "id", id));
         return new ProyectoResponseDTO(proyecto);
     }
     
+    /**
+     * Busca varios proyectos por sus IDs.
+     * Los IDs se resuelven con consultas IN por lotes que también cargan los
+     * empleados de cada proyecto.
+     * 
+     * @param ids IDs de los proyectos
+     * @return Un resultado por ID, en el orden solicitado, indicando si fue encontrado
+     * @throws IllegalArgumentException Si la lista está vacía o supera el máximo permitido
+     */
+    @Transactional(readOnly = true)
+    public List<ResultadoPorIdDTO<ProyectoResponseDTO>> obtenerPorIds(List<Long> ids) {
+        List<Long> distintos = Lotes.distintos(ids, maxIdsPorConsulta);
+        
+        Map<Long, ProyectoResponseDTO> encontrados = new HashMap<>();
+        for (List<Long> lote : Lotes.particionar(distintos, tamanioLote)) {
+            for (Proyecto proyecto : proyectoRepository.findByIdIn(lote)) {
+                encontrados.put(proyecto.getId(), new ProyectoResponseDTO(proyecto));
+            }
+        }
+        
+        return ids.stream()
+            .map(id -> new ResultadoPorIdDTO<>(id, encontrados.get(id)))
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtiene una página de los empleados de un proyecto.
+     * Usa paginación keyset sobre proyecto_empleado: cada página se resuelve
+     * con una búsqueda por índice a partir del último ID devuelto.
+     * 
+     * @param proyectoId ID del proyecto
+     * @param despuesDe ID del último empleado de la página anterior (null para la primera)
+     * @param limite Cantidad máxima de empleados por página
+     * @return Página de empleados ordenados por ID
+     * @throws ResourceNotFoundException Si el proyecto no existe
+     * @throws IllegalArgumentException Si el límite está fuera de rango
+     */
+    @Transactional(readOnly = true)
+    public PaginaKeysetDTO<EmpleadoSimpleDTO> obtenerEmpleados(Long proyectoId, Long despuesDe, int limite) {
+        if (limite < 1 || limite > maxLimitePagina) {
+            throw new IllegalArgumentException(
+                String.format("El límite debe estar entre 1 y %d", maxLimitePagina));
+        }
+        if (!proyectoRepository.existsById(proyectoId)) {
+            throw new ResourceNotFoundException("Proyecto", "id", proyectoId);
+        }
+        
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<Empleado> empleados = proyectoRepository.findEmpleadosDespuesDe(
+            proyectoId, despuesDe != null ? despuesDe : 0L, PageRequest.ofSize(limite + 1));
+        boolean hayMas = empleados.size() > limite;
+        List<EmpleadoSimpleDTO> pagina = empleados.stream()
+            .limit(limite)
+            .map(EmpleadoSimpleDTO::new)
+            .collect(Collectors.toList());
+        Long siguienteCursor = hayMas ? pagina.get(pagina.size() - 1).getId() : null;
+        return new PaginaKeysetDTO<>(pagina, siguienteCursor, hayMas);
+    }
+    
     /**
      * Busca un proyecto por su nombre.
      * 
@@ -60,6 +164,7 @@ public class ProyectoService {
      * @return ProyectoResponseDTO con los datos del proyecto
      * @throws ResourceNotFoundException Si el proyecto no existe
      */
+    @Transactional(readOnly = true)
     public ProyectoResponseDTO obtenerPorNombre(String nombre) {
         Proyecto proyecto = proyectoRepository.findByNombre(nombre)
             .orElseThrow(() -> new ResourceNotFoundException("Proyecto", "nombre", nombre));
@@ -72,6 +177,7 @@ public class ProyectoService {
      * @param nombre Nombre o parte del nombre a buscar
      * @return Lista de proyectos encontrados como DTOs
      */
+    @Transactional(readOnly = true)
     public List<ProyectoResponseDTO> buscarPorNombre(String nombre) {
         return proyectoRepository.findByNombreContainingIgnoreCase(nombre).stream()
             .map(ProyectoResponseDTO::new)
@@ -91,6 +197,7 @@ public class ProyectoService {
         );
         
         Proyecto proyectoGuardado = proyectoRepository.save(proyecto);
+        eventPublisher.publishEvent(new EntidadGuardadaEvent(Proyecto.class, proyectoGuardado.getId()));
         return new ProyectoResponseDTO(proyectoGuardado);
     }
     
@@ -102,6 +209,7 @@ public class ProyectoService {
      * @return ProyectoResponseDTO del proyecto actualizado
      * @throws ResourceNotFoundException Si el proyecto no existe
      */
+    @ReintentoTransitorio
     public ProyectoResponseDTO actualizar(Long id, ProyectoDTO proyectoDTO) {
         Proyecto proyectoExistente = proyectoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Proyecto", "id", id));
@@ -110,21 +218,25 @@ public class ProyectoService {
         proyectoExistente.setDescripcion(proyectoDTO.getDescripcion());
         
         Proyecto proyectoActualizado = proyectoRepository.save(proyectoExistente);
+        eventPublisher.publishEvent(new EntidadGuardadaEvent(Proyecto.class, id));
         return new ProyectoResponseDTO(proyectoActualizado);
     }
     
     /**
      * Elimina un proyecto por su ID.
-     * Las relaciones con empleados se actualizan en cascada.
+     * Es una baja lógica de una sola fila, sin importar la cantidad de
+     * miembros: PurgadorEliminados descuenta el proyecto del contador de sus
+     * empleados y borra sus filas de proyecto_empleado por lotes.
      * 
      * @param id ID del proyecto a eliminar
      * @throws ResourceNotFoundException Si el proyecto no existe
      */
+    @ReintentoTransitorio
     public void eliminar(Long id) {
-        if (!proyectoRepository.existsById(id)) {
+        if (proyectoRepository.marcarEliminado(id) == 0) {
             throw new ResourceNotFoundException("Proyecto", "id", id);
         }
-        proyectoRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntidadEliminadaEvent(Proyecto.class, id));
     }
     
     /**
@@ -135,8 +247,10 @@ public class ProyectoService {
      * @return ProyectoResponseDTO del proyecto actualizado
      * @throws ResourceNotFoundException Si el proyecto o empleado no existen
      */
+    @ReintentoTransitorio
+    @BloqueoEntidades(proyecto = "proyectoId", empleado = "empleadoId")
     public ProyectoResponseDTO asignarEmpleado(Long proyectoId, Long empleadoId) {
-        Proyecto proyecto = proyectoRepository.findById(proyectoId)
+        Proyecto proyecto = proyectoRepository.findConDescripcionById(proyectoId)
             .orElseThrow(() -> new ResourceNotFoundException("Proyecto", "id", proyectoId));
         
         Empleado empleado = empleadoRepository.findById(empleadoId)
@@ -146,6 +260,8 @@ public class ProyectoService {
             proyecto.getEmpleados().add(empleado);
             empleado.getProyectos().add(proyecto);
             empleadoRepository.save(empleado);
+            ajustarContadores(proyecto, empleado, 1);
+            eventPublisher.publishEvent(new CambioMembresiaEvent(empleadoId, proyectoId, true));
         }
         
         Proyecto proyectoActualizado = proyectoRepository.save(proyecto);
@@ -160,19 +276,34 @@ public class ProyectoService {
      * @return ProyectoResponseDTO del proyecto actualizado
      * @throws ResourceNotFoundException Si el proyecto o empleado no existen
      */
+    @ReintentoTransitorio
+    @BloqueoEntidades(proyecto = "proyectoId", empleado = "empleadoId")
     public ProyectoResponseDTO removerEmpleado(Long proyectoId, Long empleadoId) {
-        Proyecto proyecto = proyectoRepository.findById(proyectoId)
+        Proyecto proyecto = proyectoRepository.findConDescripcionById(proyectoId)
             .orElseThrow(() -> new ResourceNotFoundException("Proyecto", "id", proyectoId));
         
         Empleado empleado = empleadoRepository.findById(empleadoId)
             .orElseThrow(() -> new ResourceNotFoundException("Empleado", "id", empleadoId));
         
-        proyecto.getEmpleados().remove(empleado);
-        empleado.getProyectos().remove(proyecto);
-        empleadoRepository.save(empleado);
+        // Se borra solo la fila: quitarla de la colección haría que Hibernate la
+        // recree sin las asignaciones de empleados dados de baja
+        if (proyectoRepository.eliminarAsignaciones(List.of(proyectoId), List.of(empleadoId)) > 0) {
+            ajustarContadores(proyecto, empleado, -1);
+            eventPublisher.publishEvent(new CambioMembresiaEvent(empleadoId, proyectoId, false));
+        }
         
-        Proyecto proyectoActualizado = proyectoRepository.save(proyecto);
-        return new ProyectoResponseDTO(proyectoActualizado);
+        return new ProyectoResponseDTO(proyecto);
+    }
+    
+    /**
+     * Actualiza los contadores de ambos lados de la relación con UPDATE
+     * atómicos dentro de la transacción de la asignación, y refleja el cambio
+     * en las entidades cargadas para la respuesta.
+     */
+    private void ajustarContadores(Proyecto proyecto, Empleado empleado, long delta) {
+        proyectoRepository.ajustarCantidadEmpleados(proyecto.getId(), delta);
+        empleadoRepository.ajustarCantidadProyectos(empleado.getId(), delta);
+        proyecto.setCantidadEmpleados(proyecto.getCantidadEmpleados() + delta);
+        empleado.setCantidadProyectos(empleado.getCantidadProyectos() + delta);
     }
 }
-
@@ -0,0 +1,150 @@
+package com.coderhouse.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.repository.EmpleadoRepository;
+import com.coderhouse.repository.ProyectoRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Purga en segundo plano los empleados y proyectos dados de baja lógica.
+ *
+ * Cada entidad se purga en transacciones cortas de hasta app.purga.lote
+ * asignaciones: se descuenta el contador del otro lado de la relación y se
+ * borran esas filas de proyecto_empleado en la misma transacción, por lo que
+ * los contadores nunca quedan desfasados respecto de la tabla. Cuando no
+ * quedan asignaciones se borra la fila. Un proyecto con miles de miembros
+ * se purga así sin retener bloqueos durante segundos.
+ *
+ * Cada asignación borrada se publica como {@link CambioMembresiaEvent} dentro
+ * de la transacción de su lote, igual que una remoción desde la API, para que
+ * el registro de cambios y los índices en memoria la reflejen.
+ *
+ * Publica purga.entidades (counter) con las entidades borradas por tipo.
+ */
+@Service
+public class PurgadorEliminados {
+
+    private static final Logger log = LoggerFactory.getLogger(PurgadorEliminados.class);
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.purga.lote:500}")
+    private int tamanioLote;
+
+    @Value("${app.purga.max-entidades:100}")
+    private int maxEntidades;
+
+    private Counter proyectosPurgados;
+    private Counter empleadosPurgados;
+
+    @PostConstruct
+    void registrarMetricas() {
+        proyectosPurgados = Counter.builder("purga.entidades")
+            .description("Entidades dadas de baja borradas definitivamente")
+            .tag("entidad", "proyecto")
+            .register(meterRegistry);
+        empleadosPurgados = Counter.builder("purga.entidades")
+            .description("Entidades dadas de baja borradas definitivamente")
+            .tag("entidad", "empleado")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Purga hasta app.purga.max-entidades proyectos y empleados por ejecución.
+     * Si una entidad falla (por ejemplo, por una asignación concurrente) se
+     * reintenta en la siguiente ejecución.
+     */
+    @Scheduled(initialDelayString = "${app.purga.intervalo-ms:5000}",
+               fixedDelayString = "${app.purga.intervalo-ms:5000}")
+    public void purgar() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        int proyectos = 0;
+        int empleados = 0;
+
+        List<Long> proyectoIds = transaccion.execute(estado -> proyectoRepository.findIdsEliminados(maxEntidades));
+        for (Long id : proyectoIds) {
+            try {
+                proyectos += purgarProyecto(transaccion, id);
+            } catch (DataAccessException e) {
+                log.warn("No se pudo purgar el proyecto {}: {}", id, e.getMessage());
+            }
+        }
+        List<Long> empleadoIds = transaccion.execute(estado -> empleadoRepository.findIdsEliminados(maxEntidades));
+        for (Long id : empleadoIds) {
+            try {
+                empleados += purgarEmpleado(transaccion, id);
+            } catch (DataAccessException e) {
+                log.warn("No se pudo purgar el empleado {}: {}", id, e.getMessage());
+            }
+        }
+
+        proyectosPurgados.increment(proyectos);
+        empleadosPurgados.increment(empleados);
+        if (proyectos > 0 || empleados > 0) {
+            log.info("Purga: {} proyectos y {} empleados eliminados", proyectos, empleados);
+        }
+    }
+
+    private int purgarProyecto(TransactionTemplate transaccion, Long id) {
+        Integer borrados;
+        do {
+            borrados = transaccion.execute(estado -> {
+                List<Long> lote = proyectoRepository.findEmpleadoIdsAsignados(id, tamanioLote);
+                if (lote.isEmpty()) {
+                    return proyectoRepository.purgar(id);
+                }
+                empleadoRepository.descontarProyecto(lote);
+                proyectoRepository.eliminarAsignaciones(List.of(id), lote);
+                lote.forEach(empleadoId -> eventPublisher.publishEvent(new CambioMembresiaEvent(empleadoId, id, false)));
+                return null;
+            });
+        } while (borrados == null);
+        return borrados;
+    }
+
+    private int purgarEmpleado(TransactionTemplate transaccion, Long id) {
+        Integer borrados;
+        do {
+            borrados = transaccion.execute(estado -> {
+                List<Long> lote = proyectoRepository.findProyectoIdsAsignados(id, tamanioLote);
+                if (lote.isEmpty()) {
+                    return empleadoRepository.purgar(id);
+                }
+                proyectoRepository.descontarEmpleado(lote);
+                proyectoRepository.eliminarAsignaciones(lote, List.of(id));
+                lote.forEach(proyectoId -> eventPublisher.publishEvent(new CambioMembresiaEvent(id, proyectoId, false)));
+                return null;
+            });
+        } while (borrados == null);
+        return borrados;
+    }
+}
@@ -0,0 +1,202 @@
+package com.coderhouse.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.dto.RecomendacionDTO;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.event.EntidadGuardadaEvent;
+import com.coderhouse.event.EntidadesGuardadasEvent;
+import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.models.Empleado;
+import com.coderhouse.repository.EmpleadoRepository;
+import com.coderhouse.repository.ProyectoRepository;
+
+/**
+ * Servicio de recomendación de empleados para un proyecto.
+ * Ordena a los candidatos por afinidad de departamento con el equipo actual,
+ * por cantidad de miembros del equipo con los que ya trabajaron y por su
+ * carga de proyectos, evaluándolos en paralelo sobre instantáneas en memoria
+ * (ver {@link CalculoRecomendaciones}).
+ *
+ * Las asignaciones se leen del grafo de {@link ColaboracionService}; los
+ * departamentos, de una instantánea propia. Al crear, actualizar o eliminar
+ * empleados se encolan sus IDs y el planificador relee solo esos empleados y
+ * los aplica sobre una copia de la instantánea. Los resultados se guardan en
+ * caché por versión de ambas instantáneas, así que un cambio en cualquiera de
+ * ellas deja de usar los resultados anteriores sin vaciar la caché.
+ */
+@Service
+public class RecomendacionService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RecomendacionService.class);
+
+    @Autowired
+    private ColaboracionService colaboracionService;
+
+    @Autowired
+    private CargaDirectorio cargaDirectorio;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.paginacion.max-limite:500}")
+    private int maxLimite;
+
+    @Value("${app.recomendaciones.peso-departamento:0.5}")
+    private double pesoDepartamento;
+
+    @Value("${app.recomendaciones.peso-companeros:0.3}")
+    private double pesoCompaneros;
+
+    @Value("${app.recomendaciones.peso-carga:0.2}")
+    private double pesoCarga;
+
+    @Value("${app.recomendaciones.max-cache:1000}")
+    private int maxCache;
+
+    @Value("${app.lote.tamanio:500}")
+    private int tamanioLote;
+
+    private final Map<List<Object>, List<RecomendacionDTO>> cache = new ConcurrentHashMap<>();
+    private volatile InstantaneaEmpleados empleados = new InstantaneaEmpleados.Constructor().construir(0);
+    private final ConcurrentLinkedQueue<Long> empleadosPendientes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Carga la instantánea inicial de empleados.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long inicio = System.nanoTime();
+        InstantaneaEmpleados.Constructor constructor = new InstantaneaEmpleados.Constructor();
+        cargaDirectorio.recorrerDepartamentos(constructor::agregar);
+        empleados = constructor.construir(1);
+        log.info("Instantánea de recomendaciones cargada: {} empleados, {} departamentos en {} ms",
+            empleados.cantidad(), empleados.cantidadDepartamentos(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Obtiene los mejores candidatos para sumarse a un proyecto.
+     * Los miembros actuales del proyecto no se incluyen.
+     *
+     * @param proyectoId ID del proyecto
+     * @param departamento Departamento buscado, o null para usar el del equipo actual
+     * @param limite Cantidad máxima de candidatos
+     * @return Candidatos de mayor a menor puntaje
+     * @throws ResourceNotFoundException Si el proyecto no existe
+     * @throws IllegalArgumentException Si el límite está fuera de rango
+     */
+    public List<RecomendacionDTO> recomendar(Long proyectoId, String departamento, int limite) {
+        if (limite < 1 || limite > maxLimite) {
+            throw new IllegalArgumentException(
+                String.format("El límite debe estar entre 1 y %d", maxLimite));
+        }
+        GrafoColaboracion grafo = colaboracionService.instantanea();
+        InstantaneaEmpleados actual = empleados;
+        String buscado = departamento == null || departamento.isBlank() ? null : departamento.trim().toLowerCase();
+
+        List<Object> clave = Arrays.asList(proyectoId, buscado, limite, grafo.getVersion(), actual.getVersion());
+        List<RecomendacionDTO> enCache = cache.get(clave);
+        if (enCache != null) {
+            return enCache;
+        }
+        if (!proyectoRepository.existsById(proyectoId)) {
+            throw new ResourceNotFoundException("Proyecto", "id", proyectoId);
+        }
+
+        CalculoRecomendaciones calculo = new CalculoRecomendaciones(grafo, actual, grafo.proyecto(proyectoId),
+            buscado, pesoDepartamento, pesoCompaneros, pesoCarga);
+        MonticuloTopK mejores = calculo.mejores(limite, colaboracionService.pool());
+        double[] puntajes = new double[mejores.tamanio()];
+        int[] ordenados = mejores.extraerOrdenados(puntajes);
+
+        List<RecomendacionDTO> resultado = new ArrayList<>(ordenados.length);
+        for (int i = 0; i < ordenados.length; i++) {
+            int posicion = ordenados[i];
+            resultado.add(new RecomendacionDTO(actual.id(posicion),
+                actual.nombreDepartamento(actual.departamento(posicion)), puntajes[i],
+                calculo.afinidadDepartamento(posicion), calculo.proyectosActuales(posicion),
+                calculo.companerosEnEquipo(posicion)));
+        }
+        resultado = Collections.unmodifiableList(resultado);
+
+        if (cache.size() >= maxCache) {
+            cache.clear();
+        }
+        cache.put(clave, resultado);
+        return resultado;
+    }
+
+    @TransactionalEventListener
+    public void alGuardarEntidad(EntidadGuardadaEvent evento) {
+        encolar(evento.getEntidad(), List.of(evento.getId()));
+    }
+
+    @TransactionalEventListener
+    public void alGuardarEntidades(EntidadesGuardadasEvent evento) {
+        encolar(evento.getEntidad(), evento.getIds());
+    }
+
+    @TransactionalEventListener
+    public void alEliminarEntidad(EntidadEliminadaEvent evento) {
+        encolar(evento.getEntidad(), List.of(evento.getId()));
+    }
+
+    /**
+     * Relee los empleados encolados y los aplica sobre una copia de la instantánea.
+     * Solo la ejecuta el planificador, por lo que hay un único escritor.
+     */
+    @Scheduled(fixedDelayString = "${app.recomendaciones.actualizacion-ms:1000}")
+    public void actualizar() {
+        // Se drena antes de leer: un cambio confirmado durante la lectura queda para la próxima pasada
+        TreeSet<Long> ids = new TreeSet<>();
+        Long id;
+        while ((id = empleadosPendientes.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, String> actuales = new HashMap<>();
+        // Transacción de escritura para leer del primario y no de una réplica atrasada
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            for (List<Long> lote : Lotes.particionar(new ArrayList<>(ids), tamanioLote)) {
+                empleadoRepository.findDepartamentosByIdIn(lote)
+                    .forEach(fila -> actuales.put((Long) fila[0], (String) fila[1]));
+            }
+        });
+        empleados = empleados.conCambios(empleados.getVersion() + 1,
+            ids.stream().mapToLong(Long::longValue).toArray(), actuales);
+    }
+
+    private void encolar(Class<?> entidad, Collection<Long> ids) {
+        if (entidad == Empleado.class) {
+            empleadosPendientes.addAll(ids);
+        }
+    }
+}
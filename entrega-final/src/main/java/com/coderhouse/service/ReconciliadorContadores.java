@@ -0,0 +1,132 @@
+package com.coderhouse.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.repository.EmpleadoRepository;
+import com.coderhouse.repository.ProyectoRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reconciliador de los contadores desnormalizados de Empleados y Proyectos.
+ * Periódicamente recalcula desde proyecto_empleado los contadores que no
+ * coinciden (por escrituras fuera de la aplicación, datos migrados o fallas
+ * parciales) y publica la cantidad de filas corregidas como métrica:
+ * - contadores.desvio (gauge): filas con desvío en la última ejecución
+ * - contadores.reparaciones (counter): total de filas corregidas
+ *
+ * Recorre cada tabla por keyset en lotes de app.contadores.reconciliacion.lote
+ * filas. Los desvíos de cada lote se detectan con una lectura sin bloqueos y
+ * solo esas filas se actualizan, en una transacción corta propia, de modo que
+ * las asignaciones concurrentes no esperan a que termine la tabla entera.
+ */
+@Service
+@ConditionalOnProperty(name = "app.contadores.reconciliacion.enabled", havingValue = "true", matchIfMissing = true)
+public class ReconciliadorContadores {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliadorContadores.class);
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.contadores.reconciliacion.lote:500}")
+    private int tamanioLote;
+
+    private final AtomicLong desvioProyectos = new AtomicLong();
+    private final AtomicLong desvioEmpleados = new AtomicLong();
+    private Counter reparacionesProyectos;
+    private Counter reparacionesEmpleados;
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("contadores.desvio", desvioProyectos, AtomicLong::get)
+            .description("Proyectos con cantidadEmpleados desviada en la última reconciliación")
+            .tag("entidad", "proyecto")
+            .register(meterRegistry);
+        Gauge.builder("contadores.desvio", desvioEmpleados, AtomicLong::get)
+            .description("Empleados con cantidadProyectos desviada en la última reconciliación")
+            .tag("entidad", "empleado")
+            .register(meterRegistry);
+        reparacionesProyectos = Counter.builder("contadores.reparaciones")
+            .tag("entidad", "proyecto")
+            .register(meterRegistry);
+        reparacionesEmpleados = Counter.builder("contadores.reparaciones")
+            .tag("entidad", "empleado")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Corrige los contadores desviados de proyectos y empleados.
+     * Un UPDATE concurrente de una asignación puede hacer que una fila se
+     * corrija de más o de menos; la siguiente ejecución la vuelve a reparar.
+     */
+    @Scheduled(initialDelayString = "${app.contadores.reconciliacion.retraso-inicial-ms:10000}",
+               fixedDelayString = "${app.contadores.reconciliacion.intervalo-ms:300000}")
+    public void reconciliar() {
+        int proyectos = reconciliar(proyectoRepository::findIdsDespuesDe,
+            proyectoRepository::findIdsConCantidadDesviada, proyectoRepository::repararCantidadEmpleados);
+        int empleados = reconciliar(empleadoRepository::findIdsDespuesDe,
+            empleadoRepository::findIdsConCantidadDesviada, empleadoRepository::repararCantidadProyectos);
+
+        desvioProyectos.set(proyectos);
+        desvioEmpleados.set(empleados);
+        reparacionesProyectos.increment(proyectos);
+        reparacionesEmpleados.increment(empleados);
+
+        if (proyectos > 0 || empleados > 0) {
+            log.warn("Contadores reparados: {} proyectos, {} empleados", proyectos, empleados);
+        }
+    }
+
+    private int reconciliar(Lote lote, Function<Collection<Long>, List<Long>> desviados,
+                            Function<Collection<Long>, Integer> reparar) {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        TransactionTemplate escritura = new TransactionTemplate(transactionManager);
+
+        int reparados = 0;
+        long desdeId = 0;
+        while (true) {
+            long desde = desdeId;
+            List<Long> ids = lectura.execute(estado -> lote.despuesDe(desde, tamanioLote));
+            if (ids.isEmpty()) {
+                return reparados;
+            }
+            List<Long> conDesvio = lectura.execute(estado -> desviados.apply(ids));
+            if (!conDesvio.isEmpty()) {
+                reparados += escritura.execute(estado -> reparar.apply(conDesvio));
+            }
+            desdeId = ids.get(ids.size() - 1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Lote {
+        List<Long> despuesDe(Long desdeId, int limite);
+    }
+}
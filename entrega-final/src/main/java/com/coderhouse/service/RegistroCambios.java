@@ -0,0 +1,60 @@
+package com.coderhouse.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.coderhouse.event.CambioMembresiaEvent;
+import com.coderhouse.event.EntidadEliminadaEvent;
+import com.coderhouse.event.EntidadGuardadaEvent;
+import com.coderhouse.event.EntidadesGuardadasEvent;
+import com.coderhouse.models.Cambio;
+import com.coderhouse.models.Empleado;
+import com.coderhouse.models.Proyecto;
+import com.coderhouse.repository.CambioRepository;
+
+/**
+ * Registra en la tabla Cambios cada escritura sobre empleados, proyectos y
+ * asignaciones. Los eventos se atienden antes del commit, por lo que el
+ * registro se confirma o se descarta junto con la escritura que lo generó.
+ *
+ * Solo se activa junto con las instantáneas en disco, que lo usan para
+ * ponerse al día desde su marca de agua (ver {@link CargaDirectorio}).
+ */
+@Service
+@ConditionalOnProperty(name = "app.instantanea.enabled", havingValue = "true")
+public class RegistroCambios {
+
+    @Autowired
+    private CambioRepository cambioRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alGuardarEntidad(EntidadGuardadaEvent evento) {
+        registrar(evento.getEntidad(), evento.getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alGuardarEntidades(EntidadesGuardadasEvent evento) {
+        evento.getIds().forEach(id -> registrar(evento.getEntidad(), id));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alEliminarEntidad(EntidadEliminadaEvent evento) {
+        registrar(evento.getEntidad(), evento.getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alCambiarMembresia(CambioMembresiaEvent evento) {
+        cambioRepository.save(new Cambio(Cambio.Tipo.ASIGNACION, evento.getEmpleadoId(), evento.getProyectoId()));
+    }
+
+    private void registrar(Class<?> entidad, Long id) {
+        if (entidad == Empleado.class) {
+            cambioRepository.save(new Cambio(Cambio.Tipo.EMPLEADO, id, null));
+        } else if (entidad == Proyecto.class) {
+            cambioRepository.save(new Cambio(Cambio.Tipo.PROYECTO, id, null));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.coderhouse.service;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Tabla inmutable de filas indexadas por ID, dividida en páginas de tamaño
+ * fijo con direccionamiento directo (página = id / 1024). Una búsqueda es un
+ * acceso a dos arreglos y el recorrido sale ordenado por ID.
+ *
+ * Las modificaciones devuelven una tabla nueva que comparte todas las páginas
+ * salvo la afectada, de modo que el costo de una escritura es copiar el
+ * arreglo de páginas y una página, no la tabla completa.
+ */
+final class TablaPorId<T> {
+
+    private static final int BITS_PAGINA = 10;
+    private static final int TAMANIO_PAGINA = 1 << BITS_PAGINA;
+    private static final int MASCARA = TAMANIO_PAGINA - 1;
+
+    private static final TablaPorId<?> VACIA = new TablaPorId<>(new Object[0][], 0);
+
+    private final Object[][] paginas;
+    private final int cantidad;
+
+    private TablaPorId(Object[][] paginas, int cantidad) {
+        this.paginas = paginas;
+        this.cantidad = cantidad;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> TablaPorId<T> vacia() {
+        return (TablaPorId<T>) VACIA;
+    }
+
+    int cantidad() {
+        return cantidad;
+    }
+
+    /** Fila con el ID dado, o null si no existe. */
+    @SuppressWarnings("unchecked")
+    T buscar(long id) {
+        int pagina = pagina(id);
+        if (pagina < 0 || pagina >= paginas.length || paginas[pagina] == null) {
+            return null;
+        }
+        return (T) paginas[pagina][(int) (id & MASCARA)];
+    }
+
+    /**
+     * Devuelve una tabla con la fila reemplazada, o eliminada si valor es null.
+     */
+    TablaPorId<T> con(long id, T valor) {
+        int pagina = pagina(id);
+        if (pagina < 0) {
+            throw new IllegalArgumentException("ID fuera de rango: " + id);
+        }
+        T anterior = buscar(id);
+        if (anterior == null && valor == null) {
+            return this;
+        }
+        Object[][] nuevas = Arrays.copyOf(paginas, Math.max(paginas.length, pagina + 1));
+        Object[] filas = nuevas[pagina] != null ? nuevas[pagina].clone() : new Object[TAMANIO_PAGINA];
+        filas[(int) (id & MASCARA)] = valor;
+        nuevas[pagina] = filas;
+        int delta = (anterior == null ? 1 : 0) - (valor == null ? 1 : 0);
+        return new TablaPorId<>(nuevas, cantidad + delta);
+    }
+
+    /** Recorre las filas en orden de ID. */
+    @SuppressWarnings("unchecked")
+    void recorrer(Consumer<T> consumidor) {
+        for (Object[] filas : paginas) {
+            if (filas == null) {
+                continue;
+            }
+            for (Object fila : filas) {
+                if (fila != null) {
+                    consumidor.accept((T) fila);
+                }
+            }
+        }
+    }
+
+    private static int pagina(long id) {
+        long pagina = id >>> BITS_PAGINA;
+        return id < 0 || pagina > Integer.MAX_VALUE - 8 ? -1 : (int) pagina;
+    }
+
+    /**
+     * Carga inicial: escribe en páginas propias sin copiarlas.
+     * La tabla construida no debe volver a modificarse por el constructor.
+     */
+    static final class Constructor<T> {
+
+        private Object[][] paginas = new Object[16][];
+        private int cantidad;
+
+        void agregar(long id, T valor) {
+            int pagina = pagina(id);
+            if (pagina < 0) {
+                throw new IllegalArgumentException("ID fuera de rango: " + id);
+            }
+            if (pagina >= paginas.length) {
+                paginas = Arrays.copyOf(paginas, Math.max(pagina + 1, paginas.length * 2));
+            }
+            if (paginas[pagina] == null) {
+                paginas[pagina] = new Object[TAMANIO_PAGINA];
+            }
+            if (paginas[pagina][(int) (id & MASCARA)] == null) {
+                cantidad++;
+            }
+            paginas[pagina][(int) (id & MASCARA)] = valor;
+        }
+
+        @SuppressWarnings("unchecked")
+        T buscar(long id) {
+            int pagina = pagina(id);
+            return pagina >= 0 && pagina < paginas.length && paginas[pagina] != null
+                ? (T) paginas[pagina][(int) (id & MASCARA)] : null;
+        }
+
+        TablaPorId<T> construir() {
+            int ultima = paginas.length;
+            while (ultima > 0 && paginas[ultima - 1] == null) {
+                ultima--;
+            }
+            return new TablaPorId<>(Arrays.copyOf(paginas, ultima), cantidad);
+        }
+    }
+}
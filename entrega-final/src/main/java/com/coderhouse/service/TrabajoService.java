@@ -0,0 +1,380 @@
+package com.coderhouse.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.coderhouse.config.Compartimento;
+import com.coderhouse.dto.TrabajoDTO;
+import com.coderhouse.dto.TrabajoResponseDTO;
+import com.coderhouse.exception.ResourceNotFoundException;
+import com.coderhouse.models.Trabajo;
+import com.coderhouse.models.TrabajoFallido;
+import com.coderhouse.repository.ProyectoRepository;
+import com.coderhouse.repository.TrabajoFallidoRepository;
+import com.coderhouse.repository.TrabajoRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Servicio de trabajos masivos en segundo plano.
+ *
+ * Cada trabajo se guarda con sus IDs y se ejecuta en un pool acotado
+ * (app.trabajos.hilos, app.trabajos.cola), fuera de los hilos de las
+ * solicitudes y con las conexiones del compartimento masivo. Los IDs se
+ * procesan en lotes de app.trabajos.lote, cada uno en su propia transacción
+ * junto con el avance del trabajo: si el proceso se detiene, el trabajo se
+ * retoma al iniciar desde el último lote confirmado.
+ * Si un lote falla se reintenta de a un ID para aislar los que fallan, que
+ * quedan registrados (una fila por ID) para reintentarlos en un trabajo nuevo.
+ * Si todos los IDs de un lote fallan con el mismo error, la causa es común
+ * (por ejemplo, el proyecto se eliminó) y el resto se registra como fallido
+ * sin aplicarlo.
+ *
+ * Los trabajos pendientes que no entran en la cola se vuelven a encolar
+ * cada app.trabajos.sondeo-ms. Se asume una sola instancia ejecutando trabajos.
+ */
+@Service
+@Transactional
+public class TrabajoService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrabajoService.class);
+
+    @Autowired
+    private TrabajoRepository trabajoRepository;
+
+    @Autowired
+    private TrabajoFallidoRepository trabajoFallidoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private ProyectoService proyectoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.trabajos.hilos:2}")
+    private int hilos;
+
+    @Value("${app.trabajos.cola:100}")
+    private int capacidadCola;
+
+    @Value("${app.trabajos.lote:100}")
+    private int tamanioLote;
+
+    @Value("${app.trabajos.max-ids:100000}")
+    private int maxIds;
+
+    @Value("${app.paginacion.max-limite:500}")
+    private int maxLimitePagina;
+
+    private final Set<Long> encolados = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor ejecutor;
+
+    @PostConstruct
+    void iniciar() {
+        AtomicInteger numero = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadCola), tarea -> {
+                Thread hilo = new Thread(Compartimento.asignar(Compartimento.MASIVO, tarea),
+                    "trabajo-" + numero.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        Gauge.builder("trabajos.encolados", encolados, Set::size)
+            .description("Trabajos en ejecución o esperando en la cola del pool")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void detener() {
+        // Los hilos interrumpidos terminan el lote en curso; el resto se retoma al iniciar
+        ejecutor.shutdownNow();
+    }
+
+    /**
+     * Crea un trabajo y lo encola para su ejecución.
+     *
+     * @param trabajoDTO Tipo, IDs y parámetros del trabajo
+     * @return Trabajo creado, en estado PENDIENTE
+     * @throws IllegalArgumentException Si faltan parámetros o hay demasiados IDs
+     * @throws ResourceNotFoundException Si el proyecto del trabajo no existe
+     */
+    public TrabajoResponseDTO crear(TrabajoDTO trabajoDTO) {
+        List<Long> ids = Lotes.distintos(trabajoDTO.getIds(), maxIds);
+        Trabajo.Tipo tipo = trabajoDTO.getTipo();
+        boolean conProyecto = tipo == Trabajo.Tipo.ASIGNAR_EMPLEADOS || tipo == Trabajo.Tipo.REMOVER_EMPLEADOS;
+        if (conProyecto && trabajoDTO.getProyectoId() == null) {
+            throw new IllegalArgumentException("El trabajo " + tipo + " requiere proyectoId");
+        }
+        if (conProyecto && !proyectoRepository.existsById(trabajoDTO.getProyectoId())) {
+            throw new ResourceNotFoundException("Proyecto", "id", trabajoDTO.getProyectoId());
+        }
+
+        Trabajo trabajo = trabajoRepository.save(new Trabajo(tipo,
+            conProyecto ? trabajoDTO.getProyectoId() : null,
+            tipo == Trabajo.Tipo.MOVER_DEPARTAMENTO ? trabajoDTO.getDepartamento() : null,
+            unir(ids), ids.size()));
+        Long id = trabajo.getId();
+        // Se encola después del commit para que el hilo del pool encuentre la fila
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                encolar(id);
+            }
+        });
+        return new TrabajoResponseDTO(trabajo, List.of());
+    }
+
+    /**
+     * Crea un trabajo nuevo con los IDs que fallaron en otro ya terminado.
+     *
+     * @param id ID del trabajo original
+     * @return Trabajo creado, en estado PENDIENTE
+     * @throws ResourceNotFoundException Si el trabajo no existe
+     * @throws IllegalArgumentException Si el trabajo no terminó o no tiene IDs fallidos
+     */
+    public TrabajoResponseDTO reintentarFallidos(Long id) {
+        Trabajo trabajo = trabajoRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Trabajo", "id", id));
+        List<Long> fallidos = trabajoFallidoRepository.findElementosPorTrabajo(id);
+        if (!trabajo.isTerminado() || fallidos.isEmpty()) {
+            throw new IllegalArgumentException("El trabajo " + id + " no terminó o no tiene IDs fallidos");
+        }
+        return crear(new TrabajoDTO(trabajo.getTipo(), fallidos, trabajo.getProyectoId(), trabajo.getDepartamento()));
+    }
+
+    /**
+     * Obtiene el estado y avance de un trabajo.
+     *
+     * @param id ID del trabajo
+     * @return Trabajo con su avance
+     * @throws ResourceNotFoundException Si el trabajo no existe
+     */
+    @Transactional(readOnly = true)
+    public TrabajoResponseDTO obtenerPorId(Long id) {
+        Trabajo trabajo = trabajoRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Trabajo", "id", id));
+        return new TrabajoResponseDTO(trabajo, trabajoFallidoRepository.findElementosPorTrabajo(id));
+    }
+
+    /**
+     * Obtiene los trabajos más recientes.
+     *
+     * @param limite Cantidad máxima de trabajos
+     * @return Trabajos del más nuevo al más antiguo
+     * @throws IllegalArgumentException Si el límite está fuera de rango
+     */
+    @Transactional(readOnly = true)
+    public List<TrabajoResponseDTO> obtenerRecientes(int limite) {
+        if (limite < 1 || limite > maxLimitePagina) {
+            throw new IllegalArgumentException(
+                String.format("El límite debe estar entre 1 y %d", maxLimitePagina));
+        }
+        List<Trabajo> trabajos = trabajoRepository.findAllByOrderByIdDesc(PageRequest.ofSize(limite));
+        if (trabajos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Long>> fallidos = trabajoFallidoRepository
+            .findPorTrabajos(trabajos.stream().map(Trabajo::getId).toList()).stream()
+            .collect(Collectors.groupingBy(TrabajoFallido::getTrabajoId,
+                Collectors.mapping(TrabajoFallido::getElementoId, Collectors.toList())));
+        return trabajos.stream()
+            .map(t -> new TrabajoResponseDTO(t, fallidos.getOrDefault(t.getId(), List.of())))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Retoma al iniciar los trabajos pendientes y los que quedaron en curso
+     * cuando se detuvo la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudar() {
+        List<Long> ids = new TransactionTemplate(transactionManager).execute(estado ->
+            trabajoRepository.findIdsPorEstado(EnumSet.of(Trabajo.Estado.PENDIENTE, Trabajo.Estado.EN_CURSO)));
+        if (!ids.isEmpty()) {
+            log.info("Retomando {} trabajos", ids.size());
+        }
+        ids.forEach(this::encolar);
+    }
+
+    /**
+     * Encola los trabajos pendientes que no entraron en la cola al crearse.
+     */
+    @Scheduled(initialDelayString = "${app.trabajos.sondeo-ms:5000}", fixedDelayString = "${app.trabajos.sondeo-ms:5000}")
+    public void encolarPendientes() {
+        new TransactionTemplate(transactionManager).execute(estado ->
+            trabajoRepository.findIdsPorEstado(EnumSet.of(Trabajo.Estado.PENDIENTE)))
+            .forEach(this::encolar);
+    }
+
+    private void encolar(Long id) {
+        if (!encolados.add(id)) {
+            return;
+        }
+        try {
+            ejecutor.execute(() -> {
+                try {
+                    ejecutar(id);
+                } catch (RuntimeException e) {
+                    log.error("El trabajo {} se detuvo; se retoma en el próximo inicio", id, e);
+                } finally {
+                    encolados.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Cola llena: queda PENDIENTE y se vuelve a intentar en el próximo sondeo
+            encolados.remove(id);
+        }
+    }
+
+    private void ejecutar(Long id) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        Trabajo trabajo = transaccion.execute(estado -> {
+            Trabajo t = trabajoRepository.findById(id).orElse(null);
+            if (t == null || t.isTerminado()) {
+                return null;
+            }
+            t.setEstado(Trabajo.Estado.EN_CURSO);
+            if (t.getIniciadoEn() == null) {
+                t.setIniciadoEn(LocalDateTime.now());
+            }
+            // Fuerza la carga de la columna diferida antes de cerrar la sesión
+            t.getIds();
+            return t;
+        });
+        if (trabajo == null) {
+            return;
+        }
+
+        List<Long> ids = separar(trabajo.getIds());
+        int desde = trabajo.getProcesados();
+        // Causa común a todo un lote fallido: el resto se registra como fallido sin aplicarlo
+        String causaComun = null;
+        while (desde < ids.size()) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Trabajo {} interrumpido en {}/{}", id, desde, ids.size());
+                return;
+            }
+            List<Long> lote = ids.subList(desde, Math.min(desde + tamanioLote, ids.size()));
+            if (causaComun != null) {
+                String error = causaComun;
+                transaccion.executeWithoutResult(estado -> registrarAvance(id, lote.size(), lote, error));
+                desde += lote.size();
+                continue;
+            }
+            try {
+                transaccion.executeWithoutResult(estado -> {
+                    lote.forEach(elemento -> aplicar(trabajo, elemento));
+                    registrarAvance(id, lote.size(), List.of(), null);
+                });
+            } catch (RuntimeException e) {
+                // Se reintenta de a uno: cada ID confirma su avance por separado
+                int fallidos = 0;
+                Set<String> errores = new HashSet<>();
+                for (Long elemento : lote) {
+                    try {
+                        transaccion.executeWithoutResult(estado -> {
+                            aplicar(trabajo, elemento);
+                            registrarAvance(id, 1, List.of(), null);
+                        });
+                    } catch (RuntimeException error) {
+                        transaccion.executeWithoutResult(estado ->
+                            registrarAvance(id, 1, List.of(elemento), error.getMessage()));
+                        fallidos++;
+                        errores.add(error.getMessage());
+                    }
+                }
+                if (lote.size() > 1 && fallidos == lote.size() && errores.size() == 1) {
+                    causaComun = "No se aplicó: el lote anterior falló completo con: " + errores.iterator().next();
+                    log.warn("Trabajo {}: todo el lote en {} falló con el mismo error; el resto se marca como fallido",
+                        id, desde);
+                }
+            }
+            desde += lote.size();
+        }
+
+        Trabajo terminado = transaccion.execute(estado -> {
+            Trabajo t = trabajoRepository.findById(id).orElseThrow();
+            t.setEstado(t.getFallidos() > 0 ? Trabajo.Estado.COMPLETADO_CON_ERRORES : Trabajo.Estado.COMPLETADO);
+            t.setFinalizadoEn(LocalDateTime.now());
+            return t;
+        });
+        log.info("Trabajo {} {}: {} exitosos, {} fallidos", id, terminado.getTipo(), terminado.getExitosos(),
+            terminado.getFallidos());
+    }
+
+    private void aplicar(Trabajo trabajo, Long id) {
+        switch (trabajo.getTipo()) {
+            case ASIGNAR_EMPLEADOS -> empleadoService.asignarProyecto(id, trabajo.getProyectoId());
+            case REMOVER_EMPLEADOS -> empleadoService.removerProyecto(id, trabajo.getProyectoId());
+            case ELIMINAR_EMPLEADOS -> empleadoService.eliminar(id);
+            case ELIMINAR_PROYECTOS -> proyectoService.eliminar(id);
+            case MOVER_DEPARTAMENTO -> empleadoService.cambiarDepartamento(id, trabajo.getDepartamento());
+        }
+    }
+
+    /**
+     * Suma el avance de un lote dentro de la transacción que lo aplicó.
+     * Los fallidos se insertan como filas nuevas, sin releer los anteriores.
+     */
+    private void registrarAvance(Long id, int procesados, List<Long> fallidos, String error) {
+        Trabajo t = trabajoRepository.findById(id).orElseThrow();
+        t.setProcesados(t.getProcesados() + procesados);
+        t.setExitosos(t.getExitosos() + procesados - fallidos.size());
+        if (!fallidos.isEmpty()) {
+            t.setFallidos(t.getFallidos() + fallidos.size());
+            trabajoFallidoRepository.saveAll(fallidos.stream().map(f -> new TrabajoFallido(id, f)).toList());
+            t.setUltimoError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        }
+    }
+
+    private static String unir(List<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Long> separar(String ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).collect(Collectors.toCollection(ArrayList::new));
+    }
+}
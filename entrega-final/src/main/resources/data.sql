@@ -2,13 +2,21 @@
 -- Proyecto: FacturacionSegundaEntregaMorales
 -- Este script se ejecuta automáticamente al iniciar la aplicación si spring.jpa.hibernate.ddl-auto está configurado
 
+-- Insertar departamentos
+INSERT INTO Departamentos (Nombre) VALUES
+('Desarrollo'),
+('Frontend'),
+('Backend'),
+('DevOps'),
+('QA');
+
 -- Insertar empleados
-INSERT INTO Empleados (Nombre, Apellido, Email, Legajo, Departamento, FechaIngreso) VALUES
-('María', 'González', 'maria.gonzalez@empresa.com', 'EMP001', 'Desarrollo', NOW()),
-('Carlos', 'Rodríguez', 'carlos.rodriguez@empresa.com', 'EMP002', 'Frontend', NOW()),
-('Ana', 'Martínez', 'ana.martinez@empresa.com', 'EMP003', 'Backend', NOW()),
-('Luis', 'Fernández', 'luis.fernandez@empresa.com', 'EMP004', 'DevOps', NOW()),
-('Sofía', 'López', 'sofia.lopez@empresa.com', 'EMP005', 'QA', NOW());
+INSERT INTO Empleados (Nombre, Apellido, Email, Legajo, Departamento_Id, Fecha_Ingreso) VALUES
+('María', 'González', 'maria.gonzalez@empresa.com', 'EMP001', 1, NOW()),
+('Carlos', 'Rodríguez', 'carlos.rodriguez@empresa.com', 'EMP002', 2, NOW()),
+('Ana', 'Martínez', 'ana.martinez@empresa.com', 'EMP003', 3, NOW()),
+('Luis', 'Fernández', 'luis.fernandez@empresa.com', 'EMP004', 4, NOW()),
+('Sofía', 'López', 'sofia.lopez@empresa.com', 'EMP005', 5, NOW());
 
 -- Insertar proyectos
 INSERT INTO Proyectos (Nombre, Descripcion) VALUES
@@ -39,3 +47,7 @@ INSERT INTO proyecto_empleado (proyecto_id, empleado_id) VALUES
 INSERT INTO proyecto_empleado (proyecto_id, empleado_id) VALUES
 (4, 5), (5, 5);
 
+-- Inicializar los contadores desnormalizados a partir de proyecto_empleado
+UPDATE Proyectos p SET Cantidad_Empleados = (SELECT COUNT(*) FROM proyecto_empleado pe WHERE pe.proyecto_id = p.id);
+UPDATE Empleados e SET Cantidad_Proyectos = (SELECT COUNT(*) FROM proyecto_empleado pe WHERE pe.empleado_id = e.id);
+
@@ -10,6 +10,15 @@ USE java_coderhouse_2;
 DROP TABLE IF EXISTS proyecto_empleado;
 DROP TABLE IF EXISTS Proyectos;
 DROP TABLE IF EXISTS Empleados;
+DROP TABLE IF EXISTS Departamentos;
+DROP TABLE IF EXISTS Cambios;
+DROP TABLE IF EXISTS Trabajos;
+
+-- Crear tabla Departamentos
+CREATE TABLE IF NOT EXISTS Departamentos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Nombre VARCHAR(50) NOT NULL UNIQUE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Crear tabla Empleados
 CREATE TABLE IF NOT EXISTS Empleados (
@@ -18,15 +27,20 @@ CREATE TABLE IF NOT EXISTS Empleados (
     Apellido VARCHAR(255) NOT NULL,
     Email VARCHAR(255) NOT NULL UNIQUE,
     Legajo VARCHAR(255) NOT NULL UNIQUE,
-    Departamento VARCHAR(255),
-    FechaIngreso DATETIME
+    Departamento_Id BIGINT,
+    Fecha_Ingreso DATETIME,
+    Cantidad_Proyectos BIGINT NOT NULL DEFAULT 0,
+    Eliminado BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT fk_empleado_departamento FOREIGN KEY (Departamento_Id) REFERENCES Departamentos(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Crear tabla Proyectos
 CREATE TABLE IF NOT EXISTS Proyectos (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     Nombre VARCHAR(255) NOT NULL,
-    Descripcion TEXT
+    Descripcion TEXT,
+    Cantidad_Empleados BIGINT NOT NULL DEFAULT 0,
+    Eliminado BOOLEAN NOT NULL DEFAULT FALSE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Crear tabla de relación ManyToMany: proyecto_empleado
@@ -38,18 +52,60 @@ CREATE TABLE IF NOT EXISTS proyecto_empleado (
     FOREIGN KEY (empleado_id) REFERENCES Empleados(id) ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Crear tabla del registro de cambios (usado por la instantánea del directorio)
+CREATE TABLE IF NOT EXISTS Cambios (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Tipo VARCHAR(20) NOT NULL,
+    Entidad_Id BIGINT NOT NULL,
+    Relacionado_Id BIGINT,
+    Fecha DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Crear tabla Trabajos (operaciones masivas en segundo plano)
+CREATE TABLE IF NOT EXISTS Trabajos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Tipo VARCHAR(30) NOT NULL,
+    Estado VARCHAR(30) NOT NULL,
+    Proyecto_Id BIGINT,
+    Departamento VARCHAR(50),
+    Ids LONGTEXT NOT NULL,
+    Total INT NOT NULL,
+    Procesados INT NOT NULL,
+    Exitosos INT NOT NULL,
+    Fallidos INT NOT NULL,
+    Ids_Fallidos LONGTEXT,
+    Ultimo_Error VARCHAR(500),
+    Creado_En DATETIME(6) NOT NULL,
+    Iniciado_En DATETIME(6),
+    Finalizado_En DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Crear índices para mejorar el rendimiento
 CREATE INDEX idx_empleado_email ON Empleados(Email);
 CREATE INDEX idx_empleado_legajo ON Empleados(Legajo);
+CREATE INDEX idx_empleado_departamento ON Empleados(Departamento_Id, id);
+CREATE INDEX idx_empleado_eliminado ON Empleados(Eliminado);
 CREATE INDEX idx_proyecto_nombre ON Proyectos(Nombre);
+CREATE INDEX idx_proyecto_eliminado ON Proyectos(Eliminado);
+CREATE INDEX idx_proyecto_empleado_empleado ON proyecto_empleado(empleado_id, proyecto_id);
+CREATE INDEX idx_cambios_fecha ON Cambios(Fecha);
+CREATE INDEX idx_trabajos_estado ON Trabajos(Estado, id);
+
+-- Insertar departamentos
+INSERT INTO Departamentos (Nombre) VALUES
+('Desarrollo'),
+('Frontend'),
+('Backend'),
+('DevOps'),
+('QA');
 
 -- Insertar empleados
-INSERT INTO Empleados (Nombre, Apellido, Email, Legajo, Departamento, FechaIngreso) VALUES
-('María', 'González', 'maria.gonzalez@empresa.com', 'EMP001', 'Desarrollo', NOW()),
-('Carlos', 'Rodríguez', 'carlos.rodriguez@empresa.com', 'EMP002', 'Frontend', NOW()),
-('Ana', 'Martínez', 'ana.martinez@empresa.com', 'EMP003', 'Backend', NOW()),
-('Luis', 'Fernández', 'luis.fernandez@empresa.com', 'EMP004', 'DevOps', NOW()),
-('Sofía', 'López', 'sofia.lopez@empresa.com', 'EMP005', 'QA', NOW());
+INSERT INTO Empleados (Nombre, Apellido, Email, Legajo, Departamento_Id, Fecha_Ingreso) VALUES
+('María', 'González', 'maria.gonzalez@empresa.com', 'EMP001', 1, NOW()),
+('Carlos', 'Rodríguez', 'carlos.rodriguez@empresa.com', 'EMP002', 2, NOW()),
+('Ana', 'Martínez', 'ana.martinez@empresa.com', 'EMP003', 3, NOW()),
+('Luis', 'Fernández', 'luis.fernandez@empresa.com', 'EMP004', 4, NOW()),
+('Sofía', 'López', 'sofia.lopez@empresa.com', 'EMP005', 5, NOW());
 
 -- Insertar proyectos
 INSERT INTO Proyectos (Nombre, Descripcion) VALUES
@@ -80,3 +136,7 @@ INSERT INTO proyecto_empleado (proyecto_id, empleado_id) VALUES
 INSERT INTO proyecto_empleado (proyecto_id, empleado_id) VALUES
 (4, 5), (5, 5);
 
+-- Inicializar los contadores desnormalizados a partir de proyecto_empleado
+UPDATE Proyectos p SET Cantidad_Empleados = (SELECT COUNT(*) FROM proyecto_empleado pe WHERE pe.proyecto_id = p.id);
+UPDATE Empleados e SET Cantidad_Proyectos = (SELECT COUNT(*) FROM proyecto_empleado pe WHERE pe.empleado_id = e.id);
+
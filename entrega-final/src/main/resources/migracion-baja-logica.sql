@@ -0,0 +1,11 @@
+-- Migración: baja lógica de empleados y proyectos
+-- Proyecto: FacturacionSegundaEntregaMorales
+-- Ejecutar una sola vez sobre una base existente, con la aplicación detenida
+
+USE java_coderhouse_2;
+
+ALTER TABLE Empleados ADD COLUMN Eliminado BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE Proyectos ADD COLUMN Eliminado BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_empleado_eliminado ON Empleados(Eliminado);
+CREATE INDEX idx_proyecto_eliminado ON Proyectos(Eliminado);
@@ -0,0 +1,52 @@
+-- Migración: normalización de Empleados.Departamento en la tabla Departamentos
+-- Proyecto: FacturacionSegundaEntregaMorales
+-- Ejecutar una sola vez sobre una base existente, con la aplicación detenida
+
+USE java_coderhouse_2;
+
+-- Verificar que los nombres entren en Departamentos.Nombre (VARCHAR(50), el
+-- máximo que acepta la API); la columna original era VARCHAR(255). Si falla,
+-- corregir antes los empleados que devuelve:
+--   SELECT id, Departamento FROM Empleados WHERE CHAR_LENGTH(TRIM(Departamento)) > 50;
+DROP PROCEDURE IF EXISTS verificar_largo_departamentos;
+
+DELIMITER //
+CREATE PROCEDURE verificar_largo_departamentos()
+BEGIN
+    DECLARE largo INT;
+    SELECT MAX(CHAR_LENGTH(TRIM(Departamento))) INTO largo FROM Empleados;
+    IF largo > 50 THEN
+        SET @mensaje = CONCAT('Migración cancelada: hay departamentos de hasta ', largo,
+            ' caracteres y Departamentos.Nombre admite 50');
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = @mensaje;
+    END IF;
+END //
+DELIMITER ;
+
+CALL verificar_largo_departamentos();
+DROP PROCEDURE verificar_largo_departamentos;
+
+-- Crear tabla Departamentos
+CREATE TABLE IF NOT EXISTS Departamentos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Nombre VARCHAR(50) NOT NULL UNIQUE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Un departamento por cada nombre distinto (los vacíos quedan sin departamento)
+INSERT INTO Departamentos (Nombre)
+SELECT DISTINCT TRIM(Departamento) FROM Empleados
+WHERE Departamento IS NOT NULL AND TRIM(Departamento) <> '';
+
+-- Agregar la clave foránea y completarla
+ALTER TABLE Empleados ADD COLUMN Departamento_Id BIGINT NULL AFTER Legajo;
+
+UPDATE Empleados e
+JOIN Departamentos d ON d.Nombre = TRIM(e.Departamento)
+SET e.Departamento_Id = d.id;
+
+ALTER TABLE Empleados
+    ADD CONSTRAINT fk_empleado_departamento FOREIGN KEY (Departamento_Id) REFERENCES Departamentos(id);
+CREATE INDEX idx_empleado_departamento ON Empleados(Departamento_Id, id);
+
+-- Eliminar la columna de texto
+ALTER TABLE Empleados DROP COLUMN Departamento;
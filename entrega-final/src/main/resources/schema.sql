@@ -6,6 +6,16 @@
 DROP TABLE IF EXISTS proyecto_empleado;
 DROP TABLE IF EXISTS Proyectos;
 DROP TABLE IF EXISTS Empleados;
+DROP TABLE IF EXISTS Departamentos;
+DROP TABLE IF EXISTS Cambios;
+DROP TABLE IF EXISTS Trabajos_Fallidos;
+DROP TABLE IF EXISTS Trabajos;
+
+-- Crear tabla Departamentos
+CREATE TABLE IF NOT EXISTS Departamentos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Nombre VARCHAR(50) NOT NULL UNIQUE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Crear tabla Empleados
 CREATE TABLE IF NOT EXISTS Empleados (
@@ -14,15 +24,20 @@ CREATE TABLE IF NOT EXISTS Empleados (
     Apellido VARCHAR(255) NOT NULL,
     Email VARCHAR(255) NOT NULL UNIQUE,
     Legajo VARCHAR(255) NOT NULL UNIQUE,
-    Departamento VARCHAR(255),
-    FechaIngreso DATETIME
+    Departamento_Id BIGINT,
+    Fecha_Ingreso DATETIME,
+    Cantidad_Proyectos BIGINT NOT NULL DEFAULT 0,
+    Eliminado BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT fk_empleado_departamento FOREIGN KEY (Departamento_Id) REFERENCES Departamentos(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Crear tabla Proyectos
 CREATE TABLE IF NOT EXISTS Proyectos (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     Nombre VARCHAR(255) NOT NULL,
-    Descripcion TEXT
+    Descripcion TEXT,
+    Cantidad_Empleados BIGINT NOT NULL DEFAULT 0,
+    Eliminado BOOLEAN NOT NULL DEFAULT FALSE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Crear tabla de relación ManyToMany: proyecto_empleado
@@ -34,8 +49,49 @@ CREATE TABLE IF NOT EXISTS proyecto_empleado (
     FOREIGN KEY (empleado_id) REFERENCES Empleados(id) ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Crear tabla del registro de cambios (usado por la instantánea del directorio)
+CREATE TABLE IF NOT EXISTS Cambios (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Tipo VARCHAR(20) NOT NULL,
+    Entidad_Id BIGINT NOT NULL,
+    Relacionado_Id BIGINT,
+    Fecha DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Crear tabla Trabajos (operaciones masivas en segundo plano)
+CREATE TABLE IF NOT EXISTS Trabajos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Tipo VARCHAR(30) NOT NULL,
+    Estado VARCHAR(30) NOT NULL,
+    Proyecto_Id BIGINT,
+    Departamento VARCHAR(50),
+    Ids LONGTEXT NOT NULL,
+    Total INT NOT NULL,
+    Procesados INT NOT NULL,
+    Exitosos INT NOT NULL,
+    Fallidos INT NOT NULL,
+    Ultimo_Error VARCHAR(500),
+    Creado_En DATETIME(6) NOT NULL,
+    Iniciado_En DATETIME(6),
+    Finalizado_En DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Crear tabla Trabajos_Fallidos (IDs que no se pudieron aplicar, una fila por ID)
+CREATE TABLE IF NOT EXISTS Trabajos_Fallidos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    Trabajo_Id BIGINT NOT NULL,
+    Elemento_Id BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Crear índices para mejorar el rendimiento
 CREATE INDEX idx_empleado_email ON Empleados(Email);
 CREATE INDEX idx_empleado_legajo ON Empleados(Legajo);
+CREATE INDEX idx_empleado_departamento ON Empleados(Departamento_Id, id);
+CREATE INDEX idx_empleado_eliminado ON Empleados(Eliminado);
 CREATE INDEX idx_proyecto_nombre ON Proyectos(Nombre);
+CREATE INDEX idx_proyecto_eliminado ON Proyectos(Eliminado);
+CREATE INDEX idx_proyecto_empleado_empleado ON proyecto_empleado(empleado_id, proyecto_id);
+CREATE INDEX idx_cambios_fecha ON Cambios(Fecha);
+CREATE INDEX idx_trabajos_estado ON Trabajos(Estado, id);
+CREATE INDEX idx_trabajos_fallidos_trabajo ON Trabajos_Fallidos(Trabajo_Id, id);
 